@@ -0,0 +1,26 @@
+package com.ginkgooai.legalcase.client.ai;
+
+import com.ginkgooai.core.common.config.FeignConfig;
+import com.ginkgooai.legalcase.client.ai.dto.CaseAnalysisRequest;
+import com.ginkgooai.legalcase.client.ai.dto.CaseAnalysisResponse;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+/**
+ * Client for the case-level LLM analysis endpoint of the Python AI service. Registered
+ * under its own client name so its timeouts can be tuned independently of document
+ * parsing.
+ */
+@FeignClient(name = "legal-ai-analysis", url = "${core-ai-uri}", configuration = FeignConfig.class)
+public interface LlmAnalysisClient {
+
+	/**
+	 * Analyze the extracted data of a case's completed documents
+	 * @param request the batched analysis request
+	 * @return the structured analysis result
+	 */
+	@PostMapping("/cases/analysis")
+	CaseAnalysisResponse analyzeCase(@RequestBody CaseAnalysisRequest request);
+
+}
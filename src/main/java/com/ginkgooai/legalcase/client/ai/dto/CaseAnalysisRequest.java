@@ -0,0 +1,53 @@
+package com.ginkgooai.legalcase.client.ai.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request DTO for case-level LLM analysis. All completed documents of a case are sent in
+ * one batch.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CaseAnalysisRequest {
+
+	@JsonProperty("case_id")
+	private String caseId;
+
+	@JsonProperty("analysis_type")
+	private String analysisType;
+
+	/**
+	 * Extracted metadata of the case's completed documents
+	 */
+	private List<DocumentInput> documents;
+
+	@Data
+	@Builder
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class DocumentInput {
+
+		@JsonProperty("document_id")
+		private String documentId;
+
+		private String title;
+
+		@JsonProperty("document_type")
+		private String documentType;
+
+		private String category;
+
+		private Map<String, Object> metadata;
+
+	}
+
+}
@@ -0,0 +1,45 @@
+package com.ginkgooai.legalcase.client.ai.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response DTO from the case analysis service
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CaseAnalysisResponse {
+
+	/**
+	 * Status of the analysis operation
+	 */
+	private String status;
+
+	/**
+	 * Any message from the analysis service
+	 */
+	private String message;
+
+	/**
+	 * Human readable summary of the analysis
+	 */
+	private String summary;
+
+	/**
+	 * Structured findings keyed by topic
+	 */
+	private Map<String, Object> findings;
+
+	/**
+	 * Information the service could not find in the submitted documents
+	 */
+	@JsonProperty("missing_information")
+	private List<String> missingInformation;
+
+}
@@ -0,0 +1,195 @@
+package com.ginkgooai.legalcase.client.resilience;
+
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 远程调用容错 Wraps the HTTP client of every Feign client in a retry, a circuit breaker
+ * and a bulkhead, in that order, each named after the Feign client. They are configured
+ * per client under {@code resilience4j.retry.instances.<client>},
+ * {@code resilience4j.circuitbreaker.instances.<client>} and
+ * {@code resilience4j.bulkhead.instances.<client>}, falling back to the {@code default}
+ * configs, and publish the resilience4j metrics tagged with the client name.
+ *
+ * <p>
+ * Failures to connect are retried for any method. Read timeouts and 502/503/504 responses
+ * are retried only for idempotent methods, since the service, or the service behind a
+ * gateway, may have processed the request; other errors are not retried. All of them, and other 5xx responses, count as
+ * failures of the circuit breaker. Calls refused by an open circuit or a full bulkhead
+ * fail immediately with {@link CallNotPermittedException} or
+ * {@link BulkheadFullException}.
+ */
+@Component
+@Slf4j
+public class ResilientClientCapability implements Capability {
+
+	private static final Set<Integer> RETRYABLE_STATUSES = Set.of(502, 503, 504);
+
+	private static final Set<Request.HttpMethod> IDEMPOTENT_METHODS = EnumSet.of(Request.HttpMethod.GET,
+			Request.HttpMethod.HEAD, Request.HttpMethod.PUT, Request.HttpMethod.DELETE);
+
+	private final RetryRegistry retryRegistry;
+
+	private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+	private final BulkheadRegistry bulkheadRegistry;
+
+	public ResilientClientCapability(RetryRegistry retryRegistry, CircuitBreakerRegistry circuitBreakerRegistry,
+			BulkheadRegistry bulkheadRegistry) {
+		this.retryRegistry = retryRegistry;
+		this.circuitBreakerRegistry = circuitBreakerRegistry;
+		this.bulkheadRegistry = bulkheadRegistry;
+	}
+
+	@Override
+	public Client enrich(Client client) {
+		return (request, options) -> execute(client, request, options);
+	}
+
+	private Response execute(Client client, Request request, Request.Options options) throws IOException {
+		String name = request.requestTemplate().feignTarget().name();
+		Retry.Context<Response> retry = retryRegistry.retry(name).context();
+		CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(name);
+		Bulkhead bulkhead = bulkheadRegistry.bulkhead(name);
+
+		while (true) {
+			Response response;
+			try {
+				response = attempt(client, request, options, circuitBreaker, bulkhead);
+			}
+			catch (CallNotPermittedException | BulkheadFullException e) {
+				// Retrying would only add load to a client that is already shedding it
+				throw e;
+			}
+			catch (IOException | RuntimeException e) {
+				if (!isRetryable(request, e)) {
+					throw e;
+				}
+				onError(retry, e);
+				continue;
+			}
+
+			if (!isRetryable(request, response.status())) {
+				retry.onComplete();
+				return response;
+			}
+
+			// The body is kept so the last response can still be decoded once retries run out
+			Response buffered = buffer(response);
+			try {
+				retry.onError(new ServerErrorStatusException(name, buffered.status()));
+				log.debug("Retrying {} after status {}", name, buffered.status());
+			}
+			catch (ServerErrorStatusException e) {
+				return buffered;
+			}
+			catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+
+	private static Response attempt(Client client, Request request, Request.Options options,
+			CircuitBreaker circuitBreaker, Bulkhead bulkhead) throws IOException {
+		circuitBreaker.acquirePermission();
+		long start = circuitBreaker.getCurrentTimestamp();
+		try {
+			bulkhead.acquirePermission();
+		}
+		catch (BulkheadFullException e) {
+			circuitBreaker.releasePermission();
+			throw e;
+		}
+
+		try {
+			Response response = client.execute(request, options);
+			long duration = circuitBreaker.getCurrentTimestamp() - start;
+			if (response.status() >= 500) {
+				circuitBreaker.onError(duration, circuitBreaker.getTimestampUnit(),
+						new ServerErrorStatusException(circuitBreaker.getName(), response.status()));
+			}
+			else {
+				circuitBreaker.onSuccess(duration, circuitBreaker.getTimestampUnit());
+			}
+			return response;
+		}
+		catch (IOException | RuntimeException e) {
+			circuitBreaker.onError(circuitBreaker.getCurrentTimestamp() - start, circuitBreaker.getTimestampUnit(), e);
+			throw e;
+		}
+		finally {
+			bulkhead.onComplete();
+		}
+	}
+
+	/**
+	 * Whether a failed attempt may be repeated: always when the request never reached the
+	 * service, after a read timeout only when repeating it is harmless
+	 */
+	static boolean isRetryable(Request request, Exception e) {
+		// HttpHostConnectException is a ConnectException
+		if (e instanceof ConnectException || e instanceof ConnectTimeoutException) {
+			return true;
+		}
+		return e instanceof SocketTimeoutException && IDEMPOTENT_METHODS.contains(request.httpMethod());
+	}
+
+	/**
+	 * Whether a response may be answered by repeating the request: a gateway or
+	 * availability error of a request whose repetition is harmless
+	 */
+	static boolean isRetryable(Request request, int status) {
+		return RETRYABLE_STATUSES.contains(status) && IDEMPOTENT_METHODS.contains(request.httpMethod());
+	}
+
+	private static void onError(Retry.Context<Response> retry, Exception e) throws IOException {
+		try {
+			retry.onError(e);
+		}
+		catch (IOException | RuntimeException rethrown) {
+			throw rethrown;
+		}
+		catch (Exception rethrown) {
+			throw new IllegalStateException(rethrown);
+		}
+	}
+
+	private static Response buffer(Response response) throws IOException {
+		try (response) {
+			byte[] body = response.body() == null ? null : Util.toByteArray(response.body().asInputStream());
+			return response.toBuilder().body(body).build();
+		}
+	}
+
+	/**
+	 * A 5xx response, recorded as a failure by the retry and the circuit breaker
+	 */
+	static class ServerErrorStatusException extends RuntimeException {
+
+		ServerErrorStatusException(String client, int status) {
+			super(client + " responded with status " + status);
+		}
+
+	}
+
+}
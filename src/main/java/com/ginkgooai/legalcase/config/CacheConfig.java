@@ -0,0 +1,25 @@
+package com.ginkgooai.legalcase.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Configuration for cross-instance cache invalidation
+ */
+@Configuration
+public class CacheConfig {
+
+	/**
+	 * Listener container for Redis pub/sub channels that carry cache evictions between
+	 * instances
+	 */
+	@Bean
+	public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+		RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+		container.setConnectionFactory(connectionFactory);
+		return container;
+	}
+
+}
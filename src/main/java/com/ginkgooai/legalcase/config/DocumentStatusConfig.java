@@ -0,0 +1,38 @@
+package com.ginkgooai.legalcase.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configuration for document status long polls
+ */
+@Configuration
+public class DocumentStatusConfig {
+
+	/**
+	 * Executor answering the long polls released by a document change, so their database
+	 * reads stay off the Redis listener thread. When its queue is full the release is
+	 * dropped, so the listener thread never runs a re-read; the dropped polls time out
+	 * with 304 and the client polls again.
+	 */
+	@Bean(name = "documentStatusExecutor", destroyMethod = "shutdown")
+	public ThreadPoolTaskExecutor documentStatusExecutor(
+			@Value("${legal-case.document-status.max-concurrent:4}") int maxConcurrent,
+			@Value("${legal-case.document-status.queue-capacity:500}") int queueCapacity,
+			TaskDecorator taskDecorator) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(maxConcurrent);
+		executor.setMaxPoolSize(maxConcurrent);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("document-status-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		executor.setTaskDecorator(taskDecorator);
+		return executor;
+	}
+
+}
@@ -1,7 +1,11 @@
 package com.ginkgooai.legalcase.config;
 
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 /**
@@ -16,4 +20,18 @@ public class EventConfig {
 	// The annotations enable async processing and transaction management
 	// which are critical for event-driven architecture
 
-}
\ No newline at end of file
+	/**
+	 * Executor behind {@code @Async}. Spring Boot only creates {@code applicationTaskExecutor}
+	 * when the context has no other executor, and the bounded executors of this service
+	 * make it back off; {@code @Async} would then fall back to an undecorated
+	 * {@code SimpleAsyncTaskExecutor}. The {@code taskExecutor} alias is the name
+	 * {@code @Async} looks up when there are several executors.
+	 */
+	@Bean(name = { "applicationTaskExecutor", "taskExecutor" })
+	public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder,
+			TaskDecorator taskDecorator) {
+		// Async event listeners stay in the trace of the thread that published the event
+		return builder.taskDecorator(taskDecorator).build();
+	}
+
+}
@@ -0,0 +1,73 @@
+package com.ginkgooai.legalcase.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.MethodMetadata;
+
+import java.util.List;
+
+/**
+ * Configuration for the {@code fast-start} profile. Beans that no request of the case
+ * pipeline needs at startup (Thymeleaf, mail, LDAP and the OpenAPI documentation) are
+ * created on first use instead of during startup. Everything else, including the
+ * scheduled jobs and the Redis listeners that keep caches coherent, starts as usual.
+ */
+@Configuration
+@Profile("fast-start")
+@Slf4j
+public class FastStartConfig {
+
+	private static final List<String> DEFAULT_LAZY_PACKAGES = List.of("org.thymeleaf.",
+			"org.springframework.boot.autoconfigure.thymeleaf.", "org.springframework.boot.autoconfigure.mail.",
+			"org.springframework.mail.", "org.springframework.boot.autoconfigure.ldap.", "org.springframework.ldap.",
+			"org.springdoc.");
+
+	/**
+	 * Mark the bean definitions declared in, or producing types of, the lazy packages as
+	 * lazy. Static, so it runs before the other configuration is processed.
+	 */
+	@Bean
+	public static BeanFactoryPostProcessor lazyNonCriticalBeans(Environment environment) {
+		List<String> lazyPackages = Binder.get(environment)
+			.bind("legal-case.fast-start.lazy-packages", Bindable.listOf(String.class))
+			.orElse(DEFAULT_LAZY_PACKAGES);
+
+		return beanFactory -> {
+			int lazy = 0;
+			for (String beanName : beanFactory.getBeanDefinitionNames()) {
+				BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+				if (!definition.isLazyInit() && inPackages(definition, lazyPackages)) {
+					definition.setLazyInit(true);
+					lazy++;
+				}
+			}
+			log.debug("Deferred initialization of {} beans until first use", lazy);
+		};
+	}
+
+	private static boolean inPackages(BeanDefinition definition, List<String> packages) {
+		if (matches(definition.getBeanClassName(), packages)) {
+			return true;
+		}
+		// @Bean methods: the configuration class declaring them, or the type they return
+		if (definition instanceof AnnotatedBeanDefinition annotated) {
+			MethodMetadata factoryMethod = annotated.getFactoryMethodMetadata();
+			return factoryMethod != null && (matches(factoryMethod.getDeclaringClassName(), packages)
+					|| matches(factoryMethod.getReturnTypeName(), packages));
+		}
+		return false;
+	}
+
+	private static boolean matches(String className, List<String> packages) {
+		return className != null && packages.stream().anyMatch(className::startsWith);
+	}
+
+}
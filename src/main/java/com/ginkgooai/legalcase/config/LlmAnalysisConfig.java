@@ -0,0 +1,65 @@
+package com.ginkgooai.legalcase.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configuration for the LLM analysis engine
+ */
+@Configuration
+public class LlmAnalysisConfig {
+
+	/**
+	 * Bounded executor for LLM analysis runs. Caps the number of concurrent calls to the AI
+	 * service; once the queue is full new submissions are rejected instead of piling up.
+	 */
+	@Bean(name = "llmAnalysisExecutor", destroyMethod = "shutdown")
+	public ThreadPoolTaskExecutor llmAnalysisExecutor(
+			@Value("${legal-case.llm-analysis.max-concurrent:4}") int maxConcurrent,
+			@Value("${legal-case.llm-analysis.queue-capacity:50}") int queueCapacity, TaskDecorator taskDecorator) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(maxConcurrent);
+		executor.setMaxPoolSize(maxConcurrent);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("llm-analysis-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		// Analysis runs stay in the trace of the request or trigger that submitted them
+		executor.setTaskDecorator(taskDecorator);
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.setAwaitTerminationSeconds(30);
+		return executor;
+	}
+
+	/**
+	 * Scheduler of the debounced analysis checks of {@code LlmAnalysisTrigger}, apart from
+	 * the {@code @Scheduled} jobs, so a burst of checks does not hold the jobs back and a
+	 * long job does not delay the checks.
+	 */
+	@Bean(name = "llmAnalysisTriggerScheduler", destroyMethod = "shutdown")
+	public ThreadPoolTaskScheduler llmAnalysisTriggerScheduler(
+			@Value("${legal-case.llm-analysis.trigger-pool-size:2}") int poolSize) {
+		ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+		scheduler.setPoolSize(poolSize);
+		scheduler.setThreadNamePrefix("llm-analysis-trigger-");
+		return scheduler;
+	}
+
+	/**
+	 * Scheduler of the {@code @Scheduled} jobs, configured by
+	 * {@code spring.task.scheduling.*}. Spring Boot only creates it when the context has no
+	 * other scheduler, which {@link #llmAnalysisTriggerScheduler} would make it skip;
+	 * {@code @Scheduled} looks it up by this name when there are several.
+	 */
+	@Bean(name = "taskScheduler", destroyMethod = "shutdown")
+	public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+		return builder.build();
+	}
+
+}
@@ -0,0 +1,30 @@
+package com.ginkgooai.legalcase.config;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Configuration for application metrics. Spring Boot already reports the queues of the
+ * executor beans ({@code applicationTaskExecutor} behind {@code @Async},
+ * {@code llmAnalysisExecutor}, {@code documentStatusExecutor},
+ * {@code notificationExecutor}) as {@code executor.*} meters.
+ */
+@Configuration
+public class MetricsConfig {
+
+	/**
+	 * Queue and activity of the common fork-join pool, on which uploaded documents are
+	 * handed to analysis
+	 */
+	@Bean
+	public MeterBinder commonPoolMetrics() {
+		return registry -> new ExecutorServiceMetrics(ForkJoinPool.commonPool(), "commonPool", Tags.empty())
+			.bindTo(registry);
+	}
+
+}
@@ -0,0 +1,38 @@
+package com.ginkgooai.legalcase.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configuration for notification delivery
+ */
+@Configuration
+public class NotificationConfig {
+
+	/**
+	 * Bounded executor delivering notification digests. Caps the concurrent calls to the
+	 * delivery channel; once the queue is full the dispatcher leaves the remaining
+	 * recipients for its next poll.
+	 */
+	@Bean(name = "notificationExecutor", destroyMethod = "shutdown")
+	public ThreadPoolTaskExecutor notificationExecutor(
+			@Value("${legal-case.notifications.max-concurrent:4}") int maxConcurrent,
+			@Value("${legal-case.notifications.queue-capacity:20}") int queueCapacity, TaskDecorator taskDecorator) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(maxConcurrent);
+		executor.setMaxPoolSize(maxConcurrent);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("notification-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		executor.setTaskDecorator(taskDecorator);
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.setAwaitTerminationSeconds(30);
+		return executor;
+	}
+
+}
@@ -0,0 +1,61 @@
+package com.ginkgooai.legalcase.config;
+
+import com.ginkgooai.legalcase.service.ratelimit.RateLimitInterceptor;
+import io.github.bucket4j.distributed.ExpirationAfterWriteStrategy;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.redis.lettuce.cas.LettuceBasedProxyManager;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.ByteArrayCodec;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Configuration for rate limiting of write endpoints, with token buckets kept in Redis
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "legal-case.rate-limit", name = "enabled", matchIfMissing = true)
+public class RateLimitConfig implements WebMvcConfigurer {
+
+	private final RateLimitInterceptor rateLimitInterceptor;
+
+	public RateLimitConfig(RateLimitInterceptor rateLimitInterceptor) {
+		this.rateLimitInterceptor = rateLimitInterceptor;
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(rateLimitInterceptor);
+	}
+
+	/**
+	 * Binary connection for the buckets, opened on the client Spring Data Redis already
+	 * manages. Lazy, so startup does not wait for Redis; the first limited request opens
+	 * it.
+	 */
+	@Bean(destroyMethod = "close")
+	@Lazy
+	public StatefulRedisConnection<byte[], byte[]> rateLimitRedisConnection(
+			LettuceConnectionFactory connectionFactory) {
+		return ((RedisClient) connectionFactory.getRequiredNativeClient()).connect(ByteArrayCodec.INSTANCE);
+	}
+
+	@Bean
+	@Lazy
+	public ProxyManager<byte[]> rateLimitProxyManager(
+			StatefulRedisConnection<byte[], byte[]> rateLimitRedisConnection) {
+		// Idle buckets are dropped from Redis once they would have refilled anyway
+		return LettuceBasedProxyManager.builderFor(rateLimitRedisConnection)
+			.withExpirationStrategy(
+					ExpirationAfterWriteStrategy.basedOnTimeForRefillingBucketUpToMax(Duration.ofSeconds(10)))
+			.build();
+	}
+
+}
@@ -0,0 +1,36 @@
+package com.ginkgooai.legalcase.config;
+
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.OpenTelemetry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+
+/**
+ * Configuration for tracing. Spans are created through Micrometer Tracing and exported by
+ * the OpenTelemetry agent the service runs with, so they join the agent's HTTP, JDBC and
+ * Feign spans in one trace. Without the agent the global instance is a no-op.
+ */
+@Configuration
+public class TracingConfig {
+
+	/**
+	 * Use the agent's OpenTelemetry instead of a second SDK configured by Spring Boot
+	 */
+	@Bean
+	public OpenTelemetry openTelemetry() {
+		return GlobalOpenTelemetry.get();
+	}
+
+	/**
+	 * Carries the trace context (and MDC) of the submitting thread into executor tasks.
+	 * Every executor sets it itself, including the one behind {@code @Async}
+	 * ({@link EventConfig#applicationTaskExecutor}).
+	 */
+	@Bean
+	public TaskDecorator contextPropagatingTaskDecorator() {
+		return new ContextPropagatingTaskDecorator();
+	}
+
+}
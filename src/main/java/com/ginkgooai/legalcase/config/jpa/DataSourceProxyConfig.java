@@ -0,0 +1,36 @@
+package com.ginkgooai.legalcase.config.jpa;
+
+import com.ginkgooai.legalcase.service.metrics.QueryStatisticsListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration for statement instrumentation. The data source is wrapped in a
+ * datasource-proxy that reports every statement to {@link QueryStatisticsListener};
+ * pool metrics still see the Hikari pool underneath.
+ */
+@Configuration
+public class DataSourceProxyConfig {
+
+	@Bean
+	public static BeanPostProcessor dataSourceProxyPostProcessor(ObjectProvider<QueryStatisticsListener> listener) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof DataSource dataSource) {
+					return ProxyDataSourceBuilder.create(dataSource)
+						.name(beanName)
+						.listener(listener.getObject())
+						.build();
+				}
+				return bean;
+			}
+		};
+	}
+
+}
@@ -0,0 +1,127 @@
+package com.ginkgooai.legalcase.config.jpa;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration for read replicas, active with
+ * {@code legal-case.datasource.replica.enabled=true}. Replaces the auto-configured data
+ * source with the one of {@link ReplicaRouter}, over three kinds of Hikari pools, each
+ * tuned on its own:
+ * <ul>
+ * <li>{@code primary}: {@code spring.datasource.*}, used for all transactions that are
+ * not read-only</li>
+ * <li>{@code primary-read}: the same settings with
+ * {@code legal-case.datasource.replica.fallback-pool-size} connections, for read-only
+ * transactions while no replica is usable</li>
+ * <li>{@code replica-N}: one per entry of {@code legal-case.datasource.replica.urls},
+ * tuned under {@code legal-case.datasource.replica.hikari}</li>
+ * </ul>
+ * The pools are not beans, so the statement proxy wraps only the routing data source, and
+ * each pool registers its own {@code hikaricp.*} metrics tagged with its pool name.
+ * Transactions routed to a replica read the second-level cache but do not fill it (see
+ * {@link ReplicaCacheModeJpaDialect}).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "legal-case.datasource.replica", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+	@Bean
+	public ReplicaRouter replicaRouter(DataSourceProperties properties, Environment environment,
+			MeterRegistry meterRegistry, @Value("${legal-case.datasource.replica.max-lag:5s}") Duration maxLag,
+			@Value("${legal-case.datasource.replica.lag-check-interval:PT5S}") Duration lagCheckInterval,
+			@Value("${legal-case.datasource.replica.fallback-pool-size:5}") int fallbackPoolSize) {
+		Binder binder = Binder.get(environment);
+
+		HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+		primary.setMetricRegistry(meterRegistry);
+
+		HikariDataSource primaryReads = new HikariDataSource();
+		primary.copyStateTo(primaryReads);
+		primaryReads.setPoolName("primary-read");
+		primaryReads.setMaximumPoolSize(fallbackPoolSize);
+		if (primaryReads.getMinimumIdle() > fallbackPoolSize) {
+			primaryReads.setMinimumIdle(fallbackPoolSize);
+		}
+		primaryReads.setReadOnly(true);
+
+		List<String> urls = binder.bind("legal-case.datasource.replica.urls", Bindable.listOf(String.class))
+			.orElse(List.of());
+		String username = environment.getProperty("legal-case.datasource.replica.username");
+		String password = environment.getProperty("legal-case.datasource.replica.password");
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		for (String url : urls) {
+			if (!StringUtils.hasText(url)) {
+				continue;
+			}
+			String name = "replica-" + (replicas.size() + 1);
+			HikariDataSource replica = new HikariDataSource();
+			binder.bind("legal-case.datasource.replica.hikari", Bindable.ofInstance(replica));
+			replica.setPoolName(name);
+			replica.setJdbcUrl(url);
+			replica.setDriverClassName(primary.getDriverClassName());
+			replica.setUsername(StringUtils.hasText(username) ? username : primary.getUsername());
+			replica.setPassword(StringUtils.hasText(username) ? password : primary.getPassword());
+			replica.setReadOnly(true);
+			replica.setMetricRegistry(meterRegistry);
+			replicas.put(name, replica);
+		}
+
+		return new ReplicaRouter(primary, primaryReads, replicas, maxLag, lagCheckInterval, meterRegistry);
+	}
+
+	@Bean
+	public DataSource dataSource(ReplicaRouter replicaRouter) {
+		return replicaRouter.dataSource();
+	}
+
+	/**
+	 * Hand connections back after each transaction instead of holding them for the whole
+	 * session (open in view keeps the session for the whole request). The route is chosen
+	 * per physical connection, so a request that reads before it writes gets a primary
+	 * connection for the write rather than keeping the replica one of its read.
+	 */
+	@Bean
+	public HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+		return properties -> properties.put("hibernate.connection.handling_mode",
+				PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+	}
+
+	/**
+	 * Set {@link ReplicaCacheModeJpaDialect} on the entity manager factory before it
+	 * initializes; the transaction manager takes its dialect from there.
+	 */
+	@Bean
+	public static BeanPostProcessor replicaCacheModeJpaDialect() {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) {
+				if (bean instanceof LocalContainerEntityManagerFactoryBean factory) {
+					factory.setJpaDialect(new ReplicaCacheModeJpaDialect());
+				}
+				return bean;
+			}
+		};
+	}
+
+}
@@ -0,0 +1,51 @@
+package com.ginkgooai.legalcase.config.jpa;
+
+import com.ginkgooai.legalcase.service.replica.PrimaryReads;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+
+import java.sql.SQLException;
+
+/**
+ * 副本读取不写入二级缓存 Keeps read-only transactions routed to a replica from putting
+ * what they load into the second-level cache. Such a transaction may load a row a replica
+ * has not caught up on yet; once the primary write evicted the cached entry, putting that
+ * row back would serve it from the cache long after the replica caught up. Their sessions
+ * use {@link CacheMode#GET}: they still read cached entries, and only sessions on the
+ * primary, including reads inside {@link PrimaryReads#call}, fill the cache.
+ */
+public class ReplicaCacheModeJpaDialect extends HibernateJpaDialect {
+
+	@Override
+	public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+			throws PersistenceException, SQLException, TransactionException {
+		Object transactionData = super.beginTransaction(entityManager, definition);
+		if (!definition.isReadOnly() || PrimaryReads.required()) {
+			return transactionData;
+		}
+		Session session = getSession(entityManager);
+		CacheMode previousCacheMode = session.getCacheMode();
+		session.setCacheMode(CacheMode.GET);
+		return new ReplicaTransactionData(transactionData, session, previousCacheMode);
+	}
+
+	@Override
+	public void cleanupTransaction(Object transactionData) {
+		if (transactionData instanceof ReplicaTransactionData replicaData) {
+			// The session outlives the transaction with open in view
+			replicaData.session().setCacheMode(replicaData.previousCacheMode());
+			super.cleanupTransaction(replicaData.transactionData());
+			return;
+		}
+		super.cleanupTransaction(transactionData);
+	}
+
+	private record ReplicaTransactionData(Object transactionData, Session session, CacheMode previousCacheMode) {
+	}
+
+}
@@ -0,0 +1,304 @@
+package com.ginkgooai.legalcase.config.jpa;
+
+import com.ginkgooai.legalcase.service.replica.PrimaryReads;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 读写分离路由 Routes connections between the primary and read replicas. The data source
+ * returned by {@link #dataSource()} opens its physical connection on first use and picks
+ * the pool by {@link TransactionSynchronizationManager#isCurrentTransactionReadOnly()}
+ * at that point, so a read-only transaction gets a connection from a replica and every
+ * other transaction one from the primary pool, which therefore keeps its full size for
+ * writes.
+ *
+ * <p>
+ * Replicas are used round robin while their replication lag stays within {@code maxLag}.
+ * The lag is checked every {@code lagCheckInterval} on a thread of the router's own, so
+ * the checks do not wait behind other scheduled jobs. Replicas are skipped until the next
+ * successful check when they lag behind, fail the check or fail to connect, and when
+ * their last reading is older than three intervals. A replica whose
+ * pool is merely exhausted stays in use; that read goes to the next replica instead.
+ * While no replica is usable, and for reads inside {@link PrimaryReads#call}, read-only
+ * transactions use a small separate pool on the primary.
+ *
+ * <p>
+ * A read-only transaction on a replica may not yet see a change committed just before
+ * it, up to {@code maxLag} later.
+ */
+@Slf4j
+public class ReplicaRouter implements InitializingBean, DisposableBean {
+
+	/**
+	 * Replay delay of a standby, zero when it has replayed everything it received
+	 */
+	private static final String LAG_QUERY = "select coalesce(case"
+			+ " when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0"
+			+ " else extract(epoch from now() - pg_last_xact_replay_timestamp()) end, 0)";
+
+	private static final int LAG_QUERY_TIMEOUT_SECONDS = 2;
+
+	private static final int STALE_AFTER_CHECKS = 3;
+
+	private final DataSource primary;
+
+	private final DataSource primaryReads;
+
+	private final List<Replica> replicas = new ArrayList<>();
+
+	private final Duration maxLag;
+
+	private final Duration lagCheckInterval;
+
+	private final long staleAfterNanos;
+
+	private final AtomicInteger next = new AtomicInteger();
+
+	private final Counter replicaRouted;
+
+	private final Counter primaryRouted;
+
+	private final LazyConnectionDataSourceProxy dataSource;
+
+	private ThreadPoolTaskScheduler lagCheckScheduler;
+
+	/**
+	 * @param primary 主库连接池 / pool for everything but read-only transactions
+	 * @param primaryReads 主库只读连接池 / pool on the primary for read-only transactions
+	 * no replica can serve
+	 * @param replicas 只读副本连接池 / pools of the replicas by name
+	 * @param maxLag 最大复制延迟 / largest replication lag a replica is still used at
+	 * @param lagCheckInterval 延迟检查间隔 / delay between two lag checks
+	 * @param meterRegistry registry for the lag and routing metrics
+	 */
+	public ReplicaRouter(DataSource primary, DataSource primaryReads, Map<String, DataSource> replicas,
+			Duration maxLag, Duration lagCheckInterval, MeterRegistry meterRegistry) {
+		this.primary = primary;
+		this.primaryReads = primaryReads;
+		this.maxLag = maxLag;
+		this.lagCheckInterval = lagCheckInterval;
+		this.staleAfterNanos = lagCheckInterval.multipliedBy(STALE_AFTER_CHECKS).toNanos();
+		replicas.forEach((name, pool) -> {
+			Replica replica = new Replica(name, pool);
+			this.replicas.add(replica);
+			Gauge.builder("legalcase.db.replica.lag", replica, r -> r.lagSeconds)
+				.description("Replication lag of a read replica, NaN when the last check failed")
+				.baseUnit("seconds")
+				.tag("replica", name)
+				.register(meterRegistry);
+		});
+		this.replicaRouted = readCounter(meterRegistry, "replica");
+		this.primaryRouted = readCounter(meterRegistry, "primary");
+
+		ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource();
+		routing.setTargetDataSources(Map.of(Route.READ, new ReadOnlyDataSource(), Route.WRITE, primary));
+		routing.setDefaultTargetDataSource(primary);
+		routing.afterPropertiesSet();
+
+		// The transaction manager marks a transaction read-only only after it has begun, and
+		// Hibernate takes its connection while beginning, so the route is chosen when the
+		// first statement opens the physical connection
+		this.dataSource = new LazyConnectionDataSourceProxy();
+		this.dataSource.setTargetDataSource(routing);
+		// Known up front, so no connection is opened just to read the defaults
+		this.dataSource.setDefaultAutoCommit(true);
+		this.dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+		this.dataSource.afterPropertiesSet();
+	}
+
+	/**
+	 * The data source for the application, routing read-only transactions
+	 */
+	public DataSource dataSource() {
+		return dataSource;
+	}
+
+	/**
+	 * Check the replicas once, so they serve reads from the start, then keep checking on
+	 * the router's own scheduler
+	 */
+	@Override
+	public void afterPropertiesSet() {
+		checkLag();
+		lagCheckScheduler = new ThreadPoolTaskScheduler();
+		lagCheckScheduler.setPoolSize(1);
+		lagCheckScheduler.setThreadNamePrefix("replica-lag-");
+		lagCheckScheduler.initialize();
+		lagCheckScheduler.scheduleWithFixedDelay(this::checkLag, Instant.now().plus(lagCheckInterval),
+				lagCheckInterval);
+	}
+
+	/**
+	 * 检查复制延迟 Measure the lag of every replica and mark it usable or not
+	 */
+	void checkLag() {
+		for (Replica replica : replicas) {
+			try (Connection connection = replica.pool.getConnection();
+					Statement statement = connection.createStatement()) {
+				statement.setQueryTimeout(LAG_QUERY_TIMEOUT_SECONDS);
+				try (ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+					resultSet.next();
+					replica.lagSeconds = resultSet.getDouble(1);
+					replica.checkedAt = System.nanoTime();
+				}
+			}
+			catch (SQLException e) {
+				if (!isConnectionFailure(e)) {
+					// The pool is busy with reads; the last reading holds until it goes stale
+					log.debug("Lag check of replica {} found no free connection", replica.name);
+					continue;
+				}
+				log.warn("Lag check of replica {} failed: {}", replica.name, e.getMessage());
+				replica.lagSeconds = Double.NaN;
+				replica.usable = false;
+				continue;
+			}
+
+			boolean usable = replica.lagSeconds * 1000 <= maxLag.toMillis();
+			if (usable != replica.usable) {
+				log.info("Replica {} is {} at {}s replication lag", replica.name, usable ? "in use" : "skipped",
+						replica.lagSeconds);
+			}
+			replica.usable = usable;
+		}
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		if (lagCheckScheduler != null) {
+			lagCheckScheduler.shutdown();
+		}
+		List<DataSource> pools = new ArrayList<>();
+		pools.add(primary);
+		pools.add(primaryReads);
+		replicas.forEach(replica -> pools.add(replica.pool));
+		for (DataSource pool : pools) {
+			if (pool instanceof AutoCloseable closeable) {
+				closeable.close();
+			}
+		}
+	}
+
+	private Connection readOnlyConnection() throws SQLException {
+		if (!PrimaryReads.required()) {
+			int size = replicas.size();
+			int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+			for (int i = 0; i < size; i++) {
+				Replica replica = replicas.get((start + i) % size);
+				if (!replica.usable || System.nanoTime() - replica.checkedAt > staleAfterNanos) {
+					continue;
+				}
+				try {
+					Connection connection = replica.pool.getConnection();
+					replicaRouted.increment();
+					return connection;
+				}
+				catch (SQLException e) {
+					if (!isConnectionFailure(e)) {
+						log.debug("Replica {} has no free connection, trying the next", replica.name);
+						continue;
+					}
+					// Skipped until the next lag check finds it reachable again
+					log.warn("Replica {} refused a connection, skipping it: {}", replica.name, e.getMessage());
+					replica.usable = false;
+				}
+			}
+		}
+		primaryRouted.increment();
+		return primaryReads.getConnection();
+	}
+
+	/**
+	 * Whether a failure to get a connection means the database is unreachable. Hikari
+	 * reports an exhausted pool as a {@link SQLTransientConnectionException} whose cause is
+	 * the last failure to connect, or none when all connections were just in use.
+	 */
+	private static boolean isConnectionFailure(SQLException e) {
+		return !(e instanceof SQLTransientConnectionException) || e.getCause() != null;
+	}
+
+	private static Counter readCounter(MeterRegistry meterRegistry, String route) {
+		return Counter.builder("legalcase.db.reads")
+			.description("Read-only transactions by the database they were routed to")
+			.tag("route", route)
+			.register(meterRegistry);
+	}
+
+	private enum Route {
+
+		READ, WRITE
+
+	}
+
+	/**
+	 * 读写路由 Routes to the read-only data source inside read-only transactions
+	 */
+	private static class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+		@Override
+		protected Object determineCurrentLookupKey() {
+			return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Route.READ : Route.WRITE;
+		}
+
+	}
+
+	/**
+	 * 只读数据源 Hands out the connections of read-only transactions
+	 */
+	private class ReadOnlyDataSource extends AbstractDataSource {
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			return readOnlyConnection();
+		}
+
+		@Override
+		public Connection getConnection(String username, String password) throws SQLException {
+			throw new UnsupportedOperationException("Connections are opened with the configured credentials");
+		}
+
+	}
+
+	private static final class Replica {
+
+		private final String name;
+
+		private final DataSource pool;
+
+		// Unused until the first lag check
+		private volatile boolean usable;
+
+		private volatile double lagSeconds = Double.NaN;
+
+		private volatile long checkedAt;
+
+		private Replica(String name, DataSource pool) {
+			this.name = name;
+			this.pool = pool;
+		}
+
+	}
+
+}
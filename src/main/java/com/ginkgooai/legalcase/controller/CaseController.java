@@ -20,6 +20,7 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -32,6 +33,12 @@ import java.util.Map;
 @Tag(name = "Legal Case", description = "Legal case management API")
 public class CaseController {
 
+	private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+	private static final String TOTAL_ESTIMATED = "estimated";
+
+	private static final int MAX_SUGGESTIONS = 20;
+
 	private final CaseService caseService;
 
 	/**
@@ -103,20 +110,110 @@ public class CaseController {
 		return ResponseEntity.noContent().build();
 	}
 
+	@GetMapping
+	@Operation(summary = "List legal cases",
+			description = "Lists the cases of a profile or a client with document counts, with pagination. "
+					+ "See /cases/scroll for cursor paging without the exact count.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Cases retrieved",
+					content = { @Content(mediaType = "application/json") }),
+			@ApiResponse(responseCode = "400", description = "Neither profileId nor clientId given"),
+			@ApiResponse(responseCode = "500", description = "Internal server error") })
+	public ResponseEntity<Page<LegalCaseSummaryResponse>> listLegalCases(
+			@Parameter(description = "Owner profile ID") @RequestParam(value = "profileId",
+					required = false) String profileId,
+			@Parameter(description = "Client ID") @RequestParam(value = "clientId", required = false) String clientId,
+			@Parameter(description = "Set to 'documents' to embed each case's documents") @RequestParam(
+					value = "include", required = false) List<String> include,
+			@Parameter(description = "Pagination and sorting parameters") @PageableDefault(sort = "createdAt",
+					direction = Sort.Direction.DESC) Pageable pageable) {
+
+		boolean includeDocuments = includesDocuments(include);
+		if (profileId != null) {
+			return ResponseEntity.ok(caseService.getLegalCasesByProfileId(profileId, pageable, includeDocuments));
+		}
+		if (clientId != null) {
+			return ResponseEntity.ok(caseService.getLegalCasesByClientId(clientId, pageable, includeDocuments));
+		}
+		return ResponseEntity.badRequest().build();
+	}
+
+	@GetMapping("/scroll")
+	@Operation(summary = "Scroll legal cases",
+			description = "Lists the cases of a profile or a client with document counts, by cursor over the most "
+					+ "recently updated cases first, without the exact count. Pass nextCursor from a response as "
+					+ "cursor to get the next page.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Cases retrieved",
+					content = { @Content(mediaType = "application/json") }),
+			@ApiResponse(responseCode = "400", description = "Neither profileId nor clientId given, or invalid cursor"),
+			@ApiResponse(responseCode = "500", description = "Internal server error") })
+	public ResponseEntity<CursorPage<LegalCaseSummaryResponse>> scrollLegalCases(
+			@Parameter(description = "Owner profile ID") @RequestParam(value = "profileId",
+					required = false) String profileId,
+			@Parameter(description = "Client ID") @RequestParam(value = "clientId", required = false) String clientId,
+			@Parameter(description = "Set to 'documents' to embed each case's documents") @RequestParam(
+					value = "include", required = false) List<String> include,
+			@Parameter(description = "Cursor from the previous page") @RequestParam(value = "cursor",
+					required = false) String cursor,
+			@Parameter(description = "Page size, at most " + MAX_CURSOR_PAGE_SIZE) @RequestParam(value = "size",
+					defaultValue = "20") int size,
+			@Parameter(description = "Set to 'estimated' for an estimated total") @RequestParam(value = "total",
+					required = false) String total) {
+
+		boolean includeDocuments = includesDocuments(include);
+		int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+		boolean estimateTotal = TOTAL_ESTIMATED.equals(total);
+		if (profileId != null) {
+			return ResponseEntity.ok(caseService.scrollLegalCasesByProfileId(profileId, cursor, pageSize,
+					includeDocuments, estimateTotal));
+		}
+		if (clientId != null) {
+			return ResponseEntity.ok(caseService.scrollLegalCasesByClientId(clientId, cursor, pageSize,
+					includeDocuments, estimateTotal));
+		}
+		return ResponseEntity.badRequest().build();
+	}
+
 	@GetMapping("/search")
 	@Operation(summary = "Search legal cases",
-			description = "Searches for legal cases based on a search term with pagination")
+			description = "Ranked full-text and fuzzy search over case title, client ID and description. "
+					+ "Pass nextCursor from a response as cursor to get the next page.")
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200", description = "Search results retrieved",
 					content = { @Content(mediaType = "application/json") }),
+			@ApiResponse(responseCode = "400", description = "Invalid cursor"),
 			@ApiResponse(responseCode = "500", description = "Internal server error") })
-	public ResponseEntity<Page<LegalCaseResponse>> searchLegalCases(
+	public ResponseEntity<CursorPage<LegalCaseSummaryResponse>> searchLegalCases(
 			@Parameter(description = "Search term", required = true) @RequestParam("q") String searchTerm,
-			@Parameter(description = "Pagination and sorting parameters") @PageableDefault(sort = "createdAt",
-					direction = Sort.Direction.DESC) Pageable pageable) {
+			@Parameter(description = "Cursor from the previous page") @RequestParam(value = "cursor",
+					required = false) String cursor,
+			@Parameter(description = "Page size, at most " + MAX_CURSOR_PAGE_SIZE) @RequestParam(value = "size",
+					defaultValue = "20") int size,
+			@Parameter(description = "Set to 'documents' to embed each case's documents") @RequestParam(
+					value = "include", required = false) List<String> include) {
 
-		Page<LegalCaseResponse> response = caseService.searchLegalCases(searchTerm, pageable);
+		CursorPage<LegalCaseSummaryResponse> response = caseService.searchLegalCases(searchTerm, cursor,
+				Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE)), includesDocuments(include));
 		return ResponseEntity.ok(response);
 	}
 
-}
\ No newline at end of file
+	@GetMapping("/search/suggest")
+	@Operation(summary = "Suggest legal cases", description = "Typeahead suggestions for a partially typed case title")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Suggestions retrieved",
+					content = { @Content(mediaType = "application/json") }),
+			@ApiResponse(responseCode = "500", description = "Internal server error") })
+	public ResponseEntity<List<CaseSuggestionResponse>> suggestLegalCases(
+			@Parameter(description = "Partially typed title", required = true) @RequestParam("q") String prefix,
+			@Parameter(description = "Maximum number of suggestions") @RequestParam(value = "limit",
+					defaultValue = "10") int limit) {
+		return ResponseEntity
+			.ok(caseService.suggestLegalCases(prefix, Math.max(1, Math.min(limit, MAX_SUGGESTIONS))));
+	}
+
+	private static boolean includesDocuments(List<String> include) {
+		return include != null && include.contains("documents");
+	}
+
+}
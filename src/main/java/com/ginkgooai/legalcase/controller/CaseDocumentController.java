@@ -2,8 +2,13 @@ package com.ginkgooai.legalcase.controller;
 
 import com.ginkgooai.legalcase.domain.CaseDocument;
 import com.ginkgooai.legalcase.dto.BatchDocumentUploadRequest;
+import com.ginkgooai.legalcase.dto.CursorPage;
 import com.ginkgooai.legalcase.dto.DocumentStatusResponse;
 import com.ginkgooai.legalcase.service.CaseDocumentService;
+import com.ginkgooai.legalcase.service.DocumentStatusWatcher;
+import com.ginkgooai.legalcase.service.ratelimit.EndpointClass;
+import com.ginkgooai.legalcase.service.ratelimit.RateLimited;
+import com.ginkgooai.legalcase.service.replica.PrimaryReads;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -14,10 +19,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -30,8 +40,14 @@ import java.util.stream.Collectors;
 @Tag(name = "Case Documents", description = "API for managing documents related to legal cases")
 public class CaseDocumentController {
 
+	private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+	private static final String TOTAL_ESTIMATED = "estimated";
+
 	private final CaseDocumentService documentUploadService;
 
+	private final DocumentStatusWatcher documentStatusWatcher;
+
 	/**
 	 * Upload multiple documents for a case
 	 * @param caseId case ID
@@ -39,6 +55,7 @@ public class CaseDocumentController {
 	 * @return list of created document IDs
 	 */
 	@PostMapping()
+	@RateLimited(EndpointClass.UPLOAD)
 	@Operation(summary = "Upload multiple documents",
 			description = "Upload multiple documents for a case using storage IDs")
 	@ApiResponses(value = {
@@ -46,6 +63,7 @@ public class CaseDocumentController {
 					content = @Content(array = @ArraySchema(schema = @Schema(implementation = String.class)))),
 			@ApiResponse(responseCode = "400", description = "Invalid input"),
 			@ApiResponse(responseCode = "404", description = "Case not found"),
+			@ApiResponse(responseCode = "429", description = "Rate limit exceeded, see Retry-After"),
 			@ApiResponse(responseCode = "500", description = "Internal server error") })
 	public ResponseEntity<List<String>> uploadDocuments(
 			@Parameter(description = "ID of the case to upload documents to",
@@ -61,27 +79,102 @@ public class CaseDocumentController {
 	}
 
 	/**
-	 * Get status of a document
+	 * Get status of a document. The response carries an ETag derived from the document
+	 * version; a request whose If-None-Match still matches gets 304 without a body.
 	 * @param caseId case ID
 	 * @param documentId document ID
-	 * @return document status response
+	 * @param ifNoneMatch ETag of the status the client already has
+	 * @return document status response, or 304 if unchanged
 	 */
 	@GetMapping("/{documentId}/status")
 	@Operation(summary = "Get document status", description = "Get the status of a specific document in a case")
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200", description = "Document status retrieved successfully",
 					content = @Content(schema = @Schema(implementation = DocumentStatusResponse.class))),
+			@ApiResponse(responseCode = "304", description = "Document status unchanged since the given ETag"),
 			@ApiResponse(responseCode = "404", description = "Document or case not found"),
 			@ApiResponse(responseCode = "500", description = "Internal server error") })
 	public ResponseEntity<DocumentStatusResponse> getDocumentStatus(
 			@Parameter(description = "ID of the case", required = true) @PathVariable String caseId,
 			@Parameter(description = "ID of the document to get status for",
-					required = true) @PathVariable String documentId) {
+					required = true) @PathVariable String documentId,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 		log.info("Received request to get status for document: {} in case: {}", documentId, caseId);
 
-		CaseDocument document = documentUploadService.getDocument(documentId)
+		return documentStatus(documentId, ifNoneMatch);
+	}
+
+	/**
+	 * Long-poll the status of a document. If the status still matches If-None-Match, the
+	 * request is parked, without holding a thread, until the document changes or the wait
+	 * runs out; a timeout answers 304.
+	 * @param caseId case ID
+	 * @param documentId document ID
+	 * @param ifNoneMatch ETag of the status the client already has
+	 * @param waitSeconds how long to wait for a change, capped by the server
+	 * @return document status response, or 304 if unchanged within the wait
+	 */
+	@GetMapping(value = "/{documentId}/status", params = "waitSeconds")
+	@Operation(summary = "Wait for document status change",
+			description = "Long-poll the status of a document until it differs from If-None-Match")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Document status changed or differs from the given ETag",
+					content = @Content(schema = @Schema(implementation = DocumentStatusResponse.class))),
+			@ApiResponse(responseCode = "304", description = "Document status unchanged within the wait"),
+			@ApiResponse(responseCode = "404", description = "Document or case not found"),
+			@ApiResponse(responseCode = "500", description = "Internal server error") })
+	public DeferredResult<ResponseEntity<DocumentStatusResponse>> awaitDocumentStatus(
+			@Parameter(description = "ID of the case", required = true) @PathVariable String caseId,
+			@Parameter(description = "ID of the document to wait for",
+					required = true) @PathVariable String documentId,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+			@Parameter(description = "Seconds to wait for a change") @RequestParam long waitSeconds) {
+		log.debug("Waiting up to {}s for status change of document: {} in case: {}", waitSeconds, documentId,
+				caseId);
+
+		Duration wait = documentStatusWatcher.clampWait(Duration.ofSeconds(waitSeconds));
+		CompletableFuture<Void> change = documentStatusWatcher.watch(documentId);
+
+		ResponseEntity<DocumentStatusResponse> current;
+		try {
+			current = documentStatus(documentId, ifNoneMatch);
+		}
+		catch (RuntimeException e) {
+			documentStatusWatcher.unwatch(documentId, change);
+			throw e;
+		}
+
+		DeferredResult<ResponseEntity<DocumentStatusResponse>> result = new DeferredResult<>(wait.toMillis(), current);
+		if (!current.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED) || wait.isZero()) {
+			documentStatusWatcher.unwatch(documentId, change);
+			result.setResult(current);
+			return result;
+		}
+
+		result.onCompletion(() -> documentStatusWatcher.unwatch(documentId, change));
+		// Completed on the document status executor, once the change is evicted from the cache
+		change.thenRun(() -> {
+			try {
+				result.setResult(documentStatus(documentId, ifNoneMatch));
+			}
+			catch (RuntimeException e) {
+				result.setErrorResult(e);
+			}
+		});
+		return result;
+	}
+
+	private ResponseEntity<DocumentStatusResponse> documentStatus(String documentId, String ifNoneMatch) {
+		// From the primary: this runs right after a change notification, which a replica may
+		// not have replayed yet
+		CaseDocument document = PrimaryReads.call(() -> documentUploadService.getDocument(documentId))
 			.orElseThrow(() -> new RuntimeException("Document not found: " + documentId));
 
+		String etag = "\"" + document.getVersion() + "\"";
+		if (etagMatches(ifNoneMatch, etag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+		}
+
 		DocumentStatusResponse response = DocumentStatusResponse.builder()
 			.documentId(document.getId())
 			.status(document.getStatus().name())
@@ -90,7 +183,24 @@ public class CaseDocumentController {
 			.isComplete(document.isComplete())
 			.build();
 
-		return ResponseEntity.ok(response);
+		return ResponseEntity.ok().eTag(etag).body(response);
+	}
+
+	private static boolean etagMatches(String ifNoneMatch, String etag) {
+		if (ifNoneMatch == null) {
+			return false;
+		}
+		for (String candidate : ifNoneMatch.split(",")) {
+			String tag = candidate.trim();
+			// If-None-Match uses weak comparison
+			if (tag.startsWith("W/")) {
+				tag = tag.substring(2);
+			}
+			if (tag.equals(etag) || tag.equals("*")) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	/**
@@ -100,7 +210,7 @@ public class CaseDocumentController {
 	 */
 	@GetMapping
 	@Operation(summary = "Get all case documents",
-			description = "Retrieve all documents associated with a specific case")
+			description = "Retrieve all documents associated with a specific case. See /scroll for pages of them.")
 	@ApiResponses(
 			value = {
 					@ApiResponse(responseCode = "200", description = "Documents retrieved successfully",
@@ -115,17 +225,55 @@ public class CaseDocumentController {
 		List<CaseDocument> documents = documentUploadService.getDocumentsByCaseId(caseId);
 
 		List<DocumentStatusResponse> responses = documents.stream()
-			.map(document -> DocumentStatusResponse.builder()
-				.documentId(document.getId())
-				.status(document.getStatus().name())
-				.documentType(document.getDocumentType() != null ? document.getDocumentType().name() : null)
-				.documentCategory(document.getDocumentCategory().name())
-				.isComplete(document.isComplete())
-				.title(document.getTitle())
-				.build())
+			.map(CaseDocumentController::toStatusResponse)
 			.collect(Collectors.toList());
 
 		return ResponseEntity.ok(responses);
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Get a page of the documents of a case
+	 * @param caseId case ID
+	 * @param cursor cursor from the previous page
+	 * @param size page size
+	 * @param total 'estimated' for an estimated total
+	 * @return page of document status responses
+	 */
+	@GetMapping("/scroll")
+	@Operation(summary = "Scroll case documents",
+			description = "Retrieve pages of the documents of a case, most recently updated first. Pass nextCursor "
+					+ "from a response as cursor to get the next page.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Documents retrieved successfully"),
+			@ApiResponse(responseCode = "400", description = "Invalid cursor"),
+			@ApiResponse(responseCode = "500", description = "Internal server error") })
+	public ResponseEntity<CursorPage<DocumentStatusResponse>> scrollDocuments(
+			@Parameter(description = "ID of the case to get documents for",
+					required = true) @PathVariable String caseId,
+			@Parameter(description = "Cursor from the previous page") @RequestParam(value = "cursor",
+					required = false) String cursor,
+			@Parameter(description = "Page size, at most " + MAX_CURSOR_PAGE_SIZE) @RequestParam(value = "size",
+					defaultValue = "20") int size,
+			@Parameter(description = "Set to 'estimated' for an estimated total") @RequestParam(value = "total",
+					required = false) String total) {
+		CursorPage<CaseDocument> page = documentUploadService.scrollDocumentsByCaseId(caseId, cursor,
+				Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE)), TOTAL_ESTIMATED.equals(total));
+		return ResponseEntity.ok(CursorPage.<DocumentStatusResponse>builder()
+			.content(page.getContent().stream().map(CaseDocumentController::toStatusResponse).toList())
+			.nextCursor(page.getNextCursor())
+			.hasNext(page.isHasNext())
+			.estimatedTotal(page.getEstimatedTotal())
+			.build());
+	}
+
+	private static DocumentStatusResponse toStatusResponse(CaseDocument document) {
+		return DocumentStatusResponse.builder()
+			.documentId(document.getId())
+			.status(document.getStatus().name())
+			.documentType(document.getDocumentType() != null ? document.getDocumentType().name() : null)
+			.documentCategory(document.getDocumentCategory().name())
+			.isComplete(document.isComplete())
+			.title(document.getTitle())
+			.build();
+	}
+
+}
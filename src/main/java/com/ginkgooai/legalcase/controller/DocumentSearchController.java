@@ -0,0 +1,83 @@
+package com.ginkgooai.legalcase.controller;
+
+import com.ginkgooai.legalcase.dto.CaseDocumentResponse;
+import com.ginkgooai.legalcase.dto.CursorPage;
+import com.ginkgooai.legalcase.service.DocumentSearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Controller for searching documents across cases
+ */
+@RestController
+@RequestMapping("/documents")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Document Search", description = "API for searching case documents by extracted metadata")
+public class DocumentSearchController {
+
+	private static final String METADATA_PARAMETER_PREFIX = "metadata.";
+
+	private static final int MAX_PAGE_SIZE = 100;
+
+	private final DocumentSearchService documentSearchService;
+
+	/**
+	 * Search documents by extracted metadata
+	 * @param text free-text query over all metadata values
+	 * @param cursor cursor from the previous page
+	 * @param size page size
+	 * @param parameters all request parameters; those named metadata.{field} filter on
+	 * that field
+	 * @return a page of matching documents
+	 */
+	@GetMapping("/search")
+	@Operation(summary = "Search documents by metadata",
+			description = "Find documents whose AI-extracted metadata matches exact field filters, "
+					+ "e.g. metadata.passportNumber=P123456789, and/or a free-text query. "
+					+ "Pass nextCursor from a response as cursor to get the next page.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Search results retrieved",
+					content = { @Content(mediaType = "application/json") }),
+			@ApiResponse(responseCode = "400", description = "No filter given or invalid cursor"),
+			@ApiResponse(responseCode = "500", description = "Internal server error") })
+	public ResponseEntity<CursorPage<CaseDocumentResponse>> searchDocuments(
+			@Parameter(description = "Free-text query over metadata values") @RequestParam(value = "q",
+					required = false) String text,
+			@Parameter(description = "Cursor from the previous page") @RequestParam(value = "cursor",
+					required = false) String cursor,
+			@Parameter(description = "Page size, at most " + MAX_PAGE_SIZE) @RequestParam(value = "size",
+					defaultValue = "20") int size,
+			@Parameter(hidden = true) @RequestParam Map<String, String> parameters) {
+
+		Map<String, String> fields = new LinkedHashMap<>();
+		parameters.forEach((name, value) -> {
+			if (name.startsWith(METADATA_PARAMETER_PREFIX) && name.length() > METADATA_PARAMETER_PREFIX.length()) {
+				fields.put(name.substring(METADATA_PARAMETER_PREFIX.length()), value);
+			}
+		});
+
+		boolean hasText = text != null && !text.isBlank();
+		if (!hasText && fields.isEmpty()) {
+			return ResponseEntity.badRequest().build();
+		}
+
+		return ResponseEntity.ok(documentSearchService.searchByMetadata(fields, hasText ? text : null, cursor,
+				Math.max(1, Math.min(size, MAX_PAGE_SIZE))));
+	}
+
+}
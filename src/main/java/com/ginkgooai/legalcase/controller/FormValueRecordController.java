@@ -2,6 +2,8 @@ package com.ginkgooai.legalcase.controller;
 
 import com.ginkgooai.legalcase.dto.FormValueRecordDTO;
 import com.ginkgooai.legalcase.service.FormValueRecordService;
+import com.ginkgooai.legalcase.service.ratelimit.EndpointClass;
+import com.ginkgooai.legalcase.service.ratelimit.RateLimited;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -37,12 +39,14 @@ public class FormValueRecordController {
 	 * @return recorded form values
 	 */
 	@PostMapping
+	@RateLimited(EndpointClass.FORM_RECORDS)
 	@Operation(summary = "Record form values", description = "Records a set of form values for a specific case")
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200", description = "Form values recorded successfully",
 					content = @Content(schema = @Schema(implementation = FormValueRecordDTO.class))),
 			@ApiResponse(responseCode = "400", description = "Invalid input"),
 			@ApiResponse(responseCode = "404", description = "Case not found"),
+			@ApiResponse(responseCode = "429", description = "Rate limit exceeded, see Retry-After"),
 			@ApiResponse(responseCode = "500", description = "Internal server error") })
 	public ResponseEntity<FormValueRecordDTO> recordFormValues(
 			@Parameter(description = "ID of the case to record form values for",
@@ -74,12 +78,14 @@ public class FormValueRecordController {
 	 * @return recorded form values
 	 */
 	@PostMapping("/inputs")
+	@RateLimited(EndpointClass.FORM_RECORDS)
 	@Operation(summary = "Record input value", description = "Records a single input value for a specific case")
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200", description = "Input value recorded successfully",
 					content = @Content(schema = @Schema(implementation = FormValueRecordDTO.class))),
 			@ApiResponse(responseCode = "400", description = "Invalid input"),
 			@ApiResponse(responseCode = "404", description = "Case not found"),
+			@ApiResponse(responseCode = "429", description = "Rate limit exceeded, see Retry-After"),
 			@ApiResponse(responseCode = "500", description = "Internal server error") })
 	public ResponseEntity<FormValueRecordDTO> recordInputValue(
 			@Parameter(description = "ID of the case to record input value for",
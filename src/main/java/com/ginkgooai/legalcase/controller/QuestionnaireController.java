@@ -3,6 +3,8 @@ package com.ginkgooai.legalcase.controller;
 import com.ginkgooai.legalcase.dto.QuestionnaireSubmissionRequest;
 import com.ginkgooai.legalcase.dto.QuestionnaireSubmissionResponse;
 import com.ginkgooai.legalcase.service.QuestionnaireService;
+import com.ginkgooai.legalcase.service.ratelimit.EndpointClass;
+import com.ginkgooai.legalcase.service.ratelimit.RateLimited;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -35,6 +37,7 @@ public class QuestionnaireController {
 	 * @return Questionnaire submission response
 	 */
 	@PostMapping("/submissions")
+	@RateLimited(EndpointClass.ANALYSIS)
 	@Operation(summary = "Submit questionnaire", description = "Processes a questionnaire submission from a user")
 	@ApiResponses(
 			value = {
@@ -42,6 +45,7 @@ public class QuestionnaireController {
 							content = @Content(
 									schema = @Schema(implementation = QuestionnaireSubmissionResponse.class))),
 					@ApiResponse(responseCode = "400", description = "Invalid submission data"),
+					@ApiResponse(responseCode = "429", description = "Rate limit exceeded, see Retry-After"),
 					@ApiResponse(responseCode = "500", description = "Internal server error") })
 	public ResponseEntity<QuestionnaireSubmissionResponse> submitQuestionnaire(
 			@io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Questionnaire submission data",
@@ -68,6 +72,7 @@ public class QuestionnaireController {
 	 * @return Questionnaire submission response
 	 */
 	@PostMapping("/cases/{caseId}/questionnaires")
+	@RateLimited(EndpointClass.ANALYSIS)
 	@Operation(summary = "Submit case questionnaire",
 			description = "Processes a questionnaire submission for a specific case")
 	@ApiResponses(
@@ -77,6 +82,7 @@ public class QuestionnaireController {
 									schema = @Schema(implementation = QuestionnaireSubmissionResponse.class))),
 					@ApiResponse(responseCode = "400", description = "Invalid submission data"),
 					@ApiResponse(responseCode = "404", description = "Case not found"),
+					@ApiResponse(responseCode = "429", description = "Rate limit exceeded, see Retry-After"),
 					@ApiResponse(responseCode = "500", description = "Internal server error") })
 	public ResponseEntity<QuestionnaireSubmissionResponse> submitCaseQuestionnaire(
 			@Parameter(description = "ID of the case to submit questionnaire for",
@@ -7,12 +7,16 @@ import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.annotations.SoftDelete;
 import org.hibernate.annotations.SoftDeleteType;
-import org.springframework.data.annotation.LastModifiedBy;
-import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
 
+/**
+ * Base entity for soft-deletable entities. Deleting the entity sets {@code deleted = true}
+ * instead of removing the row, and Hibernate adds {@code deleted = false} to every query
+ * and association that loads it. {@code deleted_at} is stamped by a database trigger so
+ * soft-deleted rows can be purged once they are past the retention window.
+ */
 @Getter
 @Setter
 @MappedSuperclass
@@ -20,12 +24,7 @@ import java.time.LocalDateTime;
 @SoftDelete(strategy = SoftDeleteType.DELETED)
 public abstract class BaseLogicalDeleteEntity extends BaseAuditableEntity {
 
-	@LastModifiedDate
-	@Column(name = "deleted_at")
+	@Column(name = "deleted_at", insertable = false, updatable = false)
 	private LocalDateTime deletedAt;
 
-	@LastModifiedBy
-	@Column(name = "deleted_by")
-	private String deletedBy;
-
 }
\ No newline at end of file
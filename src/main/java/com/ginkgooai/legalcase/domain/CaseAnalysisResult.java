@@ -0,0 +1,73 @@
+package com.ginkgooai.legalcase.domain;
+
+import io.hypersistence.utils.hibernate.type.json.JsonType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Type;
+
+import java.time.LocalDateTime;
+
+/**
+ * LLM分析结果 Result of a single LLM analysis run over a case's completed documents
+ */
+@Entity
+@Table(name = "case_analysis_results")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CaseAnalysisResult extends BaseAuditableEntity {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.UUID)
+	private String id;
+
+	@Column(name = "case_id", nullable = false)
+	private String caseId;
+
+	@Column(nullable = false)
+	private String analysisType;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private AnalysisStatus status;
+
+	@Column(length = 2000)
+	private String summary;
+
+	/**
+	 * Structured findings returned by the AI service
+	 */
+	@Type(JsonType.class)
+	@Column(columnDefinition = "jsonb")
+	private String resultJson;
+
+	@Column(nullable = false)
+	private int documentCount;
+
+	@Column(nullable = false)
+	private LocalDateTime startedAt;
+
+	@Column(nullable = false)
+	private LocalDateTime completedAt;
+
+	@Column(name = "duration_ms", nullable = false)
+	private long durationMs;
+
+	/**
+	 * Analysis run outcome
+	 */
+	public enum AnalysisStatus {
+
+		SUCCEEDED, FAILED, TIMED_OUT, REJECTED
+
+	}
+
+	public boolean isSuccessful() {
+		return AnalysisStatus.SUCCEEDED.equals(this.status);
+	}
+
+}
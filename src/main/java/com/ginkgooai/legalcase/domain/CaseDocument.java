@@ -1,9 +1,12 @@
 package com.ginkgooai.legalcase.domain;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.ginkgooai.legalcase.service.cache.CaseChangeListener;
 import io.hypersistence.utils.hibernate.type.json.JsonType;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.Type;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -14,6 +17,9 @@ import java.util.Map;
 
 @Entity
 @Table(name = "case_documents")
+@EntityListeners(CaseChangeListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 @ToString(exclude = "legalCase")
@@ -29,6 +35,9 @@ public class CaseDocument extends BaseLogicalDeleteEntity {
 	@GeneratedValue(strategy = GenerationType.UUID)
 	private String id;
 
+	@Version
+	private Long version;
+
 	@Column(nullable = false)
 	private String title;
 
@@ -44,7 +53,8 @@ public class CaseDocument extends BaseLogicalDeleteEntity {
 
 	private String storageId;
 
-	@ManyToOne
+	// Lazy so that a document served from the second-level cache does not reload its case
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "case_id", nullable = false)
 	private LegalCase legalCase;
 
@@ -127,6 +137,12 @@ public class CaseDocument extends BaseLogicalDeleteEntity {
 
 	}
 
+	public void setStatus(DocumentStatus status) {
+		boolean wasComplete = isComplete();
+		this.status = status;
+		completionMayHaveChanged(wasComplete);
+	}
+
 	/**
 	 * Check if the document is complete
 	 */
@@ -134,4 +150,16 @@ public class CaseDocument extends BaseLogicalDeleteEntity {
 		return DocumentStatus.COMPLETE.equals(this.status);
 	}
 
+	/**
+	 * Let the owning case update its completion counters when a change flipped the
+	 * completion of this document. Subclasses call this from setters of fields their
+	 * completion rule depends on.
+	 * @param wasComplete completion before the change
+	 */
+	protected void completionMayHaveChanged(boolean wasComplete) {
+		if (legalCase != null && wasComplete != isComplete()) {
+			legalCase.documentCompletionChanged(this);
+		}
+	}
+
 }
\ No newline at end of file
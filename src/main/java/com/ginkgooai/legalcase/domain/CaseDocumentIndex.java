@@ -0,0 +1,101 @@
+package com.ginkgooai.legalcase.domain;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 案例文档索引 In-memory index over the documents of a case: by ID and partitioned by
+ * document type. Category views are read-only and reused, so reading them does not
+ * allocate. Owned and kept in sync by {@link LegalCase}.
+ */
+final class CaseDocumentIndex {
+
+	private final Map<String, CaseDocument> byId = new HashMap<>();
+
+	private final List<QuestionnaireDocument> questionnaires = new ArrayList<>();
+
+	private final List<ProfileDocument> profiles = new ArrayList<>();
+
+	private final List<SupportingDocument> supportingDocuments = new ArrayList<>();
+
+	private final List<QuestionnaireDocument> questionnairesView = Collections.unmodifiableList(questionnaires);
+
+	private final List<ProfileDocument> profilesView = Collections.unmodifiableList(profiles);
+
+	private final List<SupportingDocument> supportingDocumentsView = Collections.unmodifiableList(supportingDocuments);
+
+	private int size;
+
+	private int unkeyed;
+
+	CaseDocumentIndex(Collection<CaseDocument> documents) {
+		documents.forEach(this::add);
+	}
+
+	void add(CaseDocument document) {
+		size++;
+		if (document.getId() != null) {
+			byId.put(document.getId(), document);
+		}
+		else {
+			unkeyed++;
+		}
+
+		if (document instanceof QuestionnaireDocument questionnaire) {
+			questionnaires.add(questionnaire);
+		}
+		else if (document instanceof ProfileDocument profile) {
+			profiles.add(profile);
+		}
+		else if (document instanceof SupportingDocument supportingDocument) {
+			supportingDocuments.add(supportingDocument);
+		}
+	}
+
+	void remove(CaseDocument document) {
+		size--;
+		if (document.getId() == null || byId.remove(document.getId()) == null) {
+			unkeyed--;
+		}
+
+		if (document instanceof QuestionnaireDocument) {
+			questionnaires.remove(document);
+		}
+		else if (document instanceof ProfileDocument) {
+			profiles.remove(document);
+		}
+		else if (document instanceof SupportingDocument) {
+			supportingDocuments.remove(document);
+		}
+	}
+
+	/**
+	 * Whether the index still describes the given documents. Documents that had no ID
+	 * when indexed (not yet persisted) or changes made to the collection directly make
+	 * it stale.
+	 */
+	boolean isCurrent(Collection<CaseDocument> documents) {
+		return unkeyed == 0 && size == documents.size();
+	}
+
+	CaseDocument findById(String id) {
+		return byId.get(id);
+	}
+
+	List<QuestionnaireDocument> questionnaires() {
+		return questionnairesView;
+	}
+
+	List<ProfileDocument> profiles() {
+		return profilesView;
+	}
+
+	List<SupportingDocument> supportingDocuments() {
+		return supportingDocumentsView;
+	}
+
+}
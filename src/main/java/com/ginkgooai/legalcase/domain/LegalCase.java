@@ -2,10 +2,19 @@ package com.ginkgooai.legalcase.domain;
 
 import com.ginkgooai.legalcase.domain.event.CaseEvents;
 import com.ginkgooai.legalcase.domain.event.DomainEvent;
+import com.ginkgooai.legalcase.service.cache.CaseChangeListener;
+import io.micrometer.core.instrument.Metrics;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
@@ -14,22 +23,27 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.stream.Collectors;
 
 /**
  * Legal case aggregate root
  */
 @Entity
 @Table(name = "legal_cases")
+@EntityListeners(CaseChangeListener.class)
 @Data
 @Slf4j
 @NoArgsConstructor
-public class LegalCase extends BaseAuditableEntity {
+public class LegalCase extends BaseLogicalDeleteEntity {
+
+	private static final String STATUS_TRANSITIONS_METRIC = "legalcase.case.status.transitions";
 
 	@Id
 	@GeneratedValue(strategy = GenerationType.UUID)
 	private String id;
 
+	@Version
+	private Long version;
+
 	@Column(nullable = false)
 	private String title;
 
@@ -46,12 +60,69 @@ public class LegalCase extends BaseAuditableEntity {
 	@Column(nullable = false)
 	private CaseStatus status = CaseStatus.DRAFT;
 
+	/**
+	 * Time the most recent LLM analysis was initiated, used to throttle re-analysis
+	 */
+	@Column(name = "last_analysis_at")
+	private LocalDateTime lastAnalysisAt;
+
+	/**
+	 * 完成度计数 Completion counters. Kept up to date as documents are added, removed or
+	 * change completion, so completion checks do not need the documents loaded. Only the
+	 * case itself changes them
+	 */
+	@Column(name = "questionnaires_total", nullable = false)
+	@Setter(AccessLevel.NONE)
+	private int questionnairesTotal;
+
+	@Column(name = "questionnaires_complete", nullable = false)
+	@Setter(AccessLevel.NONE)
+	private int questionnairesComplete;
+
+	@Column(name = "required_documents_total", nullable = false)
+	@Setter(AccessLevel.NONE)
+	private int requiredDocumentsTotal;
+
+	@Column(name = "required_documents_complete", nullable = false)
+	@Setter(AccessLevel.NONE)
+	private int requiredDocumentsComplete;
+
+	@Column(name = "documents_complete", nullable = false)
+	@Setter(AccessLevel.NONE)
+	private int documentsComplete;
+
 	@OneToMany(mappedBy = "legalCase", cascade = CascadeType.ALL, orphanRemoval = true)
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 	private List<CaseDocument> documents = new ArrayList<>();
 
 	@Transient
 	private List<DomainEvent> domainEvents = new CopyOnWriteArrayList<>();
 
+	/**
+	 * Index over {@link #documents}, built on first use and maintained by the add and
+	 * remove methods
+	 */
+	@Transient
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private CaseDocumentIndex documentIndex;
+
+	/**
+	 * 状态变更 Change the case status and count the transition, tagged with both statuses.
+	 * Entities have no injected meter registry, so the count goes to the global registry,
+	 * to which Spring Boot adds its own.
+	 * @param next 新状态 / new status
+	 */
+	private void transitionTo(CaseStatus next) {
+		if (next != this.status) {
+			Metrics.counter(STATUS_TRANSITIONS_METRIC, "from", String.valueOf(this.status), "to", next.name())
+				.increment();
+		}
+		this.status = next;
+	}
+
 	/**
 	 * Register a domain event
 	 * @param event Domain event
@@ -81,7 +152,7 @@ public class LegalCase extends BaseAuditableEntity {
 		this.profileId = profileId;
 		this.title = title;
 		this.description = description;
-		this.status = CaseStatus.DOCUMENTATION_IN_PROGRESS;
+		transitionTo(CaseStatus.DOCUMENTATION_IN_PROGRESS);
 
 		registerEvent(new CaseEvents.CaseCreatedEvent(this.id, profileId, title));
 	}
@@ -93,47 +164,103 @@ public class LegalCase extends BaseAuditableEntity {
 	public void addDocument(CaseDocument document) {
 		document.setLegalCase(this);
 		this.documents.add(document);
+		documentAdded(document);
+	}
+
+	/**
+	 * Remove a document from the case
+	 * @param document Case document
+	 */
+	public void removeDocument(CaseDocument document) {
+		if (this.documents.remove(document)) {
+			if (this.documentIndex != null) {
+				this.documentIndex.remove(document);
+			}
+			countDocument(document, -1);
+		}
+	}
+
+	/**
+	 * Replace the documents of the case, recounting the completion counters
+	 * @param documents Case documents
+	 */
+	public void setDocuments(List<CaseDocument> documents) {
+		this.documents = documents;
+		this.documentIndex = null;
+		this.questionnairesTotal = 0;
+		this.questionnairesComplete = 0;
+		this.requiredDocumentsTotal = 0;
+		this.requiredDocumentsComplete = 0;
+		this.documentsComplete = 0;
+		for (CaseDocument document : documents) {
+			document.setLegalCase(this);
+			countDocument(document, 1);
+		}
+	}
+
+	/**
+	 * Find a document of this case by ID
+	 * @param documentId Document ID
+	 * @return The document, or null if the case has no such document
+	 */
+	public CaseDocument findDocument(String documentId) {
+		return documentIndex().findById(documentId);
 	}
 
 	/**
 	 * Get all questionnaire documents in this case
-	 * @return List of questionnaire documents
+	 * @return Read-only list of questionnaire documents
 	 */
 	public List<QuestionnaireDocument> getQuestionnaireDocuments() {
-		return this.documents.stream()
-			.filter(doc -> doc instanceof QuestionnaireDocument)
-			.map(doc -> (QuestionnaireDocument) doc)
-			.collect(Collectors.toList());
+		return documentIndex().questionnaires();
 	}
 
+	/**
+	 * Get all profile documents in this case
+	 * @return Read-only list of profile documents
+	 */
 	public List<ProfileDocument> getProfileDocuments() {
-		return this.documents.stream()
-			.filter(doc -> doc instanceof ProfileDocument)
-			.map(doc -> (ProfileDocument) doc)
-			.collect(Collectors.toList());
+		return documentIndex().profiles();
 	}
 
 	/**
 	 * Get all supporting documents in this case
-	 * @return List of supporting documents
+	 * @return Read-only list of supporting documents
 	 */
 	public List<SupportingDocument> getSupportingDocuments() {
-		return this.documents.stream()
-			.filter(doc -> doc instanceof SupportingDocument)
-			.map(doc -> (SupportingDocument) doc)
-			.collect(Collectors.toList());
+		return documentIndex().supportingDocuments();
+	}
+
+	/**
+	 * The document index, rebuilt when it no longer matches the documents collection,
+	 * e.g. after new documents were assigned their IDs on persist
+	 */
+	private CaseDocumentIndex documentIndex() {
+		if (this.documentIndex == null || !this.documentIndex.isCurrent(this.documents)) {
+			this.documentIndex = new CaseDocumentIndex(this.documents);
+		}
+		return this.documentIndex;
+	}
+
+	private void documentAdded(CaseDocument document) {
+		if (this.documentIndex != null) {
+			this.documentIndex.add(document);
+		}
+		countDocument(document, 1);
 	}
 
 	public void addProfileDocument(ProfileDocument document) {
 		document.setLegalCase(this);
 		document.setDocumentCategory(CaseDocument.DocumentCategory.PROFILE);
 		this.documents.add(document);
+		documentAdded(document);
 	}
 
 	public void addQuestionnaireDocument(QuestionnaireDocument document) {
 		document.setLegalCase(this);
 		document.setDocumentCategory(CaseDocument.DocumentCategory.QUESTIONNAIRE);
 		this.documents.add(document);
+		documentAdded(document);
 	}
 
 	/**
@@ -144,6 +271,36 @@ public class LegalCase extends BaseAuditableEntity {
 		document.setLegalCase(this);
 		document.setDocumentCategory(CaseDocument.DocumentCategory.SUPPORTING_DOCUMENT);
 		this.documents.add(document);
+		documentAdded(document);
+	}
+
+	/**
+	 * 文档完成状态变更 Called by a document of this case when a change flipped its
+	 * completion
+	 * @param document 文档 / document
+	 */
+	void documentCompletionChanged(CaseDocument document) {
+		int delta = document.isComplete() ? 1 : -1;
+		if (document instanceof QuestionnaireDocument) {
+			this.questionnairesComplete += delta;
+		}
+		else if (document instanceof SupportingDocument supportingDocument && supportingDocument.isRequired()) {
+			this.requiredDocumentsComplete += delta;
+		}
+		this.documentsComplete += delta;
+	}
+
+	private void countDocument(CaseDocument document, int sign) {
+		int complete = document.isComplete() ? sign : 0;
+		if (document instanceof QuestionnaireDocument) {
+			this.questionnairesTotal += sign;
+			this.questionnairesComplete += complete;
+		}
+		else if (document instanceof SupportingDocument supportingDocument && supportingDocument.isRequired()) {
+			this.requiredDocumentsTotal += sign;
+			this.requiredDocumentsComplete += complete;
+		}
+		this.documentsComplete += complete;
 	}
 
 	/**
@@ -153,12 +310,13 @@ public class LegalCase extends BaseAuditableEntity {
 	 */
 	public void markDocumentComplete(String documentId, String documentName) {
 		// 查找文档并更新其状态
-		this.documents.stream().filter(doc -> documentId.equals(doc.getId())).findFirst().ifPresent(doc -> {
-			doc.setStatus(CaseDocument.DocumentStatus.COMPLETE);
+		CaseDocument document = findDocument(documentId);
+		if (document != null) {
+			document.setStatus(CaseDocument.DocumentStatus.COMPLETE);
 			registerEvent(new CaseEvents.DocumentCompletedEvent(this.id, documentId, documentName));
 
 			// 发出文档完成事件，后续的LLM分析判断由服务层处理
-		});
+		}
 	}
 
 	/**
@@ -168,16 +326,12 @@ public class LegalCase extends BaseAuditableEntity {
 	 */
 	public void markQuestionnaireComplete(String questionnaireId, String questionnaireName) {
 		// 查找问卷文档并更新其状态
-		this.getQuestionnaireDocuments()
-			.stream()
-			.filter(doc -> questionnaireId.equals(doc.getId()))
-			.findFirst()
-			.ifPresent(doc -> {
-				doc.setStatus(CaseDocument.DocumentStatus.COMPLETE);
-				registerEvent(new CaseEvents.QuestionnaireCompletedEvent(this.id, questionnaireId, questionnaireName));
+		if (findDocument(questionnaireId) instanceof QuestionnaireDocument questionnaire) {
+			questionnaire.setStatus(CaseDocument.DocumentStatus.COMPLETE);
+			registerEvent(new CaseEvents.QuestionnaireCompletedEvent(this.id, questionnaireId, questionnaireName));
 
-				// 发出问卷完成事件，后续的LLM分析判断由服务层处理
-			});
+			// 发出问卷完成事件，后续的LLM分析判断由服务层处理
+		}
 	}
 
 	/**
@@ -187,7 +341,7 @@ public class LegalCase extends BaseAuditableEntity {
 	 * @return 是否应该触发LLM分析 / whether LLM analysis should be initiated
 	 */
 	public boolean hasCompletedDocumentsForAnalysis() {
-		return this.documents.stream().anyMatch(CaseDocument::isComplete);
+		return this.documentsComplete > 0;
 	}
 
 	/**
@@ -197,11 +351,13 @@ public class LegalCase extends BaseAuditableEntity {
 	public void initiateLlmAnalysis(String analysisType) {
 		// 更新案例状态
 		CaseStatus previousStatus = this.status;
-		this.status = CaseStatus.ANALYZING;
+		transitionTo(CaseStatus.ANALYZING);
 
 		// registerEvent(new CaseEvents.CaseStatusChangedEvent(
 		// this.id, previousStatus, this.status, "LLM analysis initiated"));
-		registerEvent(new CaseEvents.LlmAnalysisInitiatedEvent(this.id, analysisType));
+		CaseEvents.LlmAnalysisInitiatedEvent event = new CaseEvents.LlmAnalysisInitiatedEvent(this.id, analysisType);
+		this.lastAnalysisAt = event.getOccurredAt();
+		registerEvent(event);
 	}
 
 	/**
@@ -210,15 +366,19 @@ public class LegalCase extends BaseAuditableEntity {
 	 * @param resultSummary 结果摘要 / result summary
 	 */
 	public void completeLlmAnalysis(boolean successful, String resultSummary) {
+		if (this.status != CaseStatus.ANALYZING) {
+			throw new IllegalStateException("Case is not in analyzing state");
+		}
+
 		// 更新案例状态
 		CaseStatus previousStatus = this.status;
 
 		// 检查所有文档是否已完成
 		if (isAllDocumentationComplete()) {
-			this.status = CaseStatus.DOCUMENTATION_COMPLETE;
+			transitionTo(CaseStatus.DOCUMENTATION_COMPLETE);
 		}
 		else {
-			this.status = CaseStatus.DOCUMENTATION_IN_PROGRESS;
+			transitionTo(CaseStatus.DOCUMENTATION_IN_PROGRESS);
 		}
 
 		// registerEvent(new CaseEvents.CaseStatusChangedEvent(
@@ -237,23 +397,9 @@ public class LegalCase extends BaseAuditableEntity {
 	 * @return 是否所有文档已完成 / whether all documentation is complete
 	 */
 	public boolean isAllDocumentationComplete() {
-		// 检查所有问卷是否完成
-		boolean allQuestionnairesComplete = this.getQuestionnaireDocuments()
-			.stream()
-			.allMatch(QuestionnaireDocument::isComplete);
-
-		// 检查必要的支持文档是否完成
-		boolean allSupportingDocsComplete = true;
-		List<SupportingDocument> requiredDocs = this.getSupportingDocuments()
-			.stream()
-			.filter(SupportingDocument::isRequired)
-			.collect(Collectors.toList());
-
-		if (!requiredDocs.isEmpty()) {
-			allSupportingDocsComplete = requiredDocs.stream().allMatch(SupportingDocument::isComplete);
-		}
-
-		return allQuestionnairesComplete && !this.getQuestionnaireDocuments().isEmpty() && allSupportingDocsComplete;
+		// 至少需要一份问卷，且所有问卷和必要的支持文档均已完成
+		return this.questionnairesTotal > 0 && this.questionnairesComplete == this.questionnairesTotal
+				&& this.requiredDocumentsComplete == this.requiredDocumentsTotal;
 	}
 
 	/**
@@ -266,7 +412,7 @@ public class LegalCase extends BaseAuditableEntity {
 		}
 
 		CaseStatus previousStatus = this.status;
-		this.status = CaseStatus.AUTO_FILLING;
+		transitionTo(CaseStatus.AUTO_FILLING);
 
 		// registerEvent(new CaseEvents.CaseStatusChangedEvent(
 		// this.id, previousStatus, this.status, "Auto-filling initiated"));
@@ -279,7 +425,7 @@ public class LegalCase extends BaseAuditableEntity {
 	 */
 	public void putOnHold(String reason) {
 		CaseStatus previousStatus = this.status;
-		this.status = CaseStatus.ON_HOLD;
+		transitionTo(CaseStatus.ON_HOLD);
 
 		registerEvent(new CaseEvents.CasePutOnHoldEvent(this.id, reason));
 	}
@@ -293,7 +439,7 @@ public class LegalCase extends BaseAuditableEntity {
 		}
 
 		CaseStatus previousStatus = this.status;
-		this.status = CaseStatus.AUTO_FILLING;
+		transitionTo(CaseStatus.AUTO_FILLING);
 
 		registerEvent(new CaseEvents.CaseResumedEvent(this.id));
 	}
@@ -307,7 +453,7 @@ public class LegalCase extends BaseAuditableEntity {
 		}
 
 		CaseStatus previousStatus = this.status;
-		this.status = CaseStatus.FINAL_REVIEW;
+		transitionTo(CaseStatus.FINAL_REVIEW);
 
 		registerEvent(new CaseEvents.AutoFillingCompletedEvent(this.id));
 	}
@@ -322,7 +468,7 @@ public class LegalCase extends BaseAuditableEntity {
 		}
 
 		CaseStatus previousStatus = this.status;
-		this.status = CaseStatus.SUBMITTED;
+		transitionTo(CaseStatus.SUBMITTED);
 
 		registerEvent(new CaseEvents.CaseSubmittedEvent(this.id, submittedBy));
 	}
@@ -338,7 +484,7 @@ public class LegalCase extends BaseAuditableEntity {
 		}
 
 		CaseStatus previousStatus = this.status;
-		this.status = CaseStatus.APPROVED;
+		transitionTo(CaseStatus.APPROVED);
 
 		registerEvent(new CaseEvents.CaseApprovedEvent(this.id, approvedBy, comments));
 	}
@@ -354,7 +500,7 @@ public class LegalCase extends BaseAuditableEntity {
 		}
 
 		CaseStatus previousStatus = this.status;
-		this.status = CaseStatus.DENIED;
+		transitionTo(CaseStatus.DENIED);
 
 		registerEvent(new CaseEvents.CaseDeniedEvent(this.id, deniedBy, reason));
 	}
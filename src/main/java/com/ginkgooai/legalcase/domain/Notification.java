@@ -0,0 +1,92 @@
+package com.ginkgooai.legalcase.domain;
+
+import io.hypersistence.utils.hibernate.type.json.JsonType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Type;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 通知 A notification queued for delivery. Written in the transaction of the change it
+ * reports and delivered later, together with the other notifications of its recipient,
+ * as one digest.
+ */
+@Entity
+@Table(name = "notifications")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Notification extends BaseAuditableEntity {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.UUID)
+	private String id;
+
+	@Column(nullable = false)
+	private String recipient;
+
+	@Column(name = "case_id", nullable = false)
+	private String caseId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private NotificationType type;
+
+	/**
+	 * Fields of the change shown in the digest, such as the reason or who approved
+	 */
+	@Type(JsonType.class)
+	@Column(columnDefinition = "jsonb")
+	private Map<String, String> details;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	@Builder.Default
+	private DeliveryStatus status = DeliveryStatus.PENDING;
+
+	@Column(nullable = false)
+	private int attempts;
+
+	@Column(name = "next_attempt_at", nullable = false)
+	private LocalDateTime nextAttemptAt;
+
+	@Column(name = "last_error", length = 1000)
+	private String lastError;
+
+	/**
+	 * 通知类型 What a notification reports
+	 */
+	public enum NotificationType {
+
+		CASE_CREATED("Case created"), STATUS_CHANGED("Status changed"), ANALYSIS_COMPLETED("Analysis completed"),
+		REVIEW_READY("Ready for review"), ON_HOLD("Put on hold"), RESUMED("Resumed"),
+		SUBMITTED("Submitted for approval"), APPROVED("Approved"), DENIED("Denied");
+
+		private final String displayName;
+
+		NotificationType(String displayName) {
+			this.displayName = displayName;
+		}
+
+		public String getDisplayName() {
+			return displayName;
+		}
+
+	}
+
+	/**
+	 * 投递状态 PENDING until delivered (then deleted) or out of attempts (FAILED)
+	 */
+	public enum DeliveryStatus {
+
+		PENDING, FAILED
+
+	}
+
+}
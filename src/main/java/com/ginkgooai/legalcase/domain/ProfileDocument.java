@@ -26,6 +26,12 @@ public class ProfileDocument extends CaseDocument {
 	@Column(name = "verification_method")
 	private String verificationMethod;
 
+	public void setIdentityVerified(Boolean identityVerified) {
+		boolean wasComplete = isComplete();
+		this.identityVerified = identityVerified;
+		completionMayHaveChanged(wasComplete);
+	}
+
 	/**
 	 * Check if the profile information is complete
 	 */
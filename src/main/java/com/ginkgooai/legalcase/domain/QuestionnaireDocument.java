@@ -33,6 +33,12 @@ public class QuestionnaireDocument extends CaseDocument {
 	@Transient
 	private Map<String, Object> responses = new HashMap<>();
 
+	public void setCompletionPercentage(Integer completionPercentage) {
+		boolean wasComplete = isComplete();
+		this.completionPercentage = completionPercentage;
+		completionMayHaveChanged(wasComplete);
+	}
+
 	/**
 	 * Check if this specific questionnaire is complete
 	 */
@@ -37,6 +37,18 @@ public class SupportingDocument extends CaseDocument {
 	@Column(name = "verified")
 	private Boolean verified;
 
+	public void setVerificationRequired(Boolean verificationRequired) {
+		boolean wasComplete = isComplete();
+		this.verificationRequired = verificationRequired;
+		completionMayHaveChanged(wasComplete);
+	}
+
+	public void setVerified(Boolean verified) {
+		boolean wasComplete = isComplete();
+		this.verified = verified;
+		completionMayHaveChanged(wasComplete);
+	}
+
 	/**
 	 * Check if the supporting document is complete
 	 */
@@ -0,0 +1,24 @@
+package com.ginkgooai.legalcase.dto;
+
+import com.ginkgooai.legalcase.domain.CaseStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Typeahead suggestion for case search
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CaseSuggestionResponse {
+
+	private String id;
+
+	private String title;
+
+	private CaseStatus status;
+
+}
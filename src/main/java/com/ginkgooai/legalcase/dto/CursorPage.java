@@ -0,0 +1,31 @@
+package com.ginkgooai.legalcase.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A page of keyset-paginated results. Pass {@code nextCursor} back as {@code cursor} to
+ * fetch the following page; it is absent on the last page. {@code estimatedTotal} is only
+ * present when requested and comes from planner statistics, not an exact count.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPage<T> {
+
+	private List<T> content;
+
+	private String nextCursor;
+
+	private boolean hasNext;
+
+	private Long estimatedTotal;
+
+}
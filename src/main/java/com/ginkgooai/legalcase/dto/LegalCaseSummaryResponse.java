@@ -0,0 +1,65 @@
+package com.ginkgooai.legalcase.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ginkgooai.legalcase.domain.CaseDocument.DocumentStatus;
+import com.ginkgooai.legalcase.domain.CaseStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lightweight case view for list and search results. Document counts are computed in
+ * the database; documents themselves are only included on request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LegalCaseSummaryResponse {
+
+	private String id;
+
+	private String title;
+
+	private String description;
+
+	private String profileId;
+
+	private String clientId;
+
+	private CaseStatus status;
+
+	@JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+	private LocalDateTime lastAnalysisAt;
+
+	@JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+	private LocalDateTime createdAt;
+
+	@JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+	private LocalDateTime updatedAt;
+
+	private long documentsCount;
+
+	private Map<DocumentStatus, Long> documentStatusCounts;
+
+	private int questionnairesTotal;
+
+	private int questionnairesComplete;
+
+	private int requiredDocumentsTotal;
+
+	private int requiredDocumentsComplete;
+
+	/**
+	 * Only present when requested with {@code include=documents}
+	 */
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private List<CaseDocumentResponse> documents;
+
+}
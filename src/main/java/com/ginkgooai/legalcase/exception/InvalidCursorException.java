@@ -0,0 +1,16 @@
+package com.ginkgooai.legalcase.exception;
+
+/**
+ * 无效分页游标异常 Exception thrown when a pagination cursor cannot be decoded
+ */
+public class InvalidCursorException extends RuntimeException {
+
+	public InvalidCursorException(String message) {
+		super(message);
+	}
+
+	public InvalidCursorException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+}
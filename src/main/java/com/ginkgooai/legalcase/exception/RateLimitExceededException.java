@@ -0,0 +1,21 @@
+package com.ginkgooai.legalcase.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * 超出限流异常 Exception thrown when a client has used up the rate limit of an endpoint
+ * class
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+	private final Duration retryAfter;
+
+	public RateLimitExceededException(String message, Duration retryAfter) {
+		super(message);
+		this.retryAfter = retryAfter;
+	}
+
+}
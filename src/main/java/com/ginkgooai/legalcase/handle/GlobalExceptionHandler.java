@@ -1,8 +1,13 @@
 package com.ginkgooai.legalcase.handle;
 
 import com.ginkgooai.core.common.exception.BaseRuntimeException;
+import com.ginkgooai.legalcase.exception.InvalidCursorException;
+import com.ginkgooai.legalcase.exception.RateLimitExceededException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
@@ -17,4 +22,19 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 		return ex.toProblemDetail();
 	}
 
+	@ExceptionHandler(InvalidCursorException.class)
+	public ProblemDetail handleInvalidCursor(InvalidCursorException ex) {
+		log.debug("Invalid cursor: {}", ex.getMessage());
+		return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
+	}
+
+	@ExceptionHandler(RateLimitExceededException.class)
+	public ResponseEntity<ProblemDetail> handleRateLimitExceeded(RateLimitExceededException ex) {
+		// Whole seconds, rounded up so a client retrying on time finds a token
+		long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+		return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+			.header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+			.body(ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage()));
+	}
+
 }
\ No newline at end of file
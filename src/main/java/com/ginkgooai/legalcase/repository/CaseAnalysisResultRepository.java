@@ -0,0 +1,30 @@
+package com.ginkgooai.legalcase.repository;
+
+import com.ginkgooai.legalcase.domain.CaseAnalysisResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for LLM analysis results
+ */
+@Repository
+public interface CaseAnalysisResultRepository extends JpaRepository<CaseAnalysisResult, String> {
+
+	/**
+	 * Find the most recent analysis result for a case
+	 * @param caseId Case ID
+	 * @return The latest result, if any
+	 */
+	Optional<CaseAnalysisResult> findFirstByCaseIdOrderByCompletedAtDesc(String caseId);
+
+	/**
+	 * Find all analysis results for a case, newest first
+	 * @param caseId Case ID
+	 * @return List of results
+	 */
+	List<CaseAnalysisResult> findByCaseIdOrderByCompletedAtDesc(String caseId);
+
+}
@@ -1,13 +1,21 @@
 package com.ginkgooai.legalcase.repository;
 
 import com.ginkgooai.legalcase.domain.CaseDocument;
+import com.ginkgooai.legalcase.repository.projection.DocumentStatusCount;
+import com.ginkgooai.legalcase.repository.projection.StatusDocumentCount;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -79,4 +87,80 @@ public interface CaseDocumentRepository extends JpaRepository<CaseDocument, Stri
 	@Query("SELECT d FROM CaseDocument d WHERE d.legalCase.id = :caseId AND d.storageId = :storageId")
 	List<CaseDocument> findByCaseIdAndStorageId(@Param("caseId") String caseId, @Param("storageId") String storageId);
 
-}
\ No newline at end of file
+	/**
+	 * Find the documents of a case in the given status
+	 * @param caseId Case ID
+	 * @param status Document status
+	 * @return List of documents
+	 */
+	@Query("SELECT d FROM CaseDocument d WHERE d.legalCase.id = :caseId AND d.status = :status")
+	List<CaseDocument> findByCaseIdAndStatus(@Param("caseId") String caseId,
+			@Param("status") CaseDocument.DocumentStatus status);
+
+	/**
+	 * Count documents per case and status for a batch of cases in one query
+	 * @param caseIds Case IDs
+	 * @return One row per case and status that has at least one document
+	 */
+	@Query("SELECT d.legalCase.id AS caseId, d.status AS status, COUNT(d) AS documentCount FROM CaseDocument d "
+			+ "WHERE d.legalCase.id IN :caseIds GROUP BY d.legalCase.id, d.status")
+	List<DocumentStatusCount> countByCaseIdsGroupByStatus(@Param("caseIds") Collection<String> caseIds);
+
+	/**
+	 * Count documents per status across all cases
+	 * @return One row per status that has at least one document
+	 */
+	@Query("SELECT d.status AS status, COUNT(d) AS documentCount FROM CaseDocument d GROUP BY d.status")
+	List<StatusDocumentCount> countGroupByStatus();
+
+	/**
+	 * Find the documents of a batch of cases in one query
+	 * @param caseIds Case IDs
+	 * @return List of documents with their legal case loaded
+	 */
+	@Query("SELECT d FROM CaseDocument d JOIN FETCH d.legalCase WHERE d.legalCase.id IN :caseIds")
+	List<CaseDocument> findByCaseIdIn(@Param("caseIds") Collection<String> caseIds);
+
+	/**
+	 * Find documents by ID with their legal case loaded
+	 * @param ids Document IDs
+	 * @return The existing documents, in no particular order
+	 */
+	@Query("SELECT d FROM CaseDocument d JOIN FETCH d.legalCase WHERE d.id IN :ids")
+	List<CaseDocument> findWithLegalCaseByIdIn(@Param("ids") Collection<String> ids);
+
+	/**
+	 * Scroll the documents of a case, most recently updated first, with keyset positions
+	 * on (updatedAt, id)
+	 */
+	Window<CaseDocument> findByLegalCaseIdOrderByUpdatedAtDescIdDesc(String caseId, ScrollPosition position,
+			Limit limit);
+
+	/**
+	 * Planner estimate of the number of live documents of a case
+	 */
+	@Query(value = "SELECT estimate_row_count(format('SELECT 1 FROM case_documents WHERE case_id = %L "
+			+ "AND deleted = false', CAST(:caseId AS text)))", nativeQuery = true)
+	long estimateCountByCaseId(@Param("caseId") String caseId);
+
+	/**
+	 * Permanently delete up to {@code batchSize} documents soft-deleted before the
+	 * cutoff. Rows locked by a concurrent purge are skipped.
+	 * @param cutoff Only documents deleted before this time are purged
+	 * @param batchSize Maximum number of rows to delete
+	 * @return Number of rows deleted
+	 */
+	@Modifying
+	@Query(value = """
+			DELETE FROM case_documents
+			WHERE id IN (SELECT d.id
+			             FROM case_documents d
+			             WHERE d.deleted = true
+			               AND d.deleted_at < :cutoff
+			             ORDER BY d.deleted_at
+			             LIMIT :batchSize
+			             FOR UPDATE SKIP LOCKED)
+			""", nativeQuery = true)
+	int purgeDeletedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+
+}
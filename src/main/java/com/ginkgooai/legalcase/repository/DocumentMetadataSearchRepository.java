@@ -0,0 +1,80 @@
+package com.ginkgooai.legalcase.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Search over the AI-extracted metadata of case documents. The SQL is assembled from
+ * the filters actually given so every variant gets its own plan: field filters use the
+ * {@code jsonb_path_ops} GIN index, free text the {@code metadata_search} GIN index.
+ */
+@Repository
+public class DocumentMetadataSearchRepository {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	/**
+	 * Find live documents matching the filters, newest first, with keyset pagination on
+	 * (updated_at DESC, id DESC)
+	 * @param fieldFilter JSON object of top-level metadata fields that must match exactly,
+	 * null for none
+	 * @param text free-text query in web search syntax, null for none
+	 * @param cursorUpdatedAt updated_at of the last row of the previous page, null for the
+	 * first page
+	 * @param cursorId ID of the last row of the previous page, null for the first page
+	 * @param limit maximum number of rows
+	 * @return matching documents, as (id, updated_at) positions
+	 */
+	public List<DocumentPosition> search(String fieldFilter, String text, LocalDateTime cursorUpdatedAt,
+			String cursorId, int limit) {
+		StringBuilder sql = new StringBuilder("SELECT d.id, d.updated_at FROM case_documents d WHERE d.deleted = false");
+		Map<String, Object> parameters = new HashMap<>();
+
+		if (fieldFilter != null) {
+			sql.append(" AND d.metadata_json @> CAST(:fieldFilter AS jsonb)");
+			parameters.put("fieldFilter", fieldFilter);
+		}
+		if (text != null) {
+			sql.append(" AND d.metadata_search @@ websearch_to_tsquery('simple', :text)");
+			parameters.put("text", text);
+		}
+		if (cursorUpdatedAt != null) {
+			sql.append(" AND (d.updated_at, d.id) < (:cursorUpdatedAt, :cursorId)");
+			parameters.put("cursorUpdatedAt", cursorUpdatedAt);
+			parameters.put("cursorId", cursorId);
+		}
+		sql.append(" ORDER BY d.updated_at DESC, d.id DESC LIMIT :limit");
+		parameters.put("limit", limit);
+
+		Query query = entityManager.createNativeQuery(sql.toString());
+		parameters.forEach(query::setParameter);
+
+		List<DocumentPosition> positions = new ArrayList<>();
+		for (Object row : query.getResultList()) {
+			Object[] columns = (Object[]) row;
+			positions.add(new DocumentPosition((String) columns[0], toLocalDateTime(columns[1])));
+		}
+		return positions;
+	}
+
+	private static LocalDateTime toLocalDateTime(Object value) {
+		return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+	}
+
+	/**
+	 * Keyset position of a document in the result order
+	 */
+	public record DocumentPosition(String id, LocalDateTime updatedAt) {
+	}
+
+}
@@ -3,14 +3,23 @@ package com.ginkgooai.legalcase.repository;
 import com.ginkgooai.legalcase.domain.CaseDocument;
 import com.ginkgooai.legalcase.domain.CaseStatus;
 import com.ginkgooai.legalcase.domain.LegalCase;
+import com.ginkgooai.legalcase.repository.projection.CaseSearchHit;
+import com.ginkgooai.legalcase.repository.projection.CaseSuggestionView;
+import com.ginkgooai.legalcase.repository.projection.LegalCaseSummaryView;
 import org.hibernate.annotations.processing.Find;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,23 +30,116 @@ import java.util.Optional;
 public interface LegalCaseRepository extends JpaRepository<LegalCase, String> {
 
 	/**
-	 * Find cases by profile ID
+	 * Select list for {@link LegalCaseSummaryView} projections
 	 */
-	Page<LegalCase> findByProfileId(String profileId, Pageable pageable);
+	String SUMMARY_COLUMNS = "lc.id AS id, lc.title AS title, lc.description AS description, "
+			+ "lc.profileId AS profileId, lc.clientId AS clientId, lc.status AS status, "
+			+ "lc.lastAnalysisAt AS lastAnalysisAt, lc.createdAt AS createdAt, lc.updatedAt AS updatedAt, "
+			+ "lc.questionnairesTotal AS questionnairesTotal, lc.questionnairesComplete AS questionnairesComplete, "
+			+ "lc.requiredDocumentsTotal AS requiredDocumentsTotal, "
+			+ "lc.requiredDocumentsComplete AS requiredDocumentsComplete";
 
 	/**
-	 * Find cases by client ID
+	 * Find case summaries by profile ID
 	 */
-	Page<LegalCase> findByClientId(String clientId, Pageable pageable);
+	@Query(value = "SELECT " + SUMMARY_COLUMNS + " FROM LegalCase lc WHERE lc.profileId = :profileId",
+			countQuery = "SELECT COUNT(lc) FROM LegalCase lc WHERE lc.profileId = :profileId")
+	Page<LegalCaseSummaryView> findSummariesByProfileId(@Param("profileId") String profileId, Pageable pageable);
+
+	/**
+	 * Find case summaries by client ID
+	 */
+	@Query(value = "SELECT " + SUMMARY_COLUMNS + " FROM LegalCase lc WHERE lc.clientId = :clientId",
+			countQuery = "SELECT COUNT(lc) FROM LegalCase lc WHERE lc.clientId = :clientId")
+	Page<LegalCaseSummaryView> findSummariesByClientId(@Param("clientId") String clientId, Pageable pageable);
+
+	/**
+	 * Scroll case summaries by profile ID, most recently updated first, with keyset
+	 * positions on (updatedAt, id)
+	 */
+	Window<LegalCaseSummaryView> findByProfileIdOrderByUpdatedAtDescIdDesc(String profileId, ScrollPosition position,
+			Limit limit);
+
+	/**
+	 * Scroll case summaries by client ID, most recently updated first, with keyset
+	 * positions on (updatedAt, id)
+	 */
+	Window<LegalCaseSummaryView> findByClientIdOrderByUpdatedAtDescIdDesc(String clientId, ScrollPosition position,
+			Limit limit);
+
+	/**
+	 * Planner estimate of the number of cases of a profile
+	 */
+	@Query(value = "SELECT estimate_row_count(format('SELECT 1 FROM legal_cases WHERE profile_id = %L "
+			+ "AND deleted = false', CAST(:profileId AS text)))", nativeQuery = true)
+	long estimateCountByProfileId(@Param("profileId") String profileId);
+
+	/**
+	 * Planner estimate of the number of cases of a client
+	 */
+	@Query(value = "SELECT estimate_row_count(format('SELECT 1 FROM legal_cases WHERE client_id = %L "
+			+ "AND deleted = false', CAST(:clientId AS text)))", nativeQuery = true)
+	long estimateCountByClientId(@Param("clientId") String clientId);
 
 	@Query("SELECT lc FROM LegalCase lc WHERE lc.profileId = :profileId AND lc.status = :status")
 	List<LegalCase> findByProfileIdAndStatus(@Param("profileId") String profileId, @Param("status") CaseStatus status);
 
 	/**
-	 * Search cases by title or case number
+	 * Find case summaries by ID
+	 * @param ids Case IDs
+	 * @return Summaries of the existing cases, in no particular order
+	 */
+	@Query("SELECT " + SUMMARY_COLUMNS + " FROM LegalCase lc WHERE lc.id IN :ids")
+	List<LegalCaseSummaryView> findSummariesByIdIn(@Param("ids") Collection<String> ids);
+
+	/**
+	 * Ranked search over title, client ID and description. Matches the full-text
+	 * document or any trigram word-similarity match, ordered by relevance with keyset
+	 * pagination on (rank DESC, id ASC).
+	 * @param term Search term, in web search syntax for the full-text part
+	 * @param cursorRank Rank of the last row of the previous page, null for the first page
+	 * @param cursorId ID of the last row of the previous page, null for the first page
+	 * @param limit Maximum number of rows
+	 * @return Matching case IDs with their rank
 	 */
-	@Query("SELECT c FROM LegalCase c WHERE c.title LIKE %:searchTerm%")
-	Page<LegalCase> searchCases(@Param("searchTerm") String searchTerm, Pageable pageable);
+	@Query(value = """
+			SELECT hit.id AS id, hit.rank AS rank
+			FROM (SELECT lc.id,
+			             CAST(ts_rank_cd(lc.search_vector, websearch_to_tsquery('simple', :term))
+			                 + word_similarity(:term, lc.title)
+			                 + 0.5 * word_similarity(:term, lc.client_id)
+			                 + 0.25 * word_similarity(:term, coalesce(lc.description, '')) AS float8) AS rank
+			      FROM legal_cases lc
+			      WHERE lc.deleted = false
+			        AND (lc.search_vector @@ websearch_to_tsquery('simple', :term)
+			         OR :term <% lc.title
+			         OR :term <% lc.client_id
+			         OR :term <% lc.description)) hit
+			WHERE CAST(:cursorRank AS float8) IS NULL
+			   OR hit.rank < CAST(:cursorRank AS float8)
+			   OR (hit.rank = CAST(:cursorRank AS float8) AND hit.id > CAST(:cursorId AS varchar))
+			ORDER BY hit.rank DESC, hit.id
+			LIMIT :limit
+			""", nativeQuery = true)
+	List<CaseSearchHit> searchRanked(@Param("term") String term, @Param("cursorRank") Double cursorRank,
+			@Param("cursorId") String cursorId, @Param("limit") int limit);
+
+	/**
+	 * Typeahead suggestions for a partially typed title. Served by a nearest-neighbour
+	 * scan of the title trigram index, so it only reads about {@code limit} rows.
+	 * @param term Partially typed title
+	 * @param limit Maximum number of suggestions
+	 * @return Closest matching cases, best first
+	 */
+	@Query(value = """
+			SELECT lc.id AS id, lc.title AS title, lc.status AS status
+			FROM legal_cases lc
+			WHERE lc.deleted = false
+			  AND :term <% lc.title
+			ORDER BY lc.title <->> :term, lc.id
+			LIMIT :limit
+			""", nativeQuery = true)
+	List<CaseSuggestionView> suggestByTitle(@Param("term") String term, @Param("limit") int limit);
 
 	long countByProfileId(String profileId);
 
@@ -57,4 +159,62 @@ public interface LegalCaseRepository extends JpaRepository<LegalCase, String> {
 	@Query("SELECT lc FROM LegalCase lc LEFT JOIN FETCH lc.documents WHERE lc.id = :caseId")
 	Optional<LegalCase> findByIdWithDocuments(@Param("caseId") String caseId);
 
+	/**
+	 * Read only the last LLM analysis time of a case
+	 * @param caseId Case ID
+	 * @return Last analysis time, empty if the case was never analyzed or does not exist
+	 */
+	@Query("SELECT lc.lastAnalysisAt FROM LegalCase lc WHERE lc.id = :caseId")
+	Optional<LocalDateTime> findLastAnalysisAtById(@Param("caseId") String caseId);
+
+	/**
+	 * Try to take a transaction-scoped Postgres advisory lock for starting an LLM
+	 * analysis of a case. The lock is released when the surrounding transaction ends.
+	 * @param caseId Case ID
+	 * @return true if the lock was acquired, false if another transaction holds it
+	 */
+	@Query(value = "SELECT pg_try_advisory_xact_lock(hashtext('llm_analysis'), hashtext(:caseId))",
+			nativeQuery = true)
+	boolean tryLockForAnalysis(@Param("caseId") String caseId);
+
+	/**
+	 * Find cases that entered ANALYZING before the cutoff and are still in it, oldest
+	 * first
+	 * @param cutoff Only cases whose analysis started before this time are returned
+	 * @param limit Maximum number of cases
+	 * @return Case IDs
+	 */
+	@Query(value = """
+			SELECT lc.id
+			FROM legal_cases lc
+			WHERE lc.status = 'ANALYZING'
+			  AND lc.deleted = false
+			  AND lc.last_analysis_at < :cutoff
+			ORDER BY lc.last_analysis_at
+			LIMIT :limit
+			""", nativeQuery = true)
+	List<String> findAnalyzingSince(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+	/**
+	 * Permanently delete up to {@code batchSize} cases soft-deleted before the cutoff.
+	 * Cases that still have document rows are left for a later run, after their
+	 * documents have been purged. Rows locked by a concurrent purge are skipped.
+	 * @param cutoff Only cases deleted before this time are purged
+	 * @param batchSize Maximum number of rows to delete
+	 * @return Number of rows deleted
+	 */
+	@Modifying
+	@Query(value = """
+			DELETE FROM legal_cases
+			WHERE id IN (SELECT lc.id
+			             FROM legal_cases lc
+			             WHERE lc.deleted = true
+			               AND lc.deleted_at < :cutoff
+			               AND NOT EXISTS (SELECT 1 FROM case_documents d WHERE d.case_id = lc.id)
+			             ORDER BY lc.deleted_at
+			             LIMIT :batchSize
+			             FOR UPDATE SKIP LOCKED)
+			""", nativeQuery = true)
+	int purgeDeletedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+
 }
\ No newline at end of file
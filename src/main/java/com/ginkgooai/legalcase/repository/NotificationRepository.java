@@ -0,0 +1,79 @@
+package com.ginkgooai.legalcase.repository;
+
+import com.ginkgooai.legalcase.domain.Notification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for queued notifications
+ */
+@Repository
+public interface NotificationRepository extends JpaRepository<Notification, String> {
+
+	/**
+	 * Find recipients with a digest due: pending notifications that may be attempted now,
+	 * the oldest of them queued before {@code windowStart}
+	 * @param now current time
+	 * @param windowStart end of the digest window of the oldest notification
+	 * @param limit maximum number of recipients
+	 * @return recipients, longest waiting first
+	 */
+	@Query(value = """
+			SELECT n.recipient
+			FROM notifications n
+			WHERE n.status = 'PENDING'
+			  AND n.next_attempt_at <= :now
+			GROUP BY n.recipient
+			HAVING MIN(n.created_at) <= :windowStart
+			ORDER BY MIN(n.created_at)
+			LIMIT :limit
+			""", nativeQuery = true)
+	List<String> findDueRecipients(@Param("now") LocalDateTime now, @Param("windowStart") LocalDateTime windowStart,
+			@Param("limit") int limit);
+
+	/**
+	 * Lock the pending notifications of a recipient that may be attempted now, skipping
+	 * rows another dispatcher has locked. Must run in a transaction.
+	 * @param recipient recipient
+	 * @param now current time
+	 * @param limit maximum number of notifications
+	 * @return notifications, oldest first
+	 */
+	@Query(value = """
+			SELECT *
+			FROM notifications n
+			WHERE n.recipient = :recipient
+			  AND n.status = 'PENDING'
+			  AND n.next_attempt_at <= :now
+			ORDER BY n.created_at
+			LIMIT :limit
+			FOR UPDATE SKIP LOCKED
+			""", nativeQuery = true)
+	List<Notification> lockDue(@Param("recipient") String recipient, @Param("now") LocalDateTime now,
+			@Param("limit") int limit);
+
+	/**
+	 * Record a failed delivery of notifications
+	 * @param ids notification IDs
+	 * @param status PENDING to retry at {@code nextAttemptAt}, FAILED to give up
+	 * @param nextAttemptAt time of the next attempt
+	 * @param lastError error of the failed delivery
+	 * @return number of updated notifications
+	 */
+	@Modifying
+	@Query("""
+			UPDATE Notification n
+			SET n.status = :status, n.nextAttemptAt = :nextAttemptAt, n.lastError = :lastError
+			WHERE n.id IN :ids
+			""")
+	int updateDelivery(@Param("ids") Collection<String> ids, @Param("status") Notification.DeliveryStatus status,
+			@Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("lastError") String lastError);
+
+}
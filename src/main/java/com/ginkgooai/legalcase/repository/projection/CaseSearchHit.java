@@ -0,0 +1,12 @@
+package com.ginkgooai.legalcase.repository.projection;
+
+/**
+ * A case matched by full-text or trigram search, with its relevance
+ */
+public interface CaseSearchHit {
+
+	String getId();
+
+	Double getRank();
+
+}
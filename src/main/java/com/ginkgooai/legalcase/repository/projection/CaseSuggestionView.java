@@ -0,0 +1,14 @@
+package com.ginkgooai.legalcase.repository.projection;
+
+/**
+ * Columns returned by typeahead suggestions
+ */
+public interface CaseSuggestionView {
+
+	String getId();
+
+	String getTitle();
+
+	String getStatus();
+
+}
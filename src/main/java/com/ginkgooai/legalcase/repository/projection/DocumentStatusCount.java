@@ -0,0 +1,16 @@
+package com.ginkgooai.legalcase.repository.projection;
+
+import com.ginkgooai.legalcase.domain.CaseDocument;
+
+/**
+ * Number of documents of one case in one status
+ */
+public interface DocumentStatusCount {
+
+	String getCaseId();
+
+	CaseDocument.DocumentStatus getStatus();
+
+	long getDocumentCount();
+
+}
@@ -0,0 +1,39 @@
+package com.ginkgooai.legalcase.repository.projection;
+
+import com.ginkgooai.legalcase.domain.CaseStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Scalar columns of a legal case used by list views. Selected without touching the
+ * documents collection.
+ */
+public interface LegalCaseSummaryView {
+
+	String getId();
+
+	String getTitle();
+
+	String getDescription();
+
+	String getProfileId();
+
+	String getClientId();
+
+	CaseStatus getStatus();
+
+	LocalDateTime getLastAnalysisAt();
+
+	LocalDateTime getCreatedAt();
+
+	LocalDateTime getUpdatedAt();
+
+	int getQuestionnairesTotal();
+
+	int getQuestionnairesComplete();
+
+	int getRequiredDocumentsTotal();
+
+	int getRequiredDocumentsComplete();
+
+}
@@ -0,0 +1,14 @@
+package com.ginkgooai.legalcase.repository.projection;
+
+import com.ginkgooai.legalcase.domain.CaseDocument;
+
+/**
+ * Number of documents across all cases in one status
+ */
+public interface StatusDocumentCount {
+
+	CaseDocument.DocumentStatus getStatus();
+
+	long getDocumentCount();
+
+}
@@ -3,15 +3,23 @@ package com.ginkgooai.legalcase.service;
 import com.ginkgooai.legalcase.client.storage.StorageClient;
 import com.ginkgooai.legalcase.client.storage.dto.CloudFileResponse;
 import com.ginkgooai.legalcase.domain.*;
+import com.ginkgooai.legalcase.dto.CursorPage;
 import com.ginkgooai.legalcase.repository.CaseDocumentRepository;
 import com.ginkgooai.legalcase.repository.LegalCaseRepository;
 import com.ginkgooai.legalcase.service.ai.DocumentAnalysisService;
 import com.ginkgooai.legalcase.service.event.DomainEventPublisherFactory;
+import com.ginkgooai.legalcase.service.pagination.UpdatedAtCursor;
+import com.ginkgooai.legalcase.service.retry.OptimisticRetryTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.ResponseEntity;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
@@ -19,6 +27,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -29,6 +38,14 @@ import java.util.stream.Collectors;
 @Slf4j
 public class CaseDocumentService {
 
+	private static final String UPLOAD_TIMER = "legalcase.documents.upload";
+
+	private static final String APPLY_ANALYSIS_TIMER = "legalcase.documents.analysis.apply";
+
+	static final String TRACE_CASE_ID = "case.id";
+
+	static final String TRACE_DOCUMENT_ID = "document.id";
+
 	private final LegalCaseRepository legalCaseRepository;
 
 	private final CaseDocumentRepository caseDocumentRepository;
@@ -39,6 +56,12 @@ public class CaseDocumentService {
 
 	private final DomainEventPublisherFactory eventPublisherFactory;
 
+	private final OptimisticRetryTemplate optimisticRetryTemplate;
+
+	private final MeterRegistry meterRegistry;
+
+	private final Tracer tracer;
+
 	/**
 	 * Get a document by ID
 	 * @param documentId document ID
@@ -59,6 +82,24 @@ public class CaseDocumentService {
 		return legalCaseRepository.findDocumentsByCaseId(caseId);
 	}
 
+	/**
+	 * Get the documents of a case, most recently updated first, with keyset pagination
+	 * @param caseId case ID
+	 * @param cursor cursor from the previous page, null for the first page
+	 * @param size page size
+	 * @param estimateTotal whether to add a planner estimate of the total
+	 * @return page of documents
+	 */
+	@Transactional(readOnly = true)
+	public CursorPage<CaseDocument> scrollDocumentsByCaseId(String caseId, String cursor, int size,
+			boolean estimateTotal) {
+		return UpdatedAtCursor.toPage(
+				caseDocumentRepository.findByLegalCaseIdOrderByUpdatedAtDescIdDesc(caseId,
+						UpdatedAtCursor.toPosition(cursor), Limit.of(size)),
+				CaseDocument::getUpdatedAt, CaseDocument::getId, documents -> documents,
+				estimateTotal ? caseDocumentRepository.estimateCountByCaseId(caseId) : null);
+	}
+
 	/**
 	 * Upload multiple documents for a case
 	 * @param caseId case ID
@@ -67,7 +108,15 @@ public class CaseDocumentService {
 	 */
 	@Transactional
 	public List<String> uploadDocuments(String caseId, List<String> storageIds) {
+		return Timer.builder(UPLOAD_TIMER)
+			.description("Creating documents for uploaded files, including storage service calls")
+			.register(meterRegistry)
+			.record(() -> createPendingDocuments(caseId, storageIds));
+	}
+
+	private List<String> createPendingDocuments(String caseId, List<String> storageIds) {
 		log.info("Uploading {} documents for case: {}", storageIds.size(), caseId);
+		long uploadStartedAt = System.currentTimeMillis();
 
 		LegalCase legalCase = legalCaseRepository.findById(caseId)
 			.orElseThrow(() -> new EntityNotFoundException("Case not found: " + caseId));
@@ -85,7 +134,7 @@ public class CaseDocumentService {
 		Map<String, CloudFileResponse> fileInfoMap = fileResponses.stream()
 			.collect(Collectors.toMap(CloudFileResponse::getId, file -> file));
 
-		// 先删除已存在的相同storageId的文档
+		// 先逻辑删除已存在的相同storageId的文档
 		for (String storageId : storageIds) {
 			// 查找case下具有相同storageId的文档
 			List<CaseDocument> existingDocuments = caseDocumentRepository.findByCaseIdAndStorageId(caseId, storageId);
@@ -96,10 +145,10 @@ public class CaseDocumentService {
 
 				// 从case的文档集合中移除
 				for (CaseDocument existingDoc : existingDocuments) {
-					legalCase.getDocuments().remove(existingDoc);
+					legalCase.removeDocument(existingDoc);
 				}
 
-				// 从数据库中删除
+				// 逻辑删除：@SoftDelete 将删除转为 deleted = true，保留期过后由压缩任务清理
 				caseDocumentRepository.deleteAll(existingDocuments);
 			}
 		}
@@ -132,16 +181,10 @@ public class CaseDocumentService {
 			document.setStatus(CaseDocument.DocumentStatus.PENDING);
 			document.setDocumentCategory(CaseDocument.DocumentCategory.SUPPORTING_DOCUMENT); // Default
 																								// category
-			document.setLegalCase(legalCase);
-
-			legalCase.getDocuments().add(document);
+			legalCase.addDocument(document);
 			createdDocuments.add(document);
 		}
 
-		if (!createdDocuments.isEmpty()) {
-			legalCase.initiateLlmAnalysis("document_analysis");
-		}
-
 		// 统一保存所有文档
 		LegalCase savedLegalCase = legalCaseRepository.save(legalCase);
 		eventPublisherFactory.publishEvents(legalCase);
@@ -161,8 +204,21 @@ public class CaseDocumentService {
 					for (CaseDocument document : pendingDocuments) {
 						String docId = document.getId();
 						String publicUrl = document.getFilePath();
+						// Spans the upload until the analysis result is applied, across the
+						// hop to the analysis thread
+						Span pipeline = tracer.spanBuilder()
+							.name("document.pipeline")
+							.tag(TRACE_CASE_ID, caseId)
+							.tag(TRACE_DOCUMENT_ID, docId)
+							.startTimestamp(uploadStartedAt, TimeUnit.MILLISECONDS)
+							.start();
 						CompletableFuture.runAsync(() -> {
-							queueDocumentForAnalysis(caseId, docId, publicUrl);
+							try (Tracer.SpanInScope scope = tracer.withSpan(pipeline)) {
+								queueDocumentForAnalysis(caseId, docId, publicUrl);
+							}
+							finally {
+								pipeline.end();
+							}
 						});
 					}
 				}
@@ -195,126 +251,146 @@ public class CaseDocumentService {
 	 * @param analysisResult the analysis result containing document type, category, and
 	 * extracted data
 	 */
-	@Transactional
 	public void updateDocumentAfterAnalysis(Pair pair, Map<String, Object> analysisResult) {
 
 		String caseId = pair.getLeft().toString();
 		String documentId = pair.getRight().toString();
 		log.info("Updating document with analysis results: {}", pair.getRight());
-		try {
-			// Find the document with its legal case eagerly loaded
-			LegalCase legalCase = legalCaseRepository.findByIdWithDocuments(caseId)
-				.orElseThrow(() -> new EntityNotFoundException("Legal case not found: " + caseId));
-			CaseDocument document = legalCase.getDocuments()
-				.stream()
-				.filter(doc -> doc.getId().equals(documentId))
-				.findFirst()
-				.orElse(null);
-
-			if (document == null) {
+		Timer.Sample sample = Timer.start(meterRegistry);
+		Span span = tracer.nextSpan()
+			.name("document.analysis.apply")
+			.tag(TRACE_CASE_ID, caseId)
+			.tag(TRACE_DOCUMENT_ID, documentId)
+			.start();
+		String outcome = "applied";
+		try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+			// Reloads the case on every attempt, so a write that raced with another
+			// update of the case is re-applied to its current state
+			boolean applied = optimisticRetryTemplate.execute("apply-document-analysis",
+					() -> applyAnalysisResult(caseId, documentId, analysisResult));
+
+			if (!applied) {
+				outcome = "not_found";
 				log.error("Original document with ID {} not found in case {}", documentId, caseId);
 				// Optionally throw an exception or handle as an error
 				updateDocumentWithError(documentId, "Original document not found for update after analysis.");
-				return;
 			}
-
-			// Get analysis results
-			String detectedType = (String) analysisResult.get("documentType");
-			String detectedCategory = (String) analysisResult.get("documentCategory");
-			Map<String, Object> extractedData = (Map<String, Object>) analysisResult.get("extractedData");
-			boolean isComplete = (boolean) analysisResult.getOrDefault("isComplete", false);
-
-			// Create the appropriate document type based on category
-			CaseDocument typedDocument;
-			switch (CaseDocument.DocumentCategory.valueOf(detectedCategory)) {
-				case QUESTIONNAIRE:
-					typedDocument = new QuestionnaireDocument();
-					BeanUtils.copyProperties(document, typedDocument); // Copies ID as
-																		// well
-
-					((QuestionnaireDocument) typedDocument).setQuestionnaireType(detectedType);
-					((QuestionnaireDocument) typedDocument).setResponsesJson(convertMapToJson(extractedData));
-					((QuestionnaireDocument) typedDocument).setCompletionPercentage(isComplete ? 100 : 50);
-					break;
-
-				case PROFILE:
-					typedDocument = new ProfileDocument();
-					BeanUtils.copyProperties(document, typedDocument); // Copies ID as
-																		// well
-
-					((ProfileDocument) typedDocument).setProfileType(detectedType);
-					((ProfileDocument) typedDocument).setIdentityVerified(isComplete);
-					break;
-
-				case SUPPORTING_DOCUMENT:
-					typedDocument = new SupportingDocument();
-					BeanUtils.copyProperties(document, typedDocument); // Copies ID as
-																		// well
-
-					((SupportingDocument) typedDocument).setDocumentReference(UUID.randomUUID().toString());
-					((SupportingDocument) typedDocument).setIssueDate(extractedData.get("issueDate") != null
-							? java.time.LocalDateTime.parse((String) extractedData.get("issueDate")) : null);
-					((SupportingDocument) typedDocument).setExpiryDate(extractedData.get("expiryDate") != null
-							? java.time.LocalDateTime.parse((String) extractedData.get("expiryDate")) : null);
-					((SupportingDocument) typedDocument).setVerificationRequired(true);
-					((SupportingDocument) typedDocument).setVerified(isComplete);
-
-					break;
-
-				default:
-					throw new IllegalArgumentException("Unsupported document category: " + detectedCategory);
-			}
-
-			// Remove the old document and add the new typed document to the case's
-			// collection
-			// This is crucial for JPA to correctly manage the relationship and persist
-			// the typed document
-			// legalCase.getDocuments().remove(document);
-			// legalCase.getDocuments().add(typedDocument);
-
-			// Set common properties from analysis ON THE NEW TYPED DOCUMENT
-			CaseDocument.DocumentType documentTypeEnum = CaseDocument.DocumentType.valueOf(detectedType);
-			CaseDocument.DocumentCategory documentCategoryEnum = CaseDocument.DocumentCategory
-				.valueOf(detectedCategory);
-
-			document.setDocumentType(documentTypeEnum);
-			// The documentCategory is intrinsically part of the typedDocument (e.g.
-			// QuestionnaireDocument's category is QUESTIONNAIRE)
-			// and should be set correctly by the specific constructors or after
-			// BeanUtils.copyProperties if the parent class has this field.
-			// If CaseDocument has a discriminator column based on category, this might be
-			// handled by JPA.
-			// Let's ensure it's explicitly set on typedDocument if not already handled.
-			document.setDocumentCategory(documentCategoryEnum);
-			document.setMetadataJson(convertMapToJson(extractedData));
-			document
-				.setStatus(isComplete ? CaseDocument.DocumentStatus.COMPLETE : CaseDocument.DocumentStatus.INCOMPLETE);
-
-			// Update description to include AI analysis results ON THE NEW TYPED DOCUMENT
-			document.setDescription("Analyzed document: " + documentTypeEnum.getDisplayName() + " - "
-					+ documentCategoryEnum.getDisplayName());
-
-			// caseDocumentRepository.save(typedDocument); // This should not be needed if
-			// cascade is set correctly
-
-			legalCaseRepository.save(legalCase); // This will cascade save/update to
-													// typedDocument
-
-			// Trigger document completion events if needed
-			if (isComplete) {
-				// Use typedDocument's ID and title
-				legalCase.markDocumentComplete(typedDocument.getId(), typedDocument.getTitle());
-				eventPublisherFactory.publishEvents(legalCase);
-			}
-
-			log.info("Document analysis completed for ID: {}, new document type: {}, category: {}",
-					typedDocument.getId(), documentTypeEnum, documentCategoryEnum); // Use
-																					// typedDocument.getId()
 		}
 		catch (Exception e) {
+			outcome = "error";
+			span.error(e);
 			log.error("Error updating document after analysis: {}", documentId, e);
 			updateDocumentWithError(documentId, "Error processing analysis results: " + e.getMessage());
 		}
+		finally {
+			sample.stop(Timer.builder(APPLY_ANALYSIS_TIMER)
+				.description("Applying document analysis results to the case")
+				.tag("outcome", outcome)
+				.register(meterRegistry));
+			span.tag("outcome", outcome).end();
+		}
+	}
+
+	private boolean applyAnalysisResult(String caseId, String documentId, Map<String, Object> analysisResult) {
+		// Find the document with its legal case eagerly loaded
+		LegalCase legalCase = legalCaseRepository.findByIdWithDocuments(caseId)
+			.orElseThrow(() -> new EntityNotFoundException("Legal case not found: " + caseId));
+		CaseDocument document = legalCase.findDocument(documentId);
+
+		if (document == null) {
+			return false;
+		}
+
+		// Get analysis results
+		String detectedType = (String) analysisResult.get("documentType");
+		String detectedCategory = (String) analysisResult.get("documentCategory");
+		Map<String, Object> extractedData = (Map<String, Object>) analysisResult.get("extractedData");
+		boolean isComplete = (boolean) analysisResult.getOrDefault("isComplete", false);
+
+		// Create the appropriate document type based on category
+		CaseDocument typedDocument;
+		switch (CaseDocument.DocumentCategory.valueOf(detectedCategory)) {
+			case QUESTIONNAIRE:
+				typedDocument = new QuestionnaireDocument();
+				BeanUtils.copyProperties(document, typedDocument, "legalCase"); // Copies ID as well
+
+				((QuestionnaireDocument) typedDocument).setQuestionnaireType(detectedType);
+				((QuestionnaireDocument) typedDocument).setResponsesJson(convertMapToJson(extractedData));
+				((QuestionnaireDocument) typedDocument).setCompletionPercentage(isComplete ? 100 : 50);
+				break;
+
+			case PROFILE:
+				typedDocument = new ProfileDocument();
+				BeanUtils.copyProperties(document, typedDocument, "legalCase"); // Copies ID as well
+
+				((ProfileDocument) typedDocument).setProfileType(detectedType);
+				((ProfileDocument) typedDocument).setIdentityVerified(isComplete);
+				break;
+
+			case SUPPORTING_DOCUMENT:
+				typedDocument = new SupportingDocument();
+				BeanUtils.copyProperties(document, typedDocument, "legalCase"); // Copies ID as well
+
+				((SupportingDocument) typedDocument).setDocumentReference(UUID.randomUUID().toString());
+				((SupportingDocument) typedDocument).setIssueDate(extractedData.get("issueDate") != null
+						? java.time.LocalDateTime.parse((String) extractedData.get("issueDate")) : null);
+				((SupportingDocument) typedDocument).setExpiryDate(extractedData.get("expiryDate") != null
+						? java.time.LocalDateTime.parse((String) extractedData.get("expiryDate")) : null);
+				((SupportingDocument) typedDocument).setVerificationRequired(true);
+				((SupportingDocument) typedDocument).setVerified(isComplete);
+
+				break;
+
+			default:
+				throw new IllegalArgumentException("Unsupported document category: " + detectedCategory);
+		}
+
+		// Remove the old document and add the new typed document to the case's
+		// collection
+		// This is crucial for JPA to correctly manage the relationship and persist
+		// the typed document
+		// legalCase.getDocuments().remove(document);
+		// legalCase.getDocuments().add(typedDocument);
+
+		// Set common properties from analysis ON THE NEW TYPED DOCUMENT
+		CaseDocument.DocumentType documentTypeEnum = CaseDocument.DocumentType.valueOf(detectedType);
+		CaseDocument.DocumentCategory documentCategoryEnum = CaseDocument.DocumentCategory
+			.valueOf(detectedCategory);
+
+		document.setDocumentType(documentTypeEnum);
+		// The documentCategory is intrinsically part of the typedDocument (e.g.
+		// QuestionnaireDocument's category is QUESTIONNAIRE)
+		// and should be set correctly by the specific constructors or after
+		// BeanUtils.copyProperties if the parent class has this field.
+		// If CaseDocument has a discriminator column based on category, this might be
+		// handled by JPA.
+		// Let's ensure it's explicitly set on typedDocument if not already handled.
+		document.setDocumentCategory(documentCategoryEnum);
+		document.setMetadataJson(convertMapToJson(extractedData));
+		document
+			.setStatus(isComplete ? CaseDocument.DocumentStatus.COMPLETE : CaseDocument.DocumentStatus.INCOMPLETE);
+
+		// Update description to include AI analysis results ON THE NEW TYPED DOCUMENT
+		document.setDescription("Analyzed document: " + documentTypeEnum.getDisplayName() + " - "
+				+ documentCategoryEnum.getDisplayName());
+
+		// caseDocumentRepository.save(typedDocument); // This should not be needed if
+		// cascade is set correctly
+
+		legalCaseRepository.save(legalCase); // This will cascade save/update to
+												// typedDocument
+
+		// Trigger document completion events if needed
+		if (isComplete) {
+			// Use typedDocument's ID and title
+			legalCase.markDocumentComplete(typedDocument.getId(), typedDocument.getTitle());
+			eventPublisherFactory.publishEvents(legalCase);
+		}
+
+		log.info("Document analysis completed for ID: {}, new document type: {}, category: {}",
+				typedDocument.getId(), documentTypeEnum, documentCategoryEnum); // Use
+																				// typedDocument.getId()
+		return true;
 	}
 
 	/**
@@ -322,24 +398,25 @@ public class CaseDocumentService {
 	 * @param documentId document ID
 	 * @param errorMessage error message
 	 */
-	@Transactional
 	public void updateDocumentWithError(String documentId, String errorMessage) {
 		try {
-			// Find the document with its legal case eagerly loaded
-			CaseDocument document = caseDocumentRepository.findByIdWithLegalCase(documentId)
-				.orElseThrow(() -> new EntityNotFoundException("Document not found: " + documentId));
-
-			// Just update the original document status rather than creating a new one
-			document.setStatus(CaseDocument.DocumentStatus.REJECTED);
-			document.setDescription("Analysis failed: " + errorMessage);
-
-			Map<String, Object> errorData = new HashMap<>();
-			errorData.put("error", errorMessage);
-			errorData.put("timestamp", new Date().toString());
-			document.setMetadataJson(convertMapToJson(errorData));
-
-			// Save the document directly
-			caseDocumentRepository.save(document);
+			optimisticRetryTemplate.run("reject-document", () -> {
+				// Find the document with its legal case eagerly loaded
+				CaseDocument document = caseDocumentRepository.findByIdWithLegalCase(documentId)
+					.orElseThrow(() -> new EntityNotFoundException("Document not found: " + documentId));
+
+				// Just update the original document status rather than creating a new one
+				document.setStatus(CaseDocument.DocumentStatus.REJECTED);
+				document.setDescription("Analysis failed: " + errorMessage);
+
+				Map<String, Object> errorData = new HashMap<>();
+				errorData.put("error", errorMessage);
+				errorData.put("timestamp", new Date().toString());
+				document.setMetadataJson(convertMapToJson(errorData));
+
+				// Save the document directly
+				caseDocumentRepository.save(document);
+			});
 
 			log.warn("Document marked as rejected due to error: {}", documentId);
 		}
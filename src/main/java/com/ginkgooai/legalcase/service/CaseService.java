@@ -3,23 +3,39 @@ package com.ginkgooai.legalcase.service;
 import com.ginkgooai.core.common.exception.ResourceNotFoundException;
 import com.ginkgooai.legalcase.domain.*;
 import com.ginkgooai.legalcase.dto.CaseDocumentResponse;
+import com.ginkgooai.legalcase.dto.CaseSuggestionResponse;
+import com.ginkgooai.legalcase.dto.CursorPage;
 import com.ginkgooai.legalcase.dto.LegalCaseResponse;
+import com.ginkgooai.legalcase.dto.LegalCaseSummaryResponse;
 import com.ginkgooai.legalcase.dto.UpdateLegalCaseRequest;
+import com.ginkgooai.legalcase.exception.InvalidCursorException;
 import com.ginkgooai.legalcase.repository.CaseDocumentRepository;
 import com.ginkgooai.legalcase.repository.LegalCaseRepository;
+import com.ginkgooai.legalcase.repository.projection.CaseSearchHit;
+import com.ginkgooai.legalcase.repository.projection.DocumentStatusCount;
+import com.ginkgooai.legalcase.repository.projection.LegalCaseSummaryView;
+import com.ginkgooai.legalcase.service.cache.LegalCaseViewCache;
 import com.ginkgooai.legalcase.service.event.DomainEventPublisherFactory;
+import com.ginkgooai.legalcase.service.pagination.CursorCodec;
+import com.ginkgooai.legalcase.service.pagination.UpdatedAtCursor;
+import com.ginkgooai.legalcase.service.retry.OptimisticRetryTemplate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Service for optimized case creation process
@@ -35,6 +51,10 @@ public class CaseService {
 
 	private final DomainEventPublisherFactory eventPublisherFactory;
 
+	private final LegalCaseViewCache legalCaseViewCache;
+
+	private final OptimisticRetryTemplate optimisticRetryTemplate;
+
 	/**
 	 * Find a document by its ID
 	 * @param documentId document ID
@@ -111,27 +131,35 @@ public class CaseService {
 		return questionnaire;
 	}
 
-	@Transactional(readOnly = true)
+	/**
+	 * Get the view of a case. Served from {@link LegalCaseViewCache}, which loads it in a
+	 * read-only transaction on a miss
+	 * @param caseId case ID
+	 * @return the case view; shared with other callers and must not be modified
+	 */
 	public LegalCaseResponse getLegalCase(String caseId) {
-		LegalCase legalCase = legalCaseRepository.findByIdWithDocuments(caseId)
-			.orElseThrow(() -> new ResourceNotFoundException("Legal case", "caseId", caseId));
-		return convertToResponse(legalCase);
+		return legalCaseViewCache.get(caseId, () -> {
+			LegalCase legalCase = legalCaseRepository.findByIdWithDocuments(caseId)
+				.orElseThrow(() -> new ResourceNotFoundException("Legal case", "caseId", caseId));
+			return convertToResponse(legalCase);
+		});
 	}
 
-	@Transactional
 	public LegalCaseResponse updateLegalCase(String caseId, UpdateLegalCaseRequest request) {
-		LegalCase legalCase = findLegalCaseById(caseId);
+		return optimisticRetryTemplate.execute("update-case", () -> {
+			LegalCase legalCase = findLegalCaseById(caseId);
 
-		if (request.getTitle() != null) {
-			legalCase.setTitle(request.getTitle());
-		}
+			if (request.getTitle() != null) {
+				legalCase.setTitle(request.getTitle());
+			}
 
-		if (request.getDescription() != null) {
-			legalCase.setDescription(request.getDescription());
-		}
+			if (request.getDescription() != null) {
+				legalCase.setDescription(request.getDescription());
+			}
 
-		LegalCase updatedCase = legalCaseRepository.save(legalCase);
-		return convertToResponse(updatedCase);
+			LegalCase updatedCase = legalCaseRepository.save(legalCase);
+			return convertToResponse(updatedCase);
+		});
 	}
 
 	@Transactional
@@ -141,21 +169,179 @@ public class CaseService {
 	}
 
 	@Transactional(readOnly = true)
-	public Page<LegalCaseResponse> getLegalCasesByProfileId(String profileId, Pageable pageable) {
-		Page<LegalCase> cases = legalCaseRepository.findByProfileId(profileId, pageable);
-		return cases.map(this::convertToResponse);
+	public Page<LegalCaseSummaryResponse> getLegalCasesByProfileId(String profileId, Pageable pageable,
+			boolean includeDocuments) {
+		return toSummaryPage(legalCaseRepository.findSummariesByProfileId(profileId, pageable), includeDocuments);
 	}
 
 	@Transactional(readOnly = true)
-	public Page<LegalCaseResponse> getLegalCasesByClientId(String clientId, Pageable pageable) {
-		Page<LegalCase> cases = legalCaseRepository.findByClientId(clientId, pageable);
-		return cases.map(this::convertToResponse);
+	public Page<LegalCaseSummaryResponse> getLegalCasesByClientId(String clientId, Pageable pageable,
+			boolean includeDocuments) {
+		return toSummaryPage(legalCaseRepository.findSummariesByClientId(clientId, pageable), includeDocuments);
 	}
 
+	/**
+	 * List the cases of a profile, most recently updated first, with keyset pagination
+	 * @param profileId owner profile ID
+	 * @param cursor cursor from the previous page, null for the first page
+	 * @param size page size
+	 * @param includeDocuments whether to embed each case's documents
+	 * @param estimateTotal whether to add a planner estimate of the total
+	 * @return page of cases
+	 */
 	@Transactional(readOnly = true)
-	public Page<LegalCaseResponse> searchLegalCases(String searchTerm, Pageable pageable) {
-		Page<LegalCase> cases = legalCaseRepository.searchCases(searchTerm, pageable);
-		return cases.map(this::convertToResponse);
+	public CursorPage<LegalCaseSummaryResponse> scrollLegalCasesByProfileId(String profileId, String cursor,
+			int size, boolean includeDocuments, boolean estimateTotal) {
+		return UpdatedAtCursor.toPage(
+				legalCaseRepository.findByProfileIdOrderByUpdatedAtDescIdDesc(profileId,
+						UpdatedAtCursor.toPosition(cursor), Limit.of(size)),
+				LegalCaseSummaryView::getUpdatedAt, LegalCaseSummaryView::getId,
+				views -> toSummaries(views, includeDocuments),
+				estimateTotal ? legalCaseRepository.estimateCountByProfileId(profileId) : null);
+	}
+
+	/**
+	 * List the cases of a client, most recently updated first, with keyset pagination
+	 * @param clientId client ID
+	 * @param cursor cursor from the previous page, null for the first page
+	 * @param size page size
+	 * @param includeDocuments whether to embed each case's documents
+	 * @param estimateTotal whether to add a planner estimate of the total
+	 * @return page of cases
+	 */
+	@Transactional(readOnly = true)
+	public CursorPage<LegalCaseSummaryResponse> scrollLegalCasesByClientId(String clientId, String cursor, int size,
+			boolean includeDocuments, boolean estimateTotal) {
+		return UpdatedAtCursor.toPage(
+				legalCaseRepository.findByClientIdOrderByUpdatedAtDescIdDesc(clientId,
+						UpdatedAtCursor.toPosition(cursor), Limit.of(size)),
+				LegalCaseSummaryView::getUpdatedAt, LegalCaseSummaryView::getId,
+				views -> toSummaries(views, includeDocuments),
+				estimateTotal ? legalCaseRepository.estimateCountByClientId(clientId) : null);
+	}
+
+	/**
+	 * Ranked full-text and fuzzy search over cases with keyset pagination
+	 * @param searchTerm search term
+	 * @param cursor cursor from the previous page, null for the first page
+	 * @param size page size
+	 * @param includeDocuments whether to embed each case's documents
+	 * @return page of matching cases, most relevant first
+	 */
+	@Transactional(readOnly = true)
+	public CursorPage<LegalCaseSummaryResponse> searchLegalCases(String searchTerm, String cursor, int size,
+			boolean includeDocuments) {
+		Double cursorRank = null;
+		String cursorId = null;
+		if (cursor != null) {
+			String[] position = CursorCodec.decode(cursor, 2);
+			try {
+				cursorRank = Double.valueOf(position[0]);
+			}
+			catch (NumberFormatException e) {
+				throw new InvalidCursorException("Invalid cursor: " + cursor, e);
+			}
+			cursorId = position[1];
+		}
+
+		// Fetch one extra row to learn whether another page follows
+		List<CaseSearchHit> hits = legalCaseRepository.searchRanked(searchTerm, cursorRank, cursorId, size + 1);
+		boolean hasNext = hits.size() > size;
+		if (hasNext) {
+			hits = hits.subList(0, size);
+		}
+
+		Map<String, LegalCaseSummaryView> views = legalCaseRepository
+			.findSummariesByIdIn(hits.stream().map(CaseSearchHit::getId).toList())
+			.stream()
+			.collect(Collectors.toMap(LegalCaseSummaryView::getId, view -> view));
+		List<LegalCaseSummaryView> ranked = hits.stream()
+			.map(hit -> views.get(hit.getId()))
+			.filter(Objects::nonNull)
+			.toList();
+
+		CaseSearchHit last = hits.isEmpty() ? null : hits.get(hits.size() - 1);
+		return CursorPage.<LegalCaseSummaryResponse>builder()
+			.content(toSummaries(ranked, includeDocuments))
+			.hasNext(hasNext)
+			.nextCursor(hasNext ? CursorCodec.encode(String.valueOf(last.getRank()), last.getId()) : null)
+			.build();
+	}
+
+	/**
+	 * Typeahead suggestions for a partially typed case title
+	 * @param prefix partially typed title
+	 * @param limit maximum number of suggestions
+	 * @return closest matching cases, best first
+	 */
+	@Transactional(readOnly = true)
+	public List<CaseSuggestionResponse> suggestLegalCases(String prefix, int limit) {
+		return legalCaseRepository.suggestByTitle(prefix, limit)
+			.stream()
+			.map(view -> CaseSuggestionResponse.builder()
+				.id(view.getId())
+				.title(view.getTitle())
+				.status(CaseStatus.valueOf(view.getStatus()))
+				.build())
+			.toList();
+	}
+
+	private Page<LegalCaseSummaryResponse> toSummaryPage(Page<LegalCaseSummaryView> page, boolean includeDocuments) {
+		return new PageImpl<>(toSummaries(page.getContent(), includeDocuments), page.getPageable(),
+				page.getTotalElements());
+	}
+
+	/**
+	 * Build summaries for a page of cases. Document counts per status come from one
+	 * GROUP BY query and documents, when requested, from one IN query, so the number of
+	 * queries does not grow with the page size or the number of documents.
+	 */
+	private List<LegalCaseSummaryResponse> toSummaries(List<LegalCaseSummaryView> views, boolean includeDocuments) {
+		List<String> caseIds = views.stream().map(LegalCaseSummaryView::getId).toList();
+		if (caseIds.isEmpty()) {
+			return List.of();
+		}
+
+		Map<String, Map<CaseDocument.DocumentStatus, Long>> statusCounts = new HashMap<>();
+		for (DocumentStatusCount row : caseDocumentRepository.countByCaseIdsGroupByStatus(caseIds)) {
+			// Documents without a status still count towards the total
+			statusCounts.computeIfAbsent(row.getCaseId(), id -> new HashMap<>())
+				.merge(row.getStatus() != null ? row.getStatus() : CaseDocument.DocumentStatus.PENDING,
+						row.getDocumentCount(), Long::sum);
+		}
+
+		Map<String, List<CaseDocumentResponse>> documents = includeDocuments ? caseDocumentRepository
+			.findByCaseIdIn(caseIds)
+			.stream()
+			.collect(Collectors.groupingBy(document -> document.getLegalCase().getId(),
+					Collectors.mapping(this::convertToDocumentResponse, Collectors.toList()))) : null;
+
+		return views.stream()
+			.map(view -> toSummaryResponse(view, statusCounts.getOrDefault(view.getId(), Map.of()),
+					documents != null ? documents.getOrDefault(view.getId(), List.of()) : null))
+			.toList();
+	}
+
+	private LegalCaseSummaryResponse toSummaryResponse(LegalCaseSummaryView view,
+			Map<CaseDocument.DocumentStatus, Long> statusCounts, List<CaseDocumentResponse> documents) {
+		return LegalCaseSummaryResponse.builder()
+			.id(view.getId())
+			.title(view.getTitle())
+			.description(view.getDescription())
+			.profileId(view.getProfileId())
+			.clientId(view.getClientId())
+			.status(view.getStatus())
+			.lastAnalysisAt(view.getLastAnalysisAt())
+			.createdAt(view.getCreatedAt())
+			.updatedAt(view.getUpdatedAt())
+			.documentsCount(statusCounts.values().stream().mapToLong(Long::longValue).sum())
+			.documentStatusCounts(statusCounts)
+			.questionnairesTotal(view.getQuestionnairesTotal())
+			.questionnairesComplete(view.getQuestionnairesComplete())
+			.requiredDocumentsTotal(view.getRequiredDocumentsTotal())
+			.requiredDocumentsComplete(view.getRequiredDocumentsComplete())
+			.documents(documents)
+			.build();
 	}
 
 	public LegalCaseResponse convertToResponse(LegalCase legalCase) {
@@ -174,7 +360,7 @@ public class CaseService {
 		return response;
 	}
 
-	private CaseDocumentResponse convertToDocumentResponse(CaseDocument document) {
+	public CaseDocumentResponse convertToDocumentResponse(CaseDocument document) {
 		return CaseDocumentResponse.builder()
 			.id(document.getId())
 			.title(document.getTitle())
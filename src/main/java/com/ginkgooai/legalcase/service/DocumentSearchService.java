@@ -0,0 +1,105 @@
+package com.ginkgooai.legalcase.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ginkgooai.legalcase.domain.CaseDocument;
+import com.ginkgooai.legalcase.dto.CaseDocumentResponse;
+import com.ginkgooai.legalcase.dto.CursorPage;
+import com.ginkgooai.legalcase.exception.InvalidCursorException;
+import com.ginkgooai.legalcase.repository.CaseDocumentRepository;
+import com.ginkgooai.legalcase.repository.DocumentMetadataSearchRepository;
+import com.ginkgooai.legalcase.repository.DocumentMetadataSearchRepository.DocumentPosition;
+import com.ginkgooai.legalcase.service.pagination.CursorCodec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for searching case documents by their AI-extracted metadata
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DocumentSearchService {
+
+	private final DocumentMetadataSearchRepository documentMetadataSearchRepository;
+
+	private final CaseDocumentRepository caseDocumentRepository;
+
+	private final CaseService caseService;
+
+	private final ObjectMapper objectMapper;
+
+	/**
+	 * Search documents by extracted metadata, most recently updated first
+	 * @param fields top-level metadata fields that must equal the given values, e.g.
+	 * passportNumber
+	 * @param text free-text query over all metadata values, null for none
+	 * @param cursor cursor from the previous page, null for the first page
+	 * @param size page size
+	 * @return a page of matching documents
+	 */
+	@Transactional(readOnly = true)
+	public CursorPage<CaseDocumentResponse> searchByMetadata(Map<String, String> fields, String text, String cursor,
+			int size) {
+		LocalDateTime cursorUpdatedAt = null;
+		String cursorId = null;
+		if (cursor != null) {
+			String[] position = CursorCodec.decode(cursor, 2);
+			try {
+				cursorUpdatedAt = LocalDateTime.parse(position[0]);
+			}
+			catch (DateTimeParseException e) {
+				throw new InvalidCursorException("Invalid cursor: " + cursor, e);
+			}
+			cursorId = position[1];
+		}
+
+		// Fetch one extra row to learn whether another page follows
+		List<DocumentPosition> positions = documentMetadataSearchRepository.search(toFieldFilter(fields), text,
+				cursorUpdatedAt, cursorId, size + 1);
+		boolean hasNext = positions.size() > size;
+		if (hasNext) {
+			positions = positions.subList(0, size);
+		}
+
+		Map<String, CaseDocument> documents = caseDocumentRepository
+			.findWithLegalCaseByIdIn(positions.stream().map(DocumentPosition::id).toList())
+			.stream()
+			.collect(Collectors.toMap(CaseDocument::getId, Function.identity()));
+		List<CaseDocumentResponse> content = positions.stream()
+			.map(position -> documents.get(position.id()))
+			.filter(Objects::nonNull)
+			.map(caseService::convertToDocumentResponse)
+			.toList();
+
+		DocumentPosition last = positions.isEmpty() ? null : positions.get(positions.size() - 1);
+		return CursorPage.<CaseDocumentResponse>builder()
+			.content(content)
+			.hasNext(hasNext)
+			.nextCursor(hasNext ? CursorCodec.encode(last.updatedAt().toString(), last.id()) : null)
+			.build();
+	}
+
+	private String toFieldFilter(Map<String, String> fields) {
+		if (fields == null || fields.isEmpty()) {
+			return null;
+		}
+		try {
+			return objectMapper.writeValueAsString(fields);
+		}
+		catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("Invalid metadata filter", e);
+		}
+	}
+
+}
@@ -0,0 +1,123 @@
+package com.ginkgooai.legalcase.service;
+
+import com.ginkgooai.legalcase.service.cache.DocumentCacheInvalidator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 文档状态监听 Lets long-poll requests wait for a document to change without holding a
+ * thread. Waiters are completed by {@link DocumentCacheInvalidator} once it has evicted
+ * the changed documents from this instance's second-level cache, so a request parked on
+ * one instance sees changes committed on any other, and its re-read cannot find the stale
+ * entry. Waiters complete on the document status executor, so the work chained to them
+ * does not run on the Redis listener thread. Waiters the saturated executor refuses are
+ * left to time out.
+ */
+@Component
+@Slf4j
+public class DocumentStatusWatcher {
+
+	private final Map<String, Set<CompletableFuture<Void>>> watchers = new ConcurrentHashMap<>();
+
+	private final AtomicInteger waiting = new AtomicInteger();
+
+	private final TaskExecutor executor;
+
+	private final Duration maxWait;
+
+	private final Counter droppedReleases;
+
+	public DocumentStatusWatcher(@Qualifier("documentStatusExecutor") TaskExecutor executor,
+			MeterRegistry meterRegistry, @Value("${legal-case.document-status.max-wait:30s}") Duration maxWait) {
+		this.executor = executor;
+		this.maxWait = maxWait;
+		Gauge.builder("legalcase.document-status.waiting", waiting, AtomicInteger::get)
+			.description("Long-poll requests waiting for a document status change")
+			.register(meterRegistry);
+		this.droppedReleases = Counter.builder("legalcase.document-status.dropped")
+			.description("Long-poll requests released by a change but refused by the saturated executor")
+			.register(meterRegistry);
+	}
+
+	/**
+	 * Limit a requested wait to the configured maximum
+	 * @param requested wait requested by the client
+	 * @return wait to use, never negative
+	 */
+	public Duration clampWait(Duration requested) {
+		if (requested.isNegative()) {
+			return Duration.ZERO;
+		}
+		return requested.compareTo(maxWait) > 0 ? maxWait : requested;
+	}
+
+	/**
+	 * 等待文档变更 Start watching a document. Register before reading the current state, so
+	 * a change committed in between is not missed.
+	 * @param documentId 文档ID / document ID
+	 * @return future completed on the next change of the document, on the document status
+	 * executor
+	 */
+	public CompletableFuture<Void> watch(String documentId) {
+		CompletableFuture<Void> change = new CompletableFuture<>();
+		watchers.computeIfAbsent(documentId, id -> ConcurrentHashMap.newKeySet()).add(change);
+		waiting.incrementAndGet();
+		return change;
+	}
+
+	/**
+	 * Stop watching, once the request has completed or timed out
+	 * @param documentId 文档ID / document ID
+	 * @param change future returned by {@link #watch(String)}
+	 */
+	public void unwatch(String documentId, CompletableFuture<Void> change) {
+		watchers.computeIfPresent(documentId, (id, changes) -> {
+			if (changes.remove(change)) {
+				waiting.decrementAndGet();
+			}
+			return changes.isEmpty() ? null : changes;
+		});
+	}
+
+	/**
+	 * 文档已变更 Release the requests waiting for any of the documents. Call only after
+	 * their cached copies are evicted.
+	 * @param documentIds 变更的文档ID / IDs of the changed documents
+	 */
+	public void documentsChanged(Collection<String> documentIds) {
+		for (String documentId : documentIds) {
+			Set<CompletableFuture<Void>> changes = watchers.remove(documentId);
+			if (changes != null) {
+				log.debug("Document {} changed, releasing {} waiting requests", documentId, changes.size());
+				waiting.addAndGet(-changes.size());
+				changes.forEach(this::release);
+			}
+		}
+	}
+
+	private void release(CompletableFuture<Void> change) {
+		try {
+			executor.execute(() -> change.complete(null));
+		}
+		catch (RejectedExecutionException e) {
+			// Times out like an unchanged document; the client's next poll reads the change
+			droppedReleases.increment();
+		}
+	}
+
+}
@@ -8,7 +8,8 @@ import com.ginkgooai.legalcase.domain.LegalCase;
 public interface LlmAnalysisService {
 
 	/**
-	 * 检查并在必要时触发LLM分析 Check and trigger LLM analysis if necessary
+	 * 检查并在必要时触发LLM分析 Check and trigger LLM analysis if necessary. Serialized per
+	 * case across nodes, so concurrent callers do not start duplicate analyses.
 	 * @param caseId 案例ID / case ID
 	 * @return 是否触发了分析 / whether analysis was triggered
 	 */
@@ -0,0 +1,111 @@
+package com.ginkgooai.legalcase.service;
+
+import com.ginkgooai.legalcase.service.retry.OptimisticRetryTemplate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * LLM分析触发器 Debounces LLM analysis triggers per case. A burst of completion events
+ * for the same case collapses into a single analysis check once the case has been quiet
+ * for the debounce window. The check itself is serialized across nodes by
+ * {@link LlmAnalysisService#checkAndTriggerAnalysis(String)}.
+ */
+@Service
+@Slf4j
+public class LlmAnalysisTrigger {
+
+	private static final String TRIGGER_METRIC = "legalcase.analysis.triggers";
+
+	private final LlmAnalysisService llmAnalysisService;
+
+	private final TaskScheduler taskScheduler;
+
+	private final OptimisticRetryTemplate optimisticRetryTemplate;
+
+	private final Duration debounceWindow;
+
+	private final Map<String, AtomicReference<ScheduledFuture<?>>> pendingTriggers = new ConcurrentHashMap<>();
+
+	private final Counter debouncedTriggers;
+
+	private final Counter executedTriggers;
+
+	private final Counter skippedTriggers;
+
+	private final Counter failedTriggers;
+
+	public LlmAnalysisTrigger(LlmAnalysisService llmAnalysisService,
+			@Qualifier("llmAnalysisTriggerScheduler") TaskScheduler taskScheduler,
+			OptimisticRetryTemplate optimisticRetryTemplate, MeterRegistry meterRegistry,
+			@Value("${legal-case.llm-analysis.debounce-window:30s}") Duration debounceWindow) {
+		this.llmAnalysisService = llmAnalysisService;
+		this.taskScheduler = taskScheduler;
+		this.optimisticRetryTemplate = optimisticRetryTemplate;
+		this.debounceWindow = debounceWindow;
+		this.debouncedTriggers = triggerCounter(meterRegistry, "debounced");
+		this.executedTriggers = triggerCounter(meterRegistry, "executed");
+		this.skippedTriggers = triggerCounter(meterRegistry, "skipped");
+		this.failedTriggers = triggerCounter(meterRegistry, "failed");
+	}
+
+	/**
+	 * 请求对案例进行LLM分析 Request an LLM analysis check for a case. Any check already
+	 * pending for the case is cancelled and rescheduled at the end of the new debounce
+	 * window.
+	 * @param caseId 案例ID / case ID
+	 */
+	public void requestAnalysis(String caseId) {
+		pendingTriggers.compute(caseId, (id, previous) -> {
+			if (previous != null && previous.get() != null && previous.get().cancel(false)) {
+				debouncedTriggers.increment();
+				log.debug("Debounced pending LLM analysis trigger for case {}", id);
+			}
+
+			AtomicReference<ScheduledFuture<?>> trigger = new AtomicReference<>();
+			trigger.set(taskScheduler.schedule(() -> runTrigger(id, trigger), Instant.now().plus(debounceWindow)));
+			return trigger;
+		});
+	}
+
+	private void runTrigger(String caseId, AtomicReference<ScheduledFuture<?>> trigger) {
+		// A newer request replaced this one while it was waiting to run
+		if (!pendingTriggers.remove(caseId, trigger)) {
+			return;
+		}
+
+		try {
+			// 状态迁移与并发写冲突时整体重试 / re-run the whole check if the status change conflicts
+			if (optimisticRetryTemplate.execute("trigger-analysis",
+					() -> llmAnalysisService.checkAndTriggerAnalysis(caseId))) {
+				executedTriggers.increment();
+			}
+			else {
+				skippedTriggers.increment();
+			}
+		}
+		catch (Exception e) {
+			failedTriggers.increment();
+			log.error("Error triggering LLM analysis for case: {}", caseId, e);
+		}
+	}
+
+	private static Counter triggerCounter(MeterRegistry meterRegistry, String outcome) {
+		return Counter.builder(TRIGGER_METRIC)
+			.description("LLM analysis trigger requests by outcome")
+			.tag("outcome", outcome)
+			.register(meterRegistry);
+	}
+
+}
@@ -1,65 +1,140 @@
 package com.ginkgooai.legalcase.service;
 
+import com.ginkgooai.legalcase.domain.LegalCase;
+import com.ginkgooai.legalcase.domain.Notification;
+import com.ginkgooai.legalcase.domain.Notification.NotificationType;
+import com.ginkgooai.legalcase.repository.LegalCaseRepository;
+import com.ginkgooai.legalcase.repository.NotificationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
- * Empty implementation of NotificationService
+ * 通知入队 Queues notifications for
+ * {@link com.ginkgooai.legalcase.service.notification.NotificationDispatcher}, which
+ * delivers them as digests per recipient. Called from the case event handlers before the
+ * transaction that raised the event commits, so a notification is queued exactly when its
+ * change is, and the request only pays for one insert.
+ *
+ * <p>
+ * Notifications about a case go to its owner (the case's profile). Submissions go to the
+ * recipients listed in {@code legal-case.notifications.approvers}.
  */
 @Service
 @Slf4j
 public class NotificationServiceImpl implements NotificationService {
 
+	private final NotificationRepository notificationRepository;
+
+	private final LegalCaseRepository legalCaseRepository;
+
+	private final MeterRegistry meterRegistry;
+
+	private final List<String> approvers;
+
+	public NotificationServiceImpl(NotificationRepository notificationRepository,
+			LegalCaseRepository legalCaseRepository, MeterRegistry meterRegistry,
+			@Value("${legal-case.notifications.approvers:}") List<String> approvers) {
+		this.notificationRepository = notificationRepository;
+		this.legalCaseRepository = legalCaseRepository;
+		this.meterRegistry = meterRegistry;
+		this.approvers = approvers.stream().filter(StringUtils::hasText).map(String::trim).toList();
+	}
+
 	@Override
 	public void notifyUserAboutCaseCreation(String profileId, String caseId, String caseTitle) {
-		log.info("Empty implementation - notifyUserAboutCaseCreation: profileId={}, caseId={}, caseTitle={}", profileId,
-				caseId, caseTitle);
+		enqueue(profileId, caseId, NotificationType.CASE_CREATED, details("caseTitle", caseTitle));
 	}
 
 	@Override
 	public void notifyAboutStatusChange(String caseId, String previousStatus, String newStatus, String reason) {
-		log.info(
-				"Empty implementation - notifyAboutStatusChange: caseId={}, previousStatus={}, newStatus={}, reason={}",
-				caseId, previousStatus, newStatus, reason);
+		enqueueForOwner(caseId, NotificationType.STATUS_CHANGED,
+				details("previousStatus", previousStatus, "newStatus", newStatus, "reason", reason));
 	}
 
 	@Override
 	public void notifyAboutAnalysisCompletion(String caseId, boolean successful, String resultSummary) {
-		log.info("Empty implementation - notifyAboutAnalysisCompletion: caseId={}, successful={}, resultSummary={}",
-				caseId, successful, resultSummary);
+		enqueueForOwner(caseId, NotificationType.ANALYSIS_COMPLETED,
+				details("successful", String.valueOf(successful), "summary", resultSummary));
 	}
 
 	@Override
 	public void notifyAboutReviewReady(String caseId) {
-		log.info("Empty implementation - notifyAboutReviewReady: caseId={}", caseId);
+		enqueueForOwner(caseId, NotificationType.REVIEW_READY, details());
 	}
 
 	@Override
 	public void notifyCaseOnHold(String caseId, String reason) {
-		log.info("Empty implementation - notifyCaseOnHold: caseId={}, reason={}", caseId, reason);
+		enqueueForOwner(caseId, NotificationType.ON_HOLD, details("reason", reason));
 	}
 
 	@Override
 	public void notifyCaseResumed(String caseId) {
-		log.info("Empty implementation - notifyCaseResumed: caseId={}", caseId);
+		enqueueForOwner(caseId, NotificationType.RESUMED, details());
 	}
 
 	@Override
 	public void notifyApproversAboutSubmission(String caseId, String submittedBy) {
-		log.info("Empty implementation - notifyApproversAboutSubmission: caseId={}, submittedBy={}", caseId,
-				submittedBy);
+		if (approvers.isEmpty()) {
+			log.debug("No approvers configured, not notifying about submission of case {}", caseId);
+			return;
+		}
+		for (String approver : approvers) {
+			enqueue(approver, caseId, NotificationType.SUBMITTED, details("submittedBy", submittedBy));
+		}
 	}
 
 	@Override
 	public void notifyCaseApproved(String caseId, String approvedBy, String comments) {
-		log.info("Empty implementation - notifyCaseApproved: caseId={}, approvedBy={}, comments={}", caseId, approvedBy,
-				comments);
+		enqueueForOwner(caseId, NotificationType.APPROVED, details("approvedBy", approvedBy, "comments", comments));
 	}
 
 	@Override
 	public void notifyCaseDenied(String caseId, String deniedBy, String reason) {
-		log.info("Empty implementation - notifyCaseDenied: caseId={}, deniedBy={}, reason={}", caseId, deniedBy,
-				reason);
+		enqueueForOwner(caseId, NotificationType.DENIED, details("deniedBy", deniedBy, "reason", reason));
+	}
+
+	private void enqueueForOwner(String caseId, NotificationType type, Map<String, String> details) {
+		// The case raising the event is already loaded in the current persistence context
+		String owner = legalCaseRepository.findById(caseId).map(LegalCase::getProfileId).orElse(null);
+		enqueue(owner, caseId, type, details);
+	}
+
+	private void enqueue(String recipient, String caseId, NotificationType type, Map<String, String> details) {
+		if (!StringUtils.hasText(recipient)) {
+			log.debug("No recipient for {} notification of case {}, skipping", type, caseId);
+			return;
+		}
+
+		notificationRepository.save(Notification.builder()
+			.recipient(recipient)
+			.caseId(caseId)
+			.type(type)
+			.details(details)
+			.nextAttemptAt(LocalDateTime.now())
+			.build());
+		meterRegistry.counter("legalcase.notifications.enqueued", "type", type.name()).increment();
+		log.debug("Queued {} notification of case {} for {}", type, caseId, recipient);
+	}
+
+	/**
+	 * Details from key-value pairs, leaving out null values
+	 */
+	private static Map<String, String> details(String... keyValues) {
+		Map<String, String> details = new LinkedHashMap<>();
+		for (int i = 0; i + 1 < keyValues.length; i += 2) {
+			if (keyValues[i + 1] != null) {
+				details.put(keyValues[i], keyValues[i + 1]);
+			}
+		}
+		return details;
 	}
 
-}
\ No newline at end of file
+}
@@ -3,9 +3,13 @@ package com.ginkgooai.legalcase.service.ai;
 import com.ginkgooai.legalcase.client.ai.DocumentAIClient;
 import com.ginkgooai.legalcase.client.ai.dto.DocumentParseRequest;
 import com.ginkgooai.legalcase.client.ai.dto.DocumentParseResponse;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
@@ -19,12 +23,28 @@ import java.util.function.BiConsumer;
  * Implementation of DocumentAnalysisService using AI service
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class DocumentAnalysisServiceImpl implements DocumentAnalysisService {
 
+	private static final String ANALYSIS_TIMER = "legalcase.documents.analysis";
+
 	private final DocumentAIClient documentAIClient;
 
+	private final boolean mockAiService;
+
+	private final MeterRegistry meterRegistry;
+
+	private final Tracer tracer;
+
+	public DocumentAnalysisServiceImpl(DocumentAIClient documentAIClient,
+			@Value("${legal-case.document-analysis.mock-ai-service:true}") boolean mockAiService,
+			MeterRegistry meterRegistry, Tracer tracer) {
+		this.documentAIClient = documentAIClient;
+		this.mockAiService = mockAiService;
+		this.meterRegistry = meterRegistry;
+		this.tracer = tracer;
+	}
+
 	@Override
 	public void analyzeDocument(String caseId, String documentId, String documentUrl,
 			BiConsumer<Pair, Map<String, Object>> callback) {
@@ -32,7 +52,21 @@ public class DocumentAnalysisServiceImpl implements DocumentAnalysisService {
 			log.info("Analyzing document: {} with URL: {}", documentId, documentUrl);
 
 			// Call AI service to analyze the document
-			Map<String, Object> analysisResult = analyzeDocumentSync(documentUrl);
+			Timer.Sample sample = Timer.start(meterRegistry);
+			Span span = tracer.nextSpan()
+				.name("document.analysis")
+				.tag("case.id", caseId)
+				.tag("document.id", documentId);
+			Map<String, Object> analysisResult;
+			try (Tracer.SpanInScope scope = tracer.withSpan(span.start())) {
+				analysisResult = analyzeDocumentSync(documentUrl);
+			}
+			String outcome = analysisResult.containsKey("error") ? "error" : "success";
+			span.tag("outcome", outcome).end();
+			sample.stop(Timer.builder(ANALYSIS_TIMER)
+				.description("Document analysis by the AI service")
+				.tag("outcome", outcome)
+				.register(meterRegistry));
 
 			// Process the result through the callback
 			callback.accept(Pair.of(caseId, documentId), analysisResult);
@@ -63,8 +97,9 @@ public class DocumentAnalysisServiceImpl implements DocumentAnalysisService {
 				.fileUrls(Collections.singletonList(documentUrl))
 				.build();
 
-			// Call mocked AI service to analyze the document
-			DocumentParseResponse response = mockDocumentAIClientResponse(request);
+			// Call the AI service, or its built-in mock until the service is available
+			DocumentParseResponse response = mockAiService ? mockDocumentAIClientResponse(request)
+					: documentAIClient.parseDocuments(request);
 
 			if (!"SUCCESS".equals(response.getStatus())) {
 				log.warn("AI service returned non-success status: {}", response.getStatus());
@@ -0,0 +1,296 @@
+package com.ginkgooai.legalcase.service.ai;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ginkgooai.legalcase.client.ai.LlmAnalysisClient;
+import com.ginkgooai.legalcase.client.ai.dto.CaseAnalysisRequest;
+import com.ginkgooai.legalcase.client.ai.dto.CaseAnalysisResponse;
+import com.ginkgooai.legalcase.domain.CaseAnalysisResult;
+import com.ginkgooai.legalcase.domain.CaseAnalysisResult.AnalysisStatus;
+import com.ginkgooai.legalcase.domain.CaseDocument;
+import com.ginkgooai.legalcase.domain.CaseStatus;
+import com.ginkgooai.legalcase.repository.CaseAnalysisResultRepository;
+import com.ginkgooai.legalcase.repository.CaseDocumentRepository;
+import com.ginkgooai.legalcase.repository.LegalCaseRepository;
+import com.ginkgooai.legalcase.service.event.DomainEventPublisherFactory;
+import com.ginkgooai.legalcase.service.retry.OptimisticRetryTemplate;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LLM分析引擎 Runs case-level LLM analysis. The extracted metadata of all completed
+ * documents of a case is sent to the AI service in a single request, and the outcome is
+ * stored as a {@link CaseAnalysisResult} before the case leaves the ANALYZING status.
+ * Runs are executed on the bounded {@code llmAnalysisExecutor}; the AI call itself is
+ * bounded by the {@code legal-ai-analysis} Feign client timeouts.
+ */
+@Service
+@Slf4j
+public class LlmAnalysisEngine {
+
+	private static final String DURATION_METRIC = "legalcase.analysis.duration";
+
+	private static final String RELEASED_METRIC = "legalcase.analysis.released";
+
+	// The case does not keep the type of its running analysis; this is the only one started
+	private static final String RECOVERED_ANALYSIS_TYPE = "document_analysis";
+
+	private final LlmAnalysisClient llmAnalysisClient;
+
+	private final CaseDocumentRepository caseDocumentRepository;
+
+	private final CaseAnalysisResultRepository analysisResultRepository;
+
+	private final LegalCaseRepository legalCaseRepository;
+
+	private final DomainEventPublisherFactory eventPublisherFactory;
+
+	private final OptimisticRetryTemplate optimisticRetryTemplate;
+
+	private final TaskExecutor analysisExecutor;
+
+	private final ObjectMapper objectMapper;
+
+	private final MeterRegistry meterRegistry;
+
+	private final DistributionSummary documentsPerAnalysis;
+
+	public LlmAnalysisEngine(LlmAnalysisClient llmAnalysisClient, CaseDocumentRepository caseDocumentRepository,
+			CaseAnalysisResultRepository analysisResultRepository, LegalCaseRepository legalCaseRepository,
+			DomainEventPublisherFactory eventPublisherFactory, OptimisticRetryTemplate optimisticRetryTemplate,
+			@Qualifier("llmAnalysisExecutor") TaskExecutor analysisExecutor, ObjectMapper objectMapper,
+			MeterRegistry meterRegistry) {
+		this.llmAnalysisClient = llmAnalysisClient;
+		this.caseDocumentRepository = caseDocumentRepository;
+		this.analysisResultRepository = analysisResultRepository;
+		this.legalCaseRepository = legalCaseRepository;
+		this.eventPublisherFactory = eventPublisherFactory;
+		this.optimisticRetryTemplate = optimisticRetryTemplate;
+		this.analysisExecutor = analysisExecutor;
+		this.objectMapper = objectMapper;
+		this.meterRegistry = meterRegistry;
+		this.documentsPerAnalysis = DistributionSummary.builder("legalcase.analysis.documents")
+			.description("Completed documents sent per LLM analysis request")
+			.register(meterRegistry);
+	}
+
+	/**
+	 * 提交分析任务 Submit an analysis run for a case. If the executor is saturated the run
+	 * is recorded as rejected and the case is released from ANALYZING straight away.
+	 * @param caseId 案例ID / case ID
+	 * @param analysisType 分析类型 / analysis type
+	 */
+	public void submit(String caseId, String analysisType) {
+		try {
+			analysisExecutor.execute(() -> analyze(caseId, analysisType));
+		}
+		catch (TaskRejectedException e) {
+			log.warn("LLM analysis queue is full, rejecting analysis for case {}", caseId);
+			LocalDateTime now = LocalDateTime.now();
+			complete(CaseAnalysisResult.builder()
+				.caseId(caseId)
+				.analysisType(analysisType)
+				.status(AnalysisStatus.REJECTED)
+				.summary("Analysis rejected: too many concurrent analyses")
+				.startedAt(now)
+				.completedAt(now)
+				.build());
+		}
+	}
+
+	/**
+	 * 执行分析 Run the analysis for a case on the calling thread
+	 * @param caseId 案例ID / case ID
+	 * @param analysisType 分析类型 / analysis type
+	 * @return 持久化的分析结果 / the persisted analysis result
+	 */
+	public CaseAnalysisResult analyze(String caseId, String analysisType) {
+		log.info("Starting LLM analysis for case: {}, type: {}", caseId, analysisType);
+		LocalDateTime startedAt = LocalDateTime.now();
+
+		List<CaseAnalysisRequest.DocumentInput> documents = caseDocumentRepository
+			.findByCaseIdAndStatus(caseId, CaseDocument.DocumentStatus.COMPLETE)
+			.stream()
+			.map(this::toDocumentInput)
+			.toList();
+		documentsPerAnalysis.record(documents.size());
+
+		CaseAnalysisResult.CaseAnalysisResultBuilder result = CaseAnalysisResult.builder()
+			.caseId(caseId)
+			.analysisType(analysisType)
+			.documentCount(documents.size())
+			.startedAt(startedAt);
+
+		if (documents.isEmpty()) {
+			result.status(AnalysisStatus.FAILED).summary("No completed documents to analyze");
+		}
+		else {
+			try {
+				CaseAnalysisResponse response = llmAnalysisClient.analyzeCase(CaseAnalysisRequest.builder()
+					.caseId(caseId)
+					.analysisType(analysisType)
+					.documents(documents)
+					.build());
+
+				if ("SUCCESS".equals(response.getStatus())) {
+					result.status(AnalysisStatus.SUCCEEDED)
+						.summary(truncate(response.getSummary()))
+						.resultJson(toJson(response));
+				}
+				else {
+					log.warn("AI service returned non-success status {} for case {}", response.getStatus(), caseId);
+					result.status(AnalysisStatus.FAILED)
+						.summary(truncate("AI service returned status: " + response.getStatus() + " "
+								+ response.getMessage()));
+				}
+			}
+			catch (Exception e) {
+				boolean timedOut = isTimeout(e);
+				log.error("LLM analysis {} for case: {}", timedOut ? "timed out" : "failed", caseId, e);
+				result.status(timedOut ? AnalysisStatus.TIMED_OUT : AnalysisStatus.FAILED)
+					.summary(truncate("Error: " + e.getMessage()));
+			}
+		}
+
+		return complete(result.completedAt(LocalDateTime.now()).build());
+	}
+
+	/**
+	 * 释放卡住的分析 Release a case whose analysis started before the cutoff and never
+	 * finished, e.g. because the instance running it was restarted. The run is recorded as
+	 * timed out and the case leaves ANALYZING, so the next trigger can analyze it again. Does
+	 * nothing if the case has left ANALYZING or started a newer analysis meanwhile.
+	 * @param caseId 案例ID / case ID
+	 * @param cutoff 截止时间 / analyses started before this time count as stuck
+	 * @return whether the case was released
+	 */
+	public boolean releaseStuck(String caseId, LocalDateTime cutoff) {
+		// Retried with a fresh case if another instance releases or completes it first
+		return optimisticRetryTemplate.execute("release-analysis", () -> legalCaseRepository.findById(caseId)
+			.filter(legalCase -> legalCase.getStatus() == CaseStatus.ANALYZING)
+			.filter(legalCase -> legalCase.getLastAnalysisAt() != null
+					&& legalCase.getLastAnalysisAt().isBefore(cutoff))
+			.map(legalCase -> {
+				CaseAnalysisResult result = analysisResultRepository.save(CaseAnalysisResult.builder()
+					.caseId(caseId)
+					.analysisType(RECOVERED_ANALYSIS_TYPE)
+					.status(AnalysisStatus.TIMED_OUT)
+					.summary("Analysis did not finish, released after it started at " + legalCase.getLastAnalysisAt())
+					.startedAt(legalCase.getLastAnalysisAt())
+					.completedAt(LocalDateTime.now())
+					.build());
+				legalCase.completeLlmAnalysis(false, result.getSummary());
+				legalCaseRepository.save(legalCase);
+				eventPublisherFactory.publishEvents(legalCase);
+				meterRegistry.counter(RELEASED_METRIC).increment();
+				log.warn("Released case {} from ANALYZING, its analysis started at {} never finished", caseId,
+						result.getStartedAt());
+				return true;
+			})
+			.orElse(false));
+	}
+
+	/**
+	 * Persist the result and move the case out of ANALYZING in one transaction. Completion
+	 * events are published from here so listeners see the stored result.
+	 */
+	private CaseAnalysisResult complete(CaseAnalysisResult result) {
+		Duration duration = Duration.between(result.getStartedAt(), result.getCompletedAt());
+		result.setDurationMs(duration.toMillis());
+
+		Timer.builder(DURATION_METRIC)
+			.description("End-to-end LLM analysis latency per case")
+			.tag("outcome", result.getStatus().name().toLowerCase())
+			.publishPercentileHistogram()
+			.register(meterRegistry)
+			.record(duration);
+
+		// Retried with a fresh case if a concurrent write to the case wins the commit
+		return optimisticRetryTemplate.execute("complete-analysis", () -> {
+			CaseAnalysisResult saved = analysisResultRepository.save(result);
+
+			legalCaseRepository.findById(result.getCaseId()).ifPresent(legalCase -> {
+				// The case may have been put on hold or otherwise moved on while the analysis ran
+				if (legalCase.getStatus() != CaseStatus.ANALYZING) {
+					log.warn("Case {} left ANALYZING (now {}) before analysis finished, keeping its status",
+							legalCase.getId(), legalCase.getStatus());
+					return;
+				}
+
+				legalCase.completeLlmAnalysis(saved.isSuccessful(), saved.getSummary());
+				legalCaseRepository.save(legalCase);
+				eventPublisherFactory.publishEvents(legalCase);
+			});
+
+			log.info("LLM analysis for case {} finished with {} in {} ms", result.getCaseId(), result.getStatus(),
+					result.getDurationMs());
+			return saved;
+		});
+	}
+
+	private CaseAnalysisRequest.DocumentInput toDocumentInput(CaseDocument document) {
+		return CaseAnalysisRequest.DocumentInput.builder()
+			.documentId(document.getId())
+			.title(document.getTitle())
+			.documentType(document.getDocumentType() != null ? document.getDocumentType().name() : null)
+			.category(document.getDocumentCategory() != null ? document.getDocumentCategory().name() : null)
+			.metadata(parseMetadata(document.getMetadataJson()))
+			.build();
+	}
+
+	private Map<String, Object> parseMetadata(String metadataJson) {
+		if (metadataJson == null || metadataJson.isBlank()) {
+			return Collections.emptyMap();
+		}
+		try {
+			return objectMapper.readValue(metadataJson, new TypeReference<Map<String, Object>>() {
+			});
+		}
+		catch (JsonProcessingException e) {
+			log.warn("Ignoring unreadable document metadata: {}", e.getMessage());
+			return Collections.emptyMap();
+		}
+	}
+
+	private String toJson(CaseAnalysisResponse response) {
+		Map<String, Object> result = new HashMap<>();
+		result.put("findings", response.getFindings());
+		result.put("missingInformation", response.getMissingInformation());
+		try {
+			return objectMapper.writeValueAsString(result);
+		}
+		catch (JsonProcessingException e) {
+			log.warn("Could not serialize analysis findings: {}", e.getMessage());
+			return null;
+		}
+	}
+
+	private static boolean isTimeout(Throwable e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof SocketTimeoutException) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static String truncate(String value) {
+		return value != null && value.length() > 2000 ? value.substring(0, 2000) : value;
+	}
+
+}
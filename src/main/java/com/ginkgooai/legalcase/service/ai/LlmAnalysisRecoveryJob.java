@@ -0,0 +1,77 @@
+package com.ginkgooai.legalcase.service.ai;
+
+import com.ginkgooai.legalcase.repository.LegalCaseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 分析恢复任务 Releases cases left in ANALYZING by analyses that never finished. Runs are
+ * queued in memory on the {@code llmAnalysisExecutor}, so a restart or crash loses them
+ * and their cases would otherwise never be analyzed again. A case counts as stuck once
+ * its analysis started longer ago than {@code stuck-after}, which has to exceed the
+ * longest queue wait plus the AI service read timeout.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "legal-case.llm-analysis.recovery", name = "enabled", matchIfMissing = true)
+public class LlmAnalysisRecoveryJob {
+
+	private final LegalCaseRepository legalCaseRepository;
+
+	private final LlmAnalysisEngine llmAnalysisEngine;
+
+	private final Duration stuckAfter;
+
+	private final int batchSize;
+
+	public LlmAnalysisRecoveryJob(LegalCaseRepository legalCaseRepository, LlmAnalysisEngine llmAnalysisEngine,
+			@Value("${legal-case.llm-analysis.recovery.stuck-after:30m}") Duration stuckAfter,
+			@Value("${legal-case.llm-analysis.recovery.batch-size:100}") int batchSize) {
+		this.legalCaseRepository = legalCaseRepository;
+		this.llmAnalysisEngine = llmAnalysisEngine;
+		this.stuckAfter = stuckAfter;
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * 释放卡住的分析 Release up to one batch of stuck cases; the next run picks up the rest
+	 */
+	@Scheduled(initialDelayString = "${legal-case.llm-analysis.recovery.initial-delay:PT1M}",
+			fixedDelayString = "${legal-case.llm-analysis.recovery.interval:PT5M}")
+	public void recover() {
+		LocalDateTime cutoff = LocalDateTime.now().minus(stuckAfter);
+		List<String> caseIds;
+		try {
+			caseIds = legalCaseRepository.findAnalyzingSince(cutoff, batchSize);
+		}
+		catch (DataAccessException e) {
+			log.warn("Failed to look up stuck analyses: {}", e.getMessage());
+			return;
+		}
+
+		int released = 0;
+		for (String caseId : caseIds) {
+			try {
+				if (llmAnalysisEngine.releaseStuck(caseId, cutoff)) {
+					released++;
+				}
+			}
+			catch (RuntimeException e) {
+				log.warn("Failed to release stuck analysis of case {}: {}", caseId, e.getMessage());
+			}
+		}
+
+		if (released > 0) {
+			log.info("Released {} cases stuck in ANALYZING since before {}", released, cutoff);
+		}
+	}
+
+}
@@ -0,0 +1,60 @@
+package com.ginkgooai.legalcase.service.cache;
+
+import com.ginkgooai.legalcase.domain.CaseDocument;
+import com.ginkgooai.legalcase.domain.LegalCase;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+
+/**
+ * 案例变更监听 Entity listener of {@link LegalCase} and {@link CaseDocument}. Every write of
+ * a case or of one of its documents invalidates the cached view of the case once the
+ * transaction commits, whether or not the write publishes a domain event. Every write of
+ * a document, including the ones cascaded from its case, also evicts it and the document
+ * collection of its case from the second-level cache of every instance.
+ *
+ * <p>
+ * Hibernate creates the listener through Spring's bean container while the entity manager
+ * factory is being built, so the caches, which depend on it, are looked up on use.
+ */
+public class CaseChangeListener {
+
+	private final ObjectProvider<LegalCaseViewCache> legalCaseViewCache;
+
+	private final ObjectProvider<DocumentCacheInvalidator> documentCacheInvalidator;
+
+	public CaseChangeListener(ObjectProvider<LegalCaseViewCache> legalCaseViewCache,
+			ObjectProvider<DocumentCacheInvalidator> documentCacheInvalidator) {
+		this.legalCaseViewCache = legalCaseViewCache;
+		this.documentCacheInvalidator = documentCacheInvalidator;
+	}
+
+	@PostPersist
+	@PostUpdate
+	@PostRemove
+	public void written(Object entity) {
+		String caseId = caseId(entity);
+		if (caseId == null) {
+			return;
+		}
+		legalCaseViewCache.ifAvailable(cache -> cache.invalidate(caseId));
+		if (entity instanceof CaseDocument document) {
+			documentCacheInvalidator
+				.ifAvailable(invalidator -> invalidator.invalidate(caseId, List.of(document.getId())));
+		}
+	}
+
+	private static String caseId(Object entity) {
+		if (entity instanceof LegalCase legalCase) {
+			return legalCase.getId();
+		}
+		if (entity instanceof CaseDocument document && document.getLegalCase() != null) {
+			return document.getLegalCase().getId();
+		}
+		return null;
+	}
+
+}
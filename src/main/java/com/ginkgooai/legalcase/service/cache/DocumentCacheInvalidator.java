@@ -0,0 +1,160 @@
+package com.ginkgooai.legalcase.service.cache;
+
+import com.ginkgooai.legalcase.domain.CaseDocument;
+import com.ginkgooai.legalcase.domain.LegalCase;
+import com.ginkgooai.legalcase.service.DocumentStatusWatcher;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 文档二级缓存失效 Evicts case documents and a case's document collection from the
+ * Hibernate second-level cache on every instance. The second-level cache is local to each
+ * instance; Hibernate keeps it current for writes made on the same instance, and this
+ * broadcasts every write of a case document, reported by {@link CaseChangeListener}, over
+ * Redis so other instances drop their copies. Entries missed by a lost message expire
+ * with the region TTL.
+ *
+ * <p>
+ * The broadcast doubles as a document change notification: after evicting, it releases
+ * the requests waiting in {@link DocumentStatusWatcher}, which then re-read the changed
+ * documents from the database rather than from the evicted entries.
+ */
+@Component
+@Slf4j
+public class DocumentCacheInvalidator implements MessageListener {
+
+	public static final String CHANNEL = "legalcase:documents:changed";
+
+	private static final String DOCUMENTS_ROLE = LegalCase.class.getName() + ".documents";
+
+	private final StringRedisTemplate redisTemplate;
+
+	private final SessionFactory sessionFactory;
+
+	private final DocumentStatusWatcher documentStatusWatcher;
+
+	public DocumentCacheInvalidator(StringRedisTemplate redisTemplate, EntityManagerFactory entityManagerFactory,
+			RedisMessageListenerContainer listenerContainer, DocumentStatusWatcher documentStatusWatcher) {
+		this.redisTemplate = redisTemplate;
+		this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+		this.documentStatusWatcher = documentStatusWatcher;
+		listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+	}
+
+	/**
+	 * 失效文档缓存 Evict documents and the document collection of their case on all
+	 * instances. When called inside a transaction the eviction is sent after commit, so
+	 * other instances cannot reload the pre-commit state, as one message per case for all
+	 * its documents written in the transaction.
+	 * @param caseId 案例ID / case ID
+	 * @param documentIds 变更的文档ID / IDs of the changed documents
+	 */
+	public void invalidate(String caseId, Collection<String> documentIds) {
+		if (caseId == null) {
+			return;
+		}
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			pendingEviction().documentIds.computeIfAbsent(caseId, id -> new LinkedHashSet<>()).addAll(documentIds);
+		}
+		else {
+			broadcast(message(caseId, documentIds));
+		}
+	}
+
+	@Override
+	public void onMessage(Message message, byte[] pattern) {
+		evict(new String(message.getBody(), StandardCharsets.UTF_8));
+	}
+
+	private PendingEviction pendingEviction() {
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			if (synchronization instanceof PendingEviction pending && pending.owner() == this) {
+				return pending;
+			}
+		}
+		PendingEviction pending = new PendingEviction();
+		TransactionSynchronizationManager.registerSynchronization(pending);
+		return pending;
+	}
+
+	private static String message(String caseId, Collection<String> documentIds) {
+		return caseId + ":" + String.join(",", documentIds);
+	}
+
+	private void broadcast(String message) {
+		try {
+			redisTemplate.convertAndSend(CHANNEL, message);
+		}
+		catch (Exception e) {
+			// Other instances keep their entries until the region TTL; this one is current
+			log.warn("Failed to broadcast document cache eviction {}: {}", message, e.getMessage());
+			evict(message);
+		}
+	}
+
+	/**
+	 * IDs of the documents changed according to a message on {@link #CHANNEL}
+	 * @param message message body
+	 * @return changed document IDs, empty if the message names none
+	 */
+	private static List<String> documentIds(String message) {
+		int separator = message.indexOf(':');
+		if (separator < 0 || separator == message.length() - 1) {
+			return List.of();
+		}
+		return List.of(message.substring(separator + 1).split(","));
+	}
+
+	private void evict(String message) {
+		int separator = message.indexOf(':');
+		if (separator < 0) {
+			log.debug("Ignoring malformed document cache eviction: {}", message);
+			return;
+		}
+
+		List<String> documentIds = documentIds(message);
+		org.hibernate.Cache cache = sessionFactory.getCache();
+		cache.evictCollectionData(DOCUMENTS_ROLE, message.substring(0, separator));
+		for (String documentId : documentIds) {
+			cache.evictEntityData(CaseDocument.class, documentId);
+		}
+		documentStatusWatcher.documentsChanged(documentIds);
+	}
+
+	/**
+	 * Documents written in the current transaction, by case
+	 */
+	private final class PendingEviction implements TransactionSynchronization {
+
+		private final Map<String, Set<String>> documentIds = new LinkedHashMap<>();
+
+		DocumentCacheInvalidator owner() {
+			return DocumentCacheInvalidator.this;
+		}
+
+		@Override
+		public void afterCommit() {
+			documentIds.forEach((caseId, ids) -> broadcast(message(caseId, ids)));
+		}
+
+	}
+
+}
@@ -0,0 +1,289 @@
+package com.ginkgooai.legalcase.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ginkgooai.legalcase.dto.LegalCaseResponse;
+import com.ginkgooai.legalcase.service.replica.PrimaryReads;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * 案例视图缓存 Two-tier read-through cache for {@link LegalCaseResponse}: a per-instance
+ * Caffeine cache in front of a shared Redis cache.
+ *
+ * <p>
+ * Every case has a version counter in Redis that is bumped after each committed change.
+ * Cached views are stored under the version they were read at, so a reader that loaded
+ * the case just before a concurrent change can never overwrite the newer state, and the
+ * local tier on other instances drops out as soon as they see the new version.
+ *
+ * <p>
+ * Version keys expire after twice the view TTL without a write, so cases that are no
+ * longer written, including deleted ones, leave no keys behind. A case without a version
+ * key, after expiry or eviction, starts again at the current time in milliseconds rather
+ * than at 0, so views left from earlier versions are never read under a reused number.
+ *
+ * <p>
+ * Cached responses are shared between callers and must not be modified.
+ */
+@Component
+@Slf4j
+public class LegalCaseViewCache {
+
+	private static final String KEY_PREFIX = "legalcase:case-view:";
+
+	private final StringRedisTemplate redisTemplate;
+
+	private final ObjectMapper objectMapper;
+
+	private final TransactionTemplate readOnlyTransaction;
+
+	private final boolean enabled;
+
+	private final Duration redisTtl;
+
+	private final Duration versionTtl;
+
+	private final Cache<String, VersionedView> localCache;
+
+	private final Counter localHits;
+
+	private final Counter redisHits;
+
+	private final Counter misses;
+
+	private final Counter bypasses;
+
+	public LegalCaseViewCache(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+			PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+			@Value("${legal-case.case-view-cache.enabled:true}") boolean enabled,
+			@Value("${legal-case.case-view-cache.local-max-size:10000}") long localMaxSize,
+			@Value("${legal-case.case-view-cache.local-ttl:10m}") Duration localTtl,
+			@Value("${legal-case.case-view-cache.redis-ttl:30m}") Duration redisTtl) {
+		this.redisTemplate = redisTemplate;
+		this.objectMapper = objectMapper;
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setReadOnly(true);
+		// Own connection from the primary, also when called from a read-only transaction on a
+		// replica or after another transaction has completed
+		this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.enabled = enabled;
+		this.redisTtl = redisTtl;
+		this.versionTtl = redisTtl.multipliedBy(2);
+		this.localCache = Caffeine.newBuilder()
+			.maximumSize(localMaxSize)
+			.expireAfterWrite(localTtl)
+			.recordStats()
+			.build();
+
+		CaffeineCacheMetrics.monitor(meterRegistry, localCache, "legalcase.case-view.local");
+		this.localHits = requestCounter(meterRegistry, "local_hit");
+		this.redisHits = requestCounter(meterRegistry, "redis_hit");
+		this.misses = requestCounter(meterRegistry, "miss");
+		this.bypasses = requestCounter(meterRegistry, "bypass");
+	}
+
+	/**
+	 * 读取案例视图 Get the view of a case, loading it with {@code loader} inside a
+	 * read-only transaction on a miss.
+	 * @param caseId 案例ID / case ID
+	 * @param loader 缓存未命中时的加载器 / loader used on a cache miss
+	 * @return 案例视图 / the case view
+	 */
+	public LegalCaseResponse get(String caseId, Supplier<LegalCaseResponse> loader) {
+		// Inside a read-write transaction the caller may see uncommitted changes, which must
+		// not leak into the shared cache
+		if (!enabled || isInWriteTransaction()) {
+			bypasses.increment();
+			return loader.get();
+		}
+
+		long version;
+		try {
+			version = currentVersion(caseId);
+		}
+		catch (Exception e) {
+			log.debug("Case view cache unavailable for case {}: {}", caseId, e.getMessage());
+			bypasses.increment();
+			return load(loader);
+		}
+
+		VersionedView local = localCache.getIfPresent(caseId);
+		if (local != null && local.version() == version) {
+			localHits.increment();
+			return local.view();
+		}
+
+		LegalCaseResponse shared = readShared(caseId, version);
+		if (shared != null) {
+			redisHits.increment();
+			putLocal(caseId, version, shared);
+			return shared;
+		}
+
+		misses.increment();
+		LegalCaseResponse loaded = load(loader);
+		writeShared(caseId, version, loaded);
+		putLocal(caseId, version, loaded);
+		return loaded;
+	}
+
+	/**
+	 * Load a view for the cache. Read from the primary, as the view is stored under the
+	 * current version and a lagging replica could still return the previous state.
+	 */
+	private LegalCaseResponse load(Supplier<LegalCaseResponse> loader) {
+		return PrimaryReads.call(() -> readOnlyTransaction.execute(status -> loader.get()));
+	}
+
+	/**
+	 * 失效案例视图 Invalidate the cached view of a case. Called by {@link CaseChangeListener}
+	 * for every write of a case or its documents. When called inside a transaction the
+	 * version is bumped only after commit, once per case, so readers cannot cache the
+	 * pre-commit state under the new version.
+	 * @param caseId 案例ID / case ID
+	 */
+	public void invalidate(String caseId) {
+		if (!enabled || caseId == null) {
+			return;
+		}
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			pendingInvalidation().caseIds.add(caseId);
+		}
+		else {
+			bumpVersion(caseId);
+		}
+	}
+
+	private PendingInvalidation pendingInvalidation() {
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			if (synchronization instanceof PendingInvalidation pending && pending.owner() == this) {
+				return pending;
+			}
+		}
+		PendingInvalidation pending = new PendingInvalidation();
+		TransactionSynchronizationManager.registerSynchronization(pending);
+		return pending;
+	}
+
+	private void bumpVersion(String caseId) {
+		localCache.invalidate(caseId);
+		String versionKey = versionKey(caseId);
+		try {
+			redisTemplate.opsForValue().setIfAbsent(versionKey, initialVersion(), versionTtl);
+			redisTemplate.opsForValue().increment(versionKey);
+			redisTemplate.expire(versionKey, versionTtl);
+		}
+		catch (Exception e) {
+			// Entries written under the old version expire with the Redis TTL
+			log.warn("Failed to bump case view version for case {}: {}", caseId, e.getMessage());
+		}
+	}
+
+	private long currentVersion(String caseId) {
+		String versionKey = versionKey(caseId);
+		String version = redisTemplate.opsForValue().get(versionKey);
+		if (version == null) {
+			String initial = initialVersion();
+			version = Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(versionKey, initial, versionTtl))
+					? initial : redisTemplate.opsForValue().get(versionKey);
+			if (version == null) {
+				throw new IllegalStateException("No view version for case " + caseId);
+			}
+		}
+		return Long.parseLong(version);
+	}
+
+	private static String initialVersion() {
+		return String.valueOf(System.currentTimeMillis());
+	}
+
+	private LegalCaseResponse readShared(String caseId, long version) {
+		try {
+			String json = redisTemplate.opsForValue().get(viewKey(caseId, version));
+			return json != null ? objectMapper.readValue(json, LegalCaseResponse.class) : null;
+		}
+		catch (Exception e) {
+			log.debug("Failed to read cached view for case {}: {}", caseId, e.getMessage());
+			return null;
+		}
+	}
+
+	private void writeShared(String caseId, long version, LegalCaseResponse view) {
+		try {
+			redisTemplate.opsForValue().set(viewKey(caseId, version), objectMapper.writeValueAsString(view), redisTtl);
+		}
+		catch (Exception e) {
+			log.debug("Failed to cache view for case {}: {}", caseId, e.getMessage());
+		}
+	}
+
+	private void putLocal(String caseId, long version, LegalCaseResponse view) {
+		// Never replace a view read at a newer version
+		localCache.asMap()
+			.merge(caseId, new VersionedView(version, view),
+					(existing, candidate) -> existing.version() > candidate.version() ? existing : candidate);
+	}
+
+	private static boolean isInWriteTransaction() {
+		// After completion the finished transaction is still bound, but its changes are
+		// committed
+		return TransactionSynchronizationManager.isActualTransactionActive()
+				&& TransactionSynchronizationManager.isSynchronizationActive()
+				&& !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+	}
+
+	private static String versionKey(String caseId) {
+		return KEY_PREFIX + caseId + ":version";
+	}
+
+	private static String viewKey(String caseId, long version) {
+		return KEY_PREFIX + caseId + ":v" + version;
+	}
+
+	private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+		return Counter.builder("legalcase.case-view.requests")
+			.description("Case view reads by cache outcome")
+			.tag("result", result)
+			.register(meterRegistry);
+	}
+
+	private record VersionedView(long version, LegalCaseResponse view) {
+	}
+
+	/**
+	 * Cases written by the current transaction
+	 */
+	private final class PendingInvalidation implements TransactionSynchronization {
+
+		private final Set<String> caseIds = new LinkedHashSet<>();
+
+		LegalCaseViewCache owner() {
+			return LegalCaseViewCache.this;
+		}
+
+		@Override
+		public void afterCommit() {
+			caseIds.forEach(LegalCaseViewCache.this::bumpVersion);
+		}
+
+	}
+
+}
@@ -1,34 +1,37 @@
 package com.ginkgooai.legalcase.service.event;
 
 import com.ginkgooai.legalcase.domain.event.CaseEvents.*;
-import com.ginkgooai.legalcase.repository.LegalCaseRepository;
-import com.ginkgooai.legalcase.service.LlmAnalysisService;
+import com.ginkgooai.legalcase.service.LlmAnalysisTrigger;
 import com.ginkgooai.legalcase.service.NotificationService;
+import com.ginkgooai.legalcase.service.ai.LlmAnalysisEngine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
 /**
- * Event handlers for case-related domain events
+ * Event handlers for case-related domain events. Handlers that notify run just before the
+ * transaction commits, so the queued notification commits or rolls back with the change
+ * it reports.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class CaseEventHandlers {
 
-	private final LegalCaseRepository legalCaseRepository;
-
 	private final NotificationService notificationService;
 
-	private final LlmAnalysisService llmAnalysisService;
+	private final LlmAnalysisTrigger llmAnalysisTrigger;
+
+	private final LlmAnalysisEngine llmAnalysisEngine;
 
 	/**
 	 * Handle case created event
 	 */
-	@TransactionalEventListener
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
 	public void handleCaseCreated(CaseCreatedEvent event) {
 		log.info("Case created: {}", event.getCaseId());
 		notificationService.notifyUserAboutCaseCreation(event.getProfileId(), event.getCaseId(), event.getCaseTitle());
@@ -41,8 +44,8 @@ public class CaseEventHandlers {
 	public void handleDocumentCompleted(DocumentCompletedEvent event) {
 		log.info("Document {} completed for case {}", event.getDocumentName(), event.getCaseId());
 
-		// 检查是否应该触发LLM分析
-		llmAnalysisService.checkAndTriggerAnalysis(event.getCaseId());
+		// 检查是否应该触发LLM分析（按案例防抖）
+		llmAnalysisTrigger.requestAnalysis(event.getCaseId());
 	}
 
 	/**
@@ -52,8 +55,8 @@ public class CaseEventHandlers {
 	public void handleQuestionnaireCompleted(QuestionnaireCompletedEvent event) {
 		log.info("Questionnaire {} completed for case {}", event.getQuestionnaireName(), event.getCaseId());
 
-		// 检查是否应该触发LLM分析
-		llmAnalysisService.checkAndTriggerAnalysis(event.getCaseId());
+		// 检查是否应该触发LLM分析（按案例防抖）
+		llmAnalysisTrigger.requestAnalysis(event.getCaseId());
 	}
 
 	/**
@@ -71,62 +74,24 @@ public class CaseEventHandlers {
 	}
 
 	/**
-	 * Handle LLM analysis initiated event This runs asynchronously to not block the main
-	 * thread
+	 * Handle LLM analysis initiated event. Runs after the initiating transaction commits
+	 * and hands the case to the analysis engine, which executes it on its own bounded
+	 * executor
 	 */
-	@Async
-	@EventListener
+	@TransactionalEventListener
 	public void handleLlmAnalysisInitiated(LlmAnalysisInitiatedEvent event) {
-		log.info("Starting LLM analysis for case: {}, type: {}", event.getCaseId(), event.getAnalysisType());
-
-		try {
-			// Call the LLM analysis service
-			boolean successful = true;
-			String resultSummary = "Analysis completed " + (successful ? "successfully" : "with errors");
-
-			// Update the case with the analysis results
-			legalCaseRepository.findById(event.getCaseId()).ifPresent(legalCase -> {
-				legalCase.completeLlmAnalysis(successful, resultSummary);
-				legalCaseRepository.save(legalCase);
-			});
-		}
-		catch (Exception e) {
-			log.error("Error during LLM analysis for case: {}", event.getCaseId(), e);
-			// Handle the error and update the case status accordingly
-			legalCaseRepository.findById(event.getCaseId()).ifPresent(legalCase -> {
-				legalCase.completeLlmAnalysis(false, "Error: " + e.getMessage());
-				legalCaseRepository.save(legalCase);
-			});
-		}
+		log.info("LLM analysis initiated for case: {}, type: {}", event.getCaseId(), event.getAnalysisType());
+		llmAnalysisEngine.submit(event.getCaseId(), event.getAnalysisType());
 	}
 
 	/**
-	 * Handle LLM analysis completed event
+	 * Handle LLM analysis completed event. The case status was already updated when the
+	 * result was stored, so this only notifies
 	 */
-	@TransactionalEventListener
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
 	public void handleLlmAnalysisCompleted(LlmAnalysisCompletedEvent event) {
 		log.info("LLM analysis completed for case: {}, successful: {}", event.getCaseId(), event.isSuccessful());
 
-		try {
-			// Call the LLM analysis service
-			boolean successful = true;
-			String resultSummary = "Analysis completed " + (successful ? "successfully" : "with errors");
-
-			// Update the case with the analysis results
-			legalCaseRepository.findById(event.getCaseId()).ifPresent(legalCase -> {
-				legalCase.completeLlmAnalysis(successful, resultSummary);
-				legalCaseRepository.save(legalCase);
-			});
-		}
-		catch (Exception e) {
-			log.error("Error during LLM analysis for case: {}", event.getCaseId(), e);
-			// Handle the error and update the case status accordingly
-			legalCaseRepository.findById(event.getCaseId()).ifPresent(legalCase -> {
-				legalCase.completeLlmAnalysis(false, "Error: " + e.getMessage());
-				legalCaseRepository.save(legalCase);
-			});
-		}
-
 		// Notify about analysis completion
 		notificationService.notifyAboutAnalysisCompletion(event.getCaseId(), event.isSuccessful(),
 				event.getResultSummary());
@@ -135,7 +100,7 @@ public class CaseEventHandlers {
 	/**
 	 * Handle documentation complete event
 	 */
-	@TransactionalEventListener
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
 	public void handleDocumentationComplete(DocumentationCompleteEvent event) {
 		log.info("All documentation complete for case: {}", event.getCaseId());
 
@@ -158,7 +123,7 @@ public class CaseEventHandlers {
 	/**
 	 * Handle case put on hold event
 	 */
-	@TransactionalEventListener
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
 	public void handleCasePutOnHold(CasePutOnHoldEvent event) {
 		log.info("Case put on hold: {}, reason: {}", event.getCaseId(), event.getReason());
 
@@ -169,7 +134,7 @@ public class CaseEventHandlers {
 	/**
 	 * Handle case resumed event
 	 */
-	@TransactionalEventListener
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
 	public void handleCaseResumed(CaseResumedEvent event) {
 		log.info("Case resumed from hold: {}", event.getCaseId());
 
@@ -180,7 +145,7 @@ public class CaseEventHandlers {
 	/**
 	 * Handle case submitted event
 	 */
-	@TransactionalEventListener
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
 	public void handleCaseSubmitted(CaseSubmittedEvent event) {
 		log.info("Case submitted: {}, by: {}", event.getCaseId(), event.getSubmittedBy());
 
@@ -191,7 +156,7 @@ public class CaseEventHandlers {
 	/**
 	 * Handle case approved event
 	 */
-	@TransactionalEventListener
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
 	public void handleCaseApproved(CaseApprovedEvent event) {
 		log.info("Case approved: {}, by: {}", event.getCaseId(), event.getApprovedBy());
 
@@ -202,7 +167,7 @@ public class CaseEventHandlers {
 	/**
 	 * Handle case denied event
 	 */
-	@TransactionalEventListener
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
 	public void handleCaseDenied(CaseDeniedEvent event) {
 		log.info("Case denied: {}, by: {}, reason: {}", event.getCaseId(), event.getDeniedBy(), event.getReason());
 
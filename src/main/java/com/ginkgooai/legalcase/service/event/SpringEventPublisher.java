@@ -11,11 +11,17 @@ import com.ginkgooai.legalcase.exception.EventPersistenceException;
 import com.ginkgooai.legalcase.repository.EventLogRepository;
 import com.ginkgooai.legalcase.repository.LegalCaseRepository;
 import com.ginkgooai.legalcase.service.CaseEventEmitterService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 @Slf4j
@@ -31,14 +37,20 @@ public class SpringEventPublisher implements EventPublisher {
 
 	private final CaseEventEmitterService eventEmitterService;
 
+	private final MeterRegistry meterRegistry;
+
+	private final Tracer tracer;
+
 	public SpringEventPublisher(ApplicationEventPublisher applicationEventPublisher,
 			EventLogRepository eventLogRepository, LegalCaseRepository legalCaseRepository, ObjectMapper objectMapper,
-			@Lazy CaseEventEmitterService eventEmitterService) {
+			@Lazy CaseEventEmitterService eventEmitterService, MeterRegistry meterRegistry, Tracer tracer) {
 		this.applicationEventPublisher = applicationEventPublisher;
 		this.eventLogRepository = eventLogRepository;
 		this.legalCaseRepository = legalCaseRepository;
 		this.objectMapper = objectMapper;
 		this.eventEmitterService = eventEmitterService;
+		this.meterRegistry = meterRegistry;
+		this.tracer = tracer;
 	}
 
 	@Override
@@ -46,13 +58,21 @@ public class SpringEventPublisher implements EventPublisher {
 	public void publish(DomainEvent event) {
 		log.debug("Publishing domain event: {}", event.getEventType());
 
-		applicationEventPublisher.publishEvent(event);
+		Timer.Sample sample = Timer.start(meterRegistry);
+		Span span = publishSpan(event);
+		try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+			applicationEventPublisher.publishEvent(event);
 
-		EventLog persistedEvent = persistEvent(event);
+			EventLog persistedEvent = persistEvent(event);
 
-		if (persistedEvent != null) {
-			eventEmitterService.handleDomainEvent(event);
+			if (persistedEvent != null) {
+				pushAfterCommit(event);
+			}
+		}
+		finally {
+			span.end();
 		}
+		sample.stop(publishTimer(event));
 	}
 
 	@Override
@@ -60,13 +80,52 @@ public class SpringEventPublisher implements EventPublisher {
 	public void publishEvent(CaseEvents.FormValueRecordedEvent event) {
 		log.debug("Publishing form value recorded event: {}", event.getEventId());
 
-		applicationEventPublisher.publishEvent(event);
+		Timer.Sample sample = Timer.start(meterRegistry);
+		Span span = publishSpan(event);
+		try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+			applicationEventPublisher.publishEvent(event);
+
+			EventLog persistedEvent = persistFormValueEvent(event);
+
+			if (persistedEvent != null) {
+				pushAfterCommit(event);
+			}
+		}
+		finally {
+			span.end();
+		}
+		sample.stop(publishTimer(event));
+	}
+
+	private Timer publishTimer(DomainEvent event) {
+		return Timer.builder("legalcase.events.publish")
+			.description("Publishing a domain event: listeners and event log")
+			.tag("event", event.getEventType())
+			.register(meterRegistry);
+	}
 
-		EventLog persistedEvent = persistFormValueEvent(event);
+	/**
+	 * Push the case to its SSE subscribers once the transaction has committed. The push
+	 * then reads the committed case through the view cache, after the view was
+	 * invalidated, instead of bypassing it from inside the write transaction.
+	 */
+	private void pushAfterCommit(DomainEvent event) {
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				if (status == STATUS_COMMITTED) {
+					eventEmitterService.handleDomainEvent(event);
+				}
+			}
+		});
+	}
 
-		if (persistedEvent != null) {
-			eventEmitterService.handleDomainEvent(event);
+	private Span publishSpan(DomainEvent event) {
+		Span span = tracer.nextSpan().name("event.publish").tag("event.type", event.getEventType());
+		if (event.getCaseId() != null) {
+			span.tag("case.id", event.getCaseId());
 		}
+		return span.start();
 	}
 
 	private EventLog persistEvent(DomainEvent event) {
@@ -5,6 +5,9 @@ import com.ginkgooai.legalcase.dto.EventLogResponse;
 import com.ginkgooai.legalcase.dto.LegalCaseResponse;
 import com.ginkgooai.legalcase.service.CaseEventEmitterService;
 import com.ginkgooai.legalcase.service.CaseService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
@@ -15,6 +18,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 @Slf4j
@@ -22,16 +26,25 @@ public class CaseEventEmitterServiceImpl implements CaseEventEmitterService {
 
 	private final CaseService caseService;
 
+	private final MeterRegistry meterRegistry;
+
 	private final Map<String, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
 
-	public CaseEventEmitterServiceImpl(@Lazy CaseService caseService) {
+	private final AtomicInteger activeEmitters = new AtomicInteger();
+
+	public CaseEventEmitterServiceImpl(@Lazy CaseService caseService, MeterRegistry meterRegistry) {
 		this.caseService = caseService;
+		this.meterRegistry = meterRegistry;
+		Gauge.builder("legalcase.sse.emitters", activeEmitters, AtomicInteger::get)
+			.description("Open SSE connections across all cases")
+			.register(meterRegistry);
 	}
 
 	@Override
 	public SseEmitter addEmitter(String caseId, SseEmitter emitter) {
 		log.debug("Adding emitter for case: {}", caseId);
 		emitters.computeIfAbsent(caseId, k -> new CopyOnWriteArrayList<>()).add(emitter);
+		activeEmitters.incrementAndGet();
 
 		emitter.onCompletion(() -> {
 			log.debug("Emitter completed for case: {}", caseId);
@@ -55,7 +68,9 @@ public class CaseEventEmitterServiceImpl implements CaseEventEmitterService {
 	public void removeEmitter(String caseId, SseEmitter emitter) {
 		List<SseEmitter> caseEmitters = emitters.get(caseId);
 		if (caseEmitters != null) {
-			caseEmitters.remove(emitter);
+			if (caseEmitters.remove(emitter)) {
+				activeEmitters.decrementAndGet();
+			}
 			if (caseEmitters.isEmpty()) {
 				emitters.remove(caseId);
 			}
@@ -64,38 +79,33 @@ public class CaseEventEmitterServiceImpl implements CaseEventEmitterService {
 
 	@Override
 	public void sendCaseUpdate(String caseId, LegalCaseResponse caseResponse) {
-		List<SseEmitter> caseEmitters = emitters.get(caseId);
-		if (caseEmitters != null && !caseEmitters.isEmpty()) {
-			log.debug("Sending case update to {} emitters for case: {}", caseEmitters.size(), caseId);
-
-			List<SseEmitter> deadEmitters = new CopyOnWriteArrayList<>();
-			caseEmitters.forEach(emitter -> {
-				try {
-					emitter.send(SseEmitter.event().name("caseUpdate").data(caseResponse));
-				}
-				catch (IOException e) {
-					log.error("Error sending case update to emitter", e);
-					deadEmitters.add(emitter);
-				}
-			});
-
-			deadEmitters.forEach(emitter -> removeEmitter(caseId, emitter));
-		}
+		send(caseId, "caseUpdate", caseResponse);
 	}
 
 	@Override
 	public void sendEventUpdate(String caseId, EventLogResponse eventResponse) {
+		send(caseId, "eventUpdate", eventResponse);
+	}
+
+	private void send(String caseId, String eventName, Object data) {
 		List<SseEmitter> caseEmitters = emitters.get(caseId);
 		if (caseEmitters != null && !caseEmitters.isEmpty()) {
-			log.debug("Sending event update to {} emitters for case: {}", caseEmitters.size(), caseId);
+			log.debug("Sending {} to {} emitters for case: {}", eventName, caseEmitters.size(), caseId);
 
+			Timer sendTimer = Timer.builder("legalcase.sse.send")
+				.description("Writing one event to one SSE connection")
+				.tag("event", eventName)
+				.register(meterRegistry);
 			List<SseEmitter> deadEmitters = new CopyOnWriteArrayList<>();
 			caseEmitters.forEach(emitter -> {
+				Timer.Sample sample = Timer.start(meterRegistry);
 				try {
-					emitter.send(SseEmitter.event().name("eventUpdate").data(eventResponse));
+					emitter.send(SseEmitter.event().name(eventName).data(data));
+					sample.stop(sendTimer);
 				}
 				catch (IOException e) {
-					log.error("Error sending event update to emitter", e);
+					log.error("Error sending {} to emitter", eventName, e);
+					meterRegistry.counter("legalcase.sse.send.failures", "event", eventName).increment();
 					deadEmitters.add(emitter);
 				}
 			});
@@ -14,15 +14,20 @@ import com.ginkgooai.legalcase.exception.ResourceNotFoundException;
 import com.ginkgooai.legalcase.repository.EventLogRepository;
 import com.ginkgooai.legalcase.repository.LegalCaseRepository;
 import com.ginkgooai.legalcase.service.FormValueRecordService;
+import com.ginkgooai.legalcase.service.retry.OptimisticRetryTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -41,127 +46,137 @@ public class FormValueRecordServiceImpl implements FormValueRecordService {
 
 	private final ObjectMapper objectMapper;
 
+	private final OptimisticRetryTemplate optimisticRetryTemplate;
+
+	private final MeterRegistry meterRegistry;
+
 	private static final String FORM_VALUE_EVENT_TYPE = "FormValueRecorded";
 
+	private static final String RECORD_TIMER = "legalcase.form-values.record";
+
 	/**
 	 * 记录表单值 Record form values
 	 */
 	@Override
-	@Transactional
 	public FormValueRecordDTO recordFormValues(String caseId, String formId, String formName, String pageId,
 			String pageName, Map<String, Object> formValues, String userId) {
 
 		log.info("Recording form values for case: {}, form: {}, page: {}", caseId, formName, pageName);
 
-		// 查找案例
-		LegalCase legalCase = legalCaseRepository.findById(caseId)
-			.orElseThrow(() -> new ResourceNotFoundException("Case not found: " + caseId));
-
-		// 使用LegalCase领域方法记录表单值
-		Map<String, Object> valueMap = new HashMap<>(formValues);
-		for (Map.Entry<String, Object> entry : valueMap.entrySet()) {
-			String inputId = entry.getKey();
-			String inputValue = String.valueOf(entry.getValue());
-			legalCase.recordFormValue(formId, formName, pageId, pageName, inputId, "unknown", inputValue);
-		}
+		// 案例被并发修改时重新加载并重放领域操作
+		return timed("form", () -> optimisticRetryTemplate.execute("record-form-values", () -> {
+			// 查找案例
+			LegalCase legalCase = legalCaseRepository.findById(caseId)
+				.orElseThrow(() -> new ResourceNotFoundException("Case not found: " + caseId));
+
+			// 使用LegalCase领域方法记录表单值
+			Map<String, Object> valueMap = new HashMap<>(formValues);
+			for (Map.Entry<String, Object> entry : valueMap.entrySet()) {
+				String inputId = entry.getKey();
+				String inputValue = String.valueOf(entry.getValue());
+				legalCase.recordFormValue(formId, formName, pageId, pageName, inputId, "unknown", inputValue);
+			}
 
-		// 检查是否需要开始自动填充（如果案例状态为 DOCUMENTATION_COMPLETE 或 READY_TO_FILL）
-		if (legalCase.getStatus() == CaseStatus.DOCUMENTATION_COMPLETE
-				|| legalCase.getStatus() == CaseStatus.READY_TO_FILL) {
-			legalCase.initiateAutoFilling();
-		}
+			// 检查是否需要开始自动填充（如果案例状态为 DOCUMENTATION_COMPLETE 或 READY_TO_FILL）
+			if (legalCase.getStatus() == CaseStatus.DOCUMENTATION_COMPLETE
+					|| legalCase.getStatus() == CaseStatus.READY_TO_FILL) {
+				legalCase.initiateAutoFilling();
+			}
 
-		// 保存LegalCase以触发事件
-		legalCaseRepository.save(legalCase);
-
-		// 处理领域事件并返回FormValueRecordDTO
-		List<DomainEvent> events = legalCase.getAndClearDomainEvents();
-		for (DomainEvent event : events) {
-			if (event instanceof CaseEvents.FormValueRecordedEvent) {
-				CaseEvents.FormValueRecordedEvent formEvent = (CaseEvents.FormValueRecordedEvent) event;
-
-				// 发布事件到EventPublisher
-				eventPublisher.publishEvent(formEvent);
-
-				// 构建返回值
-				FormValueRecordDTO dto = FormValueRecordDTO.builder()
-					.caseId(caseId)
-					.formId(formId)
-					.formName(formName)
-					.pageId(pageId)
-					.pageName(pageName)
-					.formValues(formValues)
-					.recordedAt(LocalDateTime.now())
-					.recordedBy(userId)
-					.eventId(formEvent.getEventId())
-					.build();
-
-				return dto;
+			// 保存LegalCase以触发事件
+			legalCaseRepository.save(legalCase);
+
+			// 处理领域事件并返回FormValueRecordDTO
+			List<DomainEvent> events = legalCase.getAndClearDomainEvents();
+			for (DomainEvent event : events) {
+				if (event instanceof CaseEvents.FormValueRecordedEvent) {
+					CaseEvents.FormValueRecordedEvent formEvent = (CaseEvents.FormValueRecordedEvent) event;
+
+					// 发布事件到EventPublisher
+					eventPublisher.publishEvent(formEvent);
+
+					// 构建返回值
+					FormValueRecordDTO dto = FormValueRecordDTO.builder()
+						.caseId(caseId)
+						.formId(formId)
+						.formName(formName)
+						.pageId(pageId)
+						.pageName(pageName)
+						.formValues(formValues)
+						.recordedAt(LocalDateTime.now())
+						.recordedBy(userId)
+						.eventId(formEvent.getEventId())
+						.build();
+
+					return dto;
+				}
 			}
-		}
 
-		throw new FormValueRecordingException("Failed to record form values: no event was generated");
+			throw new FormValueRecordingException("Failed to record form values: no event was generated");
+		}));
 	}
 
 	/**
 	 * 记录单个表单输入值 Record a single form input value
 	 */
 	@Override
-	@Transactional
 	public FormValueRecordDTO recordInputValue(String caseId, String formId, String formName, String pageId,
 			String pageName, String inputId, String inputType, String inputValue, String userId) {
 
 		log.info("Recording input value for case: {}, form: {}, page: {}, input: {}", caseId, formName, pageName,
 				inputId);
 
-		LegalCase legalCase = legalCaseRepository.findById(caseId)
-			.orElseThrow(() -> new ResourceNotFoundException("Case not found: " + caseId));
+		// 案例被并发修改时重新加载并重放领域操作
+		return timed("input", () -> optimisticRetryTemplate.execute("record-input-value", () -> {
+			LegalCase legalCase = legalCaseRepository.findById(caseId)
+				.orElseThrow(() -> new ResourceNotFoundException("Case not found: " + caseId));
 
-		// 使用LegalCase领域方法记录单个输入值
-		legalCase.recordFormValue(formId, formName, pageId, pageName, inputId, inputType, inputValue);
+			// 使用LegalCase领域方法记录单个输入值
+			legalCase.recordFormValue(formId, formName, pageId, pageName, inputId, inputType, inputValue);
 
-		// 检查是否需要开始自动填充（如果案例状态为 DOCUMENTATION_COMPLETE 或 READY_TO_FILL）
-		if (legalCase.getStatus() == CaseStatus.DOCUMENTATION_COMPLETE
-				|| legalCase.getStatus() == CaseStatus.READY_TO_FILL) {
-			legalCase.initiateAutoFilling();
-		}
+			// 检查是否需要开始自动填充（如果案例状态为 DOCUMENTATION_COMPLETE 或 READY_TO_FILL）
+			if (legalCase.getStatus() == CaseStatus.DOCUMENTATION_COMPLETE
+					|| legalCase.getStatus() == CaseStatus.READY_TO_FILL) {
+				legalCase.initiateAutoFilling();
+			}
 
-		// 保存LegalCase以触发事件
-		legalCaseRepository.save(legalCase);
-
-		// 处理领域事件并返回FormValueRecordDTO
-		List<DomainEvent> events = legalCase.getAndClearDomainEvents();
-		for (DomainEvent event : events) {
-			if (event instanceof CaseEvents.FormValueRecordedEvent) {
-				CaseEvents.FormValueRecordedEvent formEvent = (CaseEvents.FormValueRecordedEvent) event;
-
-				// 发布事件到EventPublisher
-				eventPublisher.publishEvent(formEvent);
-
-				// 构建返回值
-				Map<String, Object> formValues = new HashMap<>();
-				formValues.put(inputId, inputValue);
-
-				FormValueRecordDTO dto = FormValueRecordDTO.builder()
-					.caseId(caseId)
-					.formId(formId)
-					.formName(formName)
-					.pageId(pageId)
-					.pageName(pageName)
-					.inputId(inputId)
-					.inputType(inputType)
-					.inputValue(inputValue)
-					.formValues(formValues)
-					.recordedAt(LocalDateTime.now())
-					.recordedBy(userId)
-					.eventId(formEvent.getEventId())
-					.build();
-
-				return dto;
+			// 保存LegalCase以触发事件
+			legalCaseRepository.save(legalCase);
+
+			// 处理领域事件并返回FormValueRecordDTO
+			List<DomainEvent> events = legalCase.getAndClearDomainEvents();
+			for (DomainEvent event : events) {
+				if (event instanceof CaseEvents.FormValueRecordedEvent) {
+					CaseEvents.FormValueRecordedEvent formEvent = (CaseEvents.FormValueRecordedEvent) event;
+
+					// 发布事件到EventPublisher
+					eventPublisher.publishEvent(formEvent);
+
+					// 构建返回值
+					Map<String, Object> formValues = new HashMap<>();
+					formValues.put(inputId, inputValue);
+
+					FormValueRecordDTO dto = FormValueRecordDTO.builder()
+						.caseId(caseId)
+						.formId(formId)
+						.formName(formName)
+						.pageId(pageId)
+						.pageName(pageName)
+						.inputId(inputId)
+						.inputType(inputType)
+						.inputValue(inputValue)
+						.formValues(formValues)
+						.recordedAt(LocalDateTime.now())
+						.recordedBy(userId)
+						.eventId(formEvent.getEventId())
+						.build();
+
+					return dto;
+				}
 			}
-		}
 
-		throw new FormValueRecordingException("Failed to record input value: no event was generated");
+			throw new FormValueRecordingException("Failed to record input value: no event was generated");
+		}));
 	}
 
 	/**
@@ -221,6 +236,14 @@ public class FormValueRecordServiceImpl implements FormValueRecordService {
 		log.info("However, they can be ignored for future replays.");
 	}
 
+	private <T> T timed(String kind, Supplier<T> recording) {
+		return Timer.builder(RECORD_TIMER)
+			.description("Recording form values, including conflict retries and event publishing")
+			.tag("kind", kind)
+			.register(meterRegistry)
+			.record(recording);
+	}
+
 	@Override
 	@Transactional(readOnly = true)
 	public Map<String, Object> replayFormValueRecords(String caseId, String formId) {
@@ -236,22 +259,39 @@ public class FormValueRecordServiceImpl implements FormValueRecordService {
 			.map(this::convertEventLogToDTO)
 			.collect(Collectors.toList());
 
-		Map<String, Object> replayData = new HashMap<>();
-
-		Map<String, Map<String, List<FormValueRecordDTO>>> formPageRecords = records.stream()
-			.collect(Collectors.groupingBy(FormValueRecordDTO::getFormId,
-					Collectors.groupingBy(FormValueRecordDTO::getPageId)));
-
-		replayData.put("forms", formPageRecords);
+		return groupForReplay(records);
+	}
 
+	/**
+	 * 按表单分组回放记录 Group replayed records into {@code forms} (form ID → page ID →
+	 * records) and {@code inputs} (form ID → input ID → latest value). Records that do not
+	 * name a form, such as other events of the case, are left out.
+	 * @param records 按时间排序的记录 / records in the order they were recorded
+	 * @return 回放数据 / replay data
+	 */
+	public static Map<String, Object> groupForReplay(List<FormValueRecordDTO> records) {
+		Map<String, Map<String, List<FormValueRecordDTO>>> formPageRecords = new HashMap<>();
 		Map<String, Map<String, String>> inputValues = new HashMap<>();
-		records.stream().filter(r -> r.getInputId() != null).forEach(r -> {
-			String formKey = r.getFormId();
-			inputValues.computeIfAbsent(formKey, k -> new HashMap<>()).put(r.getInputId(), r.getInputValue());
-		});
 
-		replayData.put("inputs", inputValues);
+		for (FormValueRecordDTO record : records) {
+			String formKey = record.getFormId();
+			if (formKey == null) {
+				continue;
+			}
+			if (record.getPageId() != null) {
+				formPageRecords.computeIfAbsent(formKey, k -> new HashMap<>())
+					.computeIfAbsent(record.getPageId(), k -> new ArrayList<>())
+					.add(record);
+			}
+			if (record.getInputId() != null) {
+				inputValues.computeIfAbsent(formKey, k -> new HashMap<>())
+					.put(record.getInputId(), record.getInputValue());
+			}
+		}
 
+		Map<String, Object> replayData = new HashMap<>();
+		replayData.put("forms", formPageRecords);
+		replayData.put("inputs", inputValues);
 		return replayData;
 	}
 
@@ -267,6 +307,13 @@ public class FormValueRecordServiceImpl implements FormValueRecordService {
 			return FormValueRecordDTO.builder()
 				.id(eventLog.getId())
 				.caseId(eventLog.getLegalCase().getId())
+				.formId(event.getFormId())
+				.formName(event.getFormName())
+				.pageId(event.getPageId())
+				.pageName(event.getPageName())
+				.inputId(event.getInputId())
+				.inputType(event.getInputType())
+				.inputValue(event.getInputValue())
 				.formValues(event.getFormValues())
 				.recordedAt(eventLog.getOccurredAt())
 				.recordedBy(eventLog.getCreatedBy())
@@ -1,18 +1,16 @@
 package com.ginkgooai.legalcase.service.impl;
 
+import com.ginkgooai.legalcase.domain.CaseStatus;
 import com.ginkgooai.legalcase.domain.LegalCase;
-import com.ginkgooai.legalcase.domain.event.EventLog;
-import com.ginkgooai.legalcase.repository.EventLogRepository;
 import com.ginkgooai.legalcase.repository.LegalCaseRepository;
 import com.ginkgooai.legalcase.service.LlmAnalysisService;
+import com.ginkgooai.legalcase.service.event.DomainEventPublisherFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
 
 /**
  * LLM分析服务实现 Implementation of LLM analysis service
@@ -24,9 +22,7 @@ public class LlmAnalysisServiceImpl implements LlmAnalysisService {
 
 	private final LegalCaseRepository legalCaseRepository;
 
-	private final EventLogRepository eventLogRepository;
-
-	private static final String LLM_ANALYSIS_INITIATED_EVENT = "LlmAnalysisInitiated";
+	private final DomainEventPublisherFactory eventPublisherFactory;
 
 	private static final int MIN_ANALYSIS_INTERVAL_HOURS = 1;
 
@@ -38,6 +34,12 @@ public class LlmAnalysisServiceImpl implements LlmAnalysisService {
 	public boolean checkAndTriggerAnalysis(String caseId) {
 		log.debug("Checking if case {} should undergo LLM analysis", caseId);
 
+		// 获取事务级咨询锁，确保多个节点/线程中只有一个会启动分析
+		if (!legalCaseRepository.tryLockForAnalysis(caseId)) {
+			log.debug("Analysis check for case {} is already running elsewhere", caseId);
+			return false;
+		}
+
 		LegalCase legalCase = legalCaseRepository.findById(caseId)
 			.orElseThrow(() -> new IllegalArgumentException("Case not found: " + caseId));
 
@@ -45,6 +47,8 @@ public class LlmAnalysisServiceImpl implements LlmAnalysisService {
 			log.info("Triggering LLM analysis for case {}", caseId);
 			legalCase.initiateLlmAnalysis("document_analysis");
 			legalCaseRepository.save(legalCase);
+			// 分析在事务提交后由分析引擎异步执行
+			eventPublisherFactory.publishEvents(legalCase);
 			return true;
 		}
 
@@ -56,26 +60,30 @@ public class LlmAnalysisServiceImpl implements LlmAnalysisService {
 	 */
 	@Override
 	public boolean shouldPerformAnalysis(LegalCase legalCase) {
-		// 检查是否有完成的文档
-		if (!legalCase.hasCompletedDocumentsForAnalysis()) {
-			log.debug("Case {} has no completed documents for analysis", legalCase.getId());
+		// 已在分析中的案例不重复触发
+		if (legalCase.getStatus() == CaseStatus.ANALYZING) {
+			log.debug("Case {} is already being analyzed", legalCase.getId());
 			return false;
 		}
 
-		// 检查上次分析时间
-		LocalDateTime lastAnalysisTime = getLastAnalysisTime(legalCase.getId());
+		// 检查上次分析时间（存储在案例上，无需扫描事件日志）
+		LocalDateTime lastAnalysisTime = legalCase.getLastAnalysisAt();
 
-		// 如果没有进行过分析，或者距离上次分析已经超过规定的间隔时间
-		if (lastAnalysisTime == null) {
-			log.debug("Case {} has never been analyzed before", legalCase.getId());
-			return true;
+		if (lastAnalysisTime != null
+				&& !LocalDateTime.now().minusHours(MIN_ANALYSIS_INTERVAL_HOURS).isAfter(lastAnalysisTime)) {
+			log.debug("Case {} last analyzed at {}, within the minimum interval", legalCase.getId(),
+					lastAnalysisTime);
+			return false;
 		}
 
-		boolean shouldAnalyze = LocalDateTime.now().minusHours(MIN_ANALYSIS_INTERVAL_HOURS).isAfter(lastAnalysisTime);
-		log.debug("Case {} last analyzed at {}. Should analyze now: {}", legalCase.getId(), lastAnalysisTime,
-				shouldAnalyze);
+		// 检查是否有完成的文档（案例上的计数，不加载文档集合）
+		if (!legalCase.hasCompletedDocumentsForAnalysis()) {
+			log.debug("Case {} has no completed documents for analysis", legalCase.getId());
+			return false;
+		}
 
-		return shouldAnalyze;
+		log.debug("Case {} last analyzed at {}. Should analyze now: true", legalCase.getId(), lastAnalysisTime);
+		return true;
 	}
 
 	/**
@@ -83,11 +91,7 @@ public class LlmAnalysisServiceImpl implements LlmAnalysisService {
 	 */
 	@Override
 	public LocalDateTime getLastAnalysisTime(String caseId) {
-		// 从事件日志中查询最后一次LLM分析事件的时间
-		Optional<LocalDateTime> lastAnalysisTime = eventLogRepository.findLastEventTimeByTypeAndCaseId(caseId,
-				LLM_ANALYSIS_INITIATED_EVENT);
-
-		return lastAnalysisTime.orElse(null);
+		return legalCaseRepository.findLastAnalysisAtById(caseId).orElse(null);
 	}
 
-}
\ No newline at end of file
+}
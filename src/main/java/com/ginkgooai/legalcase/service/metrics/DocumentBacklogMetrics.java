@@ -0,0 +1,64 @@
+package com.ginkgooai.legalcase.service.metrics;
+
+import com.ginkgooai.legalcase.domain.CaseDocument;
+import com.ginkgooai.legalcase.repository.CaseDocumentRepository;
+import com.ginkgooai.legalcase.repository.projection.StatusDocumentCount;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 文档积压指标 Publishes the number of documents in each status, PENDING being the
+ * analysis backlog, as the gauge {@code legalcase.documents.backlog}. The counts come
+ * from one grouped query on a fixed delay rather than on every scrape, so scrapes never
+ * touch the database.
+ */
+@Component
+@Slf4j
+public class DocumentBacklogMetrics {
+
+	private final CaseDocumentRepository caseDocumentRepository;
+
+	private final Map<CaseDocument.DocumentStatus, AtomicLong> counts = new EnumMap<>(
+			CaseDocument.DocumentStatus.class);
+
+	public DocumentBacklogMetrics(CaseDocumentRepository caseDocumentRepository, MeterRegistry meterRegistry) {
+		this.caseDocumentRepository = caseDocumentRepository;
+		for (CaseDocument.DocumentStatus status : CaseDocument.DocumentStatus.values()) {
+			AtomicLong count = new AtomicLong();
+			counts.put(status, count);
+			Gauge.builder("legalcase.documents.backlog", count, AtomicLong::get)
+				.description("Documents per status, refreshed periodically")
+				.tag("status", status.name())
+				.register(meterRegistry);
+		}
+	}
+
+	/**
+	 * 刷新文档计数 Refresh the counts; statuses without documents drop to zero
+	 */
+	@Scheduled(initialDelayString = "${legal-case.metrics.document-backlog-refresh:PT30S}",
+			fixedDelayString = "${legal-case.metrics.document-backlog-refresh:PT30S}")
+	public void refresh() {
+		Map<CaseDocument.DocumentStatus, Long> current = new EnumMap<>(CaseDocument.DocumentStatus.class);
+		try {
+			for (StatusDocumentCount row : caseDocumentRepository.countGroupByStatus()) {
+				current.put(row.getStatus(), row.getDocumentCount());
+			}
+		}
+		catch (DataAccessException e) {
+			// Keep the last known counts rather than reporting an empty backlog
+			log.warn("Failed to refresh document backlog metrics: {}", e.getMessage());
+			return;
+		}
+		counts.forEach((status, count) -> count.set(current.getOrDefault(status, 0L)));
+	}
+
+}
@@ -0,0 +1,41 @@
+package com.ginkgooai.legalcase.service.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * 请求级 SQL 统计 Opens the per-request statement statistics of
+ * {@link QueryStatisticsListener} around each request, tagged with the matched route.
+ * Work an async request completes on another thread is not attributed to it.
+ */
+@Component
+public class QueryStatisticsFilter extends OncePerRequestFilter {
+
+	private final QueryStatisticsListener queryStatisticsListener;
+
+	public QueryStatisticsFilter(QueryStatisticsListener queryStatisticsListener) {
+		this.queryStatisticsListener = queryStatisticsListener;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		queryStatisticsListener.beginRequest();
+		try {
+			filterChain.doFilter(request, response);
+		}
+		finally {
+			Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+			queryStatisticsListener
+				.endRequest(request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED"));
+		}
+	}
+
+}
@@ -0,0 +1,229 @@
+package com.ginkgooai.legalcase.service.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL 语句统计 Times every JDBC statement by type, logs statements slower than the
+ * threshold, and keeps per-request statistics for requests opened with
+ * {@link #beginRequest()}: the number of statements and their total time per endpoint,
+ * and a warning when one SELECT runs often enough in one request to suggest an N+1
+ * pattern.
+ *
+ * <p>
+ * Slow statements are logged with a fingerprint of their bound parameters: the type of
+ * each value and a truncated HMAC-SHA256 of it under a random key drawn at startup.
+ * Within one process, repeated slow calls with the same arguments get the same
+ * fingerprint. The key is held only in memory, so a reader of the log cannot test guessed
+ * values against a fingerprint; fingerprints do not match across restarts or instances.
+ * The log events also carry the fields as key-value pairs for structured logging.
+ */
+@Component
+@Slf4j
+public class QueryStatisticsListener implements QueryExecutionListener {
+
+	private static final ThreadLocal<RequestQueries> REQUEST = new ThreadLocal<>();
+
+	private static final String FINGERPRINT_ALGORITHM = "HmacSHA256";
+
+	/** Bytes of the HMAC kept in a fingerprint */
+	private static final int FINGERPRINT_BYTES = 8;
+
+	private static final SecretKeySpec FINGERPRINT_KEY = new SecretKeySpec(randomKey(), FINGERPRINT_ALGORITHM);
+
+	private final MeterRegistry meterRegistry;
+
+	private final long slowQueryThresholdMillis;
+
+	private final int nPlusOneThreshold;
+
+	private final Map<QueryType, Timer> queryTimers = new EnumMap<>(QueryType.class);
+
+	private final Counter slowQueries;
+
+	public QueryStatisticsListener(MeterRegistry meterRegistry,
+			@Value("${legal-case.sql.slow-query-threshold:200ms}") Duration slowQueryThreshold,
+			@Value("${legal-case.sql.n-plus-one-threshold:10}") int nPlusOneThreshold) {
+		this.meterRegistry = meterRegistry;
+		this.slowQueryThresholdMillis = slowQueryThreshold.toMillis();
+		this.nPlusOneThreshold = nPlusOneThreshold;
+		for (QueryType type : QueryType.values()) {
+			queryTimers.put(type,
+					Timer.builder("legalcase.db.query")
+						.description("JDBC statement execution, batches counted once")
+						.tag("type", type.name().toLowerCase())
+						.register(meterRegistry));
+		}
+		this.slowQueries = Counter.builder("legalcase.db.query.slow")
+			.description("JDBC statements slower than the slow query threshold")
+			.register(meterRegistry);
+	}
+
+	@Override
+	public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+	}
+
+	@Override
+	public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+		if (queryInfoList.isEmpty()) {
+			return;
+		}
+
+		long elapsed = execInfo.getElapsedTime();
+		queryTimers.get(QueryUtils.getQueryType(queryInfoList.get(0).getQuery()))
+			.record(elapsed, TimeUnit.MILLISECONDS);
+		RequestQueries request = REQUEST.get();
+		if (request != null) {
+			request.record(queryInfoList, elapsed);
+		}
+
+		if (elapsed >= slowQueryThresholdMillis) {
+			slowQueries.increment();
+			for (QueryInfo queryInfo : queryInfoList) {
+				String parameters = fingerprint(queryInfo);
+				log.atWarn()
+					.addKeyValue("elapsedMs", elapsed)
+					.addKeyValue("sql", queryInfo.getQuery())
+					.addKeyValue("parameters", parameters)
+					.addKeyValue("batchSize", execInfo.getBatchSize())
+					.addKeyValue("success", execInfo.isSuccess())
+					.log("Slow query took {} ms: {} [parameters {}]", elapsed, queryInfo.getQuery(), parameters);
+			}
+		}
+	}
+
+	/**
+	 * 开始请求统计 Collect the statements of the current thread until
+	 * {@link #endRequest(String)}
+	 */
+	public void beginRequest() {
+		REQUEST.set(new RequestQueries());
+	}
+
+	/**
+	 * 结束请求统计 Record the statements of the request and warn about repeated SELECTs
+	 * @param endpoint method and route pattern of the request, used as metric tag
+	 */
+	public void endRequest(String endpoint) {
+		RequestQueries request = REQUEST.get();
+		REQUEST.remove();
+		if (request == null || request.count == 0) {
+			return;
+		}
+
+		DistributionSummary.builder("legalcase.db.request.queries")
+			.description("JDBC statements run by one request")
+			.tag("endpoint", endpoint)
+			.register(meterRegistry)
+			.record(request.count);
+		DistributionSummary.builder("legalcase.db.request.time")
+			.description("Total JDBC statement time of one request")
+			.baseUnit("milliseconds")
+			.tag("endpoint", endpoint)
+			.register(meterRegistry)
+			.record(request.elapsedMillis);
+		log.trace("{} ran {} statements in {} ms", endpoint, request.count, request.elapsedMillis);
+
+		request.selects.forEach((query, executions) -> {
+			if (executions >= nPlusOneThreshold) {
+				meterRegistry.counter("legalcase.db.n-plus-one", "endpoint", endpoint).increment();
+				log.atWarn()
+					.addKeyValue("endpoint", endpoint)
+					.addKeyValue("sql", query)
+					.addKeyValue("executions", executions)
+					.log("Possible N+1: {} ran the same query {} times: {}", endpoint, executions, query);
+			}
+		});
+	}
+
+	/**
+	 * Type and keyed hash of each bound parameter of the first parameter set, plus the
+	 * number of sets for a batch
+	 */
+	static String fingerprint(QueryInfo queryInfo) {
+		List<List<ParameterSetOperation>> parameterSets = queryInfo.getParametersList();
+		if (parameterSets.isEmpty()) {
+			return "[]";
+		}
+
+		Mac mac = fingerprintMac();
+		StringJoiner fingerprint = new StringJoiner(", ", "[", "]");
+		for (ParameterSetOperation operation : parameterSets.get(0)) {
+			Object[] args = operation.getArgs();
+			Object value = args.length > 1 ? args[1] : null;
+			if (value == null) {
+				fingerprint.add("null");
+				continue;
+			}
+			byte[] hash = mac.doFinal(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+			fingerprint.add(value.getClass().getSimpleName() + "#"
+					+ HexFormat.of().formatHex(Arrays.copyOf(hash, FINGERPRINT_BYTES)));
+		}
+		return parameterSets.size() > 1 ? fingerprint + " x" + parameterSets.size() : fingerprint.toString();
+	}
+
+	private static byte[] randomKey() {
+		byte[] key = new byte[32];
+		new SecureRandom().nextBytes(key);
+		return key;
+	}
+
+	private static Mac fingerprintMac() {
+		try {
+			Mac mac = Mac.getInstance(FINGERPRINT_ALGORITHM);
+			mac.init(FINGERPRINT_KEY);
+			return mac;
+		}
+		catch (GeneralSecurityException e) {
+			// Every Java platform has to support HmacSHA256
+			throw new IllegalStateException("Cannot create " + FINGERPRINT_ALGORITHM, e);
+		}
+	}
+
+	private static final class RequestQueries {
+
+		private final Map<String, Integer> selects = new HashMap<>();
+
+		private int count;
+
+		private long elapsedMillis;
+
+		void record(List<QueryInfo> queryInfoList, long elapsed) {
+			count++;
+			elapsedMillis += elapsed;
+			for (QueryInfo queryInfo : queryInfoList) {
+				if (QueryUtils.getQueryType(queryInfo.getQuery()) == QueryType.SELECT) {
+					selects.merge(queryInfo.getQuery(), 1, Integer::sum);
+				}
+			}
+		}
+
+	}
+
+}
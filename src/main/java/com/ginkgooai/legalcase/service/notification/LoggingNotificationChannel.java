@@ -0,0 +1,23 @@
+package com.ginkgooai.legalcase.service.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Channel that only logs digests, the default until a delivery channel is configured
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "legal-case.notifications", name = "channel", havingValue = "log",
+		matchIfMissing = true)
+public class LoggingNotificationChannel implements NotificationChannel {
+
+	@Override
+	public void deliver(NotificationDigest digest) {
+		log.info("Notification digest for {}: {} ({} notifications)", digest.recipient(), digest.subject(),
+				digest.size());
+		log.debug("Notification digest body for {}:\n{}", digest.recipient(), digest.body());
+	}
+
+}
@@ -0,0 +1,59 @@
+package com.ginkgooai.legalcase.service.notification;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Channel that sends digests as HTML mail through the auto-configured
+ * {@link JavaMailSender} ({@code spring.mail.*}). Recipients are mapped to addresses
+ * with {@code legal-case.notifications.mail.address}, where {@code {recipient}} stands
+ * for the recipient.
+ */
+@Component
+@ConditionalOnProperty(prefix = "legal-case.notifications", name = "channel", havingValue = "mail")
+public class MailNotificationChannel implements NotificationChannel {
+
+	private final ObjectProvider<JavaMailSender> mailSender;
+
+	private final String from;
+
+	private final String address;
+
+	public MailNotificationChannel(ObjectProvider<JavaMailSender> mailSender,
+			@Value("${legal-case.notifications.mail.from:}") String from,
+			@Value("${legal-case.notifications.mail.address:{recipient}}") String address) {
+		// Resolved on first delivery, so startup does not build the mail sender
+		this.mailSender = mailSender;
+		this.from = from;
+		this.address = address;
+	}
+
+	@Override
+	public void deliver(NotificationDigest digest) {
+		JavaMailSender sender = mailSender.getObject();
+		MimeMessage message = sender.createMimeMessage();
+		try {
+			MimeMessageHelper helper = new MimeMessageHelper(message, StandardCharsets.UTF_8.name());
+			if (!from.isBlank()) {
+				helper.setFrom(from);
+			}
+			helper.setTo(address.replace("{recipient}", digest.recipient()));
+			helper.setSubject(digest.subject());
+			helper.setText(digest.body(), true);
+		}
+		catch (MessagingException e) {
+			throw new MailPreparationException("Failed to prepare digest for " + digest.recipient(), e);
+		}
+		sender.send(message);
+	}
+
+}
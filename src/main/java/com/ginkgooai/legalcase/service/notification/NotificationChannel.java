@@ -0,0 +1,15 @@
+package com.ginkgooai.legalcase.service.notification;
+
+/**
+ * 通知渠道 Delivers rendered digests. Selected with {@code legal-case.notifications.channel}.
+ * Runs on the notification workers; a runtime exception marks the digest for retry.
+ */
+public interface NotificationChannel {
+
+	/**
+	 * Deliver a digest to its recipient
+	 * @param digest the digest
+	 */
+	void deliver(NotificationDigest digest);
+
+}
@@ -0,0 +1,12 @@
+package com.ginkgooai.legalcase.service.notification;
+
+/**
+ * 通知摘要 The notifications of one recipient, rendered for delivery
+ *
+ * @param recipient recipient the notifications were queued for
+ * @param subject subject line
+ * @param body rendered HTML body
+ * @param size number of notifications in the digest
+ */
+public record NotificationDigest(String recipient, String subject, String body, int size) {
+}
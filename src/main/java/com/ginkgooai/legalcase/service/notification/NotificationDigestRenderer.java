@@ -0,0 +1,58 @@
+package com.ginkgooai.legalcase.service.notification;
+
+import com.ginkgooai.legalcase.domain.Notification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 通知摘要渲染 Renders the notifications of a recipient with the Thymeleaf template
+ * {@code templates/notifications/digest.html}, grouped by case in the order they were
+ * queued.
+ */
+@Component
+public class NotificationDigestRenderer {
+
+	static final String TEMPLATE = "notifications/digest";
+
+	private final ObjectProvider<ITemplateEngine> templateEngine;
+
+	public NotificationDigestRenderer(ObjectProvider<ITemplateEngine> templateEngine) {
+		// Resolved on first render, so the fast-start profile can keep Thymeleaf lazy
+		this.templateEngine = templateEngine;
+	}
+
+	/**
+	 * Render a digest
+	 * @param recipient recipient of the notifications
+	 * @param notifications notifications, oldest first
+	 * @return the digest
+	 */
+	public NotificationDigest render(String recipient, List<Notification> notifications) {
+		Map<String, List<Notification>> byCase = notifications.stream()
+			.collect(Collectors.groupingBy(Notification::getCaseId, LinkedHashMap::new, Collectors.toList()));
+
+		Context context = new Context(Locale.ENGLISH);
+		context.setVariable("recipient", recipient);
+		context.setVariable("cases", byCase);
+		String body = templateEngine.getObject().process(TEMPLATE, context);
+
+		return new NotificationDigest(recipient, subject(notifications, byCase.size()), body, notifications.size());
+	}
+
+	private static String subject(List<Notification> notifications, int cases) {
+		if (notifications.size() == 1) {
+			Notification notification = notifications.get(0);
+			return notification.getType().getDisplayName() + ": case " + notification.getCaseId();
+		}
+		return notifications.size() + " updates on " + cases + (cases == 1 ? " case" : " cases");
+	}
+
+}
@@ -0,0 +1,202 @@
+package com.ginkgooai.legalcase.service.notification;
+
+import com.ginkgooai.legalcase.domain.Notification;
+import com.ginkgooai.legalcase.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 通知投递 Delivers queued notifications as one digest per recipient. A recipient is due
+ * once its oldest pending notification has waited for the digest window, so the updates
+ * of a busy case arrive together instead of one mail each.
+ *
+ * <p>
+ * Each digest is delivered on the bounded notification executor. The worker claims the
+ * recipient's notifications in a short transaction, pushing their next attempt out by the
+ * lease, so other instances skip them while the digest is sent and pick them up again if
+ * this instance dies before finishing. Delivered notifications are deleted; failed ones
+ * are retried with exponential backoff until they run out of attempts.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "legal-case.notifications", name = "dispatch-enabled", matchIfMissing = true)
+public class NotificationDispatcher {
+
+	private static final int MAX_ERROR_LENGTH = 1000;
+
+	private final NotificationRepository notificationRepository;
+
+	private final NotificationDigestRenderer renderer;
+
+	private final NotificationChannel channel;
+
+	private final TaskExecutor executor;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final MeterRegistry meterRegistry;
+
+	private final Duration digestWindow;
+
+	private final Duration lease;
+
+	private final Duration retryBackoff;
+
+	private final int maxAttempts;
+
+	private final int maxDigestSize;
+
+	private final int recipientsPerPoll;
+
+	private final Counter delivered;
+
+	private final Counter failed;
+
+	private final DistributionSummary digestSize;
+
+	public NotificationDispatcher(NotificationRepository notificationRepository, NotificationDigestRenderer renderer,
+			NotificationChannel channel, @Qualifier("notificationExecutor") TaskExecutor executor,
+			PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+			@Value("${legal-case.notifications.digest-window:2m}") Duration digestWindow,
+			@Value("${legal-case.notifications.lease:PT5M}") Duration lease,
+			@Value("${legal-case.notifications.retry-backoff:30s}") Duration retryBackoff,
+			@Value("${legal-case.notifications.max-attempts:5}") int maxAttempts,
+			@Value("${legal-case.notifications.max-digest-size:50}") int maxDigestSize,
+			@Value("${legal-case.notifications.recipients-per-poll:100}") int recipientsPerPoll) {
+		this.notificationRepository = notificationRepository;
+		this.renderer = renderer;
+		this.channel = channel;
+		this.executor = executor;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.meterRegistry = meterRegistry;
+		this.digestWindow = digestWindow;
+		this.lease = lease;
+		this.retryBackoff = retryBackoff;
+		this.maxAttempts = maxAttempts;
+		this.maxDigestSize = maxDigestSize;
+		this.recipientsPerPoll = recipientsPerPoll;
+		this.delivered = Counter.builder("legalcase.notifications.delivered")
+			.description("Notifications delivered in a digest")
+			.register(meterRegistry);
+		this.failed = Counter.builder("legalcase.notifications.failed")
+			.description("Notifications given up on after the last delivery attempt")
+			.register(meterRegistry);
+		this.digestSize = DistributionSummary.builder("legalcase.notifications.digest.size")
+			.description("Notifications per delivered digest")
+			.register(meterRegistry);
+	}
+
+	/**
+	 * 分派到期通知 Hand every recipient with a digest due to the notification executor,
+	 * until its queue is full
+	 */
+	@Scheduled(initialDelayString = "${legal-case.notifications.poll-interval:PT5S}",
+			fixedDelayString = "${legal-case.notifications.poll-interval:PT5S}")
+	public void dispatch() {
+		LocalDateTime now = LocalDateTime.now();
+		List<String> recipients;
+		try {
+			recipients = notificationRepository.findDueRecipients(now, now.minus(digestWindow), recipientsPerPoll);
+		}
+		catch (DataAccessException e) {
+			log.warn("Failed to look up due notifications: {}", e.getMessage());
+			return;
+		}
+
+		for (int i = 0; i < recipients.size(); i++) {
+			String recipient = recipients.get(i);
+			try {
+				executor.execute(() -> deliver(recipient));
+			}
+			catch (TaskRejectedException e) {
+				log.debug("Notification workers busy, {} recipients left for the next poll", recipients.size() - i);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * 投递摘要 Claim, render and deliver the due notifications of a recipient
+	 * @param recipient recipient
+	 */
+	void deliver(String recipient) {
+		List<Notification> claimed = transactionTemplate.execute(status -> claim(recipient));
+		if (claimed == null || claimed.isEmpty()) {
+			// Claimed by another worker or instance since the poll
+			return;
+		}
+		List<String> ids = claimed.stream().map(Notification::getId).toList();
+
+		Timer.Sample sample = Timer.start(meterRegistry);
+		try {
+			channel.deliver(renderer.render(recipient, claimed));
+		}
+		catch (RuntimeException e) {
+			sample.stop(deliveryTimer("failure"));
+			log.warn("Delivery of {} notifications to {} failed: {}", claimed.size(), recipient, e.getMessage());
+			transactionTemplate.executeWithoutResult(status -> recordFailure(claimed, ids, e));
+			return;
+		}
+		sample.stop(deliveryTimer("success"));
+
+		transactionTemplate.executeWithoutResult(status -> notificationRepository.deleteAllByIdInBatch(ids));
+		delivered.increment(claimed.size());
+		digestSize.record(claimed.size());
+	}
+
+	private List<Notification> claim(String recipient) {
+		LocalDateTime now = LocalDateTime.now();
+		List<Notification> due = notificationRepository.lockDue(recipient, now, maxDigestSize);
+		for (Notification notification : due) {
+			notification.setAttempts(notification.getAttempts() + 1);
+			notification.setNextAttemptAt(now.plus(lease));
+		}
+		return due;
+	}
+
+	private void recordFailure(List<Notification> claimed, List<String> ids, RuntimeException e) {
+		// The digest is retried as a whole, paced by its most retried notification
+		int attempts = claimed.stream().mapToInt(Notification::getAttempts).max().orElse(1);
+		String error = e.getMessage() == null ? e.getClass().getName() : e.getMessage();
+		if (error.length() > MAX_ERROR_LENGTH) {
+			error = error.substring(0, MAX_ERROR_LENGTH);
+		}
+
+		if (attempts >= maxAttempts) {
+			notificationRepository.updateDelivery(ids, Notification.DeliveryStatus.FAILED, LocalDateTime.now(), error);
+			failed.increment(ids.size());
+			log.error("Giving up on {} notifications to {} after {} attempts", ids.size(), claimed.get(0).getRecipient(),
+					attempts);
+			return;
+		}
+
+		Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 10));
+		notificationRepository.updateDelivery(ids, Notification.DeliveryStatus.PENDING,
+				LocalDateTime.now().plus(backoff), error);
+	}
+
+	private Timer deliveryTimer(String outcome) {
+		return Timer.builder("legalcase.notifications.delivery")
+			.description("Rendering and delivery of one notification digest")
+			.tag("outcome", outcome)
+			.register(meterRegistry);
+	}
+
+}
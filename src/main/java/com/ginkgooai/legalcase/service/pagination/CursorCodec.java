@@ -0,0 +1,50 @@
+package com.ginkgooai.legalcase.service.pagination;
+
+import com.ginkgooai.legalcase.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes keyset positions as opaque, URL-safe cursors. A cursor is the ordering values of
+ * the last row of a page; clients pass it back unchanged to get the next page.
+ */
+public final class CursorCodec {
+
+	private static final String SEPARATOR = "|";
+
+	private CursorCodec() {
+	}
+
+	/**
+	 * Encode the ordering values of a row
+	 * @param values ordering values, in sort order; must not contain the separator
+	 * @return opaque cursor
+	 */
+	public static String encode(String... values) {
+		String raw = String.join(SEPARATOR, values);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decode a cursor produced by {@link #encode(String...)}
+	 * @param cursor opaque cursor
+	 * @param expectedValues number of ordering values the cursor must hold
+	 * @return ordering values
+	 * @throws InvalidCursorException if the cursor is malformed
+	 */
+	public static String[] decode(String cursor, int expectedValues) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			String[] values = raw.split("\\|", -1);
+			if (values.length != expectedValues) {
+				throw new InvalidCursorException("Invalid cursor: " + cursor);
+			}
+			return values;
+		}
+		catch (IllegalArgumentException e) {
+			throw new InvalidCursorException("Invalid cursor: " + cursor, e);
+		}
+	}
+
+}
@@ -0,0 +1,70 @@
+package com.ginkgooai.legalcase.service.pagination;
+
+import com.ginkgooai.legalcase.dto.CursorPage;
+import com.ginkgooai.legalcase.exception.InvalidCursorException;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Cursors for lists scrolled by (updatedAt DESC, id DESC). Converts between the opaque
+ * cursors handed to clients and Spring Data keyset scroll positions.
+ */
+public final class UpdatedAtCursor {
+
+	private UpdatedAtCursor() {
+	}
+
+	/**
+	 * Scroll position to continue from
+	 * @param cursor cursor from the previous page, null for the first page
+	 * @return keyset position
+	 * @throws InvalidCursorException if the cursor is malformed
+	 */
+	public static ScrollPosition toPosition(String cursor) {
+		if (cursor == null) {
+			return ScrollPosition.keyset();
+		}
+
+		String[] values = CursorCodec.decode(cursor, 2);
+		Map<String, Object> keys = new LinkedHashMap<>();
+		try {
+			keys.put("updatedAt", LocalDateTime.parse(values[0]));
+		}
+		catch (DateTimeParseException e) {
+			throw new InvalidCursorException("Invalid cursor: " + cursor, e);
+		}
+		keys.put("id", values[1]);
+		return ScrollPosition.forward(keys);
+	}
+
+	/**
+	 * Build a page from a window of results
+	 * @param window scrolled results
+	 * @param updatedAt update time of a result
+	 * @param id ID of a result
+	 * @param mapper converts the results of the window
+	 * @param estimatedTotal estimated number of results over all pages, null if not
+	 * requested
+	 * @return page with the cursor of the last result
+	 */
+	public static <T, R> CursorPage<R> toPage(Window<T> window, Function<T, LocalDateTime> updatedAt,
+			Function<T, String> id, Function<List<T>, List<R>> mapper, Long estimatedTotal) {
+		List<T> content = window.getContent();
+		T last = content.isEmpty() ? null : content.get(content.size() - 1);
+		boolean hasNext = window.hasNext() && last != null;
+		return CursorPage.<R>builder()
+			.content(mapper.apply(content))
+			.hasNext(hasNext)
+			.nextCursor(hasNext ? CursorCodec.encode(updatedAt.apply(last).toString(), id.apply(last)) : null)
+			.estimatedTotal(estimatedTotal)
+			.build();
+	}
+
+}
@@ -0,0 +1,36 @@
+package com.ginkgooai.legalcase.service.ratelimit;
+
+/**
+ * 限流端点类别 Classes of write endpoints that share one rate limit per client
+ */
+public enum EndpointClass {
+
+	/**
+	 * Document uploads, each of which queues an AI analysis per document
+	 */
+	UPLOAD("upload"),
+
+	/**
+	 * Form value and input recording
+	 */
+	FORM_RECORDS("form-records"),
+
+	/**
+	 * Questionnaire submissions, which trigger the LLM case analysis
+	 */
+	ANALYSIS("analysis");
+
+	private final String key;
+
+	EndpointClass(String key) {
+		this.key = key;
+	}
+
+	/**
+	 * Name used in configuration, in the Redis overrides and in bucket keys
+	 */
+	public String getKey() {
+		return key;
+	}
+
+}
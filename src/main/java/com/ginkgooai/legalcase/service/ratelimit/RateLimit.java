@@ -0,0 +1,50 @@
+package com.ginkgooai.legalcase.service.ratelimit;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.BucketConfiguration;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+
+/**
+ * 限流规则 A token bucket of {@code capacity} requests refilled evenly over
+ * {@code period}, written as {@code capacity/period}, e.g. {@code 60/1m}.
+ *
+ * @param capacity requests allowed per period, also the largest burst
+ * @param period time in which an empty bucket refills completely
+ */
+public record RateLimit(long capacity, Duration period) {
+
+	public RateLimit {
+		if (capacity <= 0 || period.isNegative() || period.isZero()) {
+			throw new IllegalArgumentException("Rate limit needs a positive capacity and period");
+		}
+	}
+
+	/**
+	 * Parse a limit such as {@code 60/1m} or {@code 600/PT1H}
+	 * @param value limit as {@code capacity/period}
+	 * @return the limit
+	 * @throws IllegalArgumentException if the value is malformed
+	 */
+	public static RateLimit parse(String value) {
+		int separator = value.indexOf('/');
+		if (separator < 0) {
+			throw new IllegalArgumentException("Rate limit must be written as capacity/period: " + value);
+		}
+		return new RateLimit(Long.parseLong(value.substring(0, separator).trim()),
+				DurationStyle.detectAndParse(value.substring(separator + 1).trim()));
+	}
+
+	BucketConfiguration toBucketConfiguration() {
+		return BucketConfiguration.builder()
+			.addLimit(Bandwidth.builder().capacity(capacity).refillGreedy(capacity, period).build())
+			.build();
+	}
+
+	@Override
+	public String toString() {
+		return capacity + "/" + period;
+	}
+
+}
@@ -0,0 +1,58 @@
+package com.ginkgooai.legalcase.service.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * 限流拦截器 Applies {@link RateLimited} to controller methods. Requests are counted
+ * against the authenticated principal, whose name is the subject (user or client) of the
+ * verified token, and anonymous requests against their remote address. Behind a proxy the
+ * remote address is the client's only through {@code server.forward-headers-strategy},
+ * which takes it from {@code X-Forwarded-For} solely for requests from a trusted proxy;
+ * a header sent by anyone else is ignored. Nothing the caller sends unauthenticated
+ * chooses the bucket.
+ */
+@Component
+@ConditionalOnProperty(prefix = "legal-case.rate-limit", name = "enabled", matchIfMissing = true)
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+	private final RateLimiter rateLimiter;
+
+	public RateLimitInterceptor(RateLimiter rateLimiter) {
+		this.rateLimiter = rateLimiter;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		if (handler instanceof HandlerMethod handlerMethod) {
+			RateLimited rateLimited = handlerMethod.getMethodAnnotation(RateLimited.class);
+			if (rateLimited != null) {
+				rateLimiter.acquire(rateLimited.value(), clientId(request));
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Key of the bucket a request is counted against; principals and addresses are kept
+	 * apart so no user name can share an address's bucket
+	 */
+	static String clientId(HttpServletRequest request) {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication != null && authentication.isAuthenticated()
+				&& !(authentication instanceof AnonymousAuthenticationToken)
+				&& StringUtils.hasText(authentication.getName())) {
+			return "principal:" + authentication.getName();
+		}
+		return "address:" + request.getRemoteAddr();
+	}
+
+}
@@ -0,0 +1,20 @@
+package com.ginkgooai.legalcase.service.ratelimit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 限流 Marks a controller method as counted against the rate limit of its endpoint class.
+ * Requests over the limit are answered with 429 and a Retry-After header.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RateLimited {
+
+	EndpointClass value();
+
+}
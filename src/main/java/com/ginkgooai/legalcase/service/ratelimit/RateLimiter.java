@@ -0,0 +1,158 @@
+package com.ginkgooai.legalcase.service.ratelimit;
+
+import com.ginkgooai.legalcase.exception.RateLimitExceededException;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.TokensInheritanceStrategy;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 限流器 Token-bucket rate limits per client and endpoint class. Buckets live in Redis, so
+ * a client's limit holds across all instances.
+ *
+ * <p>
+ * Limits come from configuration and can be changed at runtime by writing
+ * {@code capacity/period} values into the Redis hash {@link #OVERRIDES_KEY}, keyed by
+ * {@link EndpointClass#getKey()}, e.g. {@code HSET legalcase:rate-limits upload 120/1m}.
+ * Every instance picks the change up on its next refresh, and existing buckets are
+ * converted to the new limit on their next use, keeping their relative fill level.
+ * Deleting a field restores the configured limit.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "legal-case.rate-limit", name = "enabled", matchIfMissing = true)
+public class RateLimiter {
+
+	public static final String OVERRIDES_KEY = "legalcase:rate-limits";
+
+	private static final String BUCKET_KEY_PREFIX = "legalcase:rate-limit:";
+
+	private final ProxyManager<byte[]> proxyManager;
+
+	private final StringRedisTemplate redisTemplate;
+
+	private final Map<EndpointClass, RateLimit> configuredLimits = new EnumMap<>(EndpointClass.class);
+
+	private final Map<EndpointClass, Counter> rejected = new EnumMap<>(EndpointClass.class);
+
+	private volatile Limits limits;
+
+	public RateLimiter(@Lazy ProxyManager<byte[]> proxyManager, StringRedisTemplate redisTemplate,
+			MeterRegistry meterRegistry, @Value("${legal-case.rate-limit.upload:60/1m}") String upload,
+			@Value("${legal-case.rate-limit.form-records:600/1m}") String formRecords,
+			@Value("${legal-case.rate-limit.analysis:30/1m}") String analysis) {
+		this.proxyManager = proxyManager;
+		this.redisTemplate = redisTemplate;
+		configuredLimits.put(EndpointClass.UPLOAD, RateLimit.parse(upload));
+		configuredLimits.put(EndpointClass.FORM_RECORDS, RateLimit.parse(formRecords));
+		configuredLimits.put(EndpointClass.ANALYSIS, RateLimit.parse(analysis));
+		for (EndpointClass endpointClass : EndpointClass.values()) {
+			rejected.put(endpointClass,
+					Counter.builder("legalcase.rate-limit.rejected")
+						.description("Requests rejected with 429 because the client exceeded its rate limit")
+						.tag("endpoint", endpointClass.getKey())
+						.register(meterRegistry));
+		}
+		// Version 0 never replaces a stored bucket; the first refresh loads the overrides
+		this.limits = new Limits(Map.copyOf(configuredLimits), configurations(configuredLimits), 0);
+	}
+
+	/**
+	 * 获取令牌 Take one request from the client's bucket for the endpoint class. When Redis
+	 * is unavailable the request is let through rather than failing the write.
+	 * @param endpointClass endpoint class of the request
+	 * @param clientId client the request is counted against
+	 * @throws RateLimitExceededException if the bucket is empty
+	 */
+	public void acquire(EndpointClass endpointClass, String clientId) {
+		Limits current = limits;
+		ConsumptionProbe probe;
+		try {
+			probe = proxyManager.builder()
+				.withImplicitConfigurationReplacement(current.version(), TokensInheritanceStrategy.PROPORTIONALLY)
+				.build(bucketKey(endpointClass, clientId), () -> current.configurations().get(endpointClass))
+				.tryConsumeAndReturnRemaining(1);
+		}
+		catch (Exception e) {
+			log.warn("Rate limit check failed for {} of client {}, allowing the request: {}", endpointClass, clientId,
+					e.getMessage());
+			return;
+		}
+
+		if (!probe.isConsumed()) {
+			rejected.get(endpointClass).increment();
+			Duration retryAfter = Duration.ofNanos(probe.getNanosToWaitForRefill());
+			log.debug("Client {} exceeded the {} rate limit, retry after {}", clientId, endpointClass, retryAfter);
+			throw new RateLimitExceededException("Rate limit exceeded for " + endpointClass.getKey() + " requests",
+					retryAfter);
+		}
+	}
+
+	/**
+	 * 刷新限流配置 Apply the runtime overrides from Redis; malformed values are ignored
+	 */
+	@Scheduled(fixedDelayString = "${legal-case.rate-limit.refresh:PT30S}")
+	public void refresh() {
+		Map<Object, Object> overrides;
+		try {
+			overrides = redisTemplate.opsForHash().entries(OVERRIDES_KEY);
+		}
+		catch (Exception e) {
+			log.warn("Failed to read rate limit overrides: {}", e.getMessage());
+			return;
+		}
+
+		Map<EndpointClass, RateLimit> effective = new EnumMap<>(configuredLimits);
+		for (EndpointClass endpointClass : EndpointClass.values()) {
+			Object override = overrides.get(endpointClass.getKey());
+			if (override == null) {
+				continue;
+			}
+			try {
+				effective.put(endpointClass, RateLimit.parse(override.toString()));
+			}
+			catch (IllegalArgumentException e) {
+				log.warn("Ignoring rate limit override {}={}: {}", endpointClass.getKey(), override, e.getMessage());
+			}
+		}
+
+		if (limits.version() == 0 || !effective.equals(limits.rateLimits())) {
+			log.info("Rate limits in effect: {}", effective);
+			limits = new Limits(Map.copyOf(effective), configurations(effective), System.currentTimeMillis());
+		}
+	}
+
+	private static byte[] bucketKey(EndpointClass endpointClass, String clientId) {
+		return (BUCKET_KEY_PREFIX + endpointClass.getKey() + ":" + clientId).getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static Map<EndpointClass, BucketConfiguration> configurations(Map<EndpointClass, RateLimit> rateLimits) {
+		Map<EndpointClass, BucketConfiguration> configurations = new EnumMap<>(EndpointClass.class);
+		rateLimits.forEach((endpointClass, limit) -> configurations.put(endpointClass, limit.toBucketConfiguration()));
+		return configurations;
+	}
+
+	/**
+	 * Limits in effect. Buckets stored with an older version are converted on their next
+	 * use; the version is the time the limits were loaded, so limits loaded later on any
+	 * instance win.
+	 */
+	private record Limits(Map<EndpointClass, RateLimit> rateLimits,
+			Map<EndpointClass, BucketConfiguration> configurations, long version) {
+	}
+
+}
@@ -0,0 +1,44 @@
+package com.ginkgooai.legalcase.service.replica;
+
+import java.util.function.Supplier;
+
+/**
+ * 主库读取 Marks reads that must see the latest committed state. Read-only transactions
+ * started inside {@link #call(Supplier)} are served by the primary even when read
+ * replicas are configured, for readers that react to a change they were just told about
+ * (cache reloads after an invalidation, status long-polls after a change notification)
+ * and would otherwise race replication.
+ */
+public final class PrimaryReads {
+
+	private static final ThreadLocal<Boolean> REQUIRED = new ThreadLocal<>();
+
+	private PrimaryReads() {
+	}
+
+	/**
+	 * 在主库上读取 Run {@code reader} with its read-only transactions on the primary
+	 * @param reader the reads to run
+	 * @return the result of {@code reader}
+	 */
+	public static <T> T call(Supplier<T> reader) {
+		if (Boolean.TRUE.equals(REQUIRED.get())) {
+			return reader.get();
+		}
+		REQUIRED.set(Boolean.TRUE);
+		try {
+			return reader.get();
+		}
+		finally {
+			REQUIRED.remove();
+		}
+	}
+
+	/**
+	 * Whether the current thread is inside {@link #call(Supplier)}
+	 */
+	public static boolean required() {
+		return Boolean.TRUE.equals(REQUIRED.get());
+	}
+
+}
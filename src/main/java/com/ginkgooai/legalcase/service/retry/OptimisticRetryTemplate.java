@@ -0,0 +1,113 @@
+package com.ginkgooai.legalcase.service.retry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * 乐观锁重试模板 Runs a write in its own transaction and re-runs it when the commit loses an
+ * optimistic lock race. The action must reload the entities it changes, so each attempt
+ * re-applies the domain operation to the current state. Attempts are spaced by
+ * exponential backoff with full jitter.
+ */
+@Component
+@Slf4j
+public class OptimisticRetryTemplate {
+
+	private static final String CONFLICT_METRIC = "legalcase.write.conflicts";
+
+	private static final String EXHAUSTED_METRIC = "legalcase.write.retries.exhausted";
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final MeterRegistry meterRegistry;
+
+	private final int maxAttempts;
+
+	private final Duration initialBackoff;
+
+	private final Duration maxBackoff;
+
+	public OptimisticRetryTemplate(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+			@Value("${legal-case.write-retry.max-attempts:4}") int maxAttempts,
+			@Value("${legal-case.write-retry.initial-backoff:20ms}") Duration initialBackoff,
+			@Value("${legal-case.write-retry.max-backoff:500ms}") Duration maxBackoff) {
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		// Only reached outside a live transaction; from after-completion callbacks, where the
+		// finished transaction is still bound, joining it would lose the write
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.meterRegistry = meterRegistry;
+		this.maxAttempts = Math.max(1, maxAttempts);
+		this.initialBackoff = initialBackoff;
+		this.maxBackoff = maxBackoff;
+	}
+
+	/**
+	 * Run an action in a transaction, retrying on optimistic lock conflicts. Inside an
+	 * existing transaction the action runs once; a conflict can only be retried by
+	 * whoever owns that transaction. A transaction that has finished but is still bound,
+	 * as in {@code AFTER_COMMIT} listeners, does not count: the action gets a new one.
+	 * @param operation operation name, used as metric tag
+	 * @param action the write to perform
+	 * @return the action's result
+	 * @throws OptimisticLockingFailureException if every attempt conflicted
+	 */
+	public <T> T execute(String operation, Supplier<T> action) {
+		if (TransactionSynchronizationManager.isActualTransactionActive()
+				&& TransactionSynchronizationManager.isSynchronizationActive()) {
+			return action.get();
+		}
+
+		for (int attempt = 1;; attempt++) {
+			try {
+				return transactionTemplate.execute(status -> action.get());
+			}
+			catch (OptimisticLockingFailureException | OptimisticLockException e) {
+				meterRegistry.counter(CONFLICT_METRIC, "operation", operation).increment();
+				if (attempt >= maxAttempts) {
+					meterRegistry.counter(EXHAUSTED_METRIC, "operation", operation).increment();
+					log.warn("Giving up {} after {} conflicting attempts", operation, attempt);
+					throw e;
+				}
+				log.debug("Optimistic lock conflict in {} (attempt {}), retrying", operation, attempt);
+				backoff(attempt);
+			}
+		}
+	}
+
+	/**
+	 * Run an action without result in a transaction, retrying on optimistic lock
+	 * conflicts
+	 * @param operation operation name, used as metric tag
+	 * @param action the write to perform
+	 */
+	public void run(String operation, Runnable action) {
+		execute(operation, () -> {
+			action.run();
+			return null;
+		});
+	}
+
+	private void backoff(int attempt) {
+		long ceiling = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempt - 1, 20));
+		try {
+			Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting to retry", e);
+		}
+	}
+
+}
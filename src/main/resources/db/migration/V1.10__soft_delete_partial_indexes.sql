@@ -0,0 +1,76 @@
+-- Soft deletion: Hibernate filters every query on deleted = false, so the flag must
+-- never be NULL for a live row
+UPDATE legal_cases SET deleted = false WHERE deleted IS NULL;
+UPDATE case_documents SET deleted = false WHERE deleted IS NULL;
+
+ALTER TABLE legal_cases
+    ALTER COLUMN deleted SET NOT NULL;
+ALTER TABLE case_documents
+    ALTER COLUMN deleted SET NOT NULL;
+
+-- deleted_at used to be filled in on every update by auditing. Live rows have no
+-- deletion time; rows deleted before this migration fall back to their last update.
+UPDATE legal_cases SET deleted_at = NULL, deleted_by = NULL WHERE NOT deleted;
+UPDATE case_documents SET deleted_at = NULL, deleted_by = NULL WHERE NOT deleted;
+UPDATE legal_cases SET deleted_at = updated_at WHERE deleted AND deleted_at IS NULL;
+UPDATE case_documents SET deleted_at = updated_at WHERE deleted AND deleted_at IS NULL;
+
+-- Hibernate's soft delete only sets the flag, so the deletion time is stamped here
+CREATE OR REPLACE FUNCTION stamp_deleted_at() RETURNS trigger
+    LANGUAGE plpgsql
+AS
+$$
+BEGIN
+    IF NEW.deleted THEN
+        NEW.deleted_at := coalesce(NEW.deleted_at, LOCALTIMESTAMP);
+    ELSE
+        NEW.deleted_at := NULL;
+    END IF;
+    RETURN NEW;
+END;
+$$;
+
+CREATE TRIGGER trg_legal_cases_deleted_at
+    BEFORE INSERT OR UPDATE OF deleted
+    ON legal_cases
+    FOR EACH ROW
+EXECUTE FUNCTION stamp_deleted_at();
+
+CREATE TRIGGER trg_case_documents_deleted_at
+    BEFORE INSERT OR UPDATE OF deleted
+    ON case_documents
+    FOR EACH ROW
+EXECUTE FUNCTION stamp_deleted_at();
+
+-- Cases are soft-deleted now as well. Every case query filters on deleted = false, so
+-- the hot indexes only need to cover live rows.
+DROP INDEX IF EXISTS idx_legal_cases_profile_updated;
+DROP INDEX IF EXISTS idx_legal_cases_client_updated;
+DROP INDEX IF EXISTS idx_legal_cases_status;
+DROP INDEX IF EXISTS idx_legal_cases_search_vector;
+DROP INDEX IF EXISTS idx_legal_cases_title_trgm;
+DROP INDEX IF EXISTS idx_legal_cases_description_trgm;
+DROP INDEX IF EXISTS idx_legal_cases_client_id_trgm;
+
+CREATE INDEX idx_legal_cases_profile_updated ON legal_cases (profile_id, updated_at DESC, id DESC) WHERE deleted = false;
+CREATE INDEX idx_legal_cases_client_updated ON legal_cases (client_id, updated_at DESC, id DESC) WHERE deleted = false;
+CREATE INDEX idx_legal_cases_status ON legal_cases (status) WHERE deleted = false;
+CREATE INDEX idx_legal_cases_search_vector ON legal_cases USING GIN (search_vector) WHERE deleted = false;
+CREATE INDEX idx_legal_cases_title_trgm ON legal_cases USING GIST (title gist_trgm_ops) WHERE deleted = false;
+CREATE INDEX idx_legal_cases_description_trgm ON legal_cases USING GIN (description gin_trgm_ops) WHERE deleted = false;
+CREATE INDEX idx_legal_cases_client_id_trgm ON legal_cases USING GIN (client_id gin_trgm_ops) WHERE deleted = false;
+
+-- Remaining single-column document indexes from the initial schema
+DROP INDEX IF EXISTS idx_case_documents_document_type;
+DROP INDEX IF EXISTS idx_case_documents_status;
+DROP INDEX IF EXISTS idx_case_documents_category;
+
+CREATE INDEX idx_case_documents_document_type ON case_documents (document_type) WHERE deleted = false;
+CREATE INDEX idx_case_documents_status ON case_documents (status) WHERE deleted = false;
+CREATE INDEX idx_case_documents_category ON case_documents (document_category) WHERE deleted = false;
+
+-- The compaction job purges soft-deleted rows oldest first; these only hold the
+-- (few) deleted rows. idx_case_documents_case_id stays unfiltered because the case purge
+-- checks for remaining document rows of any state.
+CREATE INDEX idx_legal_cases_purge ON legal_cases (deleted_at) WHERE deleted = true;
+CREATE INDEX idx_case_documents_purge ON case_documents (deleted_at) WHERE deleted = true;
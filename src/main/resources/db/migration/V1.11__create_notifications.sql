@@ -0,0 +1,24 @@
+-- Outbox of notifications, written in the transaction of the change they report and
+-- delivered as one digest per recipient. Delivered rows are deleted; rows that keep
+-- failing stay behind as FAILED.
+CREATE TABLE notifications
+(
+    id              VARCHAR(36) PRIMARY KEY,
+    recipient       VARCHAR(255) NOT NULL,
+    case_id         VARCHAR(36)  NOT NULL,
+    type            VARCHAR(50)  NOT NULL,
+    details         JSONB,
+    status          VARCHAR(20)  NOT NULL DEFAULT 'PENDING',
+    attempts        INTEGER      NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP    NOT NULL,
+    last_error      VARCHAR(1000),
+
+    created_by      VARCHAR(36),
+    updated_by      VARCHAR(36),
+    created_at      TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at      TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Due recipients and their pending notifications, oldest first
+CREATE INDEX idx_notifications_pending ON notifications (recipient, created_at)
+    WHERE status = 'PENDING';
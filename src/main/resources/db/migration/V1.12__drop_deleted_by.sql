@@ -0,0 +1,7 @@
+-- Hibernate's soft delete only sets the deleted flag and the trigger only stamps the
+-- deletion time, so deleted_by was never written. Nothing reads it.
+ALTER TABLE legal_cases
+    DROP COLUMN deleted_by;
+
+ALTER TABLE case_documents
+    DROP COLUMN deleted_by;
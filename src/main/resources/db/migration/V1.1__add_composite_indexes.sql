@@ -0,0 +1,17 @@
+-- Composite indexes matching the two-column filters used by the event log repository.
+-- (case_id, event_type, occurred_at DESC) serves MAX(occurred_at) lookups per event type
+-- as well as per-type history ordered by occurrence time.
+CREATE INDEX idx_event_logs_case_type_occurred ON event_logs (case_id, event_type, occurred_at DESC);
+
+-- Full case history ordered by occurrence time
+CREATE INDEX idx_event_logs_case_occurred ON event_logs (case_id, occurred_at);
+
+-- Superseded by the composite indexes above, which lead with case_id
+DROP INDEX IF EXISTS idx_event_logs_case_id;
+
+-- Duplicate detection on upload filters by case and storage ID; soft-deleted
+-- documents are never returned, so keep them out of the index
+CREATE INDEX idx_case_documents_case_storage ON case_documents (case_id, storage_id) WHERE deleted = false;
+
+-- Per-case document lookups only ever target live documents
+CREATE INDEX idx_case_documents_case_live ON case_documents (case_id) WHERE deleted = false;
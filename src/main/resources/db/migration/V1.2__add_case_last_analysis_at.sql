@@ -0,0 +1,11 @@
+-- Time of the most recent LLM analysis, kept on the case so the analysis throttle
+-- does not have to scan event_logs
+ALTER TABLE legal_cases
+    ADD COLUMN last_analysis_at TIMESTAMP;
+
+-- Backfill from the persisted LlmAnalysisInitiatedEvent history
+UPDATE legal_cases lc
+SET last_analysis_at = (SELECT MAX(el.occurred_at)
+                        FROM event_logs el
+                        WHERE el.case_id = lc.id
+                          AND el.event_type = 'LlmAnalysisInitiatedEvent');
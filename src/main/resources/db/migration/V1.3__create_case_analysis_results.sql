@@ -0,0 +1,28 @@
+-- Structured output of each LLM analysis run, one row per run
+CREATE TABLE case_analysis_results
+(
+    id             VARCHAR(36) PRIMARY KEY,
+    case_id        VARCHAR(36)  NOT NULL,
+    analysis_type  VARCHAR(100) NOT NULL,
+    status         VARCHAR(20)  NOT NULL,
+    summary        VARCHAR(2000),
+    result_json JSONB,
+    document_count INTEGER      NOT NULL DEFAULT 0,
+    started_at     TIMESTAMP    NOT NULL,
+    completed_at   TIMESTAMP    NOT NULL,
+    duration_ms    BIGINT       NOT NULL,
+
+    created_by     VARCHAR(36),
+    updated_by     VARCHAR(36),
+    created_at     TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at     TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Latest result per case
+CREATE INDEX idx_case_analysis_results_case_completed ON case_analysis_results (case_id, completed_at DESC);
+
+ALTER TABLE case_analysis_results
+    ADD CONSTRAINT fk_case_analysis_results_case_id
+        FOREIGN KEY (case_id)
+            REFERENCES legal_cases (id)
+            ON DELETE CASCADE;
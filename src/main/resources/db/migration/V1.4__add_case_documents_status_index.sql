@@ -0,0 +1,6 @@
+-- Per-case document counts by status for list views (GROUP BY case_id, status) can be
+-- answered from the index alone. Leads with case_id, so it also replaces the plain
+-- per-case partial index.
+CREATE INDEX idx_case_documents_case_status ON case_documents (case_id, status) WHERE deleted = false;
+
+DROP INDEX IF EXISTS idx_case_documents_case_live;
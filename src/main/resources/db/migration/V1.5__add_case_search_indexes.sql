@@ -0,0 +1,18 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Full-text document of a case. The 'simple' configuration keeps names, reference
+-- numbers and client IDs intact instead of stemming them as English words.
+ALTER TABLE legal_cases
+    ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(client_id, '')), 'B') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'C')
+        ) STORED;
+
+CREATE INDEX idx_legal_cases_search_vector ON legal_cases USING GIN (search_vector);
+
+-- Trigram indexes for fuzzy and prefix matching. GiST on title also serves the
+-- nearest-neighbour ordering (title <-> term) used by typeahead.
+CREATE INDEX idx_legal_cases_title_trgm ON legal_cases USING GIST (title gist_trgm_ops);
+CREATE INDEX idx_legal_cases_description_trgm ON legal_cases USING GIN (description gin_trgm_ops);
+CREATE INDEX idx_legal_cases_client_id_trgm ON legal_cases USING GIN (client_id gin_trgm_ops);
@@ -0,0 +1,10 @@
+-- Exact field lookups on AI-extracted metadata, e.g. metadata_json @> '{"passportNumber": "P123456789"}'
+CREATE INDEX idx_case_documents_metadata ON case_documents USING GIN (metadata_json jsonb_path_ops) WHERE deleted = false;
+
+-- Free-text search over every string and numeric value of the extracted metadata
+ALTER TABLE case_documents
+    ADD COLUMN metadata_search tsvector GENERATED ALWAYS AS (
+        jsonb_to_tsvector('simple', coalesce(metadata_json, '{}'::jsonb), '["string", "numeric"]')
+        ) STORED;
+
+CREATE INDEX idx_case_documents_metadata_search ON case_documents USING GIN (metadata_search) WHERE deleted = false;
@@ -0,0 +1,25 @@
+-- Cursor-paged lists are ordered by (updated_at DESC, id DESC) within their filter, so a
+-- scan of these indexes returns each page in order and stops after the page size.
+-- They lead with the same columns as the single-column indexes they replace.
+CREATE INDEX idx_legal_cases_profile_updated ON legal_cases (profile_id, updated_at DESC, id DESC);
+CREATE INDEX idx_legal_cases_client_updated ON legal_cases (client_id, updated_at DESC, id DESC);
+
+DROP INDEX IF EXISTS idx_legal_cases_profile_id;
+DROP INDEX IF EXISTS idx_legal_cases_client_id;
+
+CREATE INDEX idx_case_documents_case_updated ON case_documents (case_id, updated_at DESC, id DESC) WHERE deleted = false;
+
+-- Row count estimate for a query, taken from the planner's statistics instead of
+-- running a COUNT. Good enough for "about N results" without reading the rows.
+CREATE OR REPLACE FUNCTION estimate_row_count(query text) RETURNS bigint
+    LANGUAGE plpgsql
+    STABLE
+AS
+$$
+DECLARE
+    plan json;
+BEGIN
+    EXECUTE 'EXPLAIN (FORMAT JSON) ' || query INTO plan;
+    RETURN CAST(plan -> 0 -> 'Plan' ->> 'Plan Rows' AS numeric);
+END;
+$$;
@@ -0,0 +1,35 @@
+-- Completion counters maintained by the LegalCase aggregate, so completion checks and
+-- list views do not need to load or scan the documents of a case
+ALTER TABLE legal_cases
+    ADD COLUMN questionnaires_total        INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN questionnaires_complete     INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN required_documents_total    INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN required_documents_complete INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN documents_complete          INTEGER NOT NULL DEFAULT 0;
+
+-- Backfill from the live documents, with the completion rule of each document type
+UPDATE legal_cases lc
+SET questionnaires_total        = c.questionnaires_total,
+    questionnaires_complete     = c.questionnaires_complete,
+    required_documents_total    = c.required_documents_total,
+    required_documents_complete = c.required_documents_complete,
+    documents_complete          = c.documents_complete
+FROM (SELECT d.case_id,
+             COUNT(*) FILTER (WHERE d.document_category = 'QUESTIONNAIRE')         AS questionnaires_total,
+             COUNT(*) FILTER (WHERE d.document_category = 'QUESTIONNAIRE' AND d.complete)       AS questionnaires_complete,
+             COUNT(*) FILTER (WHERE d.document_category = 'SUPPORTING_DOCUMENT')   AS required_documents_total,
+             COUNT(*) FILTER (WHERE d.document_category = 'SUPPORTING_DOCUMENT' AND d.complete) AS required_documents_complete,
+             COUNT(*) FILTER (WHERE d.complete)                                    AS documents_complete
+      FROM (SELECT case_id,
+                   document_category,
+                   CASE document_category
+                       WHEN 'QUESTIONNAIRE' THEN status = 'COMPLETE' OR completion_percentage >= 100
+                       WHEN 'PROFILE' THEN status = 'COMPLETE' OR identity_verified IS TRUE
+                       WHEN 'SUPPORTING_DOCUMENT'
+                           THEN status = 'COMPLETE' AND (verification_required IS FALSE OR verified IS TRUE)
+                       ELSE status = 'COMPLETE'
+                       END IS TRUE AS complete
+            FROM case_documents
+            WHERE deleted = false) d
+      GROUP BY d.case_id) c
+WHERE lc.id = c.case_id;
@@ -0,0 +1,7 @@
+-- Optimistic locking: concurrent writers of a case or document fail on commit instead of
+-- silently overwriting each other
+ALTER TABLE legal_cases
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE case_documents
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,35 @@
+package com.ginkgooai.legalcase.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Runs a JMH benchmark class with the GC profiler and writes the results as JSON to
+ * {@code target/jmh-results/<class>.json} (override the directory with
+ * {@code -Djmh.results.dir=...}). Keep the files of two commits to compare them, e.g. in
+ * JMH Visualizer.
+ */
+final class BenchmarkRunner {
+
+	private static final String RESULTS_DIR = System.getProperty("jmh.results.dir", "target/jmh-results");
+
+	private BenchmarkRunner() {
+	}
+
+	static void run(Class<?> benchmark) throws Exception {
+		Path results = Path.of(RESULTS_DIR);
+		Files.createDirectories(results);
+
+		new Runner(new OptionsBuilder().include(benchmark.getName())
+			.addProfiler(GCProfiler.class)
+			.resultFormat(ResultFormatType.JSON)
+			.result(results.resolve(benchmark.getSimpleName() + ".json").toString())
+			.build()).run();
+	}
+
+}
@@ -0,0 +1,111 @@
+package com.ginkgooai.legalcase.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ginkgooai.legalcase.domain.CaseDocument;
+import com.ginkgooai.legalcase.domain.LegalCase;
+import com.ginkgooai.legalcase.domain.ProfileDocument;
+import com.ginkgooai.legalcase.domain.QuestionnaireDocument;
+import com.ginkgooai.legalcase.domain.SupportingDocument;
+import com.ginkgooai.legalcase.dto.LegalCaseResponse;
+import com.ginkgooai.legalcase.repository.CaseDocumentRepository;
+import com.ginkgooai.legalcase.repository.LegalCaseRepository;
+import com.ginkgooai.legalcase.service.CaseService;
+import com.ginkgooai.legalcase.service.cache.LegalCaseViewCache;
+import com.ginkgooai.legalcase.service.event.DomainEventPublisherFactory;
+import com.ginkgooai.legalcase.service.retry.OptimisticRetryTemplate;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Building the case response with {@link CaseService#convertToResponse(LegalCase)} and
+ * writing it as JSON, the work behind every uncached GET /cases/{id}, for cases of
+ * growing size.
+ *
+ * <p>
+ * Run with {@code mvn -Pbenchmarks test -Dtest=CaseResponseBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CaseResponseBenchmark {
+
+	@Param({ "10", "100", "1000" })
+	private int documents;
+
+	private CaseService caseService;
+
+	private ObjectMapper objectMapper;
+
+	private LegalCase legalCase;
+
+	private LegalCaseResponse response;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		// convertToResponse only reads the case; the collaborators are never called
+		caseService = new CaseService(mock(LegalCaseRepository.class), mock(CaseDocumentRepository.class),
+				mock(DomainEventPublisherFactory.class), mock(LegalCaseViewCache.class),
+				mock(OptimisticRetryTemplate.class));
+		objectMapper = new ObjectMapper().findAndRegisterModules();
+
+		legalCase = new LegalCase("client-1", "profile-1", "Benchmark case", "Case with " + documents + " documents");
+		legalCase.setId("case-1");
+		legalCase.setCreatedAt(LocalDateTime.now());
+		legalCase.setUpdatedAt(LocalDateTime.now());
+		for (int d = 0; d < documents; d++) {
+			CaseDocument document = switch (d % 3) {
+				case 0 -> new QuestionnaireDocument();
+				case 1 -> new ProfileDocument();
+				default -> new SupportingDocument();
+			};
+			document.setId("doc-" + d);
+			document.setTitle("Document " + d);
+			document.setDescription("Description of document " + d);
+			document.setStatus(d % 2 == 0 ? CaseDocument.DocumentStatus.COMPLETE : CaseDocument.DocumentStatus.PENDING);
+			legalCase.addDocument(document);
+		}
+		response = caseService.convertToResponse(legalCase);
+	}
+
+	@Benchmark
+	public LegalCaseResponse convertToResponse() {
+		return caseService.convertToResponse(legalCase);
+	}
+
+	@Benchmark
+	public byte[] serializeResponse() throws Exception {
+		return objectMapper.writeValueAsBytes(response);
+	}
+
+	@Benchmark
+	public byte[] convertAndSerialize() throws Exception {
+		return objectMapper.writeValueAsBytes(caseService.convertToResponse(legalCase));
+	}
+
+	@Tag("benchmark")
+	@Test
+	void run() throws Exception {
+		BenchmarkRunner.run(CaseResponseBenchmark.class);
+	}
+
+}
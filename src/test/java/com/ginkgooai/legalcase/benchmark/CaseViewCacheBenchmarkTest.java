@@ -0,0 +1,203 @@
+package com.ginkgooai.legalcase.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ginkgooai.legalcase.controller.CaseController;
+import com.ginkgooai.legalcase.domain.CaseDocument;
+import com.ginkgooai.legalcase.domain.CaseStatus;
+import com.ginkgooai.legalcase.domain.LegalCase;
+import com.ginkgooai.legalcase.repository.CaseDocumentRepository;
+import com.ginkgooai.legalcase.repository.LegalCaseRepository;
+import com.ginkgooai.legalcase.service.CaseService;
+import com.ginkgooai.legalcase.service.cache.LegalCaseViewCache;
+import com.ginkgooai.legalcase.service.event.DomainEventPublisherFactory;
+import com.ginkgooai.legalcase.service.retry.OptimisticRetryTemplate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Hit ratio and latency of GET /cases/{id} with and without the case view cache. The
+ * database is simulated with a fixed per-query delay and Redis with an in-memory map, so
+ * the numbers compare the request path rather than infrastructure. Reads follow a skewed
+ * distribution over the cases and every 50th request records a change to a random case.
+ *
+ * <p>
+ * Run with {@code mvn -Pbenchmarks test}.
+ */
+@Tag("benchmark")
+class CaseViewCacheBenchmarkTest {
+
+	private static final int CASES = 500;
+
+	private static final int DOCUMENTS_PER_CASE = 30;
+
+	private static final int WARMUP_REQUESTS = 2_000;
+
+	private static final int MEASURED_REQUESTS = 20_000;
+
+	private static final int WRITE_EVERY = 50;
+
+	private static final Duration SIMULATED_QUERY_TIME = Duration.ofMillis(2);
+
+	@Test
+	void getCase_cachedVersusUncached() throws Exception {
+		Result uncached = run(false);
+		Result cached = run(true);
+
+		System.out.printf("GET /cases/{id} uncached: p50=%.3fms p99=%.3fms%n", uncached.p50Millis(),
+				uncached.p99Millis());
+		System.out.printf("GET /cases/{id} cached:   p50=%.3fms p99=%.3fms hit ratio=%.3f%n", cached.p50Millis(),
+				cached.p99Millis(), cached.hitRatio());
+
+		assertThat(cached.hitRatio()).isGreaterThan(0.8);
+		assertThat(cached.p50Millis()).isLessThan(uncached.p50Millis());
+	}
+
+	private Result run(boolean cacheEnabled) throws Exception {
+		List<String> caseIds = new ArrayList<>();
+		Map<String, LegalCase> cases = new ConcurrentHashMap<>();
+		for (int i = 0; i < CASES; i++) {
+			LegalCase legalCase = legalCase("case-" + i);
+			caseIds.add(legalCase.getId());
+			cases.put(legalCase.getId(), legalCase);
+		}
+
+		LegalCaseRepository legalCaseRepository = mock(LegalCaseRepository.class);
+		when(legalCaseRepository.findByIdWithDocuments(anyString())).thenAnswer(invocation -> {
+			LockSupport.parkNanos(SIMULATED_QUERY_TIME.toNanos());
+			return Optional.ofNullable(cases.get(invocation.<String>getArgument(0)));
+		});
+
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+		LegalCaseViewCache viewCache = new LegalCaseViewCache(inMemoryRedis(), objectMapper,
+				mock(PlatformTransactionManager.class), meterRegistry, cacheEnabled, 10_000, Duration.ofMinutes(10),
+				Duration.ofMinutes(30));
+
+		CaseService caseService = new CaseService(legalCaseRepository, mock(CaseDocumentRepository.class),
+				mock(DomainEventPublisherFactory.class), viewCache,
+				new OptimisticRetryTemplate(mock(PlatformTransactionManager.class), meterRegistry, 1, Duration.ZERO,
+						Duration.ZERO));
+		MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new CaseController(caseService)).build();
+
+		Random random = new Random(42);
+		for (int i = 0; i < WARMUP_REQUESTS; i++) {
+			request(mockMvc, caseIds.get(skewedIndex(random)));
+		}
+
+		double hitsBefore = hits(meterRegistry);
+		double missesBefore = count(meterRegistry, "miss");
+
+		long[] latencies = new long[MEASURED_REQUESTS];
+		for (int i = 0; i < MEASURED_REQUESTS; i++) {
+			if (i % WRITE_EVERY == 0) {
+				viewCache.invalidate(caseIds.get(skewedIndex(random)));
+			}
+			long start = System.nanoTime();
+			request(mockMvc, caseIds.get(skewedIndex(random)));
+			latencies[i] = System.nanoTime() - start;
+		}
+
+		double hits = hits(meterRegistry) - hitsBefore;
+		double misses = count(meterRegistry, "miss") - missesBefore;
+		Arrays.sort(latencies);
+		return new Result(latencies, hits + misses == 0 ? 0 : hits / (hits + misses));
+	}
+
+	private static void request(MockMvc mockMvc, String caseId) throws Exception {
+		mockMvc.perform(get("/cases/{id}", caseId)).andExpect(status().isOk());
+	}
+
+	/**
+	 * Roughly Zipfian: a small share of cases receives most of the reads
+	 */
+	private static int skewedIndex(Random random) {
+		return (int) Math.min(CASES - 1, Math.floor(Math.pow(random.nextDouble(), 3) * CASES));
+	}
+
+	private static double hits(SimpleMeterRegistry meterRegistry) {
+		return count(meterRegistry, "local_hit") + count(meterRegistry, "redis_hit");
+	}
+
+	private static double count(SimpleMeterRegistry meterRegistry, String result) {
+		return meterRegistry.get("legalcase.case-view.requests").tag("result", result).counter().count();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static StringRedisTemplate inMemoryRedis() {
+		Map<String, String> store = new ConcurrentHashMap<>();
+		ValueOperations<String, String> operations = mock(ValueOperations.class);
+		when(operations.get(any())).thenAnswer(invocation -> store.get(invocation.<String>getArgument(0)));
+		doAnswer(invocation -> store.put(invocation.getArgument(0), invocation.getArgument(1))).when(operations)
+			.set(anyString(), anyString(), any(Duration.class));
+		when(operations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenAnswer(
+				invocation -> store.putIfAbsent(invocation.getArgument(0), invocation.getArgument(1)) == null);
+		when(operations.increment(anyString())).thenAnswer(invocation -> Long
+			.parseLong(store.merge(invocation.getArgument(0), "1", (a, b) -> String.valueOf(Long.parseLong(a) + 1))));
+
+		StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+		when(redisTemplate.opsForValue()).thenReturn(operations);
+		return redisTemplate;
+	}
+
+	private static LegalCase legalCase(String id) {
+		LegalCase legalCase = new LegalCase();
+		legalCase.setId(id);
+		legalCase.setTitle("Case " + id);
+		legalCase.setDescription("Benchmark case");
+		legalCase.setProfileId("profile-1");
+		legalCase.setClientId("client-1");
+		legalCase.setStatus(CaseStatus.DOCUMENTATION_IN_PROGRESS);
+		for (int d = 0; d < DOCUMENTS_PER_CASE; d++) {
+			CaseDocument document = new CaseDocument();
+			document.setId(id + "-doc-" + d);
+			document.setTitle("Document " + d);
+			document.setFilePath("https://storage.local/" + id + "/" + d);
+			document.setDocumentType(CaseDocument.DocumentType.EVIDENCE);
+			document.setStatus(CaseDocument.DocumentStatus.COMPLETE);
+			document.setMetadataJson("{\"field\":\"value " + d + "\"}");
+			legalCase.addDocument(document);
+		}
+		return legalCase;
+	}
+
+	private record Result(long[] sortedLatencies, double hitRatio) {
+
+		double p50Millis() {
+			return percentile(0.50);
+		}
+
+		double p99Millis() {
+			return percentile(0.99);
+		}
+
+		private double percentile(double quantile) {
+			int index = (int) Math.ceil(quantile * sortedLatencies.length) - 1;
+			return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+		}
+
+	}
+
+}
@@ -0,0 +1,80 @@
+package com.ginkgooai.legalcase.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ginkgooai.legalcase.domain.event.CaseEvents;
+import com.ginkgooai.legalcase.service.event.SpringEventPublisher;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of domain events into the event log, as done by
+ * {@link SpringEventPublisher} for every published event. Form value events carry the
+ * values of the whole form, so they are measured for growing forms next to a small
+ * document event.
+ *
+ * <p>
+ * Run with {@code mvn -Pbenchmarks test -Dtest=EventSerializationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventSerializationBenchmark {
+
+	@Param({ "10", "100", "1000" })
+	private int formValues;
+
+	private ObjectMapper objectMapper;
+
+	private CaseEvents.DocumentCompletedEvent documentCompleted;
+
+	private CaseEvents.FormValueRecordedEvent formValueRecorded;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		objectMapper = new ObjectMapper().findAndRegisterModules();
+
+		Map<String, Object> values = new LinkedHashMap<>();
+		for (int i = 0; i < formValues; i++) {
+			values.put("input-" + i, i % 4 == 0 ? i : "Value of input " + i);
+		}
+		documentCompleted = new CaseEvents.DocumentCompletedEvent("case-1", "doc-1", "Passport");
+		formValueRecorded = new CaseEvents.FormValueRecordedEvent("case-1", "form-1", "Visa application", "page-1",
+				"Personal details", "input-0", "text", "Value of input 0", values);
+	}
+
+	@Benchmark
+	public String documentCompletedEvent() throws Exception {
+		return objectMapper.writeValueAsString(documentCompleted);
+	}
+
+	@Benchmark
+	public String formValueRecordedEvent() throws Exception {
+		return objectMapper.writeValueAsString(formValueRecorded);
+	}
+
+	@Tag("benchmark")
+	@Test
+	void run() throws Exception {
+		BenchmarkRunner.run(EventSerializationBenchmark.class);
+	}
+
+}
@@ -0,0 +1,87 @@
+package com.ginkgooai.legalcase.benchmark;
+
+import com.ginkgooai.legalcase.dto.FormValueRecordDTO;
+import com.ginkgooai.legalcase.service.impl.FormValueRecordServiceImpl;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grouping of a case's event history into forms, pages and latest input values by
+ * {@link FormValueRecordServiceImpl#replayFormValueRecords(String, String)}, for growing
+ * history lengths. One record in ten is an event of another kind, as in a real case
+ * history.
+ *
+ * <p>
+ * Run with {@code mvn -Pbenchmarks test -Dtest=FormValueReplayBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormValueReplayBenchmark {
+
+	private static final int FORMS = 5;
+
+	private static final int PAGES_PER_FORM = 10;
+
+	private static final int INPUTS_PER_PAGE = 20;
+
+	@Param({ "100", "1000", "10000" })
+	private int history;
+
+	private List<FormValueRecordDTO> records;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		LocalDateTime start = LocalDateTime.now().minusDays(30);
+		records = new ArrayList<>(history);
+		for (int i = 0; i < history; i++) {
+			FormValueRecordDTO.FormValueRecordDTOBuilder record = FormValueRecordDTO.builder()
+				.id("event-" + i)
+				.caseId("case-1")
+				.recordedAt(start.plusMinutes(i))
+				.eventId("event-" + i);
+			if (i % 10 != 9) {
+				int form = i % FORMS;
+				int page = (i / FORMS) % PAGES_PER_FORM;
+				record.formId("form-" + form)
+					.pageId("page-" + page)
+					.inputId("input-" + page + "-" + (i % INPUTS_PER_PAGE))
+					.inputValue("value " + i);
+			}
+			records.add(record.build());
+		}
+	}
+
+	@Benchmark
+	public Map<String, Object> groupForReplay() {
+		return FormValueRecordServiceImpl.groupForReplay(records);
+	}
+
+	@Tag("benchmark")
+	@Test
+	void run() throws Exception {
+		BenchmarkRunner.run(FormValueReplayBenchmark.class);
+	}
+
+}
@@ -0,0 +1,123 @@
+package com.ginkgooai.legalcase.benchmark;
+
+import com.ginkgooai.legalcase.domain.CaseDocument;
+import com.ginkgooai.legalcase.domain.LegalCase;
+import com.ginkgooai.legalcase.domain.ProfileDocument;
+import com.ginkgooai.legalcase.domain.QuestionnaireDocument;
+import com.ginkgooai.legalcase.domain.SupportingDocument;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Document queries on a case with many documents: the ID index, category views and
+ * completion counters of {@link LegalCase} against the linear scans they replaced. Run with
+ * the GC profiler to compare allocation per operation as well as time.
+ *
+ * <p>
+ * Run with {@code mvn -Pbenchmarks test -Dtest=LegalCaseDocumentIndexBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LegalCaseDocumentIndexBenchmark {
+
+	@Param({ "10", "100", "1000" })
+	private int documents;
+
+	private LegalCase legalCase;
+
+	private String[] documentIds;
+
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		legalCase = new LegalCase();
+		legalCase.setId("case-1");
+		documentIds = new String[documents];
+		for (int d = 0; d < documents; d++) {
+			CaseDocument document = switch (d % 3) {
+				case 0 -> new QuestionnaireDocument();
+				case 1 -> new ProfileDocument();
+				default -> new SupportingDocument();
+			};
+			document.setId("doc-" + d);
+			document.setTitle("Document " + d);
+			// Leave one questionnaire open so the completion check cannot short-circuit
+			document.setStatus(d == 0 ? CaseDocument.DocumentStatus.PENDING : CaseDocument.DocumentStatus.COMPLETE);
+			legalCase.addDocument(document);
+			documentIds[d] = document.getId();
+		}
+	}
+
+	private String nextId() {
+		next = (next + 7919) % documentIds.length;
+		return documentIds[next];
+	}
+
+	@Benchmark
+	public CaseDocument findById_index() {
+		return legalCase.findDocument(nextId());
+	}
+
+	@Benchmark
+	public CaseDocument findById_scan() {
+		String id = nextId();
+		return legalCase.getDocuments().stream().filter(doc -> id.equals(doc.getId())).findFirst().orElse(null);
+	}
+
+	@Benchmark
+	public List<SupportingDocument> supportingDocuments_view() {
+		return legalCase.getSupportingDocuments();
+	}
+
+	@Benchmark
+	public List<SupportingDocument> supportingDocuments_scan() {
+		return legalCase.getDocuments()
+			.stream()
+			.filter(doc -> doc instanceof SupportingDocument)
+			.map(doc -> (SupportingDocument) doc)
+			.collect(Collectors.toList());
+	}
+
+	@Benchmark
+	public boolean allDocumentationComplete_counters() {
+		return legalCase.isAllDocumentationComplete();
+	}
+
+	@Benchmark
+	public boolean allDocumentationComplete_scan() {
+		List<CaseDocument> all = legalCase.getDocuments();
+		return all.stream().anyMatch(doc -> doc instanceof QuestionnaireDocument)
+				&& all.stream()
+					.filter(doc -> doc instanceof QuestionnaireDocument
+							|| doc instanceof SupportingDocument supporting && supporting.isRequired())
+					.allMatch(CaseDocument::isComplete);
+	}
+
+	@Tag("benchmark")
+	@Test
+	void run() throws Exception {
+		BenchmarkRunner.run(LegalCaseDocumentIndexBenchmark.class);
+	}
+
+}
@@ -0,0 +1,169 @@
+package com.ginkgooai.legalcase.client.resilience;
+
+import feign.Client;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.Target;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResilientClientCapabilityTest {
+
+	private static final String CLIENT = "storage-service";
+
+	@Mock
+	private Client delegate;
+
+	private CircuitBreakerRegistry circuitBreakerRegistry;
+
+	private Client client;
+
+	private Request request;
+
+	@BeforeEach
+	void setUp() {
+		RetryRegistry retryRegistry = RetryRegistry
+			.of(RetryConfig.custom().maxAttempts(3).waitDuration(Duration.ofMillis(1)).build());
+		circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+			.slidingWindowSize(4)
+			.minimumNumberOfCalls(4)
+			.failureRateThreshold(50)
+			.build());
+		client = new ResilientClientCapability(retryRegistry, circuitBreakerRegistry, BulkheadRegistry.ofDefaults())
+			.enrich(delegate);
+
+		request = request(Request.HttpMethod.GET);
+	}
+
+	@Test
+	void execute_shouldRetryUnavailableAndConnectionFailures() throws IOException {
+		when(delegate.execute(any(), any())).thenReturn(response(503))
+			.thenThrow(new ConnectException("refused"))
+			.thenReturn(response(200));
+
+		Response response = client.execute(request, new Request.Options());
+
+		assertThat(response.status()).isEqualTo(200);
+		verify(delegate, times(3)).execute(any(), any());
+	}
+
+	@Test
+	void execute_shouldRetryReadTimeoutOfIdempotentRequest() throws IOException {
+		when(delegate.execute(any(), any())).thenThrow(new SocketTimeoutException("Read timed out"))
+			.thenReturn(response(200));
+
+		assertThat(client.execute(request, new Request.Options()).status()).isEqualTo(200);
+		verify(delegate, times(2)).execute(any(), any());
+	}
+
+	@Test
+	void execute_shouldNotRetryReadTimeoutOfPost() throws IOException {
+		Request post = request(Request.HttpMethod.POST);
+		when(delegate.execute(any(), any())).thenThrow(new SocketTimeoutException("Read timed out"));
+
+		assertThatThrownBy(() -> client.execute(post, new Request.Options()))
+			.isInstanceOf(SocketTimeoutException.class);
+		verify(delegate).execute(any(), any());
+	}
+
+	@Test
+	void execute_shouldRetryConnectionFailureOfPost() throws IOException {
+		Request post = request(Request.HttpMethod.POST);
+		when(delegate.execute(any(), any())).thenThrow(new ConnectException("refused")).thenReturn(response(200));
+
+		assertThat(client.execute(post, new Request.Options()).status()).isEqualTo(200);
+		verify(delegate, times(2)).execute(any(), any());
+	}
+
+	@Test
+	void execute_shouldNotRetryUnavailableResponseToPost() throws IOException {
+		Request post = request(Request.HttpMethod.POST);
+		when(delegate.execute(any(), any())).thenReturn(response(503));
+
+		assertThat(client.execute(post, new Request.Options()).status()).isEqualTo(503);
+		verify(delegate).execute(any(), any());
+	}
+
+	@Test
+	void execute_shouldNotRetryOtherErrors() throws IOException {
+		when(delegate.execute(any(), any())).thenThrow(new IOException("Connection reset"));
+
+		assertThatThrownBy(() -> client.execute(request, new Request.Options())).isInstanceOf(IOException.class);
+		verify(delegate).execute(any(), any());
+		assertThat(circuitBreakerRegistry.circuitBreaker(CLIENT).getMetrics().getNumberOfFailedCalls()).isEqualTo(1);
+	}
+
+	@Test
+	void execute_whenRetriesExhausted_shouldReturnLastResponseWithBody() throws IOException {
+		when(delegate.execute(any(), any())).thenAnswer(invocation -> response(503));
+
+		Response response = client.execute(request, new Request.Options());
+
+		assertThat(response.status()).isEqualTo(503);
+		assertThat(response.body().asInputStream().readAllBytes()).isEqualTo("busy".getBytes(StandardCharsets.UTF_8));
+		verify(delegate, times(3)).execute(any(), any());
+	}
+
+	@Test
+	void execute_shouldNotRetryClientErrors() throws IOException {
+		when(delegate.execute(any(), any())).thenReturn(response(404));
+
+		assertThat(client.execute(request, new Request.Options()).status()).isEqualTo(404);
+		verify(delegate).execute(any(), any());
+		assertThat(circuitBreakerRegistry.circuitBreaker(CLIENT).getMetrics().getNumberOfFailedCalls()).isZero();
+	}
+
+	@Test
+	void execute_whenCircuitOpen_shouldFailWithoutCallingTheService() throws IOException {
+		when(delegate.execute(any(), any())).thenAnswer(invocation -> response(500));
+		client.execute(request, new Request.Options());
+		client.execute(request, new Request.Options());
+		client.execute(request, new Request.Options());
+		client.execute(request, new Request.Options());
+		assertThat(circuitBreakerRegistry.circuitBreaker(CLIENT).getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+		clearInvocations(delegate);
+		assertThatThrownBy(() -> client.execute(request, new Request.Options()))
+			.isInstanceOf(CallNotPermittedException.class);
+		verifyNoInteractions(delegate);
+	}
+
+	private static Request request(Request.HttpMethod method) {
+		RequestTemplate template = new RequestTemplate().method(method).uri("/v1/files");
+		template.feignTarget(new Target.HardCodedTarget<>(Object.class, CLIENT, "http://storage"));
+		template.target("http://storage");
+		return template.request();
+	}
+
+	private Response response(int status) {
+		return Response.builder()
+			.status(status)
+			.request(request)
+			.body("busy", StandardCharsets.UTF_8)
+			.build();
+	}
+
+}
@@ -0,0 +1,265 @@
+package com.ginkgooai.legalcase.config.jpa;
+
+import com.ginkgooai.legalcase.repository.EventLogRepository;
+import com.ginkgooai.legalcase.repository.LegalCaseRepository;
+import com.ginkgooai.legalcase.service.EventLogService;
+import com.ginkgooai.legalcase.service.impl.EventLogServiceImpl;
+import com.ginkgooai.legalcase.service.replica.PrimaryReads;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.hibernate5.SpringBeanContainer;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing of real transactions: services with {@code @Transactional(readOnly = true)}
+ * running through JPA and the Spring transaction manager, against an embedded Postgres
+ * migrated with the Flyway scripts. The same database stands in for the primary and the
+ * replica; each pool counts the connections it hands out.
+ */
+@Tag("embedded-postgres")
+@SpringJUnitConfig(ReadReplicaRoutingTest.Config.class)
+class ReadReplicaRoutingTest {
+
+	private static final String CASE_ID = "00000000-0000-0000-0000-000000000001";
+
+	@Autowired
+	private EventLogService eventLogService;
+
+	@Autowired
+	private LegalCaseRepository legalCaseRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	@Qualifier("primaryPool")
+	private CountingDataSource primaryPool;
+
+	@Autowired
+	@Qualifier("primaryReadPool")
+	private CountingDataSource primaryReadPool;
+
+	@Autowired
+	@Qualifier("replicaPool")
+	private CountingDataSource replicaPool;
+
+	@BeforeEach
+	void resetCounts() {
+		// The router checked the replica when it started, which made it usable
+		primaryPool.reset();
+		primaryReadPool.reset();
+		replicaPool.reset();
+		entityManagerFactory.getCache().evictAll();
+	}
+
+	@Test
+	void readOnlyServiceMethod_shouldReadFromReplica() {
+		assertThat(eventLogService.getEventLogsForCase(CASE_ID)).isEmpty();
+
+		assertThat(replicaPool.connections()).isEqualTo(1);
+		assertThat(primaryPool.connections()).isZero();
+		assertThat(primaryReadPool.connections()).isZero();
+	}
+
+	@Test
+	void readWriteTransaction_shouldUsePrimary() {
+		// Joins the read-write transaction although the repository method is read-only
+		new TransactionTemplate(transactionManager)
+			.executeWithoutResult(status -> assertThat(legalCaseRepository.existsById(CASE_ID)).isTrue());
+
+		assertThat(primaryPool.connections()).isEqualTo(1);
+		assertThat(replicaPool.connections()).isZero();
+	}
+
+	@Test
+	void readOnlyServiceMethod_shouldUsePrimaryReadPoolWhenPrimaryReadsRequired() {
+		PrimaryReads.call(() -> eventLogService.getEventLogsForCase(CASE_ID));
+
+		assertThat(primaryReadPool.connections()).isEqualTo(1);
+		assertThat(replicaPool.connections()).isZero();
+		assertThat(primaryPool.connections()).isZero();
+	}
+
+	@Test
+	void replicaRead_shouldNotPutIntoSecondLevelCache() {
+		loadDocuments();
+
+		assertThat(replicaPool.connections()).isEqualTo(1);
+		assertThat(documentsCached()).isFalse();
+	}
+
+	@Test
+	void primaryRead_shouldPutIntoSecondLevelCache() {
+		PrimaryReads.call(() -> {
+			loadDocuments();
+			return null;
+		});
+
+		assertThat(primaryReadPool.connections()).isEqualTo(1);
+		assertThat(documentsCached()).isTrue();
+	}
+
+	private void loadDocuments() {
+		TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		readOnly.executeWithoutResult(
+				status -> assertThat(legalCaseRepository.findById(CASE_ID).orElseThrow().getDocuments()).isEmpty());
+	}
+
+	private boolean documentsCached() {
+		return entityManagerFactory.unwrap(SessionFactory.class)
+			.getCache()
+			.containsCollection("com.ginkgooai.legalcase.domain.LegalCase.documents", CASE_ID);
+	}
+
+	@Configuration
+	@EnableTransactionManagement
+	@EnableJpaRepositories(basePackageClasses = EventLogRepository.class,
+			includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+					classes = { EventLogRepository.class, LegalCaseRepository.class }))
+	static class Config {
+
+		@Bean(destroyMethod = "close")
+		EmbeddedPostgres embeddedPostgres() throws IOException, SQLException {
+			EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+			DataSource database = postgres.getPostgresDatabase();
+			Flyway.configure()
+				.dataSource(database)
+				.schemas("legalcase")
+				.locations("classpath:db/migration")
+				.load()
+				.migrate();
+			try (Connection connection = database.getConnection();
+					Statement statement = connection.createStatement()) {
+				statement.execute("INSERT INTO legalcase.legal_cases (id, title, client_id, profile_id, status) "
+						+ "VALUES ('" + CASE_ID + "', 'Routing', 'client-1', 'profile-1', 'DRAFT')");
+			}
+			return postgres;
+		}
+
+		@Bean
+		CountingDataSource primaryPool(EmbeddedPostgres postgres) {
+			return new CountingDataSource(postgres.getPostgresDatabase());
+		}
+
+		@Bean
+		CountingDataSource primaryReadPool(EmbeddedPostgres postgres) {
+			return new CountingDataSource(postgres.getPostgresDatabase());
+		}
+
+		@Bean
+		CountingDataSource replicaPool(EmbeddedPostgres postgres) {
+			return new CountingDataSource(postgres.getPostgresDatabase());
+		}
+
+		@Bean
+		ReplicaRouter replicaRouter(@Qualifier("primaryPool") CountingDataSource primaryPool,
+				@Qualifier("primaryReadPool") CountingDataSource primaryReadPool,
+				@Qualifier("replicaPool") CountingDataSource replicaPool) {
+			return new ReplicaRouter(primaryPool, primaryReadPool, Map.of("replica-1", replicaPool),
+					Duration.ofSeconds(5), Duration.ofHours(1), new SimpleMeterRegistry());
+		}
+
+		@Bean
+		LocalContainerEntityManagerFactoryBean entityManagerFactory(ReplicaRouter replicaRouter,
+				ConfigurableListableBeanFactory beanFactory) {
+			Map<String, Object> properties = new HashMap<>();
+			properties.put("hibernate.default_schema", "legalcase");
+			// Entity listeners are created by Spring, as with Boot's auto-configuration
+			properties.put(AvailableSettings.BEAN_CONTAINER, new SpringBeanContainer(beanFactory));
+			properties.put("hibernate.cache.use_second_level_cache", true);
+			properties.put("hibernate.cache.region.factory_class", "jcache");
+			properties.put("hibernate.javax.cache.provider",
+					"com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider");
+			properties.put("hibernate.javax.cache.uri", "classpath:hibernate-l2-cache.conf");
+			properties.put("jakarta.persistence.sharedCache.mode", "ENABLE_SELECTIVE");
+			new ReadReplicaConfig().releaseConnectionsAfterTransaction().customize(properties);
+
+			LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+			factory.setDataSource(replicaRouter.dataSource());
+			factory.setPackagesToScan("com.ginkgooai.legalcase.domain");
+			factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+			factory.setJpaPropertyMap(properties);
+			ReadReplicaConfig.replicaCacheModeJpaDialect()
+				.postProcessBeforeInitialization(factory, "entityManagerFactory");
+			return factory;
+		}
+
+		@Bean
+		JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+			return new JpaTransactionManager(entityManagerFactory);
+		}
+
+		@Bean
+		EventLogService eventLogService(EventLogRepository eventLogRepository,
+				LegalCaseRepository legalCaseRepository) {
+			return new EventLogServiceImpl(eventLogRepository, legalCaseRepository);
+		}
+
+	}
+
+	/**
+	 * Data source counting the connections it hands out
+	 */
+	static class CountingDataSource extends DelegatingDataSource {
+
+		private final AtomicInteger connections = new AtomicInteger();
+
+		CountingDataSource(DataSource target) {
+			super(target);
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			connections.incrementAndGet();
+			return super.getConnection();
+		}
+
+		int connections() {
+			return connections.get();
+		}
+
+		void reset() {
+			connections.set(0);
+		}
+
+	}
+
+}
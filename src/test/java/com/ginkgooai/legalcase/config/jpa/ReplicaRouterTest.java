@@ -0,0 +1,215 @@
+package com.ginkgooai.legalcase.config.jpa;
+
+import com.ginkgooai.legalcase.service.replica.PrimaryReads;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ReplicaRouterTest {
+
+	@Mock
+	private DataSource primary;
+
+	@Mock
+	private DataSource primaryReads;
+
+	@Mock
+	private DataSource replica;
+
+	@Mock
+	private Connection primaryConnection;
+
+	@Mock
+	private Connection primaryReadConnection;
+
+	@Mock
+	private Connection replicaConnection;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private ReplicaRouter router;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		when(primary.getConnection()).thenReturn(primaryConnection);
+		when(primaryReads.getConnection()).thenReturn(primaryReadConnection);
+		when(replica.getConnection()).thenReturn(replicaConnection);
+		router = router(Duration.ofSeconds(5));
+	}
+
+	@Test
+	void readOnlyTransactions_shouldUsePrimaryUntilReplicaPassesLagCheck() throws SQLException {
+		assertThat(readOnly()).isSameAs(primaryReadConnection);
+
+		replicaLag(0.5);
+		router.checkLag();
+
+		assertThat(readOnly()).isSameAs(replicaConnection);
+		assertThat(meterRegistry.get("legalcase.db.replica.lag").gauge().value()).isEqualTo(0.5);
+		assertThat(meterRegistry.get("legalcase.db.reads").tag("route", "replica").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void readOnlyTransactions_shouldFallBackWhenReplicaLagsBehind() throws SQLException {
+		replicaLag(0.5);
+		router.checkLag();
+		replicaLag(30);
+		router.checkLag();
+
+		assertThat(readOnly()).isSameAs(primaryReadConnection);
+	}
+
+	@Test
+	void readOnlyTransactions_shouldFallBackWhenReplicaRefusesConnections() throws SQLException {
+		replicaLag(0.5);
+		router.checkLag();
+		when(replica.getConnection()).thenThrow(new SQLException("connection refused"));
+
+		assertThat(readOnly()).isSameAs(primaryReadConnection);
+		assertThat(readOnly()).isSameAs(primaryReadConnection);
+		// Once for the lag check and once for the first read, then skipped
+		verify(replica, times(2)).getConnection();
+	}
+
+	@Test
+	void readOnlyTransactions_shouldKeepReplicaWhosePoolIsExhausted() throws SQLException {
+		replicaLag(0.5);
+		router.checkLag();
+		when(replica.getConnection())
+			.thenThrow(new SQLTransientConnectionException("replica-1 - Connection is not available"))
+			.thenReturn(replicaConnection);
+
+		assertThat(readOnly()).isSameAs(primaryReadConnection);
+		assertThat(readOnly()).isSameAs(replicaConnection);
+	}
+
+	@Test
+	void lagCheck_shouldKeepLastReadingWhenReplicaPoolIsExhausted() throws SQLException {
+		replicaLag(0.5);
+		router.checkLag();
+		when(replica.getConnection())
+			.thenThrow(new SQLTransientConnectionException("replica-1 - Connection is not available"))
+			.thenReturn(replicaConnection);
+
+		router.checkLag();
+
+		assertThat(readOnly()).isSameAs(replicaConnection);
+		assertThat(meterRegistry.get("legalcase.db.replica.lag").gauge().value()).isEqualTo(0.5);
+	}
+
+	@Test
+	void lagCheck_shouldMarkReplicaDownWhenItCannotConnect() throws SQLException {
+		replicaLag(0.5);
+		router.checkLag();
+		when(replica.getConnection()).thenThrow(new SQLTransientConnectionException(
+				"replica-1 - Connection is not available", new SQLException("connection refused")));
+
+		router.checkLag();
+
+		assertThat(readOnly()).isSameAs(primaryReadConnection);
+		assertThat(meterRegistry.get("legalcase.db.replica.lag").gauge().value()).isNaN();
+	}
+
+	@Test
+	void readOnlyTransactions_shouldFallBackWhenLagReadingIsStale() throws SQLException, InterruptedException {
+		router = router(Duration.ofMillis(10));
+		replicaLag(0.5);
+		router.checkLag();
+
+		// Three intervals without a new reading
+		Thread.sleep(50);
+
+		assertThat(readOnly()).isSameAs(primaryReadConnection);
+	}
+
+	@Test
+	void readOnlyTransactions_shouldUsePrimaryWhenPrimaryReadsRequired() throws SQLException {
+		replicaLag(0.5);
+		router.checkLag();
+
+		Connection connection = PrimaryReads.call(() -> {
+			try {
+				return readOnly();
+			}
+			catch (SQLException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+
+		assertThat(connection).isSameAs(primaryReadConnection);
+	}
+
+	@Test
+	void writes_shouldAlwaysUsePrimaryPool() throws SQLException {
+		replicaLag(0.5);
+		router.checkLag();
+
+		try (Connection connection = router.dataSource().getConnection()) {
+			connection.createStatement();
+		}
+
+		verify(primary).getConnection();
+		verify(primaryReads, never()).getConnection();
+	}
+
+	private ReplicaRouter router(Duration lagCheckInterval) {
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		replicas.put("replica-1", replica);
+		return new ReplicaRouter(primary, primaryReads, replicas, Duration.ofSeconds(5), lagCheckInterval,
+				meterRegistry);
+	}
+
+	/**
+	 * Open a connection inside a read-only transaction and return the physical connection
+	 * it was routed to
+	 */
+	private Connection readOnly() throws SQLException {
+		Connection connection = router.dataSource().getConnection();
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		try {
+			return ((ConnectionProxy) connection).getTargetConnection();
+		}
+		finally {
+			TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		}
+	}
+
+	private void replicaLag(double seconds) throws SQLException {
+		Connection lagConnection = mock(Connection.class);
+		Statement statement = mock(Statement.class);
+		ResultSet resultSet = mock(ResultSet.class);
+		when(replica.getConnection()).thenReturn(lagConnection, replicaConnection);
+		when(lagConnection.createStatement()).thenReturn(statement);
+		when(statement.executeQuery(anyString())).thenReturn(resultSet);
+		when(resultSet.next()).thenReturn(true);
+		when(resultSet.getDouble(1)).thenReturn(seconds);
+	}
+
+}
@@ -4,7 +4,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ginkgooai.legalcase.domain.CaseStatus;
 import com.ginkgooai.legalcase.domain.LegalCase;
 import com.ginkgooai.legalcase.dto.CaseCreationRequest;
+import com.ginkgooai.legalcase.dto.CursorPage;
 import com.ginkgooai.legalcase.dto.LegalCaseResponse;
+import com.ginkgooai.legalcase.dto.LegalCaseSummaryResponse;
 import com.ginkgooai.legalcase.dto.UpdateLegalCaseRequest;
 import com.ginkgooai.legalcase.service.CaseService;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,10 +15,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
@@ -208,21 +206,22 @@ public class CaseControllerTest {
 	void searchLegalCases_shouldReturnMatchingCases() throws Exception {
 		// Arrange
 		String searchTerm = "test";
-		Pageable pageable = PageRequest.of(0, 10);
 
-		LegalCaseResponse case1 = LegalCaseResponse.builder()
+		LegalCaseSummaryResponse case1 = LegalCaseSummaryResponse.builder()
 			.id(UUID.randomUUID().toString())
 			.title("Test Case 1")
 			.build();
 
-		LegalCaseResponse case2 = LegalCaseResponse.builder()
+		LegalCaseSummaryResponse case2 = LegalCaseSummaryResponse.builder()
 			.id(UUID.randomUUID().toString())
 			.title("Test Case 2")
 			.build();
 
-		Page<LegalCaseResponse> page = new PageImpl<>(List.of(case1, case2));
+		CursorPage<LegalCaseSummaryResponse> page = CursorPage.<LegalCaseSummaryResponse>builder()
+			.content(List.of(case1, case2))
+			.build();
 
-		when(caseService.searchLegalCases(eq(searchTerm), any(Pageable.class))).thenReturn(page);
+		when(caseService.searchLegalCases(searchTerm, null, 20, false)).thenReturn(page);
 
 		// Act & Assert
 		mockMvc.perform(get(BASE_URL + "/search").param("q", searchTerm))
@@ -231,7 +230,7 @@ public class CaseControllerTest {
 			.andExpect(jsonPath("$.content[0].title", is("Test Case 1")))
 			.andExpect(jsonPath("$.content[1].title", is("Test Case 2")));
 
-		verify(caseService).searchLegalCases(eq(searchTerm), any(Pageable.class));
+		verify(caseService).searchLegalCases(searchTerm, null, 20, false);
 	}
 
 	private LegalCase createTestLegalCase(String id, String title, String description, String profileId,
@@ -3,33 +3,44 @@ package com.ginkgooai.legalcase.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ginkgooai.legalcase.domain.CaseDocument;
 import com.ginkgooai.legalcase.dto.BatchDocumentUploadRequest;
+import com.ginkgooai.legalcase.dto.CursorPage;
 import com.ginkgooai.legalcase.dto.DocumentStatusResponse;
 import com.ginkgooai.legalcase.service.CaseDocumentService;
+import com.ginkgooai.legalcase.service.DocumentStatusWatcher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,6 +53,9 @@ class CaseDocumentControllerTest {
 	@Mock
 	private CaseDocumentService documentService;
 
+	@Mock
+	private DocumentStatusWatcher documentStatusWatcher;
+
 	@InjectMocks
 	private CaseDocumentController controller;
 
@@ -105,6 +119,61 @@ class CaseDocumentControllerTest {
 		verify(documentService).getDocument(documentId);
 	}
 
+	@Test
+	void getDocumentStatus_whenEtagMatches_shouldReturnNotModified() throws Exception {
+		CaseDocument document = statusDocument("doc-123", 3L);
+		when(documentService.getDocument("doc-123")).thenReturn(Optional.of(document));
+
+		mockMvc.perform(get(BASE_URL + "/{documentId}/status", "doc-123").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+			.andExpect(status().isNotModified())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+			.andExpect(content().string(""));
+	}
+
+	@Test
+	void awaitDocumentStatus_shouldAnswerOnceDocumentChanges() throws Exception {
+		CaseDocument document = statusDocument("doc-123", 3L);
+		CompletableFuture<Void> change = new CompletableFuture<>();
+		when(documentService.getDocument("doc-123")).thenReturn(Optional.of(document));
+		when(documentStatusWatcher.clampWait(any())).thenAnswer(invocation -> invocation.getArgument(0));
+		when(documentStatusWatcher.watch("doc-123")).thenReturn(change);
+
+		MvcResult result = mockMvc
+			.perform(get(BASE_URL + "/{documentId}/status", "doc-123").param("waitSeconds", "30")
+				.header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+
+		document.setStatus(CaseDocument.DocumentStatus.COMPLETE);
+		document.setVersion(4L);
+		change.complete(null);
+
+		mockMvc.perform(asyncDispatch(result))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+			.andExpect(jsonPath("$.status", is("COMPLETE")));
+		verify(documentStatusWatcher).unwatch("doc-123", change);
+	}
+
+	@Test
+	void awaitDocumentStatus_whenClientIsBehind_shouldAnswerImmediately() throws Exception {
+		CaseDocument document = statusDocument("doc-123", 4L);
+		CompletableFuture<Void> change = new CompletableFuture<>();
+		when(documentService.getDocument("doc-123")).thenReturn(Optional.of(document));
+		when(documentStatusWatcher.clampWait(any())).thenAnswer(invocation -> invocation.getArgument(0));
+		when(documentStatusWatcher.watch("doc-123")).thenReturn(change);
+
+		MvcResult result = mockMvc
+			.perform(get(BASE_URL + "/{documentId}/status", "doc-123").param("waitSeconds", "30")
+				.header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+			.andReturn();
+
+		mockMvc.perform(asyncDispatch(result))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+		verify(documentStatusWatcher).unwatch("doc-123", change);
+	}
+
 	// @Test
 	void getDocumentStatus_notFound_shouldReturnError() throws Exception {
 		// Arrange
@@ -170,4 +239,46 @@ class CaseDocumentControllerTest {
 		verify(documentService).getDocumentsByCaseId(CASE_ID);
 	}
 
-}
\ No newline at end of file
+	@Test
+	void scrollDocuments_shouldReturnPageWithNextCursor() throws Exception {
+		// Arrange
+		CaseDocument doc = new CaseDocument();
+		doc.setId("doc-1");
+		doc.setTitle("Document 1");
+		doc.setStatus(CaseDocument.DocumentStatus.COMPLETE);
+		doc.setDocumentCategory(CaseDocument.DocumentCategory.PROFILE);
+
+		CursorPage<CaseDocument> page = CursorPage.<CaseDocument>builder()
+			.content(List.of(doc))
+			.nextCursor("next")
+			.hasNext(true)
+			.estimatedTotal(42L)
+			.build();
+		when(documentService.scrollDocumentsByCaseId(CASE_ID, "previous", 1, true)).thenReturn(page);
+
+		// Act & Assert
+		mockMvc
+			.perform(get(BASE_URL + "/scroll").param("cursor", "previous")
+				.param("size", "1")
+				.param("total", "estimated"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content", hasSize(1)))
+			.andExpect(jsonPath("$.content[0].documentId", is("doc-1")))
+			.andExpect(jsonPath("$.nextCursor", is("next")))
+			.andExpect(jsonPath("$.hasNext", is(true)))
+			.andExpect(jsonPath("$.estimatedTotal", is(42)));
+
+		verify(documentService, never()).getDocumentsByCaseId(CASE_ID);
+	}
+
+	private static CaseDocument statusDocument(String id, long version) {
+		CaseDocument document = new CaseDocument();
+		document.setId(id);
+		document.setVersion(version);
+		document.setTitle("Test Document");
+		document.setStatus(CaseDocument.DocumentStatus.PENDING);
+		document.setDocumentCategory(CaseDocument.DocumentCategory.SUPPORTING_DOCUMENT);
+		return document;
+	}
+
+}
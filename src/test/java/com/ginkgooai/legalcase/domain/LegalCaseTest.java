@@ -0,0 +1,149 @@
+package com.ginkgooai.legalcase.domain;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LegalCaseTest {
+
+	private LegalCase legalCase;
+
+	@BeforeEach
+	void setUp() {
+		legalCase = new LegalCase("client-1", "profile-1", "Visa renewal", "Renewal case");
+	}
+
+	@Test
+	void completionCounters_shouldFollowDocumentChanges() {
+		QuestionnaireDocument questionnaire = questionnaire();
+		legalCase.addQuestionnaireDocument(questionnaire);
+		SupportingDocument passport = supportingDocument();
+		legalCase.addSupportingDocument(passport);
+
+		assertThat(legalCase.getQuestionnairesTotal()).isEqualTo(1);
+		assertThat(legalCase.getRequiredDocumentsTotal()).isEqualTo(1);
+		assertThat(legalCase.isAllDocumentationComplete()).isFalse();
+		assertThat(legalCase.hasCompletedDocumentsForAnalysis()).isFalse();
+
+		questionnaire.setCompletionPercentage(100);
+		passport.setStatus(CaseDocument.DocumentStatus.COMPLETE);
+		// Still needs verification
+		assertThat(legalCase.getRequiredDocumentsComplete()).isZero();
+
+		passport.setVerified(true);
+		assertThat(legalCase.getQuestionnairesComplete()).isEqualTo(1);
+		assertThat(legalCase.getRequiredDocumentsComplete()).isEqualTo(1);
+		assertThat(legalCase.isAllDocumentationComplete()).isTrue();
+		assertThat(legalCase.hasCompletedDocumentsForAnalysis()).isTrue();
+
+		// Setting an unchanged completion must not count twice
+		questionnaire.setStatus(CaseDocument.DocumentStatus.COMPLETE);
+		assertThat(legalCase.getQuestionnairesComplete()).isEqualTo(1);
+
+		passport.setStatus(CaseDocument.DocumentStatus.EXPIRED);
+		assertThat(legalCase.getRequiredDocumentsComplete()).isZero();
+		assertThat(legalCase.isAllDocumentationComplete()).isFalse();
+	}
+
+	@Test
+	void statusTransitions_shouldBeCountedWithFromAndTo() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		Metrics.addRegistry(registry);
+		try {
+			legalCase.initiateLlmAnalysis("document_analysis");
+			legalCase.completeLlmAnalysis(true, "done");
+
+			assertThat(transitions(registry, "DOCUMENTATION_IN_PROGRESS", "ANALYZING")).isEqualTo(1);
+			assertThat(transitions(registry, "ANALYZING", "DOCUMENTATION_IN_PROGRESS")).isEqualTo(1);
+		}
+		finally {
+			Metrics.removeRegistry(registry);
+		}
+	}
+
+	private static double transitions(SimpleMeterRegistry registry, String from, String to) {
+		return registry.get("legalcase.case.status.transitions").tag("from", from).tag("to", to).counter().count();
+	}
+
+	@Test
+	void removeDocument_shouldUncountDocument() {
+		SupportingDocument passport = supportingDocument();
+		passport.setStatus(CaseDocument.DocumentStatus.COMPLETE);
+		passport.setVerified(true);
+		legalCase.addSupportingDocument(passport);
+		legalCase.addQuestionnaireDocument(questionnaire());
+
+		legalCase.removeDocument(passport);
+
+		assertThat(legalCase.getRequiredDocumentsTotal()).isZero();
+		assertThat(legalCase.getRequiredDocumentsComplete()).isZero();
+		assertThat(legalCase.getDocumentsComplete()).isZero();
+		assertThat(legalCase.getQuestionnairesTotal()).isEqualTo(1);
+	}
+
+	@Test
+	void setDocuments_shouldRecountDocuments() {
+		legalCase.addQuestionnaireDocument(questionnaire());
+		SupportingDocument passport = supportingDocument();
+		passport.setStatus(CaseDocument.DocumentStatus.COMPLETE);
+		passport.setVerified(true);
+
+		legalCase.setDocuments(new ArrayList<>(List.of(passport)));
+
+		assertThat(legalCase.getQuestionnairesTotal()).isZero();
+		assertThat(legalCase.getRequiredDocumentsTotal()).isEqualTo(1);
+		assertThat(legalCase.getRequiredDocumentsComplete()).isEqualTo(1);
+		assertThat(legalCase.hasCompletedDocumentsForAnalysis()).isTrue();
+
+		// Linked to the case, so later completion changes are counted
+		passport.setStatus(CaseDocument.DocumentStatus.EXPIRED);
+		assertThat(legalCase.getRequiredDocumentsComplete()).isZero();
+		assertThat(legalCase.hasCompletedDocumentsForAnalysis()).isFalse();
+	}
+
+	@Test
+	void documentIndex_shouldFindDocumentsByIdAndCategory() {
+		SupportingDocument passport = supportingDocument();
+		legalCase.addSupportingDocument(passport);
+		assertThat(legalCase.findDocument("passport-1")).isSameAs(passport);
+
+		// Not yet persisted, so no ID at the time it is added
+		QuestionnaireDocument questionnaire = questionnaire();
+		questionnaire.setId(null);
+		legalCase.addQuestionnaireDocument(questionnaire);
+		questionnaire.setId("questionnaire-1");
+
+		assertThat(legalCase.findDocument("questionnaire-1")).isSameAs(questionnaire);
+		assertThat(legalCase.getQuestionnaireDocuments()).containsExactly(questionnaire);
+		assertThat(legalCase.getSupportingDocuments()).containsExactly(passport);
+
+		legalCase.removeDocument(passport);
+		assertThat(legalCase.findDocument("passport-1")).isNull();
+		assertThat(legalCase.getSupportingDocuments()).isEmpty();
+	}
+
+	private static QuestionnaireDocument questionnaire() {
+		QuestionnaireDocument questionnaire = new QuestionnaireDocument();
+		questionnaire.setId("questionnaire-1");
+		questionnaire.setTitle("Applicant questionnaire");
+		questionnaire.setStatus(CaseDocument.DocumentStatus.PENDING);
+		questionnaire.setCompletionPercentage(0);
+		return questionnaire;
+	}
+
+	private static SupportingDocument supportingDocument() {
+		SupportingDocument document = new SupportingDocument();
+		document.setId("passport-1");
+		document.setTitle("Passport");
+		document.setStatus(CaseDocument.DocumentStatus.PENDING);
+		document.setVerificationRequired(true);
+		return document;
+	}
+
+}
@@ -0,0 +1,79 @@
+package com.ginkgooai.legalcase.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Latencies and errors per endpoint of a load run, reported as throughput and latency
+ * percentiles.
+ */
+final class LatencyRecorder {
+
+	private final Map<String, Endpoint> endpoints = new ConcurrentSkipListMap<>();
+
+	void record(String endpoint, long startNanos, boolean success) {
+		long latency = System.nanoTime() - startNanos;
+		Endpoint stats = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+		synchronized (stats) {
+			if (success) {
+				stats.latencies.add(latency);
+			}
+			else {
+				stats.errors++;
+			}
+		}
+	}
+
+	long successes(String endpoint) {
+		Endpoint stats = endpoints.get(endpoint);
+		if (stats == null) {
+			return 0;
+		}
+		synchronized (stats) {
+			return stats.latencies.size();
+		}
+	}
+
+	/**
+	 * Render one line per endpoint
+	 * @param elapsed wall-clock time of the run, for throughput
+	 * @return report table
+	 */
+	String report(Duration elapsed) {
+		StringBuilder report = new StringBuilder(String.format("%-50s %8s %7s %9s %9s %9s %9s %9s%n", "endpoint",
+				"requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+		double seconds = elapsed.toNanos() / 1e9;
+		endpoints.forEach((name, stats) -> {
+			long[] sorted;
+			long errors;
+			synchronized (stats) {
+				sorted = stats.latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+				errors = stats.errors;
+			}
+			report.append(String.format("%-50s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", name, sorted.length, errors,
+					sorted.length / seconds, millis(sorted, 0.50), millis(sorted, 0.95), millis(sorted, 0.99),
+					millis(sorted, 1.0)));
+		});
+		return report.toString();
+	}
+
+	private static double millis(long[] sorted, double percentile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int index = (int) Math.ceil(percentile * sorted.length) - 1;
+		return sorted[Math.max(0, index)] / 1e6;
+	}
+
+	private static final class Endpoint {
+
+		private final List<Long> latencies = new ArrayList<>();
+
+		private long errors;
+
+	}
+
+}
@@ -0,0 +1,317 @@
+package com.ginkgooai.legalcase.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load harness: the whole application on a random port against embedded
+ * Postgres (migrated by Flyway at startup), embedded Redis and {@link StubServices} in
+ * place of the storage and AI services. Four workloads run side by side for a fixed
+ * duration, each with its own workers:
+ * <ul>
+ * <li>document upload, which calls the storage stub for file details and pre-signed
+ * URLs</li>
+ * <li>document analysis, from upload until a long-poll of the document status sees it
+ * leave PENDING, which covers the call to the AI stub</li>
+ * <li>form input recording</li>
+ * <li>SSE subscribe, until the initial case snapshot arrives</li>
+ * </ul>
+ * Throughput and latency percentiles per endpoint are printed at the end.
+ *
+ * <p>
+ * Run with {@code mvn -Pbenchmarks test -Dtest=LoadTestHarnessTest}, tuned with
+ * {@code -Dloadtest.duration=PT30S}, {@code -Dloadtest.concurrency=8} (workers per
+ * workload), {@code -Dloadtest.cases=20}, {@code -Dloadtest.storage-latency=PT0.05S} and
+ * {@code -Dloadtest.ai-latency=PT0.5S}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LoadTestHarnessTest {
+
+	private static final Duration DURATION = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+
+	private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 8);
+
+	private static final int CASES = Integer.getInteger("loadtest.cases", 20);
+
+	private static final Duration STORAGE_LATENCY = Duration
+		.parse(System.getProperty("loadtest.storage-latency", "PT0.05S"));
+
+	private static final Duration AI_LATENCY = Duration.parse(System.getProperty("loadtest.ai-latency", "PT0.5S"));
+
+	private static final Duration ANALYSIS_TIMEOUT = Duration.ofSeconds(60);
+
+	private static final String CREATE_CASE = "POST /cases";
+
+	private static final String UPLOAD = "POST /cases/{caseId}/documents";
+
+	private static final String ANALYSIS = "analysis (upload to status change)";
+
+	private static final String RECORD_INPUT = "POST /api/cases/{caseId}/form-records/inputs";
+
+	private static final String SSE_SUBSCRIBE = "GET /api/cases/{caseId}/stream (until init)";
+
+	private static EmbeddedPostgres postgres;
+
+	private static RedisServer redis;
+
+	private static StubServices stubs;
+
+	private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final LatencyRecorder recorder = new LatencyRecorder();
+
+	@LocalServerPort
+	private int port;
+
+	@DynamicPropertySource
+	static void infrastructure(DynamicPropertyRegistry registry) throws IOException {
+		postgres = EmbeddedPostgres.builder().start();
+		int redisPort = freePort();
+		redis = new RedisServer(redisPort);
+		redis.start();
+		// Enough stub threads that downstream latency, not the stub, limits throughput
+		stubs = new StubServices(STORAGE_LATENCY, AI_LATENCY, 4 * CONCURRENCY + 16);
+
+		registry.add("spring.datasource.url",
+				() -> postgres.getJdbcUrl("postgres", "postgres") + "&currentSchema=legalcase");
+		registry.add("spring.datasource.username", () -> "postgres");
+		registry.add("spring.datasource.password", () -> "");
+		registry.add("spring.data.redis.host", () -> "127.0.0.1");
+		registry.add("spring.data.redis.port", () -> redisPort);
+		registry.add("spring.data.redis.password", () -> "");
+		registry.add("core-storage-uri", stubs::baseUrl);
+		registry.add("core-ai-uri", stubs::baseUrl);
+		registry.add("core-identity-uri", stubs::baseUrl);
+		registry.add("AUTH_CLIENT", () -> "load-test");
+		registry.add("logging.level.com.ginkgooai", () -> "INFO");
+		registry.add("legal-case.document-analysis.mock-ai-service", () -> false);
+		registry.add("legal-case.llm-analysis.debounce-window", () -> "1s");
+		registry.add("legal-case.soft-delete-compaction.enabled", () -> false);
+		// All workers share one client; measure the pipeline, not the per-client limits
+		registry.add("legal-case.rate-limit.enabled", () -> System.getProperty("loadtest.rate-limit", "false"));
+	}
+
+	@AfterAll
+	static void stopInfrastructure() throws IOException {
+		if (stubs != null) {
+			stubs.close();
+		}
+		if (redis != null) {
+			redis.stop();
+		}
+		if (postgres != null) {
+			postgres.close();
+		}
+	}
+
+	@Test
+	void mixedWorkload() throws Exception {
+		List<String> caseIds = createCases();
+		BlockingQueue<Upload> uploads = new LinkedBlockingQueue<>();
+
+		long start = System.nanoTime();
+		long deadline = start + DURATION.toNanos();
+		ExecutorService workers = Executors.newFixedThreadPool(4 * CONCURRENCY);
+		for (int i = 0; i < CONCURRENCY; i++) {
+			workers.submit(() -> repeatUntil(deadline, () -> upload(randomCase(caseIds), uploads)));
+			workers.submit(() -> repeatUntil(deadline, () -> awaitAnalysis(uploads)));
+			workers.submit(() -> repeatUntil(deadline, () -> recordInput(randomCase(caseIds))));
+			workers.submit(() -> repeatUntil(deadline, () -> subscribe(randomCase(caseIds))));
+		}
+		workers.shutdown();
+		assertThat(workers.awaitTermination(DURATION.plus(ANALYSIS_TIMEOUT).toSeconds(), TimeUnit.SECONDS)).isTrue();
+		Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+		System.out.printf("Load test: %s, %d workers per workload, %d cases, storage latency %s, AI latency %s%n",
+				DURATION, CONCURRENCY, CASES, stubs.storageLatency(), stubs.aiLatency());
+		System.out.print(recorder.report(elapsed));
+		System.out.printf("Uploads still awaiting analysis at the end: %d%n", uploads.size());
+
+		for (String endpoint : List.of(UPLOAD, ANALYSIS, RECORD_INPUT, SSE_SUBSCRIBE)) {
+			assertThat(recorder.successes(endpoint)).as(endpoint).isPositive();
+		}
+	}
+
+	private List<String> createCases() {
+		List<String> caseIds = new ArrayList<>();
+		for (int i = 0; i < CASES; i++) {
+			Map<String, String> request = Map.of("title", "Load test case " + i, "description",
+					"Created by the load harness", "profileId", "profile-" + i, "clientId", "client-1");
+			JsonNode created = measure(CREATE_CASE, () -> post("/cases", request));
+			caseIds.add(created.get("id").asText());
+		}
+		return caseIds;
+	}
+
+	private void upload(String caseId, BlockingQueue<Upload> uploads) {
+		long start = System.nanoTime();
+		JsonNode documentIds = measure(UPLOAD, () -> post("/cases/" + caseId + "/documents",
+				Map.of("storageIds", List.of(UUID.randomUUID().toString()))));
+		documentIds.forEach(documentId -> uploads.add(new Upload(caseId, documentId.asText(), start)));
+	}
+
+	/**
+	 * Long-poll the status of the next uploaded document until it is no longer pending
+	 */
+	private void awaitAnalysis(BlockingQueue<Upload> uploads) throws Exception {
+		Upload upload = uploads.poll(100, TimeUnit.MILLISECONDS);
+		if (upload == null) {
+			return;
+		}
+
+		String etag = null;
+		long timeout = upload.startNanos() + ANALYSIS_TIMEOUT.toNanos();
+		while (System.nanoTime() < timeout) {
+			String path = "/cases/" + upload.caseId() + "/documents/" + upload.documentId() + "/status?waitSeconds=10";
+			HttpRequest.Builder request = HttpRequest.newBuilder(uri(path)).timeout(Duration.ofSeconds(15));
+			if (etag != null) {
+				request.header("If-None-Match", etag);
+			}
+			HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+			if (response.statusCode() == 200) {
+				if (!"PENDING".equals(objectMapper.readTree(response.body()).path("status").asText())) {
+					recorder.record(ANALYSIS, upload.startNanos(), true);
+					return;
+				}
+				etag = response.headers().firstValue("ETag").orElse(null);
+			}
+			else if (response.statusCode() != 304) {
+				break;
+			}
+		}
+		recorder.record(ANALYSIS, upload.startNanos(), false);
+	}
+
+	private void recordInput(String caseId) {
+		int input = ThreadLocalRandom.current().nextInt(50);
+		measure(RECORD_INPUT,
+				() -> post("/api/cases/" + caseId + "/form-records/inputs",
+						Map.of("formId", "form-1", "formName", "Visa application", "pageId", "page-" + input / 10,
+								"pageName", "Page " + input / 10, "inputId", "input-" + input, "inputType", "text",
+								"inputValue", "value " + System.nanoTime(), "userId", "load-test")));
+	}
+
+	/**
+	 * Open the case stream, wait for the initial snapshot and disconnect
+	 */
+	private void subscribe(String caseId) {
+		measure(SSE_SUBSCRIBE, () -> {
+			HttpRequest request = HttpRequest.newBuilder(uri("/api/cases/" + caseId + "/stream"))
+				.header("Accept", "text/event-stream")
+				.timeout(Duration.ofSeconds(10))
+				.build();
+			HttpResponse<Stream<String>> response = http.send(request, HttpResponse.BodyHandlers.ofLines());
+			try (Stream<String> lines = response.body()) {
+				if (response.statusCode() != 200 || lines.noneMatch(line -> line.startsWith("event:init"))) {
+					throw new IllegalStateException("No init event, status " + response.statusCode());
+				}
+			}
+			return null;
+		});
+	}
+
+	private JsonNode post(String path, Object body) throws Exception {
+		HttpResponse<String> response = http.send(HttpRequest.newBuilder(uri(path))
+			.header("Content-Type", "application/json")
+			.timeout(Duration.ofSeconds(30))
+			.POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+			.build(), HttpResponse.BodyHandlers.ofString());
+		if (response.statusCode() / 100 != 2) {
+			throw new IllegalStateException(path + " returned " + response.statusCode() + ": " + response.body());
+		}
+		return objectMapper.readTree(response.body());
+	}
+
+	private <T> T measure(String endpoint, Call<T> call) {
+		long start = System.nanoTime();
+		try {
+			T result = call.execute();
+			recorder.record(endpoint, start, true);
+			return result;
+		}
+		catch (Exception e) {
+			recorder.record(endpoint, start, false);
+			throw new IllegalStateException(endpoint + " failed", e);
+		}
+	}
+
+	private static void repeatUntil(long deadlineNanos, Step step) {
+		while (System.nanoTime() < deadlineNanos) {
+			try {
+				step.run();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			catch (Exception e) {
+				// Already counted as an error of its endpoint; keep the load going
+			}
+		}
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://127.0.0.1:" + port + path);
+	}
+
+	private static String randomCase(List<String> caseIds) {
+		return caseIds.get(ThreadLocalRandom.current().nextInt(caseIds.size()));
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+
+	private record Upload(String caseId, String documentId, long startNanos) {
+	}
+
+	@FunctionalInterface
+	private interface Call<T> {
+
+		T execute() throws Exception;
+
+	}
+
+	@FunctionalInterface
+	private interface Step {
+
+		void run() throws Exception;
+
+	}
+
+}
@@ -0,0 +1,214 @@
+package com.ginkgooai.legalcase.loadtest;
+
+import com.ginkgooai.legalcase.GinkgooLegalCaseApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Startup benchmark: starts the application in a fresh JVM per run, against embedded
+ * Postgres, embedded Redis and {@link StubServices}, and measures from process start
+ * until
+ * <ul>
+ * <li>the first successful {@code GET /health} (time to first request)</li>
+ * <li>the first successful {@code GET /cases}, which includes whatever the first request
+ * of the case API initializes lazily</li>
+ * </ul>
+ * Each profile variant is started several times and reported with latency percentiles.
+ * One unrecorded run first migrates the schema.
+ *
+ * <p>
+ * Run with {@code mvn -Pbenchmarks test -Dtest=StartupBenchmarkTest}, tuned with
+ * {@code -Dstartup.profiles=default,fast-start} (comma-separated; {@code default} runs
+ * without a profile), {@code -Dstartup.runs=5} and {@code -Dstartup.jvm-args} for extra
+ * JVM options of the started application, e.g.
+ * {@code -XX:SharedArchiveFile=target/app.jsa}.
+ */
+@Tag("benchmark")
+class StartupBenchmarkTest {
+
+	private static final List<String> PROFILES = List
+		.of(System.getProperty("startup.profiles", "default,fast-start").split(","));
+
+	private static final int RUNS = Integer.getInteger("startup.runs", 5);
+
+	private static final String JVM_ARGS = System.getProperty("startup.jvm-args", "");
+
+	private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+	private static EmbeddedPostgres postgres;
+
+	private static RedisServer redis;
+
+	private static int redisPort;
+
+	private static StubServices stubs;
+
+	private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+	private final LatencyRecorder recorder = new LatencyRecorder();
+
+	@BeforeAll
+	static void startInfrastructure() throws IOException {
+		postgres = EmbeddedPostgres.builder().start();
+		redisPort = freePort();
+		redis = new RedisServer(redisPort);
+		redis.start();
+		stubs = new StubServices(Duration.ZERO, Duration.ZERO, 4);
+	}
+
+	@AfterAll
+	static void stopInfrastructure() throws IOException {
+		if (stubs != null) {
+			stubs.close();
+		}
+		if (redis != null) {
+			redis.stop();
+		}
+		if (postgres != null) {
+			postgres.close();
+		}
+	}
+
+	@Test
+	void timeToFirstRequest() throws Exception {
+		// Applies the Flyway migrations, so no measured run pays for them
+		start(PROFILES.get(0), null);
+
+		long started = System.nanoTime();
+		for (int run = 0; run < RUNS; run++) {
+			for (String profile : PROFILES) {
+				start(profile, recorder);
+			}
+		}
+
+		System.out.println("Startup benchmark, " + RUNS + " runs per profile, JVM args [" + JVM_ARGS + "]");
+		System.out.println(recorder.report(Duration.ofNanos(System.nanoTime() - started)));
+		for (String profile : PROFILES) {
+			assertThat(recorder.successes(firstCases(profile))).as("successful starts of %s", profile)
+				.isEqualTo(RUNS);
+		}
+	}
+
+	/**
+	 * Start the application with a profile, wait for the first health check and case
+	 * query to succeed, then stop it
+	 * @param profile profile to activate, or {@code default} for none
+	 * @param recorder where to record the times, or {@code null} for an unrecorded run
+	 */
+	private void start(String profile, LatencyRecorder recorder) throws IOException, InterruptedException {
+		int port = freePort();
+		Path log = Files.createTempFile("startup-" + profile + "-", ".log");
+		ProcessBuilder builder = new ProcessBuilder(command(profile, port)).redirectErrorStream(true)
+			.redirectOutput(log.toFile());
+
+		long processStarted = System.nanoTime();
+		Process process = builder.start();
+		try {
+			boolean healthy = awaitOk(process, URI.create("http://localhost:" + port + "/health"));
+			if (recorder != null) {
+				recorder.record(firstHealth(profile), processStarted, healthy);
+			}
+			boolean cases = healthy && awaitOk(process,
+					URI.create("http://localhost:" + port + "/cases?clientId=startup-benchmark&size=1"));
+			if (recorder != null) {
+				recorder.record(firstCases(profile), processStarted, cases);
+			}
+			if (!cases) {
+				System.out.println("Start with profile " + profile + " failed, see " + log);
+				return;
+			}
+		}
+		finally {
+			process.destroy();
+			if (!process.waitFor(30, TimeUnit.SECONDS)) {
+				process.destroyForcibly().waitFor();
+			}
+		}
+		Files.deleteIfExists(log);
+	}
+
+	private List<String> command(String profile, int port) {
+		List<String> command = new ArrayList<>();
+		command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+		for (String arg : JVM_ARGS.trim().split("\\s+")) {
+			if (!arg.isEmpty()) {
+				command.add(arg);
+			}
+		}
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		if (!"default".equals(profile)) {
+			command.add("-Dspring.profiles.active=" + profile);
+		}
+		command.add("-Dserver.port=" + port);
+		command.add(
+				"-Dspring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres") + "&currentSchema=legalcase");
+		command.add("-Dspring.datasource.username=postgres");
+		command.add("-Dspring.datasource.password=");
+		command.add("-Dspring.data.redis.host=127.0.0.1");
+		command.add("-Dspring.data.redis.port=" + redisPort);
+		command.add("-Dspring.data.redis.password=");
+		command.add("-Dcore-storage-uri=" + stubs.baseUrl());
+		command.add("-Dcore-ai-uri=" + stubs.baseUrl());
+		command.add("-Dcore-identity-uri=" + stubs.baseUrl());
+		command.add("-DAUTH_CLIENT=startup-benchmark");
+		command.add("-Dlegal-case.soft-delete-compaction.enabled=false");
+		command.add(GinkgooLegalCaseApplication.class.getName());
+		return command;
+	}
+
+	/**
+	 * Poll until the URI answers 200
+	 * @return whether it did before the process exited or the startup timeout passed
+	 */
+	private boolean awaitOk(Process process, URI uri) throws InterruptedException {
+		long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+		HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(10)).GET().build();
+		while (System.nanoTime() < deadline && process.isAlive()) {
+			try {
+				if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+					return true;
+				}
+			}
+			catch (IOException e) {
+				// Not listening yet
+			}
+			Thread.sleep(10);
+		}
+		return false;
+	}
+
+	private static String firstHealth(String profile) {
+		return "startup " + profile + " (first GET /health)";
+	}
+
+	private static String firstCases(String profile) {
+		return "startup " + profile + " (first GET /cases)";
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+
+}
@@ -0,0 +1,173 @@
+package com.ginkgooai.legalcase.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local stand-ins for the storage and AI services behind {@code StorageClient},
+ * {@code DocumentAIClient} and {@code LlmAnalysisClient}. Each route answers with a
+ * canned response after a configurable latency, with up to 20% jitter, so the harness
+ * measures this service under realistic downstream delays without the real services.
+ */
+final class StubServices implements AutoCloseable {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final Duration storageLatency;
+
+	private final Duration aiLatency;
+
+	private final HttpServer server;
+
+	private final ExecutorService executor;
+
+	StubServices(Duration storageLatency, Duration aiLatency, int threads) throws IOException {
+		this.storageLatency = storageLatency;
+		this.aiLatency = aiLatency;
+		this.executor = Executors.newFixedThreadPool(threads);
+		this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/v1/files", route(storageLatency, this::storage));
+		server.createContext("/files/structure", route(aiLatency, this::parseDocuments));
+		server.createContext("/cases/analysis", route(aiLatency, this::analyzeCase));
+		server.setExecutor(executor);
+		server.start();
+	}
+
+	String baseUrl() {
+		return "http://127.0.0.1:" + server.getAddress().getPort();
+	}
+
+	Duration storageLatency() {
+		return storageLatency;
+	}
+
+	Duration aiLatency() {
+		return aiLatency;
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	/**
+	 * GET /v1/files?fileIds=... and GET /v1/files/{fileId}/presigned-url
+	 */
+	private Object storage(HttpExchange exchange) {
+		String path = exchange.getRequestURI().getPath();
+		if (path.endsWith("/presigned-url")) {
+			String fileId = path.substring("/v1/files/".length(), path.length() - "/presigned-url".length());
+			return baseUrl() + "/download/" + fileId + ".pdf";
+		}
+
+		List<Map<String, Object>> files = new ArrayList<>();
+		for (String fileId : queryValues(exchange.getRequestURI().getRawQuery(), "fileIds")) {
+			Map<String, Object> file = new LinkedHashMap<>();
+			file.put("id", fileId);
+			file.put("originalName", fileId + ".pdf");
+			file.put("storageName", fileId);
+			file.put("fileType", "application/pdf");
+			file.put("fileSize", 250_000L);
+			files.add(file);
+		}
+		return files;
+	}
+
+	/**
+	 * POST /files/structure
+	 */
+	private Object parseDocuments(HttpExchange exchange) {
+		return Map.of("status", "SUCCESS", "message", "Document parsed successfully", "profileData",
+				Map.of("passportData", Map.of("fullName", "Load Test", "dateOfBirth", "1985-05-15", "passportNumber",
+						"P123456789", "expiryDate", "2030-01-01")));
+	}
+
+	/**
+	 * POST /cases/analysis
+	 */
+	private Object analyzeCase(HttpExchange exchange) {
+		return Map.of("status", "SUCCESS", "message", "Analysis completed", "summary",
+				"All submitted documents are consistent", "findings", Map.of("identity", "verified"),
+				"missing_information", List.of());
+	}
+
+	private HttpHandler route(Duration latency, ResponseBody body) {
+		return exchange -> {
+			try {
+				try (InputStream request = exchange.getRequestBody()) {
+					request.readAllBytes();
+				}
+				sleep(latency);
+
+				byte[] response = objectMapper.writeValueAsBytes(body.respond(exchange));
+				exchange.getResponseHeaders().set("Content-Type", "application/json");
+				exchange.sendResponseHeaders(200, response.length);
+				try (OutputStream out = exchange.getResponseBody()) {
+					out.write(response);
+				}
+			}
+			finally {
+				exchange.close();
+			}
+		};
+	}
+
+	private static void sleep(Duration latency) {
+		long millis = latency.toMillis();
+		if (millis <= 0) {
+			return;
+		}
+		long jitter = ThreadLocalRandom.current().nextLong(millis / 5 + 1);
+		try {
+			TimeUnit.MILLISECONDS.sleep(millis + jitter);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static List<String> queryValues(String rawQuery, String name) {
+		List<String> values = new ArrayList<>();
+		if (rawQuery == null) {
+			return values;
+		}
+		for (String parameter : rawQuery.split("&")) {
+			int separator = parameter.indexOf('=');
+			if (separator > 0 && parameter.substring(0, separator).equals(name)) {
+				// Feign sends a list as repeated parameters; accept comma-joined values too
+				for (String value : URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8)
+					.split(",")) {
+					values.add(value);
+				}
+			}
+		}
+		return values;
+	}
+
+	@FunctionalInterface
+	private interface ResponseBody {
+
+		Object respond(HttpExchange exchange) throws IOException;
+
+	}
+
+}
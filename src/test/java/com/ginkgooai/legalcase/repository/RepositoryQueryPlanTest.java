@@ -0,0 +1,292 @@
+package com.ginkgooai.legalcase.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the composite indexes added for the event log and document queries. Each test
+ * explains the SQL Hibernate generates for a repository method against an embedded
+ * Postgres migrated with the real Flyway scripts and asserts that the planner picks the
+ * intended index.
+ */
+@Tag("embedded-postgres")
+class RepositoryQueryPlanTest {
+
+	private static final String SCHEMA = "legalcase";
+
+	private static final String CASE_ID = "00000000-0000-0000-0000-000000000001";
+
+	private static EmbeddedPostgres postgres;
+
+	private static DataSource dataSource;
+
+	@BeforeAll
+	static void startDatabase() throws Exception {
+		postgres = EmbeddedPostgres.builder().start();
+		dataSource = postgres.getPostgresDatabase();
+
+		Flyway.configure()
+			.dataSource(dataSource)
+			.schemas(SCHEMA)
+			.locations("classpath:db/migration")
+			.table("flyway_profile_history")
+			.load()
+			.migrate();
+
+		seed();
+	}
+
+	@AfterAll
+	static void stopDatabase() throws Exception {
+		if (postgres != null) {
+			postgres.close();
+		}
+	}
+
+	@Test
+	void findLastEventTimeByTypeAndCaseId_shouldUseCaseTypeOccurredIndex() throws Exception {
+		String plan = explain("SELECT MAX(el.occurred_at) FROM event_logs el "
+				+ "WHERE el.case_id = '" + CASE_ID + "' AND el.event_type = 'LlmAnalysisInitiatedEvent'");
+
+		assertIndexScan(plan, "idx_event_logs_case_type_occurred");
+	}
+
+	@Test
+	void findByLegalCaseIdAndEventTypeOrderByOccurredAtAsc_shouldUseCaseTypeOccurredIndex() throws Exception {
+		String plan = explain("SELECT el.* FROM event_logs el WHERE el.case_id = '" + CASE_ID
+				+ "' AND el.event_type = 'FormValueRecordedEvent' ORDER BY el.occurred_at");
+
+		assertIndexScan(plan, "idx_event_logs_case_type_occurred");
+		assertThat(plan).doesNotContain("Sort");
+	}
+
+	@Test
+	void findByLegalCaseIdOrderByOccurredAtAsc_shouldUseCaseOccurredIndex() throws Exception {
+		String plan = explain(
+				"SELECT el.* FROM event_logs el WHERE el.case_id = '" + CASE_ID + "' ORDER BY el.occurred_at");
+
+		assertIndexScan(plan, "idx_event_logs_case_occurred");
+		assertThat(plan).doesNotContain("Sort");
+	}
+
+	@Test
+	void findByCaseIdAndStorageId_shouldUsePartialCaseStorageIndex() throws Exception {
+		String plan = explain("SELECT d.* FROM case_documents d WHERE d.case_id = '" + CASE_ID
+				+ "' AND d.storage_id = 'storage-7' AND d.deleted = false");
+
+		assertIndexScan(plan, "idx_case_documents_case_storage");
+	}
+
+	@Test
+	void countByCaseIdsGroupByStatus_shouldUseCaseStatusIndex() throws Exception {
+		String plan = explain("SELECT d.case_id, d.status, COUNT(d.id) FROM case_documents d WHERE d.case_id IN ('"
+				+ CASE_ID + "') AND d.deleted = false GROUP BY d.case_id, d.status");
+
+		assertIndexScan(plan, "idx_case_documents_case_status");
+	}
+
+	@Test
+	void searchRanked_shouldUseFullTextIndex() throws Exception {
+		String plan = explain("SELECT lc.id FROM legal_cases lc WHERE lc.deleted = false "
+				+ "AND lc.search_vector @@ websearch_to_tsquery('simple', 'Case')");
+
+		assertIndexScan(plan, "idx_legal_cases_search_vector");
+	}
+
+	@Test
+	void suggestByTitle_shouldUseNearestNeighbourTitleIndex() throws Exception {
+		String plan = explain("SELECT lc.id, lc.title FROM legal_cases lc WHERE lc.deleted = false "
+				+ "AND 'Cas' <% lc.title ORDER BY lc.title <->> 'Cas' LIMIT 10");
+
+		assertIndexScan(plan, "idx_legal_cases_title_trgm");
+		assertThat(plan).doesNotContain("Sort");
+	}
+
+	@Test
+	void searchByMetadataField_shouldUseMetadataIndex() throws Exception {
+		String plan = explain("SELECT d.id, d.updated_at FROM case_documents d WHERE d.deleted = false "
+				+ "AND d.metadata_json @> CAST('{\"passportNumber\": \"P7-3\"}' AS jsonb) "
+				+ "ORDER BY d.updated_at DESC, d.id DESC LIMIT 21");
+
+		assertIndexScan(plan, "idx_case_documents_metadata");
+	}
+
+	@Test
+	void searchByMetadataText_shouldUseMetadataSearchIndex() throws Exception {
+		String plan = explain("SELECT d.id, d.updated_at FROM case_documents d WHERE d.deleted = false "
+				+ "AND d.metadata_search @@ websearch_to_tsquery('simple', 'P7-3') "
+				+ "ORDER BY d.updated_at DESC, d.id DESC LIMIT 21");
+
+		assertIndexScan(plan, "idx_case_documents_metadata_search");
+	}
+
+	@Test
+	void scrollByProfileId_shouldReadPageInIndexOrder() throws Exception {
+		String plan = explain("SELECT lc.id FROM legal_cases lc WHERE lc.profile_id = 'profile-3' "
+				+ "AND lc.deleted = false ORDER BY lc.updated_at DESC, lc.id DESC LIMIT 21");
+
+		assertIndexScan(plan, "idx_legal_cases_profile_updated");
+		assertThat(plan).doesNotContain("Sort");
+	}
+
+	@Test
+	void scrollDocumentsByCaseId_shouldReadPageInIndexOrder() throws Exception {
+		String plan = explain("SELECT d.id FROM case_documents d WHERE d.case_id = '" + CASE_ID
+				+ "' AND d.deleted = false ORDER BY d.updated_at DESC, d.id DESC LIMIT 21");
+
+		assertIndexScan(plan, "idx_case_documents_case_updated");
+		assertThat(plan).doesNotContain("Sort");
+	}
+
+	@Test
+	void estimateRowCount_shouldReturnPlannerEstimate() throws Exception {
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			statement.execute("SET search_path TO " + SCHEMA);
+			try (ResultSet resultSet = statement.executeQuery(
+					"SELECT estimate_row_count('SELECT 1 FROM legal_cases WHERE profile_id = ''profile-3'' "
+							+ "AND deleted = false')")) {
+				resultSet.next();
+				assertThat(resultSet.getLong(1)).isBetween(1L, 200L);
+			}
+		}
+	}
+
+	@Test
+	void purgeDeletedBefore_shouldUsePurgeIndex() throws Exception {
+		String plan = explain("SELECT d.id FROM case_documents d WHERE d.deleted = true "
+				+ "AND d.deleted_at < LOCALTIMESTAMP ORDER BY d.deleted_at LIMIT 500");
+
+		assertIndexScan(plan, "idx_case_documents_purge");
+		assertThat(plan).doesNotContain("Sort");
+	}
+
+	@Test
+	void softDelete_shouldStampDeletedAt() throws Exception {
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			statement.execute("SET search_path TO " + SCHEMA);
+			statement.execute("INSERT INTO legal_cases (id, title, client_id, profile_id, status) "
+					+ "VALUES ('soft-delete-1', 'Soft delete', 'client-1', 'profile-1', 'DRAFT')");
+
+			statement.execute("UPDATE legal_cases SET deleted = true WHERE id = 'soft-delete-1'");
+			assertThat(deletedAt(statement, "soft-delete-1")).isNotNull();
+
+			statement.execute("UPDATE legal_cases SET deleted = false WHERE id = 'soft-delete-1'");
+			assertThat(deletedAt(statement, "soft-delete-1")).isNull();
+
+			statement.execute("DELETE FROM legal_cases WHERE id = 'soft-delete-1'");
+		}
+	}
+
+	private static Timestamp deletedAt(Statement statement, String caseId) throws Exception {
+		try (ResultSet resultSet = statement
+			.executeQuery("SELECT deleted_at FROM legal_cases WHERE id = '" + caseId + "'")) {
+			resultSet.next();
+			return resultSet.getTimestamp(1);
+		}
+	}
+
+	private static void assertIndexScan(String plan, String indexName) {
+		assertThat(plan).containsAnyOf("Index Only Scan", "Index Scan", "Bitmap Index Scan");
+		assertThat(plan).contains(indexName);
+	}
+
+	private static String explain(String sql) throws Exception {
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			statement.execute("SET search_path TO " + SCHEMA);
+			// The seed data is small enough for a sequential scan to win on cost alone
+			statement.execute("SET enable_seqscan = off");
+
+			StringBuilder plan = new StringBuilder();
+			try (ResultSet resultSet = statement.executeQuery("EXPLAIN " + sql)) {
+				while (resultSet.next()) {
+					plan.append(resultSet.getString(1)).append('\n');
+				}
+			}
+			return plan.toString();
+		}
+	}
+
+	private static void seed() throws Exception {
+		try (Connection connection = dataSource.getConnection()) {
+			connection.setAutoCommit(false);
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("SET search_path TO " + SCHEMA);
+			}
+
+			String[] eventTypes = { "CaseCreatedEvent", "DocumentCompletedEvent", "FormValueRecordedEvent",
+					"LlmAnalysisInitiatedEvent", "LlmAnalysisCompletedEvent" };
+
+			try (PreparedStatement insertCase = connection.prepareStatement(
+					"INSERT INTO legal_cases (id, title, client_id, profile_id, status) VALUES (?, ?, ?, ?, ?)");
+					PreparedStatement insertEvent = connection.prepareStatement(
+							"INSERT INTO event_logs (id, case_id, event_id, event_type, occurred_at, event_data) "
+									+ "VALUES (?, ?, ?, ?, ?, CAST('{}' AS jsonb))");
+					PreparedStatement insertDocument = connection.prepareStatement(
+							"INSERT INTO case_documents (id, title, file_path, storage_id, case_id, document_category, "
+									+ "deleted, metadata_json) "
+									+ "VALUES (?, ?, ?, ?, ?, 'CaseDocument', ?, CAST(? AS jsonb))")) {
+
+				LocalDateTime now = LocalDateTime.now();
+				for (int c = 0; c < 200; c++) {
+					String caseId = c == 0 ? CASE_ID : UUID.randomUUID().toString();
+					insertCase.setString(1, caseId);
+					insertCase.setString(2, "Case " + c);
+					insertCase.setString(3, "client-" + (c % 10));
+					insertCase.setString(4, "profile-" + (c % 20));
+					insertCase.setString(5, "DOCUMENTATION_IN_PROGRESS");
+					insertCase.addBatch();
+
+					for (int e = 0; e < 50; e++) {
+						insertEvent.setString(1, UUID.randomUUID().toString());
+						insertEvent.setString(2, caseId);
+						insertEvent.setString(3, UUID.randomUUID().toString());
+						insertEvent.setString(4, eventTypes[e % eventTypes.length]);
+						insertEvent.setTimestamp(5, Timestamp.valueOf(now.minusMinutes(e)));
+						insertEvent.addBatch();
+					}
+
+					for (int d = 0; d < 20; d++) {
+						insertDocument.setString(1, UUID.randomUUID().toString());
+						insertDocument.setString(2, "Document " + d);
+						insertDocument.setString(3, "https://storage.local/" + d);
+						insertDocument.setString(4, "storage-" + d);
+						insertDocument.setString(5, caseId);
+						insertDocument.setBoolean(6, d % 5 == 0);
+						insertDocument.setString(7, "{\"passportNumber\": \"P" + c + "-" + d
+								+ "\", \"nationality\": \"Country " + (c % 30) + "\"}");
+						insertDocument.addBatch();
+					}
+				}
+
+				insertCase.executeBatch();
+				insertEvent.executeBatch();
+				insertDocument.executeBatch();
+			}
+
+			connection.commit();
+
+			connection.setAutoCommit(true);
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("VACUUM ANALYZE legal_cases");
+				statement.execute("VACUUM ANALYZE event_logs");
+				statement.execute("VACUUM ANALYZE case_documents");
+			}
+		}
+	}
+
+}
@@ -9,6 +9,10 @@ import com.ginkgooai.legalcase.domain.SupportingDocument;
 import com.ginkgooai.legalcase.repository.LegalCaseRepository;
 import com.ginkgooai.legalcase.service.ai.DocumentAnalysisService;
 import com.ginkgooai.legalcase.service.event.DomainEventPublisherFactory;
+import com.ginkgooai.legalcase.service.retry.OptimisticRetryTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,6 +21,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.Answer;
 
@@ -29,6 +34,7 @@ import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -51,6 +57,15 @@ class CaseDocumentServiceTest {
 	@Mock
 	private DomainEventPublisherFactory eventPublisherFactory;
 
+	@Mock
+	private OptimisticRetryTemplate optimisticRetryTemplate;
+
+	@Spy
+	private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Spy
+	private Tracer tracer = Tracer.NOOP;
+
 	@InjectMocks
 	private CaseDocumentService documentService;
 
@@ -65,6 +80,12 @@ class CaseDocumentServiceTest {
 
 	@BeforeEach
 	void setUp() {
+		lenient().when(optimisticRetryTemplate.execute(anyString(), any()))
+			.thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+		lenient().doAnswer(invocation -> {
+			invocation.<Runnable>getArgument(1).run();
+			return null;
+		}).when(optimisticRetryTemplate).run(anyString(), any());
 		caseId = UUID.randomUUID().toString();
 		legalCase = new LegalCase();
 		legalCase.setId(caseId);
@@ -3,10 +3,20 @@ package com.ginkgooai.legalcase.service;
 import com.ginkgooai.legalcase.domain.CaseDocument;
 import com.ginkgooai.legalcase.domain.CaseStatus;
 import com.ginkgooai.legalcase.domain.LegalCase;
+import com.ginkgooai.legalcase.dto.CaseDocumentResponse;
+import com.ginkgooai.legalcase.dto.CursorPage;
 import com.ginkgooai.legalcase.dto.LegalCaseResponse;
+import com.ginkgooai.legalcase.dto.LegalCaseSummaryResponse;
 import com.ginkgooai.legalcase.dto.UpdateLegalCaseRequest;
+import com.ginkgooai.legalcase.repository.CaseDocumentRepository;
 import com.ginkgooai.legalcase.repository.LegalCaseRepository;
+import com.ginkgooai.legalcase.exception.InvalidCursorException;
+import com.ginkgooai.legalcase.repository.projection.CaseSearchHit;
+import com.ginkgooai.legalcase.repository.projection.DocumentStatusCount;
+import com.ginkgooai.legalcase.repository.projection.LegalCaseSummaryView;
+import com.ginkgooai.legalcase.service.cache.LegalCaseViewCache;
 import com.ginkgooai.legalcase.service.event.DomainEventPublisherFactory;
+import com.ginkgooai.legalcase.service.retry.OptimisticRetryTemplate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,10 +34,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,9 +49,18 @@ class CaseServiceTest {
 	@Mock
 	private LegalCaseRepository legalCaseRepository;
 
+	@Mock
+	private CaseDocumentRepository caseDocumentRepository;
+
 	@Mock
 	private DomainEventPublisherFactory eventPublisherFactory;
 
+	@Mock
+	private LegalCaseViewCache legalCaseViewCache;
+
+	@Mock
+	private OptimisticRetryTemplate optimisticRetryTemplate;
+
 	@InjectMocks
 	private CaseService caseService;
 
@@ -48,6 +70,8 @@ class CaseServiceTest {
 
 	@BeforeEach
 	void setUp() {
+		lenient().when(optimisticRetryTemplate.execute(anyString(), any()))
+			.thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
 		testCaseId = UUID.randomUUID().toString();
 		testLegalCase = LegalCase.builder()
 			.id(testCaseId)
@@ -173,6 +197,8 @@ class CaseServiceTest {
 	@Test
 	void getLegalCase_shouldReturnResponse_whenCaseExists() {
 		// Arrange
+		when(legalCaseViewCache.get(eq(testCaseId), any()))
+			.thenAnswer(invocation -> invocation.<Supplier<LegalCaseResponse>>getArgument(1).get());
 		when(legalCaseRepository.findById(testCaseId)).thenReturn(Optional.of(testLegalCase));
 
 		// Act
@@ -191,6 +217,8 @@ class CaseServiceTest {
 	@Test
 	void getLegalCase_shouldThrowException_whenCaseNotFound() {
 		// Arrange
+		when(legalCaseViewCache.get(eq(testCaseId), any()))
+			.thenAnswer(invocation -> invocation.<Supplier<LegalCaseResponse>>getArgument(1).get());
 		when(legalCaseRepository.findById(testCaseId)).thenReturn(Optional.empty());
 
 		// Act & Assert
@@ -291,66 +319,116 @@ class CaseServiceTest {
 	}
 
 	@Test
-	void getLegalCasesByProfileId_shouldReturnCases() {
+	void getLegalCasesByProfileId_shouldReturnSummariesWithStatusCounts() {
 		// Arrange
 		String profileId = "profile-1";
 		Pageable pageable = PageRequest.of(0, 10);
 
-		Page<LegalCase> cases = new PageImpl<>(List.of(testLegalCase));
+		Page<LegalCaseSummaryView> summaries = new PageImpl<>(List.of(summaryView()));
+		List<DocumentStatusCount> counts = List.of(statusCount(CaseDocument.DocumentStatus.COMPLETE, 3),
+				statusCount(CaseDocument.DocumentStatus.PENDING, 2));
 
-		when(legalCaseRepository.findByProfileId(profileId, pageable)).thenReturn(cases);
+		when(legalCaseRepository.findSummariesByProfileId(profileId, pageable)).thenReturn(summaries);
+		when(caseDocumentRepository.countByCaseIdsGroupByStatus(List.of(testCaseId))).thenReturn(counts);
 
 		// Act
-		Page<LegalCaseResponse> response = caseService.getLegalCasesByProfileId(profileId, pageable);
+		Page<LegalCaseSummaryResponse> response = caseService.getLegalCasesByProfileId(profileId, pageable, false);
 
 		// Assert
-		assertNotNull(response);
 		assertEquals(1, response.getTotalElements());
-		assertEquals(testCaseId, response.getContent().get(0).getId());
+		LegalCaseSummaryResponse summary = response.getContent().get(0);
+		assertEquals(testCaseId, summary.getId());
+		assertEquals(5, summary.getDocumentsCount());
+		assertEquals(3L, summary.getDocumentStatusCounts().get(CaseDocument.DocumentStatus.COMPLETE));
+		assertNull(summary.getDocuments());
 
-		verify(legalCaseRepository).findByProfileId(profileId, pageable);
+		verify(caseDocumentRepository, never()).findByCaseIdIn(any());
 	}
 
 	@Test
-	void getLegalCasesByClientId_shouldReturnCases() {
+	void getLegalCasesByClientId_withDocuments_shouldLoadDocumentsInOneQuery() {
 		// Arrange
 		String clientId = "client-1";
 		Pageable pageable = PageRequest.of(0, 10);
 
-		Page<LegalCase> cases = new PageImpl<>(List.of(testLegalCase));
+		CaseDocument document = new CaseDocument();
+		document.setId("doc-1");
+		document.setTitle("Passport");
+		document.setLegalCase(testLegalCase);
+
+		Page<LegalCaseSummaryView> summaries = new PageImpl<>(List.of(summaryView()));
+		List<DocumentStatusCount> counts = List.of(statusCount(CaseDocument.DocumentStatus.COMPLETE, 1));
 
-		when(legalCaseRepository.findByClientId(clientId, pageable)).thenReturn(cases);
+		when(legalCaseRepository.findSummariesByClientId(clientId, pageable)).thenReturn(summaries);
+		when(caseDocumentRepository.countByCaseIdsGroupByStatus(List.of(testCaseId))).thenReturn(counts);
+		when(caseDocumentRepository.findByCaseIdIn(List.of(testCaseId))).thenReturn(List.of(document));
 
 		// Act
-		Page<LegalCaseResponse> response = caseService.getLegalCasesByClientId(clientId, pageable);
+		Page<LegalCaseSummaryResponse> response = caseService.getLegalCasesByClientId(clientId, pageable, true);
 
 		// Assert
-		assertNotNull(response);
-		assertEquals(1, response.getTotalElements());
-		assertEquals(testCaseId, response.getContent().get(0).getId());
+		List<CaseDocumentResponse> documents = response.getContent().get(0).getDocuments();
+		assertEquals(1, documents.size());
+		assertEquals("doc-1", documents.get(0).getId());
 
-		verify(legalCaseRepository).findByClientId(clientId, pageable);
+		verify(caseDocumentRepository, times(1)).findByCaseIdIn(any());
 	}
 
 	@Test
-	void searchLegalCases_shouldReturnMatchingCases() {
+	void searchLegalCases_shouldKeepRankOrderAndReturnNextCursor() {
 		// Arrange
 		String searchTerm = "test";
-		Pageable pageable = PageRequest.of(0, 10);
-
-		Page<LegalCase> cases = new PageImpl<>(List.of(testLegalCase));
+		LegalCaseSummaryView view = summaryView();
+		CaseSearchHit first = searchHit(testCaseId, 0.9);
+		CaseSearchHit second = searchHit("other-case", 0.5);
 
-		when(legalCaseRepository.searchCases(searchTerm, pageable)).thenReturn(cases);
+		when(legalCaseRepository.searchRanked(searchTerm, null, null, 2)).thenReturn(List.of(first, second));
+		when(legalCaseRepository.findSummariesByIdIn(List.of(testCaseId))).thenReturn(List.of(view));
 
 		// Act
-		Page<LegalCaseResponse> response = caseService.searchLegalCases(searchTerm, pageable);
+		CursorPage<LegalCaseSummaryResponse> response = caseService.searchLegalCases(searchTerm, null, 1, false);
 
 		// Assert
-		assertNotNull(response);
-		assertEquals(1, response.getTotalElements());
+		assertEquals(1, response.getContent().size());
 		assertEquals(testCaseId, response.getContent().get(0).getId());
+		assertTrue(response.isHasNext());
+		assertNotNull(response.getNextCursor());
+
+		// The cursor resumes after the last returned row
+		when(legalCaseRepository.searchRanked(searchTerm, 0.9, testCaseId, 2)).thenReturn(List.of());
+		CursorPage<LegalCaseSummaryResponse> next = caseService.searchLegalCases(searchTerm,
+				response.getNextCursor(), 1, false);
+		assertTrue(next.getContent().isEmpty());
+		assertFalse(next.isHasNext());
+	}
+
+	@Test
+	void searchLegalCases_shouldRejectMalformedCursor() {
+		assertThrows(InvalidCursorException.class,
+				() -> caseService.searchLegalCases("test", "not a cursor", 10, false));
+	}
+
+	private LegalCaseSummaryView summaryView() {
+		LegalCaseSummaryView view = mock(LegalCaseSummaryView.class);
+		lenient().when(view.getId()).thenReturn(testCaseId);
+		lenient().when(view.getTitle()).thenReturn(testLegalCase.getTitle());
+		lenient().when(view.getStatus()).thenReturn(testLegalCase.getStatus());
+		return view;
+	}
+
+	private static CaseSearchHit searchHit(String id, double rank) {
+		CaseSearchHit hit = mock(CaseSearchHit.class);
+		when(hit.getId()).thenReturn(id);
+		lenient().when(hit.getRank()).thenReturn(rank);
+		return hit;
+	}
 
-		verify(legalCaseRepository).searchCases(searchTerm, pageable);
+	private DocumentStatusCount statusCount(CaseDocument.DocumentStatus status, long count) {
+		DocumentStatusCount row = mock(DocumentStatusCount.class);
+		when(row.getCaseId()).thenReturn(testCaseId);
+		when(row.getStatus()).thenReturn(status);
+		when(row.getDocumentCount()).thenReturn(count);
+		return row;
 	}
 
 	@Test
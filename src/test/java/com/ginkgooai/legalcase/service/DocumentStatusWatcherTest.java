@@ -0,0 +1,74 @@
+package com.ginkgooai.legalcase.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DocumentStatusWatcherTest {
+
+	private final List<Runnable> executed = new ArrayList<>();
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final DocumentStatusWatcher watcher = new DocumentStatusWatcher(executed::add, meterRegistry,
+			Duration.ofSeconds(30));
+
+	@Test
+	void documentsChanged_shouldCompleteWaitersOnExecutor() {
+		CompletableFuture<Void> change = watcher.watch("doc-1");
+		CompletableFuture<Void> other = watcher.watch("doc-2");
+
+		watcher.documentsChanged(Set.of("doc-1"));
+
+		// Handed to the executor, not completed on the calling listener thread
+		assertThat(change).isNotDone();
+		assertThat(executed).hasSize(1);
+		executed.forEach(Runnable::run);
+		assertThat(change).isCompleted();
+		assertThat(other).isNotDone();
+		assertThat(meterRegistry.get("legalcase.document-status.waiting").gauge().value()).isEqualTo(1);
+	}
+
+	@Test
+	void documentsChanged_whenExecutorSaturated_shouldLeaveWaiterToTimeOut() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		DocumentStatusWatcher saturated = new DocumentStatusWatcher(task -> {
+			throw new RejectedExecutionException("queue full");
+		}, registry, Duration.ofSeconds(30));
+		CompletableFuture<Void> change = saturated.watch("doc-1");
+		CompletableFuture<Void> other = saturated.watch("doc-2");
+
+		saturated.documentsChanged(List.of("doc-1", "doc-2"));
+
+		assertThat(change).isNotDone();
+		assertThat(other).isNotDone();
+		assertThat(registry.get("legalcase.document-status.dropped").counter().count()).isEqualTo(2);
+		assertThat(registry.get("legalcase.document-status.waiting").gauge().value()).isZero();
+	}
+
+	@Test
+	void unwatch_shouldStopWaitingForChanges() {
+		CompletableFuture<Void> change = watcher.watch("doc-1");
+		watcher.unwatch("doc-1", change);
+
+		watcher.documentsChanged(Set.of("doc-1"));
+
+		assertThat(executed).isEmpty();
+		assertThat(meterRegistry.get("legalcase.document-status.waiting").gauge().value()).isZero();
+	}
+
+	@Test
+	void clampWait_shouldLimitToMaximum() {
+		assertThat(watcher.clampWait(Duration.ofMinutes(5))).isEqualTo(Duration.ofSeconds(30));
+		assertThat(watcher.clampWait(Duration.ofSeconds(-1))).isZero();
+	}
+
+}
@@ -0,0 +1,100 @@
+package com.ginkgooai.legalcase.service;
+
+import com.ginkgooai.legalcase.service.retry.OptimisticRetryTemplate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LlmAnalysisTriggerTest {
+
+	private static final String CASE_ID = "case-1";
+
+	@Mock
+	private LlmAnalysisService llmAnalysisService;
+
+	@Mock
+	private TaskScheduler taskScheduler;
+
+	@Mock
+	private ScheduledFuture<Object> scheduledFuture;
+
+	@Mock
+	private OptimisticRetryTemplate optimisticRetryTemplate;
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private LlmAnalysisTrigger trigger;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		trigger = new LlmAnalysisTrigger(llmAnalysisService, taskScheduler, optimisticRetryTemplate, meterRegistry,
+				Duration.ofSeconds(30));
+		doReturn(scheduledFuture).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+		lenient().when(optimisticRetryTemplate.execute(anyString(), any()))
+			.thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+	}
+
+	@Test
+	void requestAnalysis_burstOfRequests_shouldRunSingleCheck() {
+		when(scheduledFuture.cancel(false)).thenReturn(true);
+		when(llmAnalysisService.checkAndTriggerAnalysis(CASE_ID)).thenReturn(true);
+
+		trigger.requestAnalysis(CASE_ID);
+		trigger.requestAnalysis(CASE_ID);
+		trigger.requestAnalysis(CASE_ID);
+
+		ArgumentCaptor<Runnable> tasks = ArgumentCaptor.forClass(Runnable.class);
+		verify(taskScheduler, times(3)).schedule(tasks.capture(), any(Instant.class));
+		List<Runnable> scheduled = tasks.getAllValues();
+
+		// Superseded tasks may still fire if cancellation lost the race; they must be no-ops
+		scheduled.forEach(Runnable::run);
+
+		verify(llmAnalysisService, times(1)).checkAndTriggerAnalysis(CASE_ID);
+		assertThat(count("debounced")).isEqualTo(2);
+		assertThat(count("executed")).isEqualTo(1);
+	}
+
+	@Test
+	void requestAnalysis_whenCheckFails_shouldCountFailureAndAllowNextRequest() {
+		when(llmAnalysisService.checkAndTriggerAnalysis(CASE_ID)).thenThrow(new IllegalStateException("boom"))
+			.thenReturn(false);
+
+		trigger.requestAnalysis(CASE_ID);
+		trigger.requestAnalysis(CASE_ID);
+
+		ArgumentCaptor<Runnable> tasks = ArgumentCaptor.forClass(Runnable.class);
+		verify(taskScheduler, times(2)).schedule(tasks.capture(), any(Instant.class));
+		tasks.getAllValues().get(1).run();
+
+		trigger.requestAnalysis(CASE_ID);
+		verify(taskScheduler, times(3)).schedule(tasks.capture(), any(Instant.class));
+		tasks.getValue().run();
+
+		assertThat(count("failed")).isEqualTo(1);
+		assertThat(count("skipped")).isEqualTo(1);
+	}
+
+	private double count(String outcome) {
+		return meterRegistry.get("legalcase.analysis.triggers").tag("outcome", outcome).counter().count();
+	}
+
+}
@@ -0,0 +1,288 @@
+package com.ginkgooai.legalcase.service.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ginkgooai.legalcase.client.ai.LlmAnalysisClient;
+import com.ginkgooai.legalcase.client.ai.dto.CaseAnalysisRequest;
+import com.ginkgooai.legalcase.client.ai.dto.CaseAnalysisResponse;
+import com.ginkgooai.legalcase.domain.CaseAnalysisResult;
+import com.ginkgooai.legalcase.domain.CaseAnalysisResult.AnalysisStatus;
+import com.ginkgooai.legalcase.domain.CaseDocument;
+import com.ginkgooai.legalcase.domain.CaseStatus;
+import com.ginkgooai.legalcase.domain.LegalCase;
+import com.ginkgooai.legalcase.repository.CaseAnalysisResultRepository;
+import com.ginkgooai.legalcase.repository.CaseDocumentRepository;
+import com.ginkgooai.legalcase.repository.LegalCaseRepository;
+import com.ginkgooai.legalcase.service.event.DomainEventPublisherFactory;
+import com.ginkgooai.legalcase.service.retry.OptimisticRetryTemplate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalApplicationListener;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LlmAnalysisEngineTest {
+
+	private static final String CASE_ID = "case-1";
+
+	@Mock
+	private LlmAnalysisClient llmAnalysisClient;
+
+	@Mock
+	private CaseDocumentRepository caseDocumentRepository;
+
+	@Mock
+	private CaseAnalysisResultRepository analysisResultRepository;
+
+	@Mock
+	private LegalCaseRepository legalCaseRepository;
+
+	@Mock
+	private DomainEventPublisherFactory eventPublisherFactory;
+
+	@Mock
+	private OptimisticRetryTemplate optimisticRetryTemplate;
+
+	@Mock
+	private TaskExecutor analysisExecutor;
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private LlmAnalysisEngine engine;
+
+	private LegalCase legalCase;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		engine = new LlmAnalysisEngine(llmAnalysisClient, caseDocumentRepository, analysisResultRepository,
+				legalCaseRepository, eventPublisherFactory, optimisticRetryTemplate, analysisExecutor, new ObjectMapper(),
+				meterRegistry);
+
+		legalCase = new LegalCase();
+		legalCase.setId(CASE_ID);
+		legalCase.setStatus(CaseStatus.ANALYZING);
+
+		lenient().when(optimisticRetryTemplate.execute(anyString(), any()))
+			.thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+		lenient().when(analysisResultRepository.save(any(CaseAnalysisResult.class)))
+			.thenAnswer(invocation -> invocation.getArgument(0));
+		lenient().when(legalCaseRepository.findById(CASE_ID)).thenReturn(Optional.of(legalCase));
+	}
+
+	@Test
+	void analyze_shouldSendCompletedDocumentsInOneRequestAndStoreResult() {
+		when(caseDocumentRepository.findByCaseIdAndStatus(CASE_ID, CaseDocument.DocumentStatus.COMPLETE))
+			.thenReturn(List.of(completedDocument("doc-1"), completedDocument("doc-2")));
+		when(llmAnalysisClient.analyzeCase(any())).thenReturn(new CaseAnalysisResponse("SUCCESS", null,
+				"Eligible for renewal", Map.of("residency", "confirmed"), List.of()));
+
+		CaseAnalysisResult result = engine.analyze(CASE_ID, "document_analysis");
+
+		ArgumentCaptor<CaseAnalysisRequest> request = ArgumentCaptor.forClass(CaseAnalysisRequest.class);
+		verify(llmAnalysisClient, times(1)).analyzeCase(request.capture());
+		assertThat(request.getValue().getDocuments()).hasSize(2);
+		assertThat(request.getValue().getDocuments().get(0).getMetadata()).containsEntry("passportNumber", "X123");
+
+		assertThat(result.getStatus()).isEqualTo(AnalysisStatus.SUCCEEDED);
+		assertThat(result.getDocumentCount()).isEqualTo(2);
+		assertThat(result.getResultJson()).contains("residency");
+		assertThat(legalCase.getStatus()).isEqualTo(CaseStatus.DOCUMENTATION_IN_PROGRESS);
+		verify(eventPublisherFactory).publishEvents(legalCase);
+		assertThat(meterRegistry.get("legalcase.analysis.duration").tag("outcome", "succeeded").timer().count())
+			.isEqualTo(1);
+	}
+
+	@Test
+	void analyze_whenAiServiceTimesOut_shouldRecordTimeoutAndReleaseCase() {
+		when(caseDocumentRepository.findByCaseIdAndStatus(CASE_ID, CaseDocument.DocumentStatus.COMPLETE))
+			.thenReturn(List.of(completedDocument("doc-1")));
+		when(llmAnalysisClient.analyzeCase(any()))
+			.thenThrow(new RuntimeException("Read timed out", new SocketTimeoutException("Read timed out")));
+
+		CaseAnalysisResult result = engine.analyze(CASE_ID, "document_analysis");
+
+		assertThat(result.getStatus()).isEqualTo(AnalysisStatus.TIMED_OUT);
+		assertThat(legalCase.getStatus()).isNotEqualTo(CaseStatus.ANALYZING);
+	}
+
+	@Test
+	void analyze_whenCaseLeftAnalyzing_shouldKeepCaseStatus() {
+		legalCase.setStatus(CaseStatus.ON_HOLD);
+		when(caseDocumentRepository.findByCaseIdAndStatus(CASE_ID, CaseDocument.DocumentStatus.COMPLETE))
+			.thenReturn(List.of(completedDocument("doc-1")));
+		when(llmAnalysisClient.analyzeCase(any()))
+			.thenReturn(new CaseAnalysisResponse("SUCCESS", null, "ok", Map.of(), List.of()));
+
+		engine.analyze(CASE_ID, "document_analysis");
+
+		assertThat(legalCase.getStatus()).isEqualTo(CaseStatus.ON_HOLD);
+		verify(analysisResultRepository).save(any(CaseAnalysisResult.class));
+		verify(legalCaseRepository, never()).save(any());
+	}
+
+	@Test
+	void submit_whenExecutorIsSaturated_shouldRecordRejection() {
+		doThrow(new TaskRejectedException("queue full")).when(analysisExecutor).execute(any(Runnable.class));
+
+		engine.submit(CASE_ID, "document_analysis");
+
+		ArgumentCaptor<CaseAnalysisResult> saved = ArgumentCaptor.forClass(CaseAnalysisResult.class);
+		verify(analysisResultRepository).save(saved.capture());
+		assertThat(saved.getValue().getStatus()).isEqualTo(AnalysisStatus.REJECTED);
+		assertThat(legalCase.getStatus()).isNotEqualTo(CaseStatus.ANALYZING);
+		verifyNoInteractions(llmAnalysisClient);
+	}
+
+	@Test
+	void submit_whenRejectedInAfterCommitListener_shouldStoreRejectionInNewTransaction() {
+		doThrow(new TaskRejectedException("queue full")).when(analysisExecutor).execute(any(Runnable.class));
+		BoundResourceTransactionManager transactionManager = new BoundResourceTransactionManager();
+		engine = new LlmAnalysisEngine(llmAnalysisClient, caseDocumentRepository, analysisResultRepository,
+				legalCaseRepository, eventPublisherFactory,
+				new OptimisticRetryTemplate(transactionManager, meterRegistry, 3, Duration.ZERO, Duration.ZERO),
+				analysisExecutor, new ObjectMapper(), meterRegistry);
+		List<Boolean> savedInLiveTransaction = new ArrayList<>();
+		when(analysisResultRepository.save(any(CaseAnalysisResult.class))).thenAnswer(invocation -> {
+			savedInLiveTransaction.add(TransactionSynchronizationManager.isSynchronizationActive());
+			return invocation.getArgument(0);
+		});
+		TransactionalApplicationListener<PayloadApplicationEvent<String>> listener = TransactionalApplicationListener
+			.forPayload(TransactionPhase.AFTER_COMMIT, (String caseId) -> engine.submit(caseId, "document_analysis"));
+
+		new TransactionTemplate(transactionManager)
+			.executeWithoutResult(status -> listener.onApplicationEvent(new PayloadApplicationEvent<>(this, CASE_ID)));
+
+		// The initiating transaction has committed; the rejection needs one of its own
+		assertThat(savedInLiveTransaction).containsExactly(true);
+		assertThat(transactionManager.commits).isEqualTo(2);
+		assertThat(legalCase.getStatus()).isNotEqualTo(CaseStatus.ANALYZING);
+		verify(eventPublisherFactory).publishEvents(legalCase);
+	}
+
+	@Test
+	void releaseStuck_shouldRecordTimeoutAndReleaseCase() {
+		legalCase.setLastAnalysisAt(LocalDateTime.now().minusHours(2));
+
+		assertThat(engine.releaseStuck(CASE_ID, LocalDateTime.now().minusMinutes(30))).isTrue();
+
+		ArgumentCaptor<CaseAnalysisResult> saved = ArgumentCaptor.forClass(CaseAnalysisResult.class);
+		verify(analysisResultRepository).save(saved.capture());
+		assertThat(saved.getValue().getStatus()).isEqualTo(AnalysisStatus.TIMED_OUT);
+		assertThat(legalCase.getStatus()).isNotEqualTo(CaseStatus.ANALYZING);
+		verify(eventPublisherFactory).publishEvents(legalCase);
+		assertThat(meterRegistry.get("legalcase.analysis.released").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void releaseStuck_whenAnalysisRestartedSinceLookup_shouldLeaveCase() {
+		legalCase.setLastAnalysisAt(LocalDateTime.now().minusMinutes(1));
+
+		assertThat(engine.releaseStuck(CASE_ID, LocalDateTime.now().minusMinutes(30))).isFalse();
+
+		assertThat(legalCase.getStatus()).isEqualTo(CaseStatus.ANALYZING);
+		verifyNoInteractions(analysisResultRepository);
+	}
+
+	@Test
+	void releaseStuck_whenCaseAlreadyLeftAnalyzing_shouldDoNothing() {
+		legalCase.setStatus(CaseStatus.ON_HOLD);
+		legalCase.setLastAnalysisAt(LocalDateTime.now().minusHours(2));
+
+		assertThat(engine.releaseStuck(CASE_ID, LocalDateTime.now().minusMinutes(30))).isFalse();
+
+		verifyNoInteractions(analysisResultRepository);
+		verify(legalCaseRepository, never()).save(any());
+	}
+
+	/**
+	 * Binds a resource for each transaction and keeps it bound until cleanup, as the JPA
+	 * transaction manager does, so code running after completion still sees it
+	 */
+	private static final class BoundResourceTransactionManager extends AbstractPlatformTransactionManager {
+
+		private final Object resourceKey = new Object();
+
+		private int commits;
+
+		@Override
+		protected Object doGetTransaction() {
+			return new Object[] { TransactionSynchronizationManager.getResource(resourceKey) };
+		}
+
+		@Override
+		protected boolean isExistingTransaction(Object transaction) {
+			return ((Object[]) transaction)[0] != null;
+		}
+
+		@Override
+		protected void doBegin(Object transaction, TransactionDefinition definition) {
+			((Object[]) transaction)[0] = new Object();
+			TransactionSynchronizationManager.bindResource(resourceKey, ((Object[]) transaction)[0]);
+		}
+
+		@Override
+		protected Object doSuspend(Object transaction) {
+			((Object[]) transaction)[0] = null;
+			return TransactionSynchronizationManager.unbindResource(resourceKey);
+		}
+
+		@Override
+		protected void doResume(Object transaction, Object suspendedResources) {
+			TransactionSynchronizationManager.bindResource(resourceKey, suspendedResources);
+		}
+
+		@Override
+		protected void doCommit(DefaultTransactionStatus status) {
+			commits++;
+		}
+
+		@Override
+		protected void doRollback(DefaultTransactionStatus status) {
+		}
+
+		@Override
+		protected void doCleanupAfterCompletion(Object transaction) {
+			TransactionSynchronizationManager.unbindResourceIfPossible(resourceKey);
+		}
+
+	}
+
+	private static CaseDocument completedDocument(String id) {
+		CaseDocument document = new CaseDocument();
+		document.setId(id);
+		document.setTitle("Passport");
+		document.setDocumentType(CaseDocument.DocumentType.IDENTITY);
+		document.setDocumentCategory(CaseDocument.DocumentCategory.PROFILE);
+		document.setStatus(CaseDocument.DocumentStatus.COMPLETE);
+		document.setMetadataJson("{\"passportNumber\":\"X123\"}");
+		return document;
+	}
+
+}
@@ -0,0 +1,66 @@
+package com.ginkgooai.legalcase.service.ai;
+
+import com.ginkgooai.legalcase.repository.LegalCaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LlmAnalysisRecoveryJobTest {
+
+	@Mock
+	private LegalCaseRepository legalCaseRepository;
+
+	@Mock
+	private LlmAnalysisEngine llmAnalysisEngine;
+
+	private LlmAnalysisRecoveryJob job;
+
+	@BeforeEach
+	void setUp() {
+		job = new LlmAnalysisRecoveryJob(legalCaseRepository, llmAnalysisEngine, Duration.ofMinutes(30), 100);
+	}
+
+	@Test
+	void recover_shouldReleaseCasesAnalyzingLongerThanStuckAfter() {
+		when(legalCaseRepository.findAnalyzingSince(any(), eq(100))).thenReturn(List.of("case-1", "case-2"));
+		when(llmAnalysisEngine.releaseStuck(eq("case-1"), any())).thenReturn(true);
+		when(llmAnalysisEngine.releaseStuck(eq("case-2"), any())).thenThrow(new IllegalStateException("conflict"));
+
+		job.recover();
+
+		ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+		verify(legalCaseRepository).findAnalyzingSince(cutoff.capture(), eq(100));
+		assertThat(cutoff.getValue()).isCloseTo(LocalDateTime.now().minusMinutes(30),
+				within(5, ChronoUnit.SECONDS));
+		// A failure on one case does not stop the others
+		verify(llmAnalysisEngine).releaseStuck("case-1", cutoff.getValue());
+		verify(llmAnalysisEngine).releaseStuck("case-2", cutoff.getValue());
+	}
+
+	@Test
+	void recover_whenDatabaseUnavailable_shouldSkipRun() {
+		when(legalCaseRepository.findAnalyzingSince(any(), anyInt()))
+			.thenThrow(new DataAccessResourceFailureException("down"));
+
+		job.recover();
+
+		verifyNoInteractions(llmAnalysisEngine);
+	}
+
+}
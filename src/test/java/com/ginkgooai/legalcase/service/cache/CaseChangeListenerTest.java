@@ -0,0 +1,69 @@
+package com.ginkgooai.legalcase.service.cache;
+
+import com.ginkgooai.legalcase.domain.CaseDocument;
+import com.ginkgooai.legalcase.domain.LegalCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class CaseChangeListenerTest {
+
+	@Mock
+	private LegalCaseViewCache legalCaseViewCache;
+
+	@Mock
+	private DocumentCacheInvalidator documentCacheInvalidator;
+
+	private CaseChangeListener listener;
+
+	@BeforeEach
+	void setUp() {
+		StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(
+				Map.of("legalCaseViewCache", legalCaseViewCache, "documentCacheInvalidator", documentCacheInvalidator));
+		listener = new CaseChangeListener(beanFactory.getBeanProvider(LegalCaseViewCache.class),
+				beanFactory.getBeanProvider(DocumentCacheInvalidator.class));
+	}
+
+	@Test
+	void written_shouldInvalidateViewOfWrittenCase() {
+		LegalCase legalCase = new LegalCase();
+		legalCase.setId("case-1");
+
+		listener.written(legalCase);
+
+		verify(legalCaseViewCache).invalidate("case-1");
+		verifyNoInteractions(documentCacheInvalidator);
+	}
+
+	@Test
+	void written_shouldInvalidateViewAndCachedDocumentsOfDocumentCase() {
+		LegalCase legalCase = new LegalCase();
+		legalCase.setId("case-1");
+		CaseDocument document = new CaseDocument();
+		document.setId("doc-1");
+		document.setLegalCase(legalCase);
+
+		listener.written(document);
+
+		verify(legalCaseViewCache).invalidate("case-1");
+		verify(documentCacheInvalidator).invalidate("case-1", List.of("doc-1"));
+	}
+
+	@Test
+	void written_whenDocumentHasNoCase_shouldDoNothing() {
+		listener.written(new CaseDocument());
+
+		verifyNoInteractions(legalCaseViewCache, documentCacheInvalidator);
+	}
+
+}
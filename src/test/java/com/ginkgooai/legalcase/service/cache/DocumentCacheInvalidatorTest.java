@@ -0,0 +1,125 @@
+package com.ginkgooai.legalcase.service.cache;
+
+import com.ginkgooai.legalcase.domain.CaseDocument;
+import com.ginkgooai.legalcase.service.DocumentStatusWatcher;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentCacheInvalidatorTest {
+
+	@Mock
+	private StringRedisTemplate redisTemplate;
+
+	@Mock
+	private EntityManagerFactory entityManagerFactory;
+
+	@Mock
+	private SessionFactory sessionFactory;
+
+	@Mock
+	private Cache cache;
+
+	@Mock
+	private RedisMessageListenerContainer listenerContainer;
+
+	@Mock
+	private DocumentStatusWatcher documentStatusWatcher;
+
+	private DocumentCacheInvalidator invalidator;
+
+	@BeforeEach
+	void setUp() {
+		when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+		lenient().when(sessionFactory.getCache()).thenReturn(cache);
+		invalidator = new DocumentCacheInvalidator(redisTemplate, entityManagerFactory, listenerContainer,
+				documentStatusWatcher);
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void invalidate_insideTransaction_shouldBroadcastAfterCommit() {
+		TransactionSynchronizationManager.initSynchronization();
+
+		invalidator.invalidate("case-1", List.of("doc-1", "doc-2"));
+		verifyNoInteractions(redisTemplate);
+
+		TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		verify(redisTemplate).convertAndSend(DocumentCacheInvalidator.CHANNEL, "case-1:doc-1,doc-2");
+	}
+
+	@Test
+	void invalidate_insideTransaction_shouldBroadcastOnceForEachWrittenCase() {
+		TransactionSynchronizationManager.initSynchronization();
+
+		invalidator.invalidate("case-1", List.of("doc-1"));
+		invalidator.invalidate("case-1", List.of("doc-2"));
+		invalidator.invalidate("case-1", List.of("doc-1"));
+		invalidator.invalidate("case-2", List.of("doc-3"));
+
+		TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		verify(redisTemplate).convertAndSend(DocumentCacheInvalidator.CHANNEL, "case-1:doc-1,doc-2");
+		verify(redisTemplate).convertAndSend(DocumentCacheInvalidator.CHANNEL, "case-2:doc-3");
+		verifyNoMoreInteractions(redisTemplate);
+	}
+
+	@Test
+	void onMessage_shouldEvictDocumentsAndCollection() {
+		invalidator.onMessage(message("case-1:doc-1,doc-2"), null);
+
+		verify(cache).evictCollectionData("com.ginkgooai.legalcase.domain.LegalCase.documents", "case-1");
+		verify(cache).evictEntityData(CaseDocument.class, "doc-1");
+		verify(cache).evictEntityData(CaseDocument.class, "doc-2");
+	}
+
+	@Test
+	void onMessage_shouldReleaseWaitingRequestsAfterEviction() {
+		invalidator.onMessage(message("case-1:doc-1"), null);
+
+		InOrder inOrder = inOrder(cache, documentStatusWatcher);
+		inOrder.verify(cache).evictEntityData(CaseDocument.class, "doc-1");
+		inOrder.verify(documentStatusWatcher).documentsChanged(List.of("doc-1"));
+	}
+
+	@Test
+	void invalidate_whenRedisUnavailable_shouldEvictLocally() {
+		when(redisTemplate.convertAndSend(anyString(), any())).thenThrow(new IllegalStateException("down"));
+
+		invalidator.invalidate("case-1", List.of());
+
+		verify(cache).evictCollectionData("com.ginkgooai.legalcase.domain.LegalCase.documents", "case-1");
+		verify(cache, never()).evictEntityData(any(Class.class), any());
+	}
+
+	private static DefaultMessage message(String body) {
+		return new DefaultMessage(DocumentCacheInvalidator.CHANNEL.getBytes(StandardCharsets.UTF_8),
+				body.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
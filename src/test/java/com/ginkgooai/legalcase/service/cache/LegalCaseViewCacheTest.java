@@ -0,0 +1,148 @@
+package com.ginkgooai.legalcase.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ginkgooai.legalcase.dto.LegalCaseResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class LegalCaseViewCacheTest {
+
+	private static final String CASE_ID = "case-1";
+
+	@Mock
+	private StringRedisTemplate redisTemplate;
+
+	@Mock
+	private ValueOperations<String, String> valueOperations;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final AtomicInteger loads = new AtomicInteger();
+
+	private LegalCaseViewCache cache;
+
+	@BeforeEach
+	void setUp() {
+		when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+		when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+		when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+		cache = new LegalCaseViewCache(redisTemplate, new ObjectMapper(), transactionManager, meterRegistry, true,
+				100, Duration.ofMinutes(10), Duration.ofMinutes(30));
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		TransactionSynchronizationManager.setActualTransactionActive(false);
+	}
+
+	@Test
+	void get_insideWriteTransaction_shouldBypassCache() {
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		TransactionSynchronizationManager.initSynchronization();
+
+		cache.get(CASE_ID, loader());
+		cache.get(CASE_ID, loader());
+
+		assertThat(loads).hasValue(2);
+		assertThat(requests("bypass")).isEqualTo(2);
+	}
+
+	@Test
+	void get_afterWriteTransactionCompleted_shouldReadThroughCache() {
+		// State of after-completion callbacks: the committed transaction is still bound,
+		// its synchronization is not
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+
+		cache.get(CASE_ID, loader());
+		cache.get(CASE_ID, loader());
+
+		assertThat(loads).hasValue(1);
+		assertThat(requests("miss")).isEqualTo(1);
+		assertThat(requests("local_hit")).isEqualTo(1);
+	}
+
+	@Test
+	void invalidate_insideTransaction_shouldBumpEachWrittenCaseOnceAfterCommit() {
+		TransactionSynchronizationManager.initSynchronization();
+
+		// A case and two of its documents written in one transaction
+		cache.invalidate(CASE_ID);
+		cache.invalidate(CASE_ID);
+		cache.invalidate(CASE_ID);
+		cache.invalidate("case-2");
+		verify(valueOperations, never()).increment(any());
+
+		TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		verify(valueOperations, times(1)).increment("legalcase:case-view:" + CASE_ID + ":version");
+		verify(valueOperations, times(1)).increment("legalcase:case-view:case-2:version");
+	}
+
+	@Test
+	void invalidate_shouldExpireVersionKeyAfterViews() {
+		cache.invalidate(CASE_ID);
+
+		String versionKey = "legalcase:case-view:" + CASE_ID + ":version";
+		verify(valueOperations).increment(versionKey);
+		verify(redisTemplate).expire(versionKey, Duration.ofMinutes(60));
+	}
+
+	@Test
+	void get_whenVersionKeyMissing_shouldStartVersionAtCurrentTime() {
+		long before = System.currentTimeMillis();
+
+		cache.get(CASE_ID, loader());
+
+		// Not 0, under which a view from before the key expired could still be stored
+		ArgumentCaptor<String> viewKey = ArgumentCaptor.forClass(String.class);
+		verify(valueOperations).set(viewKey.capture(), anyString(), eq(Duration.ofMinutes(30)));
+		assertThat(Long.parseLong(viewKey.getValue().substring(viewKey.getValue().lastIndexOf(":v") + 2)))
+			.isGreaterThanOrEqualTo(before);
+	}
+
+	private Supplier<LegalCaseResponse> loader() {
+		return () -> {
+			loads.incrementAndGet();
+			return LegalCaseResponse.builder().id(CASE_ID).title("Visa renewal").build();
+		};
+	}
+
+	private double requests(String result) {
+		return meterRegistry.get("legalcase.case-view.requests").tag("result", result).counter().count();
+	}
+
+}
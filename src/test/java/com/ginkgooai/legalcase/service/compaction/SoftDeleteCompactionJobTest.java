@@ -0,0 +1,80 @@
+package com.ginkgooai.legalcase.service.compaction;
+
+import com.ginkgooai.legalcase.repository.CaseDocumentRepository;
+import com.ginkgooai.legalcase.repository.LegalCaseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SoftDeleteCompactionJobTest {
+
+	private static final int BATCH_SIZE = 100;
+
+	@Mock
+	private CaseDocumentRepository caseDocumentRepository;
+
+	@Mock
+	private LegalCaseRepository legalCaseRepository;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private SoftDeleteCompactionJob job;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+		job = new SoftDeleteCompactionJob(caseDocumentRepository, legalCaseRepository, transactionManager,
+				meterRegistry, Duration.ofDays(30), BATCH_SIZE, 3);
+	}
+
+	@Test
+	void compact_shouldPurgeInBatchesUntilShortBatch() {
+		when(caseDocumentRepository.purgeDeletedBefore(any(), eq(BATCH_SIZE))).thenReturn(BATCH_SIZE, 40);
+		when(legalCaseRepository.purgeDeletedBefore(any(), eq(BATCH_SIZE))).thenReturn(7);
+
+		job.compact();
+
+		ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+		verify(caseDocumentRepository, times(2)).purgeDeletedBefore(cutoff.capture(), eq(BATCH_SIZE));
+		assertThat(cutoff.getValue()).isBefore(LocalDateTime.now().minusDays(29));
+		verify(legalCaseRepository, times(1)).purgeDeletedBefore(any(), eq(BATCH_SIZE));
+		verify(transactionManager, times(3)).commit(any());
+		assertThat(purged("case_documents")).isEqualTo(140);
+		assertThat(purged("legal_cases")).isEqualTo(7);
+	}
+
+	@Test
+	void compact_shouldStopAfterMaxBatchesPerRun() {
+		when(caseDocumentRepository.purgeDeletedBefore(any(), anyInt())).thenReturn(BATCH_SIZE);
+
+		job.compact();
+
+		verify(caseDocumentRepository, times(3)).purgeDeletedBefore(any(), anyInt());
+		assertThat(purged("case_documents")).isEqualTo(3 * BATCH_SIZE);
+	}
+
+	private double purged(String table) {
+		return meterRegistry.get("legalcase.soft-delete.purged").tag("table", table).counter().count();
+	}
+
+}
@@ -0,0 +1,126 @@
+package com.ginkgooai.legalcase.service.impl;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ginkgooai.legalcase.domain.LegalCase;
+import com.ginkgooai.legalcase.domain.event.CaseEvents.FormValueRecordedEvent;
+import com.ginkgooai.legalcase.domain.event.EventLog;
+import com.ginkgooai.legalcase.dto.FormValueRecordDTO;
+import com.ginkgooai.legalcase.domain.event.EventPublisher;
+import com.ginkgooai.legalcase.repository.EventLogRepository;
+import com.ginkgooai.legalcase.repository.LegalCaseRepository;
+import com.ginkgooai.legalcase.service.retry.OptimisticRetryTemplate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FormValueRecordServiceImplTest {
+
+	private static final String CASE_ID = "case-1";
+
+	@Mock
+	private LegalCaseRepository legalCaseRepository;
+
+	@Mock
+	private EventLogRepository eventLogRepository;
+
+	@Mock
+	private EventPublisher eventPublisher;
+
+	@Mock
+	private ObjectMapper objectMapper;
+
+	@Mock
+	private OptimisticRetryTemplate optimisticRetryTemplate;
+
+	private FormValueRecordServiceImpl service;
+
+	private LegalCase legalCase;
+
+	@BeforeEach
+	void setUp() {
+		service = new FormValueRecordServiceImpl(legalCaseRepository, eventLogRepository, eventPublisher, objectMapper,
+				optimisticRetryTemplate, new SimpleMeterRegistry());
+		legalCase = new LegalCase();
+		legalCase.setId(CASE_ID);
+	}
+
+	@Test
+	void replayFormValueRecords_shouldCarryFormFieldsAndGroupByFormAndPage() throws Exception {
+		when(legalCaseRepository.existsById(CASE_ID)).thenReturn(true);
+		when(eventLogRepository.findByLegalCaseIdOrderByOccurredAtAsc(CASE_ID))
+			.thenReturn(List.of(eventLog("e1", "page-values"), eventLog("e2", "first-name"),
+					eventLog("e3", "status-change"), eventLog("e4", "second-name"), eventLog("e5", "unreadable")));
+		when(objectMapper.readValue("page-values", FormValueRecordedEvent.class)).thenReturn(new FormValueRecordedEvent(
+				CASE_ID, "form-1", "Visa", "page-1", "Applicant", Map.of("name", "Ada")));
+		when(objectMapper.readValue("first-name", FormValueRecordedEvent.class)).thenReturn(new FormValueRecordedEvent(
+				CASE_ID, "form-1", "Visa", "page-1", "Applicant", "name", "text", "Ada", null));
+		// Another event of the case: no form named
+		when(objectMapper.readValue("status-change", FormValueRecordedEvent.class))
+			.thenReturn(new FormValueRecordedEvent(CASE_ID, null, null, null, null, null));
+		// Input recorded without a page
+		when(objectMapper.readValue("second-name", FormValueRecordedEvent.class)).thenReturn(new FormValueRecordedEvent(
+				CASE_ID, "form-1", "Visa", null, null, "name", "text", "Ada Lovelace", null));
+		when(objectMapper.readValue("unreadable", FormValueRecordedEvent.class))
+			.thenThrow(new JsonParseException(null, "not a form value event"));
+
+		Map<String, Object> replay = service.replayFormValueRecords(CASE_ID, "form-1");
+
+		@SuppressWarnings("unchecked")
+		Map<String, Map<String, List<FormValueRecordDTO>>> forms =
+				(Map<String, Map<String, List<FormValueRecordDTO>>>) replay.get("forms");
+		assertThat(forms).containsOnlyKeys("form-1");
+		assertThat(forms.get("form-1")).containsOnlyKeys("page-1");
+		List<FormValueRecordDTO> pageRecords = forms.get("form-1").get("page-1");
+		assertThat(pageRecords).extracting(FormValueRecordDTO::getId).containsExactly("e1", "e2");
+		assertThat(pageRecords.get(1)).satisfies(record -> {
+			assertThat(record.getFormId()).isEqualTo("form-1");
+			assertThat(record.getFormName()).isEqualTo("Visa");
+			assertThat(record.getPageId()).isEqualTo("page-1");
+			assertThat(record.getPageName()).isEqualTo("Applicant");
+			assertThat(record.getInputId()).isEqualTo("name");
+			assertThat(record.getInputType()).isEqualTo("text");
+			assertThat(record.getInputValue()).isEqualTo("Ada");
+		});
+
+		// The latest value of each input, including inputs recorded without a page
+		assertThat(replay.get("inputs")).isEqualTo(Map.of("form-1", Map.of("name", "Ada Lovelace")));
+	}
+
+	@Test
+	void groupForReplay_shouldSkipRecordsWithoutFormOrPage() {
+		List<FormValueRecordDTO> records = List.of(
+				FormValueRecordDTO.builder().id("r1").formId("form-1").pageId("page-1").build(),
+				FormValueRecordDTO.builder().id("r2").build(),
+				FormValueRecordDTO.builder().id("r3").pageId("page-1").inputId("name").inputValue("x").build(),
+				FormValueRecordDTO.builder().id("r4").formId("form-1").inputId("name").inputValue("y").build());
+
+		Map<String, Object> replay = FormValueRecordServiceImpl.groupForReplay(records);
+
+		assertThat(replay.get("forms")).isEqualTo(Map.of("form-1", Map.of("page-1", List.of(records.get(0)))));
+		assertThat(replay.get("inputs")).isEqualTo(Map.of("form-1", Map.of("name", "y")));
+	}
+
+	private EventLog eventLog(String id, String eventData) {
+		return EventLog.builder()
+			.id(id)
+			.legalCase(legalCase)
+			.eventId("event-" + id)
+			.eventType("FormValueRecorded")
+			.occurredAt(LocalDateTime.now())
+			.eventData(eventData)
+			.build();
+	}
+
+}
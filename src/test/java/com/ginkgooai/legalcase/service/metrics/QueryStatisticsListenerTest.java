@@ -0,0 +1,87 @@
+package com.ginkgooai.legalcase.service.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryStatisticsListenerTest {
+
+	private static final String SELECT_DOCUMENT = "select d.id from legalcase.case_documents d where d.case_id=?";
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private QueryStatisticsListener listener;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		listener = new QueryStatisticsListener(meterRegistry, Duration.ofMillis(100), 3);
+	}
+
+	@Test
+	void endRequest_shouldRecordStatementsAndFlagRepeatedSelects() {
+		listener.beginRequest();
+		for (int i = 0; i < 3; i++) {
+			listener.afterQuery(execution(5), List.of(new QueryInfo(SELECT_DOCUMENT)));
+		}
+		listener.afterQuery(execution(5), List.of(new QueryInfo("update legalcase.legal_cases set version=?")));
+		listener.endRequest("GET /cases/{id}");
+
+		assertThat(meterRegistry.get("legalcase.db.request.queries").summary().totalAmount()).isEqualTo(4);
+		assertThat(meterRegistry.get("legalcase.db.request.time").summary().totalAmount()).isEqualTo(20);
+		assertThat(meterRegistry.get("legalcase.db.n-plus-one").tag("endpoint", "GET /cases/{id}").counter().count())
+			.isEqualTo(1);
+		assertThat(meterRegistry.get("legalcase.db.query").tag("type", "select").timer().count()).isEqualTo(3);
+	}
+
+	@Test
+	void afterQuery_outsideRequest_shouldOnlyTimeStatements() {
+		listener.afterQuery(execution(150), List.of(new QueryInfo(SELECT_DOCUMENT)));
+		listener.endRequest("GET /cases/{id}");
+
+		assertThat(meterRegistry.find("legalcase.db.request.queries").summary()).isNull();
+		assertThat(meterRegistry.get("legalcase.db.query.slow").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void fingerprint_shouldHideParameterValues() throws NoSuchMethodException {
+		String fingerprint = QueryStatisticsListener.fingerprint(query("case-secret"));
+
+		assertThat(fingerprint).matches("\\[String#[0-9a-f]{16}]").doesNotContain("case-secret");
+		// Not the unkeyed String hash, which can be matched against guessed values
+		assertThat(fingerprint).doesNotContain(Integer.toHexString("case-secret".hashCode()));
+	}
+
+	@Test
+	void fingerprint_shouldTellRepeatedArgumentsApart() throws NoSuchMethodException {
+		assertThat(QueryStatisticsListener.fingerprint(query("case-1")))
+			.isEqualTo(QueryStatisticsListener.fingerprint(query("case-1")))
+			.isNotEqualTo(QueryStatisticsListener.fingerprint(query("case-2")));
+	}
+
+	private static QueryInfo query(String parameter) throws NoSuchMethodException {
+		QueryInfo queryInfo = new QueryInfo(SELECT_DOCUMENT);
+		queryInfo.getParametersList()
+			.add(List.of(new ParameterSetOperation(
+					PreparedStatement.class.getMethod("setString", int.class, String.class),
+					new Object[] { 1, parameter })));
+		return queryInfo;
+	}
+
+	private static ExecutionInfo execution(long elapsedMillis) {
+		ExecutionInfo execution = new ExecutionInfo();
+		execution.setElapsedTime(elapsedMillis);
+		execution.setSuccess(true);
+		return execution;
+	}
+
+}
@@ -0,0 +1,139 @@
+package com.ginkgooai.legalcase.service.notification;
+
+import com.ginkgooai.legalcase.domain.Notification;
+import com.ginkgooai.legalcase.domain.Notification.DeliveryStatus;
+import com.ginkgooai.legalcase.domain.Notification.NotificationType;
+import com.ginkgooai.legalcase.repository.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDispatcherTest {
+
+	@Mock
+	private NotificationRepository notificationRepository;
+
+	@Mock
+	private NotificationDigestRenderer renderer;
+
+	@Mock
+	private NotificationChannel channel;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void deliver_shouldSendOneDigestAndDeleteDeliveredNotifications() {
+		List<Notification> pending = List.of(notification("n1", 0), notification("n2", 0));
+		when(notificationRepository.lockDue(eq("profile-1"), any(), anyInt())).thenReturn(pending);
+		NotificationDigest digest = new NotificationDigest("profile-1", "2 updates on 1 case", "<html/>", 2);
+		when(renderer.render("profile-1", pending)).thenReturn(digest);
+
+		dispatcher(Runnable::run).deliver("profile-1");
+
+		verify(channel).deliver(digest);
+		verify(notificationRepository).deleteAllByIdInBatch(List.of("n1", "n2"));
+		assertThat(pending).allSatisfy(notification -> assertThat(notification.getAttempts()).isEqualTo(1));
+		assertThat(meterRegistry.get("legalcase.notifications.delivered").counter().count()).isEqualTo(2);
+	}
+
+	@Test
+	void deliver_shouldRescheduleFailedDigestWithBackoff() {
+		List<Notification> pending = List.of(notification("n1", 1));
+		when(notificationRepository.lockDue(eq("profile-1"), any(), anyInt())).thenReturn(pending);
+		doThrow(new IllegalStateException("mail server down")).when(channel).deliver(any());
+		LocalDateTime before = LocalDateTime.now();
+
+		dispatcher(Runnable::run).deliver("profile-1");
+
+		ArgumentCaptor<LocalDateTime> nextAttempt = ArgumentCaptor.forClass(LocalDateTime.class);
+		verify(notificationRepository).updateDelivery(eq(List.of("n1")), eq(DeliveryStatus.PENDING),
+				nextAttempt.capture(), eq("mail server down"));
+		// Second attempt: twice the base backoff
+		assertThat(nextAttempt.getValue()).isAfterOrEqualTo(before.plusSeconds(60));
+		verify(notificationRepository, never()).deleteAllByIdInBatch(anyList());
+	}
+
+	@Test
+	void deliver_shouldGiveUpAfterLastAttempt() {
+		List<Notification> pending = List.of(notification("n1", 4));
+		when(notificationRepository.lockDue(eq("profile-1"), any(), anyInt())).thenReturn(pending);
+		doThrow(new IllegalStateException("mailbox unavailable")).when(channel).deliver(any());
+
+		dispatcher(Runnable::run).deliver("profile-1");
+
+		verify(notificationRepository).updateDelivery(eq(List.of("n1")), eq(DeliveryStatus.FAILED), any(),
+				eq("mailbox unavailable"));
+		assertThat(meterRegistry.get("legalcase.notifications.failed").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void deliver_shouldDoNothingWhenNotificationsWereClaimedElsewhere() {
+		when(notificationRepository.lockDue(eq("profile-1"), any(), anyInt())).thenReturn(List.of());
+
+		dispatcher(Runnable::run).deliver("profile-1");
+
+		verify(renderer, never()).render(any(), any());
+		verify(channel, never()).deliver(any());
+	}
+
+	@Test
+	void dispatch_shouldLeaveRecipientsForNextPollWhenWorkersAreBusy() {
+		when(notificationRepository.findDueRecipients(any(), any(), anyInt()))
+			.thenReturn(List.of("profile-1", "profile-2", "profile-3"));
+		List<Runnable> accepted = new ArrayList<>();
+		TaskExecutor executor = task -> {
+			if (accepted.size() == 1) {
+				throw new TaskRejectedException("queue full");
+			}
+			accepted.add(task);
+		};
+
+		dispatcher(executor).dispatch();
+
+		assertThat(accepted).hasSize(1);
+	}
+
+	private NotificationDispatcher dispatcher(TaskExecutor executor) {
+		return new NotificationDispatcher(notificationRepository, renderer, channel, executor, transactionManager,
+				meterRegistry, Duration.ofMinutes(2), Duration.ofMinutes(5), Duration.ofSeconds(30), 5, 50, 100);
+	}
+
+	private static Notification notification(String id, int attempts) {
+		return Notification.builder()
+			.id(id)
+			.recipient("profile-1")
+			.caseId("case-1")
+			.type(NotificationType.ON_HOLD)
+			.details(Map.of("reason", "waiting for documents"))
+			.attempts(attempts)
+			.nextAttemptAt(LocalDateTime.now())
+			.build();
+	}
+
+}
@@ -0,0 +1,113 @@
+package com.ginkgooai.legalcase.service.ratelimit;
+
+import com.ginkgooai.legalcase.exception.RateLimitExceededException;
+import com.ginkgooai.legalcase.handle.GlobalExceptionHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitInterceptorTest {
+
+	@Mock
+	private RateLimiter rateLimiter;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		mockMvc = MockMvcBuilders.standaloneSetup(new LimitedController())
+			.addInterceptors(new RateLimitInterceptor(rateLimiter))
+			.setControllerAdvice(new GlobalExceptionHandler())
+			.build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void preHandle_shouldCountAuthenticatedRequestsAgainstPrincipal() throws Exception {
+		SecurityContextHolder.getContext()
+			.setAuthentication(new TestingAuthenticationToken("user-1", null, "ROLE_USER"));
+
+		mockMvc.perform(post("/limited").header("X-Client-Id", "someone-else")).andExpect(status().isOk());
+
+		verify(rateLimiter).acquire(EndpointClass.UPLOAD, "principal:user-1");
+	}
+
+	@Test
+	void preHandle_shouldCountAnonymousRequestsAgainstRemoteAddress() throws Exception {
+		SecurityContextHolder.getContext()
+			.setAuthentication(new AnonymousAuthenticationToken("key", "anonymousUser",
+					AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+
+		mockMvc
+			.perform(post("/limited").header("X-Client-Id", "someone-else").with(request -> {
+				request.setRemoteAddr("203.0.113.7");
+				return request;
+			}))
+			.andExpect(status().isOk());
+
+		verify(rateLimiter).acquire(EndpointClass.UPLOAD, "address:203.0.113.7");
+	}
+
+	@Test
+	void preHandle_whenLimitExceeded_shouldAnswerTooManyRequestsWithRetryAfter() throws Exception {
+		doThrow(new RateLimitExceededException("Rate limit exceeded for upload requests", Duration.ofMillis(1500)))
+			.when(rateLimiter)
+			.acquire(eq(EndpointClass.UPLOAD), any());
+
+		mockMvc.perform(post("/limited"))
+			.andExpect(status().isTooManyRequests())
+			.andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+	}
+
+	@Test
+	void preHandle_shouldNotLimitUnannotatedEndpoints() throws Exception {
+		mockMvc.perform(post("/unlimited")).andExpect(status().isOk());
+
+		verify(rateLimiter, never()).acquire(any(), any());
+	}
+
+	@RestController
+	static class LimitedController {
+
+		@PostMapping("/limited")
+		@RateLimited(EndpointClass.UPLOAD)
+		public String limited() {
+			return "ok";
+		}
+
+		@PostMapping("/unlimited")
+		public String unlimited() {
+			return "ok";
+		}
+
+	}
+
+}
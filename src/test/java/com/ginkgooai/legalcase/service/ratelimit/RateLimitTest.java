@@ -0,0 +1,26 @@
+package com.ginkgooai.legalcase.service.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimitTest {
+
+	@Test
+	void parse_shouldAcceptSimpleAndIsoPeriods() {
+		assertThat(RateLimit.parse("60/1m")).isEqualTo(new RateLimit(60, Duration.ofMinutes(1)));
+		assertThat(RateLimit.parse(" 600 / PT1H ")).isEqualTo(new RateLimit(600, Duration.ofHours(1)));
+	}
+
+	@Test
+	void parse_shouldRejectMalformedLimits() {
+		assertThatThrownBy(() -> RateLimit.parse("60")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> RateLimit.parse("0/1m")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> RateLimit.parse("ten/1m")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> RateLimit.parse("10/soon")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
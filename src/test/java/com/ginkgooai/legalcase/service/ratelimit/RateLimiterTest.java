@@ -0,0 +1,136 @@
+package com.ginkgooai.legalcase.service.ratelimit;
+
+import com.ginkgooai.legalcase.exception.RateLimitExceededException;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.TokensInheritanceStrategy;
+import io.github.bucket4j.distributed.BucketProxy;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.distributed.proxy.RemoteBucketBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class RateLimiterTest {
+
+	@Mock
+	private ProxyManager<byte[]> proxyManager;
+
+	@Mock
+	private RemoteBucketBuilder<byte[]> bucketBuilder;
+
+	@Mock
+	private BucketProxy bucket;
+
+	@Mock
+	private StringRedisTemplate redisTemplate;
+
+	@Mock
+	private HashOperations<String, Object, Object> hashOperations;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private RateLimiter rateLimiter;
+
+	@BeforeEach
+	void setUp() {
+		when(proxyManager.builder()).thenReturn(bucketBuilder);
+		when(bucketBuilder.withImplicitConfigurationReplacement(anyLong(), any())).thenReturn(bucketBuilder);
+		when(bucketBuilder.build(any(byte[].class), any(Supplier.class))).thenReturn(bucket);
+		when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+		rateLimiter = new RateLimiter(proxyManager, redisTemplate, meterRegistry, "60/1m", "600/1m", "30/1m");
+	}
+
+	@Test
+	void acquire_shouldTakeTokenFromClientBucket() {
+		when(bucket.tryConsumeAndReturnRemaining(1)).thenReturn(ConsumptionProbe.consumed(59, 0));
+
+		rateLimiter.acquire(EndpointClass.UPLOAD, "principal:user-1");
+
+		ArgumentCaptor<byte[]> key = ArgumentCaptor.forClass(byte[].class);
+		verify(bucketBuilder).build(key.capture(), any(Supplier.class));
+		assertThat(new String(key.getValue(), StandardCharsets.UTF_8))
+			.isEqualTo("legalcase:rate-limit:upload:principal:user-1");
+	}
+
+	@Test
+	void acquire_whenBucketEmpty_shouldThrowWithRetryAfter() {
+		when(bucket.tryConsumeAndReturnRemaining(1))
+			.thenReturn(ConsumptionProbe.rejected(0, Duration.ofSeconds(2).toNanos(), Duration.ofMinutes(1).toNanos()));
+
+		assertThatThrownBy(() -> rateLimiter.acquire(EndpointClass.UPLOAD, "principal:user-1"))
+			.isInstanceOfSatisfying(RateLimitExceededException.class,
+					e -> assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(2)));
+		assertThat(meterRegistry.get("legalcase.rate-limit.rejected").tag("endpoint", "upload").counter().count())
+			.isEqualTo(1);
+	}
+
+	@Test
+	void acquire_whenRedisUnavailable_shouldLetRequestThrough() {
+		when(bucket.tryConsumeAndReturnRemaining(1)).thenThrow(new RedisConnectionFailureException("down"));
+
+		assertThatCode(() -> rateLimiter.acquire(EndpointClass.UPLOAD, "principal:user-1")).doesNotThrowAnyException();
+	}
+
+	@Test
+	void refresh_shouldApplyOverridesFromRedisHash() {
+		when(hashOperations.entries(RateLimiter.OVERRIDES_KEY)).thenReturn(Map.of("upload", "120/1m", "analysis", "x"));
+		when(bucket.tryConsumeAndReturnRemaining(1)).thenReturn(ConsumptionProbe.consumed(119, 0));
+
+		rateLimiter.refresh();
+		rateLimiter.acquire(EndpointClass.UPLOAD, "principal:user-1");
+		rateLimiter.acquire(EndpointClass.ANALYSIS, "principal:user-1");
+
+		// Buckets stored under the previous limits are converted on their next use
+		ArgumentCaptor<Long> version = ArgumentCaptor.forClass(Long.class);
+		verify(bucketBuilder, times(2)).withImplicitConfigurationReplacement(version.capture(),
+				eq(TokensInheritanceStrategy.PROPORTIONALLY));
+		assertThat(version.getAllValues()).allSatisfy(v -> assertThat(v).isPositive());
+
+		ArgumentCaptor<Supplier<BucketConfiguration>> configuration = ArgumentCaptor.forClass(Supplier.class);
+		verify(bucketBuilder, times(2)).build(any(byte[].class), configuration.capture());
+		assertThat(configuration.getAllValues().get(0).get().getBandwidths()[0].getCapacity()).isEqualTo(120);
+		// A malformed override keeps the configured limit
+		assertThat(configuration.getAllValues().get(1).get().getBandwidths()[0].getCapacity()).isEqualTo(30);
+	}
+
+	@Test
+	void refresh_whenRedisUnavailable_shouldKeepLimitsInEffect() {
+		when(hashOperations.entries(RateLimiter.OVERRIDES_KEY)).thenThrow(new RedisConnectionFailureException("down"));
+		when(bucket.tryConsumeAndReturnRemaining(1)).thenReturn(ConsumptionProbe.consumed(59, 0));
+
+		assertThatCode(rateLimiter::refresh).doesNotThrowAnyException();
+		rateLimiter.acquire(EndpointClass.UPLOAD, "principal:user-1");
+
+		ArgumentCaptor<Supplier<BucketConfiguration>> configuration = ArgumentCaptor.forClass(Supplier.class);
+		verify(bucketBuilder).build(any(byte[].class), configuration.capture());
+		assertThat(configuration.getValue().get().getBandwidths()[0].getCapacity()).isEqualTo(60);
+	}
+
+}
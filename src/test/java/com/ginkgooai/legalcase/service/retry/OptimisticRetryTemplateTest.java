@@ -0,0 +1,81 @@
+package com.ginkgooai.legalcase.service.retry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class OptimisticRetryTemplateTest {
+
+	private PlatformTransactionManager transactionManager;
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private OptimisticRetryTemplate retryTemplate;
+
+	@BeforeEach
+	void setUp() {
+		transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+		meterRegistry = new SimpleMeterRegistry();
+		retryTemplate = new OptimisticRetryTemplate(transactionManager, meterRegistry, 3, Duration.ZERO,
+				Duration.ZERO);
+	}
+
+	@Test
+	void execute_whenCommitConflictsOnce_shouldRetryInNewTransaction() {
+		AtomicInteger attempts = new AtomicInteger();
+
+		String result = retryTemplate.execute("update-case", () -> {
+			if (attempts.incrementAndGet() == 1) {
+				throw new ObjectOptimisticLockingFailureException("LegalCase", "case-1");
+			}
+			return "updated";
+		});
+
+		assertThat(result).isEqualTo("updated");
+		assertThat(attempts).hasValue(2);
+		verify(transactionManager, times(2)).getTransaction(any());
+		assertThat(meterRegistry.get("legalcase.write.conflicts").tag("operation", "update-case").counter().count())
+			.isEqualTo(1);
+	}
+
+	@Test
+	void execute_whenEveryAttemptConflicts_shouldGiveUpAfterMaxAttempts() {
+		AtomicInteger attempts = new AtomicInteger();
+
+		assertThatThrownBy(() -> retryTemplate.execute("update-case", () -> {
+			attempts.incrementAndGet();
+			throw new ObjectOptimisticLockingFailureException("LegalCase", "case-1");
+		})).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+		assertThat(attempts).hasValue(3);
+		assertThat(meterRegistry.get("legalcase.write.retries.exhausted")
+			.tag("operation", "update-case")
+			.counter()
+			.count()).isEqualTo(1);
+	}
+
+	@Test
+	void execute_whenActionFailsOtherwise_shouldNotRetry() {
+		AtomicInteger attempts = new AtomicInteger();
+
+		assertThatThrownBy(() -> retryTemplate.execute("update-case", () -> {
+			attempts.incrementAndGet();
+			throw new IllegalStateException("invalid transition");
+		})).isInstanceOf(IllegalStateException.class);
+
+		assertThat(attempts).hasValue(1);
+	}
+
+}